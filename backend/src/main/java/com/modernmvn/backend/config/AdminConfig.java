@@ -0,0 +1,26 @@
+package com.modernmvn.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AdminConfig implements WebMvcConfigurer {
+
+    private final String adminToken;
+
+    public AdminConfig(@Value("${modernmvn.admin.token:}") String adminToken) {
+        this.adminToken = adminToken;
+    }
+
+    @Override
+    public void addInterceptors(@org.springframework.lang.NonNull InterceptorRegistry registry) {
+        // Storage reads count whole tables, so they need the token as well
+        registry.addInterceptor(new AdminTokenInterceptor(adminToken, true))
+                .addPathPatterns("/api/admin/storage/**");
+        registry.addInterceptor(new AdminTokenInterceptor(adminToken))
+                .addPathPatterns("/api/admin/**")
+                .excludePathPatterns("/api/admin/storage/**");
+    }
+}
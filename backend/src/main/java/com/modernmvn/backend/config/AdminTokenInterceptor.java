@@ -0,0 +1,60 @@
+package com.modernmvn.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the maintenance endpoints under {@code /api/admin}: anything but a
+ * read, and reads too when {@code guardReads} is set, needs the
+ * {@code X-Admin-Token} header to match {@code modernmvn.admin.token}.
+ * Without a configured token those endpoints are refused outright, so a
+ * deployment that never set one cannot be told to migrate or repartition its
+ * tables, or to count them, by whoever reaches the API.
+ */
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    static final String HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+    private final boolean guardReads;
+
+    public AdminTokenInterceptor(String token) {
+        this(token, false);
+    }
+
+    public AdminTokenInterceptor(String token, boolean guardReads) {
+        this.token = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        this.guardReads = guardReads;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) throws IOException {
+        String method = request.getMethod();
+        if (HttpMethod.OPTIONS.matches(method)
+                || (!guardReads && (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method))))
+            return true;
+        if (token == null)
+            return reject(response, HttpServletResponse.SC_FORBIDDEN, "Admin endpoints are disabled");
+        String given = request.getHeader(HEADER);
+        // Constant-time, so the token cannot be guessed byte by byte from response times
+        if (given == null || !MessageDigest.isEqual(token, given.getBytes(StandardCharsets.UTF_8)))
+            return reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Missing or wrong " + HEADER);
+        return true;
+    }
+
+    private static boolean reject(HttpServletResponse response, int status, String error) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + error + "\"}");
+        return false;
+    }
+}
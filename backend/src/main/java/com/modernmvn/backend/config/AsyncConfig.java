@@ -37,4 +37,37 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Per-module dependency resolution for uploaded project archives. Work is
+     * network-bound, so the pool is wide enough to resolve a typical monorepo's
+     * modules in a single wave.
+     */
+    @Bean(name = "resolutionExecutor")
+    public Executor resolutionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(32);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("resolve-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Parallel descriptor (POM) fetches for the native resolver. Kept apart from
+     * resolutionExecutor because module tasks on that pool block on these.
+     */
+    @Bean(name = "descriptorExecutor")
+    public Executor descriptorExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("descriptor-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
@@ -59,6 +59,12 @@ public class CacheConfig implements CachingConfigurer {
                                 defaultConfig.entryTtl(Duration.ofHours(6)));
                 cacheConfigurations.put("reverseDepsCount",
                                 defaultConfig.entryTtl(Duration.ofHours(12)));
+                // Stored trees served by /resolve, apart from the resolver's own entries
+                cacheConfigurations.put("storedTrees",
+                                defaultConfig.entryTtl(Duration.ofHours(24)));
+                // Version-to-version dependency diffs, keyed by version pair
+                cacheConfigurations.put("dependencyDiffs",
+                                defaultConfig.entryTtl(Duration.ofHours(12)));
                 // Badge cache
                 cacheConfigurations.put("artifactLatestVersion",
                                 defaultConfig.entryTtl(Duration.ofHours(1)));
@@ -66,9 +72,12 @@ public class CacheConfig implements CachingConfigurer {
                 cacheConfigurations.put("vulnerabilities",
                                 defaultConfig.entryTtl(Duration.ofHours(1)));
 
+                // Evictions made inside a transaction (storedTrees on save) wait for its
+                // commit, so a reader cannot re-cache the tree being replaced
                 return RedisCacheManager.builder(connectionFactory)
                                 .cacheDefaults(defaultConfig)
                                 .withInitialCacheConfigurations(cacheConfigurations)
+                                .transactionAware()
                                 .build();
         }
 
@@ -1,10 +1,32 @@
 package com.modernmvn.backend.config;
 
+import com.modernmvn.backend.service.LocalRepositoryStore;
+import com.modernmvn.backend.service.MirrorRouter;
+import com.modernmvn.backend.service.SharedModelCache;
+import com.modernmvn.backend.service.VersionResolutionCache;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.repository.internal.ModelCacheFactory;
 import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.impl.MetadataResolver;
+import org.eclipse.aether.impl.RemoteRepositoryManager;
+import org.eclipse.aether.impl.RepositoryEventDispatcher;
+import org.eclipse.aether.impl.VersionRangeResolver;
+import org.eclipse.aether.impl.VersionResolver;
 import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.spi.synccontext.SyncContextFactory;
+import org.eclipse.aether.supplier.RepositorySystemSupplier;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,9 +37,55 @@ public class MavenConfig {
     @Value("${maven.local-repo:/var/modernmvn/local-repo}")
     private String localRepoPath;
 
+    /** Access tracking for LRU eviction; absent when the config is built by hand in tests. */
+    @Autowired(required = false)
+    private LocalRepositoryStore localRepositoryStore;
+
+    /** Mirrors for repositories declared in POMs, and transfer metrics. */
+    @Autowired(required = false)
+    private MirrorRouter mirrorRouter;
+
+    /**
+     * Repository system whose version (range) resolvers are fronted by the shared
+     * {@link VersionResolutionCache}, so LATEST/RELEASE and range metadata is not
+     * re-downloaded for every fresh session, and whose descriptor reader shares
+     * parsed parent/BOM models through {@link SharedModelCache}, scoped to the
+     * repositories of each descriptor request.
+     */
     @Bean
-    public RepositorySystem repositorySystem() {
-        return new org.eclipse.aether.supplier.RepositorySystemSupplier().get();
+    public RepositorySystem repositorySystem(VersionResolutionCache versionResolutionCache,
+            SharedModelCache sharedModelCache) {
+        return new RepositorySystemSupplier() {
+            @Override
+            protected ModelCacheFactory getModelCacheFactory() {
+                return session -> sharedModelCache.forDescriptorRead();
+            }
+
+            @Override
+            protected ArtifactDescriptorReader getArtifactDescriptorReader(
+                    RemoteRepositoryManager remoteRepositoryManager, VersionResolver versionResolver,
+                    VersionRangeResolver versionRangeResolver, ArtifactResolver artifactResolver,
+                    ModelBuilder modelBuilder, RepositoryEventDispatcher repositoryEventDispatcher,
+                    ModelCacheFactory modelCacheFactory) {
+                return sharedModelCache.decorate(super.getArtifactDescriptorReader(remoteRepositoryManager,
+                        versionResolver, versionRangeResolver, artifactResolver, modelBuilder,
+                        repositoryEventDispatcher, modelCacheFactory));
+            }
+
+            @Override
+            protected VersionResolver getVersionResolver(MetadataResolver metadataResolver,
+                    SyncContextFactory syncContextFactory, RepositoryEventDispatcher repositoryEventDispatcher) {
+                return versionResolutionCache.decorate(
+                        super.getVersionResolver(metadataResolver, syncContextFactory, repositoryEventDispatcher));
+            }
+
+            @Override
+            protected VersionRangeResolver getVersionRangeResolver(MetadataResolver metadataResolver,
+                    SyncContextFactory syncContextFactory, RepositoryEventDispatcher repositoryEventDispatcher) {
+                return versionResolutionCache.decorate(super.getVersionRangeResolver(metadataResolver,
+                        syncContextFactory, repositoryEventDispatcher));
+            }
+        }.get();
     }
 
     /**
@@ -25,9 +93,26 @@ public class MavenConfig {
      * Shared sessions are not thread-safe and can leak memory.
      */
     public RepositorySystemSession createSession(RepositorySystem repositorySystem) {
+        return createSession(repositorySystem, null);
+    }
+
+    /**
+     * Fresh session that shares {@code cache} with its siblings. Used when
+     * several modules of one project are resolved concurrently: each thread gets
+     * its own session, but descriptors and version ranges read by one are
+     * reused by the others.
+     */
+    public RepositorySystemSession createSession(RepositorySystem repositorySystem, RepositoryCache cache) {
         DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setCache(cache);
         LocalRepository localRepo = new LocalRepository(localRepoPath);
-        session.setLocalRepositoryManager(repositorySystem.newLocalRepositoryManager(session, localRepo));
+        LocalRepositoryManager localRepoManager = repositorySystem.newLocalRepositoryManager(session, localRepo);
+        session.setLocalRepositoryManager(
+                localRepositoryStore != null ? localRepositoryStore.track(localRepoManager) : localRepoManager);
+        if (mirrorRouter != null) {
+            session.setMirrorSelector(mirrorRouter);
+            session.setTransferListener(mirrorRouter.transferListener());
+        }
 
         // Disable verbose mode to save memory/cpu unless needed for debugging
         session.setConfigProperty(org.eclipse.aether.util.graph.manager.DependencyManagerUtils.CONFIG_PROP_VERBOSE,
@@ -45,6 +130,48 @@ public class MavenConfig {
         return session;
     }
 
+    /**
+     * Copy of {@code session} whose downloads are cancelled once
+     * {@code deadlineNanos} (a {@link System#nanoTime()} instant) has passed,
+     * so a resolution nobody waits for any more stops fetching instead of
+     * holding its thread. Whatever is already cached still resolves.
+     */
+    public static RepositorySystemSession withDeadline(RepositorySystemSession session, long deadlineNanos) {
+        AbstractTransferListener deadline = new AbstractTransferListener() {
+            @Override
+            public void transferInitiated(TransferEvent event) throws TransferCancelledException {
+                check();
+            }
+
+            @Override
+            public void transferProgressed(TransferEvent event) throws TransferCancelledException {
+                check();
+            }
+
+            private void check() throws TransferCancelledException {
+                if (System.nanoTime() - deadlineNanos > 0)
+                    throw new TransferCancelledException("Resolution deadline passed");
+            }
+        };
+        DefaultRepositorySystemSession bounded = new DefaultRepositorySystemSession(session);
+        bounded.setTransferListener(session.getTransferListener() == null ? deadline
+                : ChainedTransferListener.newInstance(session.getTransferListener(), deadline));
+        return bounded;
+    }
+
+    /**
+     * Fresh session whose conflict resolver keeps every losing candidate in
+     * the graph, marked with {@code ConflictResolver.NODE_DATA_WINNER}. Only
+     * used when a caller asks why a version was picked; the losers are leaves,
+     * so the graph grows by one node per omitted candidate.
+     */
+    public RepositorySystemSession createVerboseSession(RepositorySystem repositorySystem) {
+        DefaultRepositorySystemSession session = (DefaultRepositorySystemSession) createSession(repositorySystem);
+        session.setConfigProperty(org.eclipse.aether.util.graph.transformer.ConflictResolver.CONFIG_PROP_VERBOSE,
+                org.eclipse.aether.util.graph.transformer.ConflictResolver.Verbosity.FULL);
+        return session;
+    }
+
     public String getLocalRepoPath() {
         return localRepoPath;
     }
@@ -0,0 +1,62 @@
+package com.modernmvn.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-endpoint multipart limits. The servlet-wide
+ * {@code spring.servlet.multipart} limits are sized for project archives, the
+ * largest upload there is; every other multipart request is refused here,
+ * before its body is parsed, once it declares more than
+ * {@code modernmvn.upload.max-request-size}.
+ */
+@Component
+public class UploadLimitFilter extends OncePerRequestFilter {
+
+    static final String ARCHIVE_PATH = "/api/maven/resolve/archive";
+
+    private final long maxRequestBytes;
+
+    public UploadLimitFilter(@Value("${modernmvn.upload.max-request-size:1MB}") DataSize maxRequestSize) {
+        this.maxRequestBytes = maxRequestSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType == null || !contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)
+                || ARCHIVE_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            reject(response, HttpStatus.LENGTH_REQUIRED, "Uploads must declare their Content-Length.");
+            return;
+        }
+        if (length > maxRequestBytes) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Upload exceeds maximum size of " + (maxRequestBytes / 1024) + " KB.");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -2,14 +2,18 @@ package com.modernmvn.backend.controller;
 
 import com.modernmvn.backend.dto.ArtifactDetail;
 import com.modernmvn.backend.dto.ArtifactInfo;
+import com.modernmvn.backend.dto.DependencyDiff;
 import com.modernmvn.backend.dto.SearchResult;
 import com.modernmvn.backend.dto.SearchResult.SearchResultItem;
+import com.modernmvn.backend.service.DependencyDiffService;
 import com.modernmvn.backend.service.MavenCentralService;
+import com.modernmvn.backend.service.TrafficTrendingService;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Pattern;
 import java.util.List;
 import java.util.Map;
@@ -20,9 +24,14 @@ import java.util.Map;
 public class ArtifactController {
 
     private final MavenCentralService mavenCentralService;
+    private final TrafficTrendingService trafficTrending;
+    private final DependencyDiffService dependencyDiff;
 
-    public ArtifactController(MavenCentralService mavenCentralService) {
+    public ArtifactController(MavenCentralService mavenCentralService, TrafficTrendingService trafficTrending,
+            DependencyDiffService dependencyDiff) {
         this.mavenCentralService = mavenCentralService;
+        this.trafficTrending = trafficTrending;
+        this.dependencyDiff = dependencyDiff;
     }
 
     // ─────────────────────── Search ───────────────────────────
@@ -67,12 +76,14 @@ public class ArtifactController {
 
     /**
      * GET /api/maven/trending
-     * Returns curated list of popular/trending artifacts.
+     * Returns the most viewed artifacts of the week, or the most popular
+     * artifacts of the index until enough views are in (curated list until scored).
      */
     @GetMapping("/trending")
     public ResponseEntity<?> getTrendingArtifacts() {
         try {
-            List<SearchResultItem> items = mavenCentralService.getTrendingArtifacts();
+            List<SearchResultItem> items = trafficTrending.trending()
+                    .orElseGet(mavenCentralService::getTrendingArtifacts);
             return ResponseEntity.ok(items);
         } catch (Exception e) {
             return ResponseEntity.status(500)
@@ -153,9 +164,11 @@ public class ArtifactController {
     @GetMapping("/artifact/{groupId}/{artifactId}")
     public ResponseEntity<?> getArtifactInfo(
             @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String groupId,
-            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId) {
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId,
+            HttpServletRequest httpRequest) {
         try {
             ArtifactInfo info = mavenCentralService.getArtifactInfo(groupId, artifactId);
+            trafficTrending.recordView(groupId, artifactId, httpRequest.getRemoteAddr());
             return ResponseEntity.ok(info);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
@@ -164,6 +177,28 @@ public class ArtifactController {
         }
     }
 
+    /**
+     * GET /api/maven/artifact/{groupId}/{artifactId}/diff?from=3.2.0&to=3.4.0
+     * Transitive dependencies added, removed or changed between two indexed
+     * versions, with the change in known vulnerabilities.
+     */
+    @GetMapping("/artifact/{groupId}/{artifactId}/diff")
+    public ResponseEntity<?> getDependencyDiff(
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String groupId,
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId,
+            @RequestParam @Pattern(regexp = "[a-zA-Z0-9._-]+") String from,
+            @RequestParam @Pattern(regexp = "[a-zA-Z0-9._-]+") String to) {
+        try {
+            DependencyDiff diff = dependencyDiff.diff(groupId, artifactId, from, to);
+            return ResponseEntity.ok(diff);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(Map.of("error", "Failed to diff versions: " + e.getMessage()));
+        }
+    }
+
     /**
      * GET /api/maven/artifact/{groupId}/{artifactId}/{version}
      * Returns detailed info for a specific version.
@@ -172,9 +207,11 @@ public class ArtifactController {
     public ResponseEntity<?> getArtifactDetail(
             @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String groupId,
             @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId,
-            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String version) {
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String version,
+            HttpServletRequest httpRequest) {
         try {
             ArtifactDetail detail = mavenCentralService.getArtifactDetail(groupId, artifactId, version);
+            trafficTrending.recordView(groupId, artifactId, httpRequest.getRemoteAddr());
             return ResponseEntity.ok(detail);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
@@ -0,0 +1,156 @@
+package com.modernmvn.backend.controller;
+
+import com.modernmvn.backend.dto.DependencyPathReport;
+import com.modernmvn.backend.entity.ArtifactVersionEntity;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.service.IndexGraphService;
+import com.modernmvn.backend.service.MavenResolutionService;
+import com.modernmvn.backend.service.PopularityJob;
+import com.modernmvn.backend.service.TransitiveDependentsJob;
+import com.modernmvn.backend.service.UsedByReconciliationJob;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+/**
+ * Traversals over the in-memory graph of every indexed version.
+ *
+ * GET /api/graph/stats — size and memory per edge of the graph
+ * GET /api/graph/dependents/report — last transitive dependents job run
+ * GET /api/graph/popularity/report — last popularity job run and its convergence
+ * GET /api/graph/used-by/report — last used-by counter reconciliation
+ * GET /api/graph/{g}/{a}/{v}/closure-size — versions reachable from a version
+ * GET /api/graph/{g}/{a}/{v}/paths?to=g:a:v — dependency paths to another version
+ * GET /api/graph/{g}/{a}/{v}/why?target=g:a[:v] — how an artifact enters the closure
+ */
+@RestController
+@RequestMapping("/api/graph")
+@Validated
+public class GraphController {
+
+    private static final int MAX_DEPTH = 20;
+    // A stored tree is never deeper than resolution went
+    private static final int MAX_WHY_DEPTH = MavenResolutionService.MAX_RESOLUTION_DEPTH;
+    private static final int MAX_PATHS = 1000;
+
+    private final IndexGraphService indexGraph;
+    private final ArtifactVersionRepository versionRepository;
+    private final TransitiveDependentsJob transitiveDependents;
+    private final PopularityJob popularity;
+    private final UsedByReconciliationJob usedByReconciliation;
+
+    public GraphController(IndexGraphService indexGraph, ArtifactVersionRepository versionRepository,
+            TransitiveDependentsJob transitiveDependents, PopularityJob popularity,
+            UsedByReconciliationJob usedByReconciliation) {
+        this.indexGraph = indexGraph;
+        this.versionRepository = versionRepository;
+        this.transitiveDependents = transitiveDependents;
+        this.popularity = popularity;
+        this.usedByReconciliation = usedByReconciliation;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<IndexGraphService.Stats> stats() {
+        return ResponseEntity.ok(indexGraph.stats());
+    }
+
+    /** Duration and peak memory of the last transitive dependents run; 404 before the first one. */
+    @GetMapping("/dependents/report")
+    public ResponseEntity<TransitiveDependentsJob.Report> dependentsReport() {
+        return transitiveDependents.lastReport().map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /** Iterations and per-iteration residuals of the last popularity run; 404 before the first one. */
+    @GetMapping("/popularity/report")
+    public ResponseEntity<PopularityJob.Report> popularityReport() {
+        return popularity.lastReport().map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /** Versions and artifacts whose used-by counters drifted at the last check; 404 before the first one. */
+    @GetMapping("/used-by/report")
+    public ResponseEntity<UsedByReconciliationJob.Report> usedByReport() {
+        return usedByReconciliation.lastReport().map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{groupId}/{artifactId}/{version}/closure-size")
+    public ResponseEntity<?> closureSize(
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String groupId,
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId,
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String version) {
+        Optional<ArtifactVersionEntity> av = versionRepository.findByGav(groupId, artifactId, version);
+        if (av.isEmpty())
+            return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(Map.of(
+                "groupId", groupId,
+                "artifactId", artifactId,
+                "version", version,
+                "closureSize", indexGraph.closureSize(av.get().getId())));
+    }
+
+    /**
+     * Up to {@code limit} paths of at most {@code maxDepth} edges from the
+     * version to {@code to} ({@code groupId:artifactId:version}), shortest
+     * first.
+     */
+    @GetMapping("/{groupId}/{artifactId}/{version}/paths")
+    public ResponseEntity<?> paths(
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String groupId,
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId,
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String version,
+            @RequestParam @Pattern(regexp = "[a-zA-Z0-9._-]+:[a-zA-Z0-9._-]+:[a-zA-Z0-9._-]+") String to,
+            @RequestParam(defaultValue = "10") int maxDepth,
+            @RequestParam(defaultValue = "50") int limit) {
+        String[] target = to.split(":");
+        Optional<ArtifactVersionEntity> from = versionRepository.findByGav(groupId, artifactId, version);
+        Optional<ArtifactVersionEntity> dest = versionRepository.findByGav(target[0], target[1], target[2]);
+        if (from.isEmpty() || dest.isEmpty())
+            return ResponseEntity.notFound().build();
+
+        List<List<Long>> paths = indexGraph.paths(from.get().getId(), dest.get().getId(),
+                Math.max(1, Math.min(maxDepth, MAX_DEPTH)), Math.max(1, Math.min(limit, MAX_PATHS)));
+        return ResponseEntity.ok(Map.of(
+                "from", groupId + ":" + artifactId + ":" + version,
+                "to", to,
+                "paths", toCoordinates(paths)));
+    }
+
+    /**
+     * Every path, up to {@code limit}, by which {@code target}
+     * ({@code groupId:artifactId}, or one version of it) enters the closure
+     * of the version, with the edge where mediation picked its version.
+     * Answered from the stored tree only; 404 if the version has none.
+     */
+    @GetMapping("/{groupId}/{artifactId}/{version}/why")
+    public ResponseEntity<DependencyPathReport> why(
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String groupId,
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId,
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._-]+") String version,
+            @RequestParam @Pattern(regexp = "[a-zA-Z0-9._-]+:[a-zA-Z0-9._-]+(:[a-zA-Z0-9._-]+)?") String target,
+            @RequestParam(defaultValue = "" + MAX_WHY_DEPTH) int maxDepth,
+            @RequestParam(defaultValue = "100") int limit) {
+        String[] coords = target.split(":");
+        Optional<ArtifactVersionEntity> root = versionRepository.findByGav(groupId, artifactId, version)
+                .filter(av -> av.getLastIndexedAt() != null);
+        if (root.isEmpty())
+            return ResponseEntity.notFound().build();
+        return indexGraph.why(root.get().getId(), coords[0], coords[1], coords.length > 2 ? coords[2] : null,
+                Math.max(1, Math.min(maxDepth, MAX_WHY_DEPTH)), Math.max(1, Math.min(limit, MAX_PATHS)))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private List<List<String>> toCoordinates(List<List<Long>> paths) {
+        Set<Long> ids = new HashSet<>();
+        paths.forEach(ids::addAll);
+        Map<Long, String> gavs = indexGraph.coordinates(ids);
+        return paths.stream()
+                .map(p -> p.stream().map(id -> gavs.getOrDefault(id, String.valueOf(id))).toList())
+                .toList();
+    }
+}
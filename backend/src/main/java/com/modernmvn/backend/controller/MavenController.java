@@ -1,37 +1,94 @@
 package com.modernmvn.backend.controller;
 
+import com.modernmvn.backend.dto.BatchResolutionResult;
+import com.modernmvn.backend.dto.BatchResolveRequest;
+import com.modernmvn.backend.dto.ConflictCandidate;
 import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.GraphNodeView;
+import com.modernmvn.backend.dto.ModuleResolutionEvent;
 import com.modernmvn.backend.dto.MultiModuleResult;
+import com.modernmvn.backend.dto.PomDiffRequest;
 import com.modernmvn.backend.dto.PomUploadRequest;
+import com.modernmvn.backend.dto.SecuredResolution;
+import com.modernmvn.backend.dto.WhatIfRequest;
+import com.modernmvn.backend.service.BatchResolutionService;
+import com.modernmvn.backend.service.DependencyGraph;
+import com.modernmvn.backend.service.DependencyGraphCache;
+import com.modernmvn.backend.service.DependencyTreeStore;
+import com.modernmvn.backend.service.IncrementalResolutionService;
 import com.modernmvn.backend.service.MavenResolutionService;
+import com.modernmvn.backend.service.MultiModuleResolutionService;
+import com.modernmvn.backend.service.ProjectArchive;
 import com.modernmvn.backend.service.RateLimiterService;
+import com.modernmvn.backend.service.SecurityOverlayService;
+import com.modernmvn.backend.service.WhatIfService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/maven")
 @Validated
 public class MavenController {
 
+    private static final Logger log = LoggerFactory.getLogger(MavenController.class);
+
     private final MavenResolutionService mavenResolutionService;
+    private final MultiModuleResolutionService multiModuleResolutionService;
+    private final BatchResolutionService batchResolutionService;
+    private final IncrementalResolutionService incrementalResolutionService;
     private final RateLimiterService rateLimiterService;
+    private final DependencyGraphCache graphCache;
+    private final WhatIfService whatIfService;
+    private final SecurityOverlayService securityOverlayService;
+    private final DependencyTreeStore dependencyTreeStore;
+    private final Executor asyncExecutor;
 
     // 512 KB file upload limit
     private static final long MAX_FILE_SIZE = 512 * 1024;
+    // 5 MB project archive upload limit
+    private static final long MAX_ARCHIVE_SIZE = 5 * 1024 * 1024;
+    // Streamed archive analyses are abandoned after 10 minutes
+    private static final long ARCHIVE_STREAM_TIMEOUT_MS = 10 * 60 * 1000L;
+    // Deepest level a single graph page or expansion may ship
+    private static final int MAX_PAGE_DEPTH = 10;
+    // Levels /resolve ships when no depth is asked for
+    private static final int DEFAULT_PAGE_DEPTH = 3;
+    private static final int MAX_CONFLICTS_PER_PAGE = 1000;
 
-    public MavenController(MavenResolutionService mavenResolutionService, RateLimiterService rateLimiterService) {
+    public MavenController(MavenResolutionService mavenResolutionService,
+            MultiModuleResolutionService multiModuleResolutionService,
+            BatchResolutionService batchResolutionService,
+            IncrementalResolutionService incrementalResolutionService, RateLimiterService rateLimiterService,
+            DependencyGraphCache graphCache, WhatIfService whatIfService,
+            SecurityOverlayService securityOverlayService, DependencyTreeStore dependencyTreeStore,
+            @Qualifier("asyncExecutor") Executor asyncExecutor) {
         this.mavenResolutionService = mavenResolutionService;
+        this.multiModuleResolutionService = multiModuleResolutionService;
+        this.batchResolutionService = batchResolutionService;
+        this.incrementalResolutionService = incrementalResolutionService;
         this.rateLimiterService = rateLimiterService;
+        this.graphCache = graphCache;
+        this.whatIfService = whatIfService;
+        this.securityOverlayService = securityOverlayService;
+        this.dependencyTreeStore = dependencyTreeStore;
+        this.asyncExecutor = asyncExecutor;
     }
 
     private boolean isAllowed(HttpServletRequest request) {
@@ -45,6 +102,9 @@ public class MavenController {
             @RequestParam @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId,
             @RequestParam @Pattern(regexp = "[a-zA-Z0-9._-]+") String version,
             @RequestParam(required = false) List<String> repos,
+            @RequestParam(required = false) Integer depth,
+            @RequestParam(defaultValue = "false") boolean verbose,
+            @RequestParam(defaultValue = "false") boolean full,
             HttpServletRequest request) {
 
         if (!isAllowed(request)) {
@@ -52,23 +112,163 @@ public class MavenController {
                     .body(Map.of("error", "Rate limit exceeded. Try again in a minute."));
         }
 
-        if (repos != null && !repos.isEmpty()) {
-            return ResponseEntity
-                    .ok(mavenResolutionService.resolveDependencyWithRepos(groupId, artifactId, version, repos));
+        // Only the first levels are shipped (?depth=N, default 3); the rest stays in
+        // the server-side graph cache and is fetched through /graph/{graphId}/...
+        // The same root and options page out of the same cached graph while it lives.
+        int pageDepth = clampDepth(depth != null ? depth : DEFAULT_PAGE_DEPTH);
+        String key = graphKey(groupId, artifactId, version, repos, verbose);
+        if (verbose || !full) {
+            Optional<DependencyGraph> cached = graphCache.find(key);
+            if (cached.isPresent())
+                return ResponseEntity.ok(graphCache.page(cached.get(), pageDepth));
+        }
+
+        // verbose=true keeps every omitted candidate with its path; the result is
+        // always paged so the candidates can be queried via /graph/{graphId}/conflicts
+        if (verbose) {
+            MavenResolutionService.VerboseResolution result = mavenResolutionService
+                    .resolveDependencyVerbose(groupId, artifactId, version, repos);
+            return ResponseEntity.ok(graphCache.page(
+                    graphCache.put(key, result.tree(), result.conflicts(), result.baseline()), pageDepth));
+        }
+
+        DependencyNode tree = (repos != null && !repos.isEmpty())
+                ? mavenResolutionService.resolveDependencyWithRepos(groupId, artifactId, version, repos)
+                : dependencyTreeStore.resolve(groupId, artifactId, version);
+
+        // ?full=true ships the whole tree inline, for clients that render it at once
+        if (full) {
+            return ResponseEntity.ok(tree);
+        }
+        return ResponseEntity.ok(graphCache.page(graphCache.put(key, tree, null, null), pageDepth));
+    }
+
+    private static String graphKey(String groupId, String artifactId, String version, List<String> repos,
+            boolean verbose) {
+        List<String> sortedRepos = repos != null ? repos.stream().sorted().toList() : List.of();
+        return groupId + ":" + artifactId + ":" + version + (verbose ? ":verbose" : "") + ":" + sortedRepos;
+    }
+
+    /**
+     * Lazily expand a node of a cached graph returned by /resolve.
+     * GET /api/maven/graph/{graphId}/nodes/{nodeId}/children?depth=1
+     */
+    @GetMapping("/graph/{graphId}/nodes/{nodeId}/children")
+    public ResponseEntity<?> expandNode(
+            @PathVariable @Pattern(regexp = "[a-f0-9-]{36}") String graphId,
+            @PathVariable int nodeId,
+            @RequestParam(defaultValue = "1") int depth,
+            HttpServletRequest request) {
+        // A tree is browsed a node at a time, so expansion has its own, larger budget
+        if (!rateLimiterService.tryConsume(request.getRemoteAddr() + ":expand", 120, 1)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("error", "Rate limit exceeded. Try again in a minute."));
+        }
+        DependencyGraph graph = graphCache.get(graphId).orElse(null);
+        if (graph == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Graph expired or unknown. Resolve the artifact again."));
+        }
+        if (!graph.contains(nodeId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Unknown node id: " + nodeId));
+        }
+        List<GraphNodeView> children = graph.childViews(nodeId, clampDepth(depth) - 1);
+        return ResponseEntity.ok(children);
+    }
+
+    /**
+     * Omitted conflict candidates of a graph resolved with verbose=true, each
+     * with its full path and the path of the version selected instead.
+     * GET /api/maven/graph/{graphId}/conflicts?groupId=...&artifactId=...
+     */
+    @GetMapping("/graph/{graphId}/conflicts")
+    public ResponseEntity<?> conflicts(
+            @PathVariable @Pattern(regexp = "[a-f0-9-]{36}") String graphId,
+            @RequestParam(required = false) @Pattern(regexp = "[a-zA-Z0-9._-]+") String groupId,
+            @RequestParam(required = false) @Pattern(regexp = "[a-zA-Z0-9._-]+") String artifactId,
+            @RequestParam(defaultValue = "100") int limit) {
+        DependencyGraph graph = graphCache.get(graphId).orElse(null);
+        if (graph == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Graph expired or unknown. Resolve the artifact again."));
+        }
+        if (graph.conflicts().isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Graph was not resolved with verbose=true."));
+        }
+        List<ConflictCandidate> candidates = graph.conflicts().get().candidates(groupId, artifactId,
+                Math.max(1, Math.min(limit, MAX_CONFLICTS_PER_PAGE)));
+        return ResponseEntity.ok(candidates);
+    }
+
+    /**
+     * Re-mediate a graph resolved with verbose=true in memory, with versions
+     * forced and/or artifacts excluded, and compare the security overlays.
+     * POST /api/maven/graph/{graphId}/what-if
+     */
+    @PostMapping("/graph/{graphId}/what-if")
+    public ResponseEntity<?> whatIf(
+            @PathVariable @Pattern(regexp = "[a-f0-9-]{36}") String graphId,
+            @RequestBody WhatIfRequest request,
+            HttpServletRequest httpRequest) {
+        // Iterations are cheap, so they have their own, larger budget
+        if (!rateLimiterService.tryConsume(httpRequest.getRemoteAddr() + ":what-if", 60, 1)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("error", "Rate limit exceeded. Try again in a minute."));
+        }
+        DependencyGraph graph = graphCache.get(graphId).orElse(null);
+        if (graph == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Graph expired or unknown. Resolve the artifact again."));
+        }
+        try {
+            return ResponseEntity.ok(whatIfService.apply(graph, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        return ResponseEntity.ok(mavenResolutionService.resolveDependency(groupId, artifactId, version));
+    }
+
+    private int clampDepth(int depth) {
+        return Math.max(1, Math.min(depth, MAX_PAGE_DEPTH));
     }
 
     /**
      * Resolve from raw POM content (text/plain body) — backward compatible.
+     * With ?verbose=true the graph is cached and paged like /resolve?verbose=true.
+     * With ?security=true the tree comes back with the known vulnerabilities
+     * of all its nodes, looked up in one query; nodes that were never indexed
+     * are queued for the background worker instead of being scanned inline.
+     * The two cannot be combined: a verbose graph gets its security overlay
+     * from /graph/{graphId}/what-if.
      */
     @PostMapping("/resolve/pom")
-    public ResponseEntity<?> resolvePom(@RequestBody String pomContent, HttpServletRequest request) {
+    public ResponseEntity<?> resolvePom(@RequestBody String pomContent,
+            @RequestParam(defaultValue = "false") boolean verbose,
+            @RequestParam(defaultValue = "false") boolean security, HttpServletRequest request) {
+        if (verbose && security) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "verbose and security cannot be combined; use /graph/{graphId}/what-if for a verbose graph."));
+        }
         if (!isAllowed(request)) {
             return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
                     .body(Map.of("error", "Rate limit exceeded. Try again in a minute."));
         }
-        return ResponseEntity.ok(mavenResolutionService.resolveFromPom(pomContent));
+        if (verbose) {
+            try {
+                MavenResolutionService.VerboseResolution result = mavenResolutionService
+                        .resolveFromPomVerbose(pomContent, List.of());
+                return ResponseEntity.ok(graphCache.page(result.tree(), result.conflicts(), result.baseline(),
+                        MAX_PAGE_DEPTH));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        DependencyNode tree = mavenResolutionService.resolveFromPom(pomContent);
+        if (security) {
+            return ResponseEntity.ok(new SecuredResolution(tree, securityOverlayService.overlay(tree, true)));
+        }
+        return ResponseEntity.ok(tree);
     }
 
     /**
@@ -95,6 +295,64 @@ public class MavenController {
         }
     }
 
+    /**
+     * Re-resolve an edited POM against a previous analysis. Only direct
+     * dependencies whose declarations changed are collected again; the
+     * response carries the new tree, the added/removed/changed nodes and an
+     * analysisId to pass on the next edit. Omit analysisId for the first call.
+     */
+    @PostMapping("/resolve/pom/diff")
+    public ResponseEntity<?> resolvePomDiff(@RequestBody PomDiffRequest request, HttpServletRequest httpRequest) {
+        if (!isAllowed(httpRequest)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("error", "Rate limit exceeded. Try again in a minute."));
+        }
+        if (request.pomContent() == null || request.pomContent().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "pomContent is required."));
+        }
+        if (request.analysisId() != null && !request.analysisId().matches("[a-f0-9-]{36}")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid analysisId."));
+        }
+        try {
+            return ResponseEntity.ok(incrementalResolutionService.diff(request.analysisId(), request.pomContent(),
+                    request.customRepositories()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Resolve several coordinates in one call, concurrently and with shared
+     * downloads. Returns one graph per coordinate plus a merged, mediated graph.
+     * Rate limited by work done: admission costs one unit per coordinate, and
+     * every further distinct artifact collected is charged afterwards.
+     */
+    @PostMapping("/resolve/batch")
+    public ResponseEntity<?> resolveBatch(@RequestBody BatchResolveRequest request, HttpServletRequest httpRequest) {
+        List<String> coordinates;
+        try {
+            coordinates = batchResolutionService.validate(request.coordinates());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        String key = httpRequest.getRemoteAddr() + ":resolve-batch";
+        int budget = batchResolutionService.workUnitsPerMinute();
+        if (!rateLimiterService.tryConsume(key, budget, 1, coordinates.size())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("error", "Batch work budget of " + budget
+                            + " artifacts per minute exceeded. Try again in a minute."));
+        }
+        try {
+            BatchResolutionResult result = batchResolutionService.resolve(coordinates,
+                    request.customRepositories());
+            rateLimiterService.charge(key, 1, result.uniqueArtifacts() - coordinates.size());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Upload a POM file directly (multipart form).
      */
@@ -142,6 +400,72 @@ public class MavenController {
         }
     }
 
+    /**
+     * Upload a zip of a whole multi-module project. Every module is resolved
+     * concurrently and streamed back as NDJSON: one {@code module} line per
+     * module as soon as it is ready, then one {@code complete} line with the
+     * merged graph.
+     */
+    @PostMapping("/resolve/archive")
+    public ResponseEntity<?> resolveArchive(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) List<String> repos,
+            HttpServletRequest httpRequest) {
+        if (!isAllowed(httpRequest)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("error", "Rate limit exceeded. Try again in a minute."));
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Uploaded file is empty."));
+        }
+        if (file.getSize() > MAX_ARCHIVE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Archive exceeds maximum size of " + (MAX_ARCHIVE_SIZE / 1024) + " KB."));
+        }
+        String filename = file.getOriginalFilename();
+        if (filename != null && !filename.endsWith(".zip")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Only .zip archives are accepted."));
+        }
+
+        ProjectArchive archive;
+        try {
+            // Parsed up-front so malformed archives fail with 400 before streaming starts
+            archive = ProjectArchive.read(file.getBytes());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to read uploaded file."));
+        }
+        // Admission paid for the root POM; every further module is a resolution of its own
+        rateLimiterService.charge(httpRequest.getRemoteAddr() + ":resolve", 1, archive.modules().size());
+
+        List<String> customRepos = repos != null ? repos : List.of();
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(ARCHIVE_STREAM_TIMEOUT_MS);
+        asyncExecutor.execute(() -> {
+            try {
+                var result = multiModuleResolutionService.resolve(archive, customRepos,
+                        module -> sendEvent(emitter, ModuleResolutionEvent.module(module)));
+                sendEvent(emitter, ModuleResolutionEvent.complete(result));
+                emitter.complete();
+            } catch (Exception e) {
+                log.error("Archive resolution failed: {}", e.getMessage());
+                sendEvent(emitter, ModuleResolutionEvent.error(e.getMessage()));
+                emitter.complete();
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(emitter);
+    }
+
+    private void sendEvent(ResponseBodyEmitter emitter, ModuleResolutionEvent event) {
+        try {
+            emitter.send(event, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; resolution finishes in the background and is discarded
+            log.debug("Dropping archive event, client disconnected: {}", e.getMessage());
+        }
+    }
+
     /**
      * Security info endpoint — returns limits and disclaimers.
      */
@@ -1,20 +1,28 @@
 package com.modernmvn.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modernmvn.backend.dto.BlastRadiusEvent;
 import com.modernmvn.backend.dto.VersionIntelligence;
 import com.modernmvn.backend.dto.VersionIntelligence.*;
 import com.modernmvn.backend.dto.VulnerabilityReport;
 import com.modernmvn.backend.dto.ArtifactVersion;
 import com.modernmvn.backend.entity.SecuritySummaryEntity;
 import com.modernmvn.backend.service.ArtifactIndexingService;
+import com.modernmvn.backend.service.BlastRadiusService;
 import com.modernmvn.backend.service.MavenCentralService;
 import com.modernmvn.backend.service.SecurityService;
 import com.modernmvn.backend.dto.SecurityAdvisory.Severity;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.constraints.Pattern;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,13 +37,19 @@ public class SecurityController {
     private final MavenCentralService mavenCentralService;
     private final ArtifactIndexingService indexingService;
     private final SecurityService securityService; // only for stability scoring (pure computation)
+    private final BlastRadiusService blastRadiusService;
+    private final ObjectMapper objectMapper;
 
     public SecurityController(MavenCentralService mavenCentralService,
             ArtifactIndexingService indexingService,
-            SecurityService securityService) {
+            SecurityService securityService,
+            BlastRadiusService blastRadiusService,
+            ObjectMapper objectMapper) {
         this.mavenCentralService = mavenCentralService;
         this.indexingService = indexingService;
         this.securityService = securityService;
+        this.blastRadiusService = blastRadiusService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -296,6 +310,51 @@ public class SecurityController {
         }
     }
 
+    /**
+     * Every indexed version exposed to a vulnerability, streamed as NDJSON
+     * nearest first: one {@code affected} line per version with its depth and
+     * direct/transitive exposure, then one {@code complete} line.
+     * GET /api/security/advisories/{id}/blast-radius?maxDepth=50
+     */
+    @GetMapping("/advisories/{id}/blast-radius")
+    public ResponseEntity<?> getBlastRadius(
+            @PathVariable @Pattern(regexp = "[a-zA-Z0-9._:-]+") String id,
+            @RequestParam(defaultValue = "50") int maxDepth) {
+        Optional<List<Long>> vulnerable = blastRadiusService.vulnerableVersions(id);
+        if (vulnerable.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of("error", "Unknown vulnerability: " + id));
+        }
+        if (!blastRadiusService.isAvailable()) {
+            return ResponseEntity.status(409)
+                    .body(Map.of("error", "Blast radius needs the rows or shared closure layout"));
+        }
+        int depth = Math.max(0, Math.min(maxDepth, 100));
+        StreamingResponseBody body = out -> {
+            try {
+                long affected = blastRadiusService.walk(vulnerable.get(), depth, batch -> writeLines(out, batch));
+                writeLines(out, List.of(BlastRadiusEvent.complete(affected)));
+            } catch (UncheckedIOException e) {
+                // Client went away; the walk stopped at its next batch
+            } catch (RuntimeException e) {
+                writeLines(out, List.of(BlastRadiusEvent.error(e.getMessage())));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    private void writeLines(OutputStream out, List<BlastRadiusEvent> events) {
+        try {
+            for (BlastRadiusEvent event : events) {
+                out.write(objectMapper.writeValueAsBytes(event));
+                out.write('\n');
+            }
+            // Blocks while the client is behind, which holds the walk back
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     // ──────────────────────── DB-first helper ────────────────────────
 
     /**
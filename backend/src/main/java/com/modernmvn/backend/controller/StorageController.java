@@ -0,0 +1,79 @@
+package com.modernmvn.backend.controller;
+
+import com.modernmvn.backend.dto.ClosureStorageReport;
+import com.modernmvn.backend.repository.EdgePartitionRepository.PartitionBound;
+import com.modernmvn.backend.service.DependencyClosureStore;
+import com.modernmvn.backend.service.EdgePartitionManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage figures and maintenance for the indexed data.
+ *
+ * GET  /api/admin/storage/closures         — rows and bytes of each closure layout
+ * POST /api/admin/storage/closures/migrate — move closures into the configured layout
+ * GET  /api/admin/storage/edges/partitions  — hash partitions of dependency_edges
+ * POST /api/admin/storage/edges/partition   — convert or split to the configured count
+ *
+ * All of them need the {@code X-Admin-Token} header, the GETs included,
+ * since they count whole tables; see
+ * {@link com.modernmvn.backend.config.AdminTokenInterceptor}.
+ */
+@RestController
+@RequestMapping("/api/admin/storage")
+public class StorageController {
+
+    private final DependencyClosureStore closureStore;
+    private final EdgePartitionManager partitionManager;
+
+    public StorageController(DependencyClosureStore closureStore, EdgePartitionManager partitionManager) {
+        this.closureStore = closureStore;
+        this.partitionManager = partitionManager;
+    }
+
+    @GetMapping("/closures")
+    public ResponseEntity<ClosureStorageReport> closures() {
+        return ResponseEntity.ok(closureStore.storageReport());
+    }
+
+    @PostMapping("/closures/migrate")
+    public ResponseEntity<?> migrateClosures(@RequestParam(defaultValue = "1000") int limit) {
+        int migrated = closureStore.migrate(Math.max(1, Math.min(limit, 100_000)));
+        return ResponseEntity.ok(Map.of(
+                "migrated", migrated,
+                "storage", closureStore.storageReport()));
+    }
+
+    @GetMapping("/edges/partitions")
+    public ResponseEntity<?> edgePartitions() {
+        return ResponseEntity.ok(partitionStatus(partitionManager.partitions()));
+    }
+
+    /**
+     * Blocks until done; converting or splitting moves every edge of the
+     * affected partitions and locks all of dependency_edges while it does.
+     * Only available with the rows closure layout.
+     */
+    @PostMapping("/edges/partition")
+    public ResponseEntity<?> partitionEdges(@RequestParam(required = false) Integer partitions) {
+        int target = partitions != null ? partitions : partitionManager.configuredPartitions();
+        try {
+            return ResponseEntity.ok(partitionStatus(partitionManager.apply(target)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> partitionStatus(List<PartitionBound> bounds) {
+        return Map.of(
+                "partitioned", partitionManager.isPartitioned(),
+                "configuredPartitions", partitionManager.configuredPartitions(),
+                "partitions", bounds.stream().map(PartitionBound::name).toList());
+    }
+}
@@ -19,7 +19,8 @@ public record ArtifactInfo(
         String url,
         List<LicenseInfo> licenses,
         long lastUpdated,
-        int usedByCount) {
+        int usedByCount,
+        int transitiveDependentCount) { // Artifacts depending on any version through any path
 
     public record LicenseInfo(String name, String url) {
     }
@@ -0,0 +1,23 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * Result of resolving several coordinates together: one mediated graph per
+ * coordinate, plus a merged graph mediated as if every coordinate were a
+ * direct dependency of one project. The merged graph's root is synthetic;
+ * its group id is {@code BatchResolutionService.SYNTHETIC_GROUP_ID}.
+ */
+public record BatchResolutionResult(
+        int requested,
+        int failed,
+        int uniqueArtifacts, // Distinct GAVs collected across the batch; what the rate limiter is charged
+        long durationMs,
+        List<RootResult> roots,
+        DependencyNode merged) {
+
+    public record RootResult(
+            String coordinate,
+            DependencyNode tree) {
+    }
+}
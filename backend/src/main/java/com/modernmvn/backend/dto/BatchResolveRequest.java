@@ -0,0 +1,12 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * Several coordinates ({@code groupId:artifactId:version}) to resolve in one
+ * call, e.g. everything a CI pipeline checks.
+ */
+public record BatchResolveRequest(
+        List<String> coordinates,
+        List<String> customRepositories) {
+}
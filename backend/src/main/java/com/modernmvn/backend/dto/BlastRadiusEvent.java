@@ -0,0 +1,31 @@
+package com.modernmvn.backend.dto;
+
+/**
+ * One line of the NDJSON stream returned for a vulnerability's blast radius.
+ * An {@code affected} event is sent for every indexed version that is, or
+ * transitively depends on, a vulnerable version, nearest first, followed by
+ * a single {@code complete} event (or an {@code error} event if the walk
+ * failed).
+ */
+public record BlastRadiusEvent(
+        String type, // "affected", "complete", "error"
+        String coordinates, // groupId:artifactId:version of the affected version
+        Integer depth, // Edges to the nearest vulnerable version, 0 for a vulnerable version itself
+        String exposure, // "vulnerable", "direct" or "transitive"
+        String via, // The vulnerable version it is nearest to
+        Long affected, // Total affected versions, on the complete event
+        String error) {
+
+    public static BlastRadiusEvent affected(String coordinates, int depth, String via) {
+        String exposure = depth == 0 ? "vulnerable" : depth == 1 ? "direct" : "transitive";
+        return new BlastRadiusEvent("affected", coordinates, depth, exposure, via, null, null);
+    }
+
+    public static BlastRadiusEvent complete(long affected) {
+        return new BlastRadiusEvent("complete", null, null, null, null, affected, null);
+    }
+
+    public static BlastRadiusEvent error(String message) {
+        return new BlastRadiusEvent("error", null, null, null, null, null, message);
+    }
+}
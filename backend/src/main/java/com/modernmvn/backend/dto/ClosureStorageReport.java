@@ -0,0 +1,19 @@
+package com.modernmvn.backend.dto;
+
+/**
+ * Size of the stored dependency closures in each layout. {@code closureEntries}
+ * is how many {@code dependency_edges} rows every indexed version would take
+ * in the row layout, the baseline the shared layout is measured against.
+ */
+public record ClosureStorageReport(
+        String layout,
+        long closureEntries,
+        long edgeRows,
+        long edgeBytes,
+        long subgraphs,
+        long subgraphMembers,
+        long closureRefs,
+        long sharedBytes,
+        long binaryRows,
+        long binaryBytes) {
+}
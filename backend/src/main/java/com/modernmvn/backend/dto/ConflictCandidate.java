@@ -0,0 +1,19 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * A dependency candidate that was omitted during conflict resolution, with
+ * the full path from the root to it and to the version selected instead.
+ * Path entries are {@code groupId:artifactId:version}, root first.
+ */
+public record ConflictCandidate(
+        String groupId,
+        String artifactId,
+        String version,
+        String scope,
+        String selectedVersion,
+        String reason, // "conflict" (different version selected) or "duplicate" (same version reached elsewhere)
+        List<String> path,
+        List<String> selectedPath) {
+}
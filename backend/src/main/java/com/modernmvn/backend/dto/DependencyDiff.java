@@ -0,0 +1,46 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * Transitive dependencies added, removed or changed between two indexed
+ * versions of an artifact, as answered by
+ * {@code /api/maven/artifact/{g}/{a}/diff}. Lists are ordered by groupId and
+ * artifactId.
+ */
+public record DependencyDiff(
+        String groupId,
+        String artifactId,
+        String fromVersion,
+        String toVersion,
+        List<Change> added,
+        List<Change> removed,
+        List<Change> changed,
+        int unchanged,
+        VulnerabilityCounts fromVulnerabilities, // Null if the version has no security summary yet
+        VulnerabilityCounts toVulnerabilities,
+        VulnerabilityCounts vulnerabilityDelta) { // to minus from, null unless both summaries exist
+
+    /** A dependency that differs between the two closures; the version is null on the side it is absent. */
+    public record Change(
+            String groupId,
+            String artifactId,
+            String fromVersion,
+            String toVersion) {
+    }
+
+    public record VulnerabilityCounts(
+            int total,
+            int critical,
+            int high,
+            int medium,
+            int low,
+            double maxCvss,
+            int riskScore) {
+
+        public VulnerabilityCounts minus(VulnerabilityCounts other) {
+            return new VulnerabilityCounts(total - other.total, critical - other.critical, high - other.high,
+                    medium - other.medium, low - other.low, maxCvss - other.maxCvss, riskScore - other.riskScore);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.modernmvn.backend.dto;
+
+/**
+ * The first {@code depth} levels of a resolved dependency graph plus the handle
+ * ({@code graphId}) under which the full graph is cached server-side.
+ */
+public record DependencyGraphPage(
+        String graphId,
+        int totalNodes,
+        int depth,
+        GraphNodeView root,
+        Integer omittedCandidates) { // null unless resolved with verbose=true
+}
@@ -0,0 +1,23 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * Every path by which an artifact enters the closure of a root version, as
+ * answered by {@code /api/graph/{g}/{a}/{v}/why}. Path entries are
+ * {@code groupId:artifactId:version}, root first, shortest paths first.
+ */
+public record DependencyPathReport(
+        String root,
+        String groupId,
+        String artifactId,
+        String selectedVersion, // Version in the root's resolved closure, null if the artifact is not in it
+        List<String> mediatingEdge, // [parent, selected] on the nearest path to the selected version, empty if none
+        List<DependencyPath> paths,
+        boolean truncated) { // More paths exist than were returned
+
+    public record DependencyPath(
+            List<String> versions,
+            boolean selected) { // Ends at the selected version
+    }
+}
@@ -0,0 +1,22 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * A node of a server-side cached dependency graph, addressable by its
+ * {@code nodeId}. Nodes below the requested depth are shipped collapsed:
+ * {@code children} is empty while {@code childCount} reports how many can be
+ * fetched via the lazy expansion endpoint.
+ */
+public record GraphNodeView(
+        int nodeId,
+        String groupId,
+        String artifactId,
+        String version,
+        String scope,
+        String type,
+        String resolutionStatus,
+        String conflictMessage,
+        int childCount,
+        List<GraphNodeView> children) {
+}
@@ -0,0 +1,35 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * Known vulnerabilities of every resolved node of a dependency graph,
+ * aggregated over the whole graph. Only artifacts that are already indexed
+ * contribute; nodes that lost conflict resolution are not counted.
+ *
+ * Per node: a GAV listed in {@code artifacts} is vulnerable, one listed in
+ * {@code unindexed} has not been scanned yet (and may have been queued for
+ * indexing), and any other checked GAV has no known vulnerability.
+ */
+public record GraphSecurityOverlay(
+        int checkedArtifacts,
+        int vulnerableArtifacts,
+        int totalVulnerabilities,
+        int criticalCount,
+        int highCount,
+        int mediumCount,
+        int lowCount,
+        double maxCvssScore,
+        List<VulnerableArtifact> artifacts,
+        List<String> unindexed,
+        int enqueuedForIndexing) {
+
+    public record VulnerableArtifact(
+            String groupId,
+            String artifactId,
+            String version,
+            SecurityAdvisory.Severity highestSeverity,
+            double maxCvssScore,
+            List<String> vulnerabilityIds) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.modernmvn.backend.dto;
+
+/**
+ * One line of the NDJSON stream returned for an uploaded project archive.
+ * A {@code module} event is sent as soon as each module is resolved, followed
+ * by a single {@code complete} event carrying the merged result (or an
+ * {@code error} event if the analysis failed).
+ */
+public record ModuleResolutionEvent(
+        String type, // "module", "complete", "error"
+        MultiModuleResult.ModuleInfo module,
+        MultiModuleResult result,
+        String error) {
+
+    public static ModuleResolutionEvent module(MultiModuleResult.ModuleInfo module) {
+        return new ModuleResolutionEvent("module", module, null, null);
+    }
+
+    public static ModuleResolutionEvent complete(MultiModuleResult result) {
+        return new ModuleResolutionEvent("complete", null, result, null);
+    }
+
+    public static ModuleResolutionEvent error(String message) {
+        return new ModuleResolutionEvent("error", null, null, message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * Request payload for incremental re-resolution of an edited POM.
+ */
+public record PomDiffRequest(
+        String analysisId, // Id returned by a previous diff call; null for the first analysis
+        String pomContent,
+        List<String> customRepositories) {
+    public PomDiffRequest {
+        if (customRepositories == null) {
+            customRepositories = List.of();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * Result of re-resolving an edited POM against a previous analysis: the new
+ * graph plus which resolved nodes were added, removed or changed.
+ */
+public record PomDiffResult(
+        String analysisId, // Pass back as analysisId on the next edit; also a graph id for lazy expansion
+        String previousAnalysisId,
+        boolean incremental, // false when there was no usable previous analysis
+        int recollected, // Direct dependencies whose subtrees were collected again
+        int reused, // Direct dependencies whose cached subtrees were reused
+        long durationMs,
+        DependencyNode tree,
+        List<NodeChange> added,
+        List<NodeChange> removed,
+        List<NodeChange> changed) {
+
+    /**
+     * A resolved node that differs between the two analyses. Version and scope
+     * are null on the side where the node is absent.
+     */
+    public record NodeChange(
+            String groupId,
+            String artifactId,
+            String previousVersion,
+            String version,
+            String previousScope,
+            String scope) {
+    }
+}
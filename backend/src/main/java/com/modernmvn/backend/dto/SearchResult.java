@@ -23,7 +23,7 @@ public record SearchResult(
                         String description,
                         long timestamp,
                         long versionCount,
-                        int usageCount,
+                        int usageCount, // Artifacts depending on any version through any path, 0 if unknown
                         String safetyStatus,
                         List<String> categories) {
         }
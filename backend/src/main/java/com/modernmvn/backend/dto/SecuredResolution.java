@@ -0,0 +1,10 @@
+package com.modernmvn.backend.dto;
+
+/**
+ * A resolved tree with the security overlay of all its resolved nodes,
+ * gathered in one lookup. Returned by {@code /resolve/pom?security=true}.
+ */
+public record SecuredResolution(
+        DependencyNode tree,
+        GraphSecurityOverlay security) {
+}
@@ -0,0 +1,15 @@
+package com.modernmvn.backend.dto;
+
+import java.util.List;
+
+/**
+ * Edits to try against a cached verbose graph.
+ * Overrides force a version everywhere in the graph
+ * ({@code groupId:artifactId:version}); exclusions drop an artifact and
+ * everything only reachable through it ({@code groupId:artifactId}, either
+ * part may be {@code *}).
+ */
+public record WhatIfRequest(
+        List<String> overrides,
+        List<String> exclusions) {
+}
@@ -0,0 +1,14 @@
+package com.modernmvn.backend.dto;
+
+/**
+ * Outcome of re-mediating a cached graph with what-if edits, next to the
+ * security overlay of the graph as originally resolved.
+ */
+public record WhatIfResult(
+        String graphId, // The cached verbose graph the edits were applied to
+        long durationMs,
+        int descriptorsFetched, // Descriptors read for versions not seen by earlier runs on this graph
+        DependencyNode tree,
+        GraphSecurityOverlay security,
+        GraphSecurityOverlay baselineSecurity) {
+}
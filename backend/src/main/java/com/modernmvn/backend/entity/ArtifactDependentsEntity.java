@@ -0,0 +1,73 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Number of distinct artifacts that depend on any version of an artifact,
+ * through any path of the index. Recomputed as a whole by
+ * {@code com.modernmvn.backend.service.TransitiveDependentsJob}.
+ */
+@Entity
+@Table(name = "artifact_dependents")
+public class ArtifactDependentsEntity implements Persistable<Long> {
+
+    @Id
+    @Column(name = "artifact_id")
+    private Long artifactId;
+
+    @Column(name = "transitive_dependents", nullable = false)
+    private int transitiveDependents;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+
+    // ─── Schema Foreign Keys (for ON DELETE CASCADE DDL only) ────
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "artifact_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_ad_artifact", foreignKeyDefinition = "FOREIGN KEY (artifact_id) REFERENCES artifacts(id) ON DELETE CASCADE"))
+    private ArtifactEntity artifactRef;
+
+    // Rows are only inserted after every old one is deleted
+    @Transient
+    private boolean isNew = true;
+
+    public ArtifactDependentsEntity() {
+    }
+
+    public ArtifactDependentsEntity(Long artifactId, int transitiveDependents, Instant computedAt) {
+        this.artifactId = artifactId;
+        this.transitiveDependents = transitiveDependents;
+        this.computedAt = computedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return artifactId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getArtifactId() {
+        return artifactId;
+    }
+
+    public int getTransitiveDependents() {
+        return transitiveDependents;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
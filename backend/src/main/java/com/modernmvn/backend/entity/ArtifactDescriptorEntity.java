@@ -0,0 +1,53 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Direct dependencies of one GAV as declared in its effective POM: the
+ * outgoing edges the native resolver walks instead of asking Aether.
+ *
+ * Edges are packed one per line as
+ * {@code groupId:artifactId:extension:classifier:version|scope|optional|exclusions},
+ * with exclusions as comma-separated {@code groupId:artifactId}. A row with an
+ * empty list means "known to have no dependencies", not "missing".
+ */
+@Entity
+@Table(name = "artifact_descriptors")
+public class ArtifactDescriptorEntity {
+
+    @Id
+    @Column(length = 512)
+    private String gav;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String dependencies;
+
+    @Column(name = "stored_at", nullable = false)
+    private Instant storedAt;
+
+    // ─── Constructors ────────────────────────────────────────────
+
+    public ArtifactDescriptorEntity() {
+    }
+
+    public ArtifactDescriptorEntity(String gav, String dependencies) {
+        this.gav = gav;
+        this.dependencies = dependencies;
+        this.storedAt = Instant.now();
+    }
+
+    // ─── Getters ─────────────────────────────────────────────────
+
+    public String getGav() {
+        return gav;
+    }
+
+    public String getDependencies() {
+        return dependencies;
+    }
+
+    public Instant getStoredAt() {
+        return storedAt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * PageRank-style popularity of an artifact over the dependency graph: the
+ * summed score of its versions, and its position among all artifacts (1 is
+ * the most depended upon). Recomputed as a whole by
+ * {@code com.modernmvn.backend.service.PopularityJob}.
+ */
+@Entity
+@Table(name = "artifact_popularity", indexes = {
+        @Index(name = "idx_ap_rank", columnList = "popularity_rank")
+})
+public class ArtifactPopularityEntity implements Persistable<Long> {
+
+    @Id
+    @Column(name = "artifact_id")
+    private Long artifactId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "popularity_rank", nullable = false)
+    private int rank;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+
+    // ─── Schema Foreign Keys (for ON DELETE CASCADE DDL only) ────
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "artifact_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_ap_artifact", foreignKeyDefinition = "FOREIGN KEY (artifact_id) REFERENCES artifacts(id) ON DELETE CASCADE"))
+    private ArtifactEntity artifactRef;
+
+    // Rows are only inserted after every old one is deleted
+    @Transient
+    private boolean isNew = true;
+
+    public ArtifactPopularityEntity() {
+    }
+
+    public ArtifactPopularityEntity(Long artifactId, double score, int rank, Instant computedAt) {
+        this.artifactId = artifactId;
+        this.score = score;
+        this.rank = rank;
+        this.computedAt = computedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return artifactId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getArtifactId() {
+        return artifactId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
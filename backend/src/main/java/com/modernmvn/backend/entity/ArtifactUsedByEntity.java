@@ -0,0 +1,38 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of indexed versions that declare a direct dependency on any version
+ * of an artifact: the sum of its versions' {@link VersionUsedByEntity}
+ * counts, since a root depends directly on at most one version of an
+ * artifact. Maintained alongside them.
+ */
+@Entity
+@Table(name = "artifact_used_by")
+public class ArtifactUsedByEntity {
+
+    @Id
+    @Column(name = "artifact_id")
+    private Long artifactId;
+
+    @Column(name = "direct_dependents", nullable = false)
+    private int directDependents;
+
+    // ─── Schema Foreign Keys (for ON DELETE CASCADE DDL only) ────
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "artifact_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_aub_artifact", foreignKeyDefinition = "FOREIGN KEY (artifact_id) REFERENCES artifacts(id) ON DELETE CASCADE"))
+    private ArtifactEntity artifactRef;
+
+    public ArtifactUsedByEntity() {
+    }
+
+    public Long getArtifactId() {
+        return artifactId;
+    }
+
+    public int getDirectDependents() {
+        return directDependents;
+    }
+}
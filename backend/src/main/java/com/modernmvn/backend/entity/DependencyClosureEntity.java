@@ -0,0 +1,89 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * The whole dependency closure of one root version in a single row: the
+ * sorted dependency version ids delta- and varint-encoded, plus one depth byte
+ * and one scope byte per id in the same order. See
+ * {@code com.modernmvn.backend.service.ClosureCodec} for the format.
+ */
+@Entity
+@Table(name = "dependency_closures")
+public class DependencyClosureEntity implements Persistable<Long> {
+
+    @Id
+    @Column(name = "root_version_id")
+    private Long rootVersionId;
+
+    @Column(name = "member_count", nullable = false)
+    private int memberCount;
+
+    @Column(name = "version_ids", nullable = false)
+    private byte[] versionIds;
+
+    @Column(nullable = false)
+    private byte[] depths;
+
+    @Column(nullable = false)
+    private byte[] scopes;
+
+    // ─── Schema Foreign Keys (for ON DELETE CASCADE DDL only) ────
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "root_version_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_dc_root", foreignKeyDefinition = "FOREIGN KEY (root_version_id) REFERENCES artifact_versions(id) ON DELETE CASCADE"))
+    private ArtifactVersionEntity rootVersionRef;
+
+    // Closures are only inserted after the root's old one is deleted
+    @Transient
+    private boolean isNew = true;
+
+    public DependencyClosureEntity() {
+    }
+
+    public DependencyClosureEntity(Long rootVersionId, int memberCount, byte[] versionIds, byte[] depths,
+            byte[] scopes) {
+        this.rootVersionId = rootVersionId;
+        this.memberCount = memberCount;
+        this.versionIds = versionIds;
+        this.depths = depths;
+        this.scopes = scopes;
+    }
+
+    @Override
+    public Long getId() {
+        return rootVersionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getRootVersionId() {
+        return rootVersionId;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public byte[] getVersionIds() {
+        return versionIds;
+    }
+
+    public byte[] getDepths() {
+        return depths;
+    }
+
+    public byte[] getScopes() {
+        return scopes;
+    }
+}
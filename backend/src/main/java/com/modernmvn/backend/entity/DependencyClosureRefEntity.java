@@ -0,0 +1,72 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Links a root version to the shared subgraph of one of its direct
+ * dependencies. The root's closure is the union of the members of all its
+ * referenced subgraphs, so a root costs one row per direct dependency
+ * instead of one per transitive dependency.
+ */
+@Entity
+@Table(name = "dependency_closure_refs", indexes = {
+        @Index(name = "idx_dcr_subgraph", columnList = "subgraph_hash") // reverse lookups
+})
+@IdClass(DependencyClosureRefId.class)
+public class DependencyClosureRefEntity implements Persistable<DependencyClosureRefId> {
+
+    @Id
+    @Column(name = "root_version_id")
+    private Long rootVersionId;
+
+    @Id
+    @Column(name = "subgraph_hash", length = 64)
+    private String subgraphHash;
+
+    // ─── Schema Foreign Keys (for ON DELETE CASCADE DDL only) ────
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "root_version_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_dcr_root", foreignKeyDefinition = "FOREIGN KEY (root_version_id) REFERENCES artifact_versions(id) ON DELETE CASCADE"))
+    private ArtifactVersionEntity rootVersionRef;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subgraph_hash", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_dcr_subgraph", foreignKeyDefinition = "FOREIGN KEY (subgraph_hash) REFERENCES dependency_subgraphs(hash)"))
+    private DependencySubgraphEntity subgraphRef;
+
+    // Refs are only inserted after the root's old refs are deleted
+    @Transient
+    private boolean isNew = true;
+
+    public DependencyClosureRefEntity() {
+    }
+
+    public DependencyClosureRefEntity(Long rootVersionId, String subgraphHash) {
+        this.rootVersionId = rootVersionId;
+        this.subgraphHash = subgraphHash;
+    }
+
+    @Override
+    public DependencyClosureRefId getId() {
+        return new DependencyClosureRefId(rootVersionId, subgraphHash);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getRootVersionId() {
+        return rootVersionId;
+    }
+
+    public String getSubgraphHash() {
+        return subgraphHash;
+    }
+}
@@ -0,0 +1,44 @@
+package com.modernmvn.backend.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for DependencyClosureRefEntity.
+ */
+public class DependencyClosureRefId implements Serializable {
+
+    private Long rootVersionId;
+    private String subgraphHash;
+
+    public DependencyClosureRefId() {
+    }
+
+    public DependencyClosureRefId(Long rootVersionId, String subgraphHash) {
+        this.rootVersionId = rootVersionId;
+        this.subgraphHash = subgraphHash;
+    }
+
+    public Long getRootVersionId() {
+        return rootVersionId;
+    }
+
+    public String getSubgraphHash() {
+        return subgraphHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        DependencyClosureRefId that = (DependencyClosureRefId) o;
+        return Objects.equals(rootVersionId, that.rootVersionId) && Objects.equals(subgraphHash, that.subgraphHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rootVersionId, subgraphHash);
+    }
+}
@@ -0,0 +1,50 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A resolved subtree stored once and shared by every root whose tree
+ * contains it, addressed by a SHA-256 over its shape (coordinates, scope and
+ * status of every node, children in order). The flattened members live in
+ * {@link DependencySubgraphMemberEntity}; roots point at the subgraphs of
+ * their direct dependencies through {@link DependencyClosureRefEntity}.
+ */
+@Entity
+@Table(name = "dependency_subgraphs")
+public class DependencySubgraphEntity {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(name = "head_version_id", nullable = false)
+    private Long headVersionId;
+
+    @Column(name = "member_count", nullable = false)
+    private int memberCount;
+
+    /** When an indexer stored this subgraph; the sweep spares recent ones. */
+    @Column(name = "last_referenced_at")
+    private Instant lastReferencedAt;
+
+    public DependencySubgraphEntity() {
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public Long getHeadVersionId() {
+        return headVersionId;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public Instant getLastReferencedAt() {
+        return lastReferencedAt;
+    }
+}
@@ -0,0 +1,82 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One distinct artifact version inside a shared subgraph. Depth is relative
+ * to the subgraph head, which is itself a member at depth 0.
+ */
+@Entity
+@Table(name = "dependency_subgraph_members", indexes = {
+        @Index(name = "idx_dsm_dep", columnList = "dependency_version_id") // reverse lookups
+})
+@IdClass(DependencySubgraphMemberId.class)
+public class DependencySubgraphMemberEntity implements Persistable<DependencySubgraphMemberId> {
+
+    @Id
+    @Column(name = "subgraph_hash", length = 64)
+    private String subgraphHash;
+
+    @Id
+    @Column(name = "dependency_version_id")
+    private Long dependencyVersionId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Column(length = 20)
+    private String scope;
+
+    // ─── Schema Foreign Keys (for ON DELETE CASCADE DDL only) ────
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subgraph_hash", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_dsm_subgraph", foreignKeyDefinition = "FOREIGN KEY (subgraph_hash) REFERENCES dependency_subgraphs(hash) ON DELETE CASCADE"))
+    private DependencySubgraphEntity subgraphRef;
+
+    // Members are only inserted together with a subgraph this transaction created
+    @Transient
+    private boolean isNew = true;
+
+    public DependencySubgraphMemberEntity() {
+    }
+
+    public DependencySubgraphMemberEntity(String subgraphHash, Long dependencyVersionId, int depth, String scope) {
+        this.subgraphHash = subgraphHash;
+        this.dependencyVersionId = dependencyVersionId;
+        this.depth = depth;
+        this.scope = scope;
+    }
+
+    @Override
+    public DependencySubgraphMemberId getId() {
+        return new DependencySubgraphMemberId(subgraphHash, dependencyVersionId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getSubgraphHash() {
+        return subgraphHash;
+    }
+
+    public Long getDependencyVersionId() {
+        return dependencyVersionId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+}
@@ -0,0 +1,45 @@
+package com.modernmvn.backend.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for DependencySubgraphMemberEntity.
+ */
+public class DependencySubgraphMemberId implements Serializable {
+
+    private String subgraphHash;
+    private Long dependencyVersionId;
+
+    public DependencySubgraphMemberId() {
+    }
+
+    public DependencySubgraphMemberId(String subgraphHash, Long dependencyVersionId) {
+        this.subgraphHash = subgraphHash;
+        this.dependencyVersionId = dependencyVersionId;
+    }
+
+    public String getSubgraphHash() {
+        return subgraphHash;
+    }
+
+    public Long getDependencyVersionId() {
+        return dependencyVersionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        DependencySubgraphMemberId that = (DependencySubgraphMemberId) o;
+        return Objects.equals(subgraphHash, that.subgraphHash)
+                && Objects.equals(dependencyVersionId, that.dependencyVersionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subgraphHash, dependencyVersionId);
+    }
+}
@@ -0,0 +1,134 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One node of the resolved dependency tree of an indexed version, exactly as
+ * it was served: conflict losers and their messages included. Nodes are
+ * numbered in pre-order, so a tree is read back with one range scan on the
+ * primary key and rebuilt by following {@code parentIndex}. Unlike
+ * {@link DependencyEdgeEntity}, which flattens the closure, this keeps the
+ * shape of the tree.
+ *
+ * A node references its version by id; coordinates are joined in from
+ * {@code artifact_versions} and {@code artifacts} when the tree is read. The
+ * {@code _v2} table replaces {@code dependency_tree_nodes}, which stored them
+ * as strings on every row and is converted by {@code DependencyTreeBackfillJob}.
+ */
+@Entity
+@Table(name = "dependency_tree_nodes_v2")
+@IdClass(DependencyTreeNodeId.class)
+public class DependencyTreeNodeEntity implements Persistable<DependencyTreeNodeId> {
+
+    @Id
+    @Column(name = "root_version_id")
+    private Long rootVersionId;
+
+    @Id
+    @Column(name = "node_index")
+    private int nodeIndex;
+
+    /** Index of the parent node, -1 for the root. */
+    @Column(name = "parent_index", nullable = false)
+    private int parentIndex;
+
+    @Column(name = "version_id", nullable = false)
+    private Long versionId;
+
+    @Column(length = 20)
+    private String scope;
+
+    @Column(length = 50)
+    private String type;
+
+    @Column(name = "resolution_status", length = 20)
+    private String resolutionStatus;
+
+    @Column(name = "conflict_message", length = 500)
+    private String conflictMessage;
+
+    // ─── Schema Foreign Keys (for ON DELETE CASCADE DDL only) ────
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "root_version_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_tree_root", foreignKeyDefinition = "FOREIGN KEY (root_version_id) REFERENCES artifact_versions(id) ON DELETE CASCADE"))
+    private ArtifactVersionEntity rootVersionRef;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "version_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_tree_version", foreignKeyDefinition = "FOREIGN KEY (version_id) REFERENCES artifact_versions(id) ON DELETE CASCADE"))
+    private ArtifactVersionEntity versionRef;
+
+    // Rows are only ever inserted after the old tree is deleted; skipping
+    // merge() saves one SELECT per node
+    @Transient
+    private boolean isNew = true;
+
+    // ─── Constructors ────────────────────────────────────────────
+
+    public DependencyTreeNodeEntity() {
+    }
+
+    public DependencyTreeNodeEntity(Long rootVersionId, int nodeIndex, int parentIndex, Long versionId,
+            String scope, String type, String resolutionStatus, String conflictMessage) {
+        this.rootVersionId = rootVersionId;
+        this.nodeIndex = nodeIndex;
+        this.parentIndex = parentIndex;
+        this.versionId = versionId;
+        this.scope = scope;
+        this.type = type;
+        this.resolutionStatus = resolutionStatus;
+        this.conflictMessage = conflictMessage != null && conflictMessage.length() > 500
+                ? conflictMessage.substring(0, 497) + "..."
+                : conflictMessage;
+    }
+
+    @Override
+    public DependencyTreeNodeId getId() {
+        return new DependencyTreeNodeId(rootVersionId, nodeIndex);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    // ─── Getters ─────────────────────────────────────────────────
+
+    public Long getRootVersionId() {
+        return rootVersionId;
+    }
+
+    public int getNodeIndex() {
+        return nodeIndex;
+    }
+
+    public int getParentIndex() {
+        return parentIndex;
+    }
+
+    public Long getVersionId() {
+        return versionId;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getResolutionStatus() {
+        return resolutionStatus;
+    }
+
+    public String getConflictMessage() {
+        return conflictMessage;
+    }
+}
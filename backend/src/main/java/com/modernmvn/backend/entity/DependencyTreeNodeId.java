@@ -0,0 +1,44 @@
+package com.modernmvn.backend.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for DependencyTreeNodeEntity.
+ */
+public class DependencyTreeNodeId implements Serializable {
+
+    private Long rootVersionId;
+    private int nodeIndex;
+
+    public DependencyTreeNodeId() {
+    }
+
+    public DependencyTreeNodeId(Long rootVersionId, int nodeIndex) {
+        this.rootVersionId = rootVersionId;
+        this.nodeIndex = nodeIndex;
+    }
+
+    public Long getRootVersionId() {
+        return rootVersionId;
+    }
+
+    public int getNodeIndex() {
+        return nodeIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        DependencyTreeNodeId that = (DependencyTreeNodeId) o;
+        return nodeIndex == that.nodeIndex && Objects.equals(rootVersionId, that.rootVersionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rootVersionId, nodeIndex);
+    }
+}
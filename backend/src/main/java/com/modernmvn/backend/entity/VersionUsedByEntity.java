@@ -0,0 +1,38 @@
+package com.modernmvn.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of indexed versions that declare a direct dependency on a version.
+ * Kept up to date by the upserts of
+ * {@code com.modernmvn.backend.service.UsedByCounterService} in the same
+ * transaction as the closure write, and reconciled periodically.
+ */
+@Entity
+@Table(name = "version_used_by")
+public class VersionUsedByEntity {
+
+    @Id
+    @Column(name = "version_id")
+    private Long versionId;
+
+    @Column(name = "direct_dependents", nullable = false)
+    private int directDependents;
+
+    // ─── Schema Foreign Keys (for ON DELETE CASCADE DDL only) ────
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "version_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "fk_vub_version", foreignKeyDefinition = "FOREIGN KEY (version_id) REFERENCES artifact_versions(id) ON DELETE CASCADE"))
+    private ArtifactVersionEntity versionRef;
+
+    public VersionUsedByEntity() {
+    }
+
+    public Long getVersionId() {
+        return versionId;
+    }
+
+    public int getDirectDependents() {
+        return directDependents;
+    }
+}
@@ -0,0 +1,43 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.ArtifactDependentsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArtifactDependentsRepository extends JpaRepository<ArtifactDependentsEntity, Long> {
+
+    @Query("SELECT d.transitiveDependents FROM ArtifactDependentsEntity d, ArtifactEntity a " +
+            "WHERE a.id = d.artifactId AND a.groupId = :g AND a.artifactId = :a")
+    Optional<Integer> findTransitiveDependents(@Param("g") String groupId, @Param("a") String artifactId);
+
+    /**
+     * Counts of every artifact whose groupId and artifactId are among the
+     * given ones. Callers filter the rows down to their exact pairs.
+     */
+    @Query("SELECT a.groupId AS groupId, a.artifactId AS artifactId, d.transitiveDependents AS transitiveDependents " +
+            "FROM ArtifactDependentsEntity d, ArtifactEntity a " +
+            "WHERE a.id = d.artifactId AND a.groupId IN :groupIds AND a.artifactId IN :artifactIds")
+    List<DependentCount> findCounts(@Param("groupIds") Collection<String> groupIds,
+            @Param("artifactIds") Collection<String> artifactIds);
+
+    interface DependentCount {
+        String getGroupId();
+
+        String getArtifactId();
+
+        int getTransitiveDependents();
+    }
+
+    /** Bulk delete of every row, before a recomputed set is inserted. */
+    @Modifying
+    @Query("DELETE FROM ArtifactDependentsEntity d")
+    int deleteAllRows();
+}
@@ -0,0 +1,9 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.ArtifactDescriptorEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArtifactDescriptorRepository extends JpaRepository<ArtifactDescriptorEntity, String> {
+}
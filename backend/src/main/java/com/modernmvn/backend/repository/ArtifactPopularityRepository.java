@@ -0,0 +1,46 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.ArtifactPopularityEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArtifactPopularityRepository extends JpaRepository<ArtifactPopularityEntity, Long> {
+
+    /** Most popular artifacts first. */
+    @Query("SELECT a.groupId AS groupId, a.artifactId AS artifactId, p.score AS score, p.rank AS rank " +
+            "FROM ArtifactPopularityEntity p, ArtifactEntity a WHERE a.id = p.artifactId ORDER BY p.rank")
+    List<ArtifactScore> findTop(Pageable pageable);
+
+    /**
+     * Scores of every artifact whose groupId and artifactId are among the
+     * given ones. Callers filter the rows down to their exact pairs.
+     */
+    @Query("SELECT a.groupId AS groupId, a.artifactId AS artifactId, p.score AS score, p.rank AS rank " +
+            "FROM ArtifactPopularityEntity p, ArtifactEntity a " +
+            "WHERE a.id = p.artifactId AND a.groupId IN :groupIds AND a.artifactId IN :artifactIds")
+    List<ArtifactScore> findScores(@Param("groupIds") Collection<String> groupIds,
+            @Param("artifactIds") Collection<String> artifactIds);
+
+    interface ArtifactScore {
+        String getGroupId();
+
+        String getArtifactId();
+
+        double getScore();
+
+        int getRank();
+    }
+
+    /** Bulk delete of every row, before a recomputed set is inserted. */
+    @Modifying
+    @Query("DELETE FROM ArtifactPopularityEntity p")
+    int deleteAllRows();
+}
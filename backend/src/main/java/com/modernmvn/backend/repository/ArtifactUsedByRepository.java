@@ -0,0 +1,51 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.ArtifactUsedByEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArtifactUsedByRepository extends JpaRepository<ArtifactUsedByEntity, Long> {
+
+    @Query("SELECT u.directDependents FROM ArtifactUsedByEntity u, ArtifactEntity a " +
+            "WHERE a.id = u.artifactId AND a.groupId = :g AND a.artifactId = :a")
+    Optional<Integer> findDirectDependents(@Param("g") String groupId, @Param("a") String artifactId);
+
+    /** Adds {@code delta} to an artifact's count, creating the row at {@code delta}. */
+    @Modifying
+    @Query(value = "INSERT INTO artifact_used_by (artifact_id, direct_dependents) VALUES (:artifactId, :delta) " +
+            "ON CONFLICT (artifact_id) DO UPDATE " +
+            "SET direct_dependents = artifact_used_by.direct_dependents + EXCLUDED.direct_dependents",
+            nativeQuery = true)
+    int add(@Param("artifactId") Long artifactId, @Param("delta") int delta);
+
+    /**
+     * Sets every artifact's count to the sum of its versions' counts; only
+     * rows that differ are written. Returns the number of rows fixed.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO artifact_used_by (artifact_id, direct_dependents)
+            SELECT v.artifact_id, SUM(u.direct_dependents)
+            FROM version_used_by u JOIN artifact_versions v ON v.id = u.version_id
+            GROUP BY v.artifact_id
+            ON CONFLICT (artifact_id) DO UPDATE SET direct_dependents = EXCLUDED.direct_dependents
+            WHERE artifact_used_by.direct_dependents <> EXCLUDED.direct_dependents
+            """, nativeQuery = true)
+    int rollUp();
+
+    /** Zeroes the counts of artifacts none of whose versions has one. */
+    @Modifying
+    @Query(value = """
+            UPDATE artifact_used_by a SET direct_dependents = 0
+            WHERE a.direct_dependents <> 0 AND NOT EXISTS (
+                SELECT 1 FROM version_used_by u JOIN artifact_versions v ON v.id = u.version_id
+                WHERE v.artifact_id = a.artifact_id)
+            """, nativeQuery = true)
+    int zeroOrphans();
+}
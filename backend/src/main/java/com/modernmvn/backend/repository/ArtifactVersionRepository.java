@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +31,12 @@ public interface ArtifactVersionRepository extends JpaRepository<ArtifactVersion
         @Query("SELECT v FROM ArtifactVersionEntity v WHERE v.indexingStatus = 'COMPLETE' AND v.lastIndexedAt < :before")
         List<ArtifactVersionEntity> findStaleVersions(@Param("before") Instant before);
 
+        /** Same as {@link #findStaleVersions}, most popular artifacts first, unscored ones last. */
+        @Query("SELECT v FROM ArtifactVersionEntity v LEFT JOIN ArtifactPopularityEntity p ON p.artifactId = v.artifact.id "
+                        + "WHERE v.indexingStatus = 'COMPLETE' AND v.lastIndexedAt < :before "
+                        + "ORDER BY COALESCE(p.score, 0) DESC")
+        List<ArtifactVersionEntity> findStaleVersionsByPopularity(@Param("before") Instant before);
+
         /** Find versions by indexing status (for worker polling). */
         List<ArtifactVersionEntity> findByIndexingStatus(String status);
 
@@ -39,6 +46,70 @@ public interface ArtifactVersionRepository extends JpaRepository<ArtifactVersion
                         @Param("a") String artifactId,
                         @Param("ver") String version);
 
+        /** All locally known version strings of an artifact (for meta-version pinning). */
+        @Query("SELECT v.version FROM ArtifactVersionEntity v WHERE v.artifact.groupId = :g AND v.artifact.artifactId = :a")
+        List<String> findVersionStrings(@Param("g") String groupId, @Param("a") String artifactId);
+
+        /** Versions of an artifact whose dependency closure has been indexed. */
+        @Query("SELECT v.id AS id, v.version AS version FROM ArtifactVersionEntity v "
+                        + "WHERE v.artifact.groupId = :g AND v.artifact.artifactId = :a "
+                        + "AND v.indexingStatus = com.modernmvn.backend.entity.IndexingJobStatus.COMPLETE")
+        List<VersionRef> findIndexedVersions(@Param("g") String groupId, @Param("a") String artifactId);
+
+        interface VersionRef {
+                Long getId();
+
+                String getVersion();
+        }
+
+        /** Ids of every locally known version of an artifact. */
+        @Query("SELECT v.id FROM ArtifactVersionEntity v WHERE v.artifact.groupId = :g AND v.artifact.artifactId = :a")
+        List<Long> findVersionIds(@Param("g") String groupId, @Param("a") String artifactId);
+
+        /** Artifact of every version with an id in [from, to]. */
+        @Query("SELECT v.id AS id, v.artifact.id AS artifactId FROM ArtifactVersionEntity v "
+                        + "WHERE v.id BETWEEN :from AND :to")
+        List<VersionArtifact> findArtifactIdsBetween(@Param("from") Long fromId, @Param("to") Long toId);
+
+        /** Artifact of each of the given versions. */
+        @Query("SELECT v.id AS id, v.artifact.id AS artifactId FROM ArtifactVersionEntity v WHERE v.id IN :ids")
+        List<VersionArtifact> findArtifactIds(@Param("ids") Collection<Long> versionIds);
+
+        interface VersionArtifact {
+                Long getId();
+
+                Long getArtifactId();
+        }
+
+        @Query("SELECT MAX(v.id) FROM ArtifactVersionEntity v")
+        Long findMaxId();
+
+        /** Ids and coordinates of the given version ids, in one query. */
+        @Query("SELECT v.id AS id, a.groupId AS groupId, a.artifactId AS artifactId, v.version AS version "
+                        + "FROM ArtifactVersionEntity v JOIN v.artifact a WHERE v.id IN :ids")
+        List<VersionCoordinates> findVersionCoordinates(@Param("ids") Collection<Long> versionIds);
+
+        interface VersionCoordinates {
+                Long getId();
+
+                String getGroupId();
+
+                String getArtifactId();
+
+                String getVersion();
+        }
+
+        /** Coordinates of the given version ids, in one query. */
+        @Query("SELECT a.groupId AS groupId, a.artifactId AS artifactId, v.version AS version "
+                        + "FROM ArtifactVersionEntity v JOIN v.artifact a WHERE v.id IN :ids")
+        List<DependencyEdgeRepository.ClosureMember> findCoordinatesByIds(@Param("ids") Collection<Long> versionIds);
+
+        /** Coordinates of the given version ids, bound as one array parameter so large closures stay unboxed. */
+        @Query(value = "SELECT a.group_id AS \"groupId\", a.artifact_id AS \"artifactId\", v.version AS \"version\" "
+                        + "FROM artifact_versions v JOIN artifacts a ON a.id = v.artifact_id "
+                        + "WHERE v.id = ANY(CAST(:ids AS bigint[]))", nativeQuery = true)
+        List<DependencyEdgeRepository.ClosureMember> findCoordinatesByIdArray(@Param("ids") long[] versionIds);
+
         /**
          * Finds versions that are in PROCESSING or PENDING status but do not have a
          * corresponding
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -28,4 +29,56 @@ public interface ArtifactVulnerabilityRepository
             "JOIN DependencyEdgeEntity de ON av.artifactVersionId = de.dependencyVersionId " +
             "WHERE de.rootVersionId = :id")
     long countTransitiveVulnerabilities(@Param("id") Long artifactVersionId);
+
+    /** Same as {@link #countTransitiveVulnerabilities}, for roots stored as subgraph refs. */
+    @Query("SELECT COUNT(DISTINCT av.vulnerabilityId) FROM ArtifactVulnerabilityEntity av " +
+            "JOIN DependencySubgraphMemberEntity m ON av.artifactVersionId = m.dependencyVersionId " +
+            "JOIN DependencyClosureRefEntity r ON r.subgraphHash = m.subgraphHash " +
+            "WHERE r.rootVersionId = :id")
+    long countTransitiveVulnerabilitiesViaSubgraphs(@Param("id") Long artifactVersionId);
+
+    /**
+     * Distinct vulnerabilities of the given versions, for closures decoded
+     * from a binary row; the ids are bound as one array parameter.
+     */
+    @Query(value = "SELECT COUNT(DISTINCT av.vulnerability_id) FROM artifact_vulnerabilities av " +
+            "WHERE av.artifact_version_id = ANY(CAST(:ids AS bigint[]))", nativeQuery = true)
+    long countDistinctVulnerabilities(@Param("ids") long[] versionIds);
+
+    /** Versions affected by a vulnerability, by its CVE or OSV id. */
+    @Query("SELECT av.artifactVersionId FROM ArtifactVulnerabilityEntity av " +
+            "JOIN VulnerabilityEntity vul ON av.vulnerabilityId = vul.id WHERE vul.cveId = :cveId")
+    List<Long> findVersionIdsByCveId(@Param("cveId") String cveId);
+
+    /**
+     * One row per vulnerability of every indexed version whose artifactId and
+     * version are among the given ones, plus one row with null vulnerability
+     * columns for indexed versions without any, in one round trip. A GAV with
+     * no row at all has never been indexed. Callers filter the rows down to
+     * their exact GAVs; the coarse IN lists keep the query index-friendly.
+     */
+    @Query("SELECT a.groupId AS groupId, a.artifactId AS artifactId, v.version AS version, " +
+            "vul.cveId AS vulnerabilityId, vul.severity AS severity, vul.cvssScore AS cvssScore " +
+            "FROM ArtifactVersionEntity v " +
+            "JOIN v.artifact a " +
+            "LEFT JOIN ArtifactVulnerabilityEntity av ON av.artifactVersionId = v.id " +
+            "LEFT JOIN VulnerabilityEntity vul ON av.vulnerabilityId = vul.id " +
+            "WHERE a.artifactId IN :artifactIds AND v.version IN :versions AND v.lastIndexedAt IS NOT NULL")
+    List<GavVulnerability> findByArtifactIdsAndVersions(@Param("artifactIds") Collection<String> artifactIds,
+            @Param("versions") Collection<String> versions);
+
+    interface GavVulnerability {
+        String getGroupId();
+
+        String getArtifactId();
+
+        String getVersion();
+
+        /** Null if the version is indexed and has no known vulnerability. */
+        String getVulnerabilityId();
+
+        String getSeverity();
+
+        Double getCvssScore();
+    }
 }
@@ -0,0 +1,33 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.DependencyClosureRefEntity;
+import com.modernmvn.backend.entity.DependencyClosureRefId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DependencyClosureRefRepository extends JpaRepository<DependencyClosureRefEntity, DependencyClosureRefId> {
+
+    long countByRootVersionId(Long rootVersionId);
+
+    @Query("SELECT DISTINCT r.rootVersionId FROM DependencyClosureRefEntity r")
+    List<Long> findRootVersionIds(Pageable pageable);
+
+    /** Direct edges of the roots in an id range stored as subgraph refs: each subgraph's head. */
+    @Query("SELECT r.rootVersionId AS rootId, s.headVersionId AS dependencyId FROM DependencyClosureRefEntity r " +
+            "JOIN DependencySubgraphEntity s ON s.hash = r.subgraphHash " +
+            "WHERE r.rootVersionId BETWEEN :fromId AND :toId")
+    List<DependencyEdgeRepository.DirectEdge> findDirectEdges(@Param("fromId") Long fromRootId,
+            @Param("toId") Long toRootId);
+
+    /** Bulk delete; the derived deleteBy would load every ref first. */
+    @Modifying
+    @Query("DELETE FROM DependencyClosureRefEntity r WHERE r.rootVersionId = :rootId")
+    int deleteByRootVersionId(@Param("rootId") Long rootVersionId);
+}
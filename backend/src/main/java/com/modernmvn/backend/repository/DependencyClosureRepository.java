@@ -0,0 +1,25 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.DependencyClosureEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DependencyClosureRepository extends JpaRepository<DependencyClosureEntity, Long> {
+
+    @Query("SELECT c.rootVersionId FROM DependencyClosureEntity c")
+    List<Long> findRootVersionIds(Pageable pageable);
+
+    List<DependencyClosureEntity> findByRootVersionIdBetween(Long fromRootId, Long toRootId);
+
+    /** Bulk delete, without loading the row first. */
+    @Modifying
+    @Query("DELETE FROM DependencyClosureEntity c WHERE c.rootVersionId = :rootId")
+    int deleteByRootVersionId(@Param("rootId") Long rootVersionId);
+}
@@ -2,12 +2,19 @@ package com.modernmvn.backend.repository;
 
 import com.modernmvn.backend.entity.DependencyEdgeEntity;
 import com.modernmvn.backend.entity.DependencyEdgeId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DependencyEdgeRepository extends JpaRepository<DependencyEdgeEntity, DependencyEdgeId> {
@@ -16,7 +23,60 @@ public interface DependencyEdgeRepository extends JpaRepository<DependencyEdgeEn
 
     long countByRootVersionId(Long rootVersionId);
 
-    void deleteByRootVersionId(Long rootVersionId);
+    @Query("SELECT DISTINCT e.rootVersionId FROM DependencyEdgeEntity e")
+    List<Long> findRootVersionIds(Pageable pageable);
+
+    /** Coordinates of every stored dependency of a root version, in one query. */
+    @Query("SELECT a.groupId AS groupId, a.artifactId AS artifactId, v.version AS version " +
+            "FROM DependencyEdgeEntity e JOIN ArtifactVersionEntity v ON e.dependencyVersionId = v.id " +
+            "JOIN v.artifact a WHERE e.rootVersionId = :rootId")
+    List<ClosureMember> findClosure(@Param("rootId") Long rootVersionId);
+
+    /** Direct edges of the roots in an id range stored in this layout. */
+    @Query("SELECT e.rootVersionId AS rootId, e.dependencyVersionId AS dependencyId FROM DependencyEdgeEntity e " +
+            "WHERE e.isDirect = true AND e.rootVersionId BETWEEN :fromId AND :toId")
+    List<DirectEdge> findDirectEdges(@Param("fromId") Long fromRootId, @Param("toId") Long toRootId);
+
+    /**
+     * Roots whose closure holds one of {@code versionIds} within
+     * {@code maxDepth}, with the version they hold and where, shallowest
+     * first; served by {@code idx_de_dep}. Read through a cursor, so it must
+     * be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.rootVersionId AS rootId, e.dependencyVersionId AS dependencyId, e.depth AS depth " +
+            "FROM DependencyEdgeEntity e WHERE e.dependencyVersionId IN :ids AND e.depth <= :maxDepth " +
+            "ORDER BY e.depth")
+    Stream<DependentEdge> streamDependents(@Param("ids") Collection<Long> versionIds,
+            @Param("maxDepth") int maxDepth);
+
+    /** A {@link DirectEdge} with the closure depth the root holds the dependency at. */
+    interface DependentEdge extends DirectEdge {
+        Integer getDepth();
+    }
+
+    /** A (root, dependency) pair of stored closures. */
+    interface DirectEdge {
+        Long getRootId();
+
+        Long getDependencyId();
+    }
+
+    interface ClosureMember {
+        String getGroupId();
+
+        String getArtifactId();
+
+        String getVersion();
+    }
+
+    /**
+     * Bulk delete; the derived deleteBy would load and delete every edge one
+     * by one. On a partitioned table this only touches the root's partition.
+     */
+    @Modifying
+    @Query("DELETE FROM DependencyEdgeEntity e WHERE e.rootVersionId = :rootId")
+    int deleteByRootVersionId(@Param("rootId") Long rootVersionId);
 
     /**
      * Counts how many distinct root artifacts declare a dependency on the given
@@ -0,0 +1,59 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.DependencySubgraphMemberEntity;
+import com.modernmvn.backend.entity.DependencySubgraphMemberId;
+import com.modernmvn.backend.repository.DependencyEdgeRepository.ClosureMember;
+import com.modernmvn.backend.repository.DependencyEdgeRepository.DependentEdge;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface DependencySubgraphMemberRepository
+        extends JpaRepository<DependencySubgraphMemberEntity, DependencySubgraphMemberId> {
+
+    /** Same as {@link DependencyEdgeRepository#findClosure}, for roots stored as subgraph refs. */
+    @Query("SELECT DISTINCT a.groupId AS groupId, a.artifactId AS artifactId, v.version AS version " +
+            "FROM DependencyClosureRefEntity r " +
+            "JOIN DependencySubgraphMemberEntity m ON m.subgraphHash = r.subgraphHash " +
+            "JOIN ArtifactVersionEntity v ON m.dependencyVersionId = v.id " +
+            "JOIN v.artifact a WHERE r.rootVersionId = :rootId")
+    List<ClosureMember> findClosure(@Param("rootId") Long rootVersionId);
+
+    /** Closure of a root stored as subgraph refs, one row per version at its shallowest depth. */
+    @Query("SELECT m.dependencyVersionId AS versionId, MIN(m.depth) + 1 AS depth, MIN(m.scope) AS scope " +
+            "FROM DependencyClosureRefEntity r " +
+            "JOIN DependencySubgraphMemberEntity m ON m.subgraphHash = r.subgraphHash " +
+            "WHERE r.rootVersionId = :rootId GROUP BY m.dependencyVersionId")
+    List<ClosureEntry> findEntries(@Param("rootId") Long rootVersionId);
+
+    /**
+     * Same as {@link DependencyEdgeRepository#streamDependents}, for roots
+     * stored as subgraph refs; served by {@code idx_dsm_dep} and
+     * {@code idx_dcr_subgraph}. The head of a subgraph is the root's direct
+     * dependency, so member depth 0 is closure depth 1.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.rootVersionId AS rootId, m.dependencyVersionId AS dependencyId, m.depth + 1 AS depth " +
+            "FROM DependencySubgraphMemberEntity m " +
+            "JOIN DependencyClosureRefEntity r ON r.subgraphHash = m.subgraphHash " +
+            "WHERE m.dependencyVersionId IN :ids AND m.depth < :maxDepth ORDER BY m.depth")
+    Stream<DependentEdge> streamDependents(@Param("ids") Collection<Long> versionIds,
+            @Param("maxDepth") int maxDepth);
+
+    interface ClosureEntry {
+        Long getVersionId();
+
+        Integer getDepth();
+
+        String getScope();
+    }
+}
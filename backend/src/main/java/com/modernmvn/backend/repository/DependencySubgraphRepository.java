@@ -0,0 +1,85 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.DependencySubgraphEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DependencySubgraphRepository extends JpaRepository<DependencySubgraphEntity, String> {
+
+    /**
+     * Which of {@code hashes} are already stored, in one query. Takes no
+     * locks: the refs the caller then inserts hold the subgraphs through
+     * {@code fk_dcr_subgraph}, which only key-share locks them, so indexers
+     * reusing the same subgraph never wait on each other.
+     */
+    @Query(value = "SELECT hash FROM dependency_subgraphs WHERE hash IN (:hashes)", nativeQuery = true)
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    /**
+     * Claims a subgraph. Returns 1 if this transaction created it and must
+     * insert its members, 0 if another indexer already did.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO dependency_subgraphs (hash, head_version_id, member_count, last_referenced_at) " +
+            "VALUES (:hash, :headId, :memberCount, now()) ON CONFLICT (hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("headId") Long headVersionId,
+            @Param("memberCount") int memberCount);
+
+    /**
+     * Deletes subgraphs no root refers to any more and that were stored more
+     * than {@code graceSeconds} ago; their members go with them. Subgraphs an
+     * indexer is inserting a ref to are key-share locked and skipped, so the
+     * sweep never waits on an indexer. If a ref commits between the check and
+     * the delete, the foreign key fails the sweep, which retries next run.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM dependency_subgraphs WHERE hash IN (SELECT s.hash FROM dependency_subgraphs s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM dependency_closure_refs r WHERE r.subgraph_hash = s.hash) " +
+            "AND (s.last_referenced_at IS NULL " +
+            "OR s.last_referenced_at < now() - make_interval(secs => :graceSeconds)) " +
+            "FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteUnreferenced(@Param("graceSeconds") long graceSeconds);
+
+    /** Row counts and on-disk size of both closure layouts, for the storage report. */
+    @Query(value = "SELECT (SELECT COUNT(*) FROM dependency_edges) AS \"edgeRows\", " +
+            "pg_total_relation_size('dependency_edges') AS \"edgeBytes\", " +
+            "(SELECT COUNT(*) FROM dependency_subgraphs) AS \"subgraphs\", " +
+            "(SELECT COUNT(*) FROM dependency_subgraph_members) AS \"subgraphMembers\", " +
+            "(SELECT COUNT(*) FROM dependency_closure_refs) AS \"closureRefs\", " +
+            "pg_total_relation_size('dependency_subgraphs') + pg_total_relation_size('dependency_subgraph_members') " +
+            "+ pg_total_relation_size('dependency_closure_refs') AS \"sharedBytes\", " +
+            "(SELECT COUNT(*) FROM dependency_closures) AS \"binaryRows\", " +
+            "pg_total_relation_size('dependency_closures') AS \"binaryBytes\", " +
+            "(SELECT COALESCE(SUM(dependency_count), 0) FROM artifact_versions " +
+            "WHERE indexing_status = 'COMPLETE') AS \"closureEntries\"", nativeQuery = true)
+    StorageStats storageStats();
+
+    interface StorageStats {
+        long getEdgeRows();
+
+        long getEdgeBytes();
+
+        long getSubgraphs();
+
+        long getSubgraphMembers();
+
+        long getClosureRefs();
+
+        long getSharedBytes();
+
+        long getBinaryRows();
+
+        long getBinaryBytes();
+
+        long getClosureEntries();
+    }
+}
@@ -0,0 +1,101 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.DependencyTreeNodeEntity;
+import com.modernmvn.backend.entity.DependencyTreeNodeId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DependencyTreeNodeRepository extends JpaRepository<DependencyTreeNodeEntity, DependencyTreeNodeId> {
+
+    /** Stored tree of a version in pre-order, root first, coordinates joined in. Empty if none was stored. */
+    @Query("SELECT n.nodeIndex AS nodeIndex, n.parentIndex AS parentIndex, n.versionId AS versionId, " +
+            "a.groupId AS groupId, a.artifactId AS artifactId, v.version AS version, n.scope AS scope, " +
+            "n.type AS type, n.resolutionStatus AS resolutionStatus, n.conflictMessage AS conflictMessage " +
+            "FROM DependencyTreeNodeEntity n JOIN n.versionRef v JOIN v.artifact a " +
+            "WHERE n.rootVersionId = :rootId ORDER BY n.nodeIndex")
+    List<TreeNode> findTree(@Param("rootId") Long rootVersionId);
+
+    /** Bulk delete; the derived deleteBy would load every node first. */
+    @Modifying
+    @Query("DELETE FROM DependencyTreeNodeEntity n WHERE n.rootVersionId = :rootId")
+    int deleteByRootVersionId(@Param("rootId") Long rootVersionId);
+
+    /**
+     * Indexed versions after {@code afterId} that have no stored tree but
+     * would fit, oldest first.
+     */
+    @Query(value = "SELECT v.id FROM artifact_versions v WHERE v.id > :afterId " +
+            "AND v.indexing_status = 'COMPLETE' AND v.dependency_count < :maxNodes " +
+            "AND NOT EXISTS (SELECT 1 FROM dependency_tree_nodes_v2 n WHERE n.root_version_id = v.id) " +
+            "ORDER BY v.id LIMIT :limit", nativeQuery = true)
+    List<Long> findVersionsWithoutTree(@Param("afterId") long afterId, @Param("maxNodes") int maxNodes,
+            @Param("limit") int limit);
+
+    // ─── Legacy dependency_tree_nodes ────────────────────────────
+
+    @Query(value = "SELECT to_regclass('dependency_tree_nodes') IS NOT NULL", nativeQuery = true)
+    boolean legacyTableExists();
+
+    @Query(value = "SELECT DISTINCT root_version_id FROM dependency_tree_nodes ORDER BY root_version_id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> findLegacyRoots(@Param("limit") int limit);
+
+    /** Copies the legacy rows of {@code roots}, looking up each node's version by its coordinates. */
+    @Modifying
+    @Query(value = "INSERT INTO dependency_tree_nodes_v2 (root_version_id, node_index, parent_index, version_id, " +
+            "scope, type, resolution_status, conflict_message) " +
+            "SELECT n.root_version_id, n.node_index, n.parent_index, v.id, n.scope, n.type, " +
+            "n.resolution_status, n.conflict_message FROM dependency_tree_nodes n " +
+            "JOIN artifacts a ON a.group_id = n.group_id AND a.artifact_id = n.artifact_id " +
+            "JOIN artifact_versions v ON v.artifact_id = a.id AND v.version = n.version " +
+            "WHERE n.root_version_id IN (:roots) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int copyLegacy(@Param("roots") Collection<Long> roots);
+
+    /**
+     * Drops the converted trees of {@code roots} that lost a node on the
+     * way, because its version row no longer exists; the backfill
+     * re-resolves them.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM dependency_tree_nodes_v2 WHERE root_version_id IN (" +
+            "SELECT root_version_id FROM dependency_tree_nodes_v2 WHERE root_version_id IN (:roots) " +
+            "GROUP BY root_version_id HAVING COUNT(*) <> MAX(node_index) + 1)", nativeQuery = true)
+    int deleteIncomplete(@Param("roots") Collection<Long> roots);
+
+    @Modifying
+    @Query(value = "DELETE FROM dependency_tree_nodes WHERE root_version_id IN (:roots)", nativeQuery = true)
+    int deleteLegacy(@Param("roots") Collection<Long> roots);
+
+    @Modifying
+    @Query(value = "DROP TABLE IF EXISTS dependency_tree_nodes", nativeQuery = true)
+    void dropLegacyTable();
+
+    interface TreeNode {
+        int getNodeIndex();
+
+        int getParentIndex();
+
+        Long getVersionId();
+
+        String getGroupId();
+
+        String getArtifactId();
+
+        String getVersion();
+
+        String getScope();
+
+        String getType();
+
+        String getResolutionStatus();
+
+        String getConflictMessage();
+    }
+}
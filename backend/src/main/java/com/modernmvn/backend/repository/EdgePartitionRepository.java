@@ -0,0 +1,147 @@
+package com.modernmvn.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for hash-partitioning {@code dependency_edges} on
+ * {@code root_version_id}. Every method is one transaction, so a failure
+ * leaves the previous layout in place.
+ *
+ * The partitioned table keeps the names of the plain one (primary key,
+ * {@code idx_de_*} indexes, {@code fk_edge_*} foreign keys), so Hibernate's
+ * schema update sees nothing to change. Partitions are named
+ * {@code dependency_edges_p<modulus>_<remainder>}.
+ */
+@Repository
+public class EdgePartitionRepository {
+
+    private static final Pattern BOUND = Pattern.compile("modulus (\\d+), remainder (\\d+)");
+
+    /** One hash partition of {@code dependency_edges}. */
+    public record PartitionBound(String name, int modulus, int remainder) {
+    }
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /** True if {@code dependency_edges} is a partitioned table, false if it is a plain one. */
+    public boolean isPartitioned() {
+        Object kind = em.createNativeQuery("SELECT CAST(c.relkind AS text) FROM pg_class c " +
+                "WHERE c.oid = to_regclass('dependency_edges')").getResultList().stream().findFirst().orElse(null);
+        return "p".equals(kind);
+    }
+
+    public boolean isEmpty() {
+        return em.createNativeQuery("SELECT 1 FROM dependency_edges LIMIT 1").getResultList().isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<PartitionBound> findPartitions() {
+        List<Object[]> rows = em.createNativeQuery("SELECT CAST(c.relname AS text), " +
+                "pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass('dependency_edges') ORDER BY c.relname").getResultList();
+        List<PartitionBound> bounds = new ArrayList<>();
+        for (Object[] row : rows) {
+            PartitionBound bound = parseBound((String) row[0], (String) row[1]);
+            if (bound != null)
+                bounds.add(bound);
+        }
+        return bounds;
+    }
+
+    /** Parses {@code FOR VALUES WITH (modulus 8, remainder 3)}; null for any other bound. */
+    static PartitionBound parseBound(String name, String expression) {
+        Matcher m = expression == null ? null : BOUND.matcher(expression);
+        if (m == null || !m.find())
+            return null;
+        return new PartitionBound(name, Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+    }
+
+    /**
+     * Replaces the plain table with one hash-partitioned into {@code modulus}
+     * partitions and copies every edge over. Holds an exclusive lock on the
+     * table for the whole copy.
+     */
+    @Transactional
+    public void convertToPartitioned(int modulus) {
+        execute("LOCK TABLE dependency_edges IN ACCESS EXCLUSIVE MODE");
+        execute("CREATE TABLE dependency_edges_partitioned (" +
+                "root_version_id bigint NOT NULL, " +
+                "dependency_version_id bigint NOT NULL, " +
+                "depth integer NOT NULL, " +
+                "is_direct boolean NOT NULL, " +
+                "scope varchar(20), " +
+                "CONSTRAINT dependency_edges_partitioned_pkey PRIMARY KEY (root_version_id, dependency_version_id)" +
+                ") PARTITION BY HASH (root_version_id)");
+        for (int r = 0; r < modulus; r++) {
+            execute("CREATE TABLE " + partitionName(modulus, r) + " PARTITION OF dependency_edges_partitioned " +
+                    "FOR VALUES WITH (MODULUS " + modulus + ", REMAINDER " + r + ")");
+        }
+        execute("INSERT INTO dependency_edges_partitioned (root_version_id, dependency_version_id, depth, " +
+                "is_direct, scope) SELECT root_version_id, dependency_version_id, depth, is_direct, scope " +
+                "FROM dependency_edges");
+        execute("DROP TABLE dependency_edges");
+        execute("ALTER TABLE dependency_edges_partitioned RENAME TO dependency_edges");
+        execute("ALTER TABLE dependency_edges RENAME CONSTRAINT dependency_edges_partitioned_pkey " +
+                "TO dependency_edges_pkey");
+        execute("CREATE INDEX idx_de_root ON dependency_edges (root_version_id)");
+        execute("CREATE INDEX idx_de_root_depth ON dependency_edges (root_version_id, depth)");
+        // Local per-partition index: reverse lookups scan every partition's index, in parallel
+        execute("CREATE INDEX idx_de_dep ON dependency_edges (dependency_version_id)");
+        execute("ALTER TABLE dependency_edges ADD CONSTRAINT fk_edge_root FOREIGN KEY (root_version_id) " +
+                "REFERENCES artifact_versions(id) ON DELETE CASCADE");
+        execute("ALTER TABLE dependency_edges ADD CONSTRAINT fk_edge_dep FOREIGN KEY (dependency_version_id) " +
+                "REFERENCES artifact_versions(id) ON DELETE CASCADE");
+    }
+
+    /**
+     * Splits {@code partition} into {@code modulus / partition.modulus()}
+     * partitions of the larger modulus and moves its edges into them.
+     *
+     * The DETACH takes an ACCESS EXCLUSIVE lock on the whole of
+     * {@code dependency_edges}, held until the copy commits: every read and
+     * write of edges, for all roots, waits for the split. A concurrent
+     * DETACH cannot run inside a transaction, and would leave this
+     * partition's roots without edges and unable to insert until the new
+     * partitions exist, so the outage is taken instead and kept to one
+     * partition's copy at a time.
+     */
+    @Transactional
+    public void split(PartitionBound partition, int modulus) {
+        // Take the lock the DETACH needs up front, before anything else is locked
+        execute("LOCK TABLE dependency_edges IN ACCESS EXCLUSIVE MODE");
+        execute("ALTER TABLE dependency_edges DETACH PARTITION " + partition.name());
+        for (int r = partition.remainder(); r < modulus; r += partition.modulus()) {
+            createPartition(modulus, r);
+        }
+        execute("INSERT INTO dependency_edges SELECT * FROM " + partition.name());
+        execute("DROP TABLE " + partition.name());
+    }
+
+    /** Attaches a new, empty partition. */
+    @Transactional
+    public void attach(int modulus, int remainder) {
+        createPartition(modulus, remainder);
+    }
+
+    private void createPartition(int modulus, int remainder) {
+        execute("CREATE TABLE " + partitionName(modulus, remainder) + " PARTITION OF dependency_edges " +
+                "FOR VALUES WITH (MODULUS " + modulus + ", REMAINDER " + remainder + ")");
+    }
+
+    private static String partitionName(int modulus, int remainder) {
+        return "dependency_edges_p" + modulus + "_" + remainder;
+    }
+
+    private void execute(String sql) {
+        em.createNativeQuery(sql).executeUpdate();
+    }
+}
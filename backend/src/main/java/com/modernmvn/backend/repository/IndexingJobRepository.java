@@ -13,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,5 +35,13 @@ public interface IndexingJobRepository extends JpaRepository<IndexingJobEntity,
 
     List<IndexingJobEntity> findByStatusAndUpdatedAtBefore(IndexingJobStatus status, Instant timeout);
 
+    /**
+     * Every job, in any status, among the given artifactIds and versions; a
+     * superset of the wanted GAVs that callers narrow down themselves.
+     */
+    @Query("SELECT j FROM IndexingJobEntity j WHERE j.artifactId IN :artifactIds AND j.version IN :versions")
+    List<IndexingJobEntity> findByArtifactIdsAndVersions(@Param("artifactIds") Collection<String> artifactIds,
+            @Param("versions") Collection<String> versions);
+
     long countByStatus(IndexingJobStatus status);
 }
@@ -0,0 +1,39 @@
+package com.modernmvn.backend.repository;
+
+import com.modernmvn.backend.entity.VersionUsedByEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface VersionUsedByRepository extends JpaRepository<VersionUsedByEntity, Long> {
+
+    /** Adds {@code delta} to a version's count, creating the row at {@code delta}. */
+    @Modifying
+    @Query(value = "INSERT INTO version_used_by (version_id, direct_dependents) VALUES (:versionId, :delta) " +
+            "ON CONFLICT (version_id) DO UPDATE " +
+            "SET direct_dependents = version_used_by.direct_dependents + EXCLUDED.direct_dependents",
+            nativeQuery = true)
+    int add(@Param("versionId") Long versionId, @Param("delta") int delta);
+
+    /** Overwrites a version's count. */
+    @Modifying
+    @Query(value = "INSERT INTO version_used_by (version_id, direct_dependents) VALUES (:versionId, :count) " +
+            "ON CONFLICT (version_id) DO UPDATE SET direct_dependents = EXCLUDED.direct_dependents",
+            nativeQuery = true)
+    int set(@Param("versionId") Long versionId, @Param("count") int count);
+
+    @Query("SELECT u.versionId AS versionId, u.directDependents AS directDependents " +
+            "FROM VersionUsedByEntity u WHERE u.directDependents <> 0")
+    List<VersionCount> findNonZero();
+
+    interface VersionCount {
+        Long getVersionId();
+
+        int getDirectDependents();
+    }
+}
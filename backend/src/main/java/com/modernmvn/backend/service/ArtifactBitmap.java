@@ -0,0 +1,101 @@
+package com.modernmvn.backend.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of ints in {@code [0, universe)}, kept either as a sorted
+ * array or as a plain bitmap, whichever is smaller: a sorted array while
+ * fewer than {@code universe / 32} values are set, words above that.
+ *
+ * Most transitive-dependent sets are a handful of artifacts, and a few are a
+ * large share of the index; this keeps both cheap without pulling in a
+ * compressed-bitmap library.
+ */
+final class ArtifactBitmap {
+
+    static final ArtifactBitmap EMPTY = new ArtifactBitmap(new int[0], null, 0);
+
+    private final int[] values; // sorted, distinct; null when dense
+    private final long[] words; // null when sparse
+    private final int cardinality;
+
+    private ArtifactBitmap(int[] values, long[] words, int cardinality) {
+        this.values = values;
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean contains(int value) {
+        if (words != null)
+            return value >> 6 < words.length && (words[value >> 6] & (1L << value)) != 0;
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    /** Heap bytes of the set's array. */
+    long bytes() {
+        return 16 + (words != null ? 8L * words.length : 4L * values.length);
+    }
+
+    /**
+     * Union of {@code sets} and {@code extra}, in whichever form suits the
+     * result.
+     */
+    static ArtifactBitmap union(List<ArtifactBitmap> sets, int[] extra, int universe) {
+        long estimate = extra.length;
+        boolean anyDense = false;
+        for (ArtifactBitmap s : sets) {
+            estimate += s.cardinality;
+            anyDense |= s.words != null;
+        }
+        if (estimate == 0)
+            return EMPTY;
+        if (!anyDense && estimate <= universe / 32) {
+            int[] merged = new int[(int) estimate];
+            int n = 0;
+            for (ArtifactBitmap s : sets) {
+                System.arraycopy(s.values, 0, merged, n, s.values.length);
+                n += s.values.length;
+            }
+            System.arraycopy(extra, 0, merged, n, extra.length);
+            Arrays.sort(merged);
+            int distinct = 0;
+            for (int i = 0; i < merged.length; i++) {
+                if (i == 0 || merged[i] != merged[i - 1])
+                    merged[distinct++] = merged[i];
+            }
+            return new ArtifactBitmap(distinct == merged.length ? merged : Arrays.copyOf(merged, distinct), null,
+                    distinct);
+        }
+
+        long[] words = new long[(universe + 63) >> 6];
+        for (ArtifactBitmap s : sets) {
+            if (s.words != null) {
+                for (int w = 0; w < s.words.length; w++)
+                    words[w] |= s.words[w];
+            } else {
+                for (int v : s.values)
+                    words[v >> 6] |= 1L << v;
+            }
+        }
+        for (int v : extra)
+            words[v >> 6] |= 1L << v;
+        int cardinality = 0;
+        for (long w : words)
+            cardinality += Long.bitCount(w);
+        if (cardinality > universe / 32)
+            return new ArtifactBitmap(null, words, cardinality);
+        // Many overlapping inputs can still union into a small set
+        int[] values = new int[cardinality];
+        int n = 0;
+        for (int w = 0; w < words.length; w++) {
+            for (long bits = words[w]; bits != 0; bits &= bits - 1)
+                values[n++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        return new ArtifactBitmap(values, null, cardinality);
+    }
+}
@@ -27,6 +27,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Central orchestrator for artifact indexing.
@@ -47,7 +48,10 @@ public class ArtifactIndexingService {
     private final SecurityService securityService;
     private final ArtifactRepository artifactRepository;
     private final ArtifactVersionRepository versionRepository;
-    private final DependencyEdgeRepository edgeRepository;
+    private final DependencyClosureStore closureStore;
+    private final DependencyTreeStore treeStore;
+    private final IndexGraphService indexGraph;
+    private final UsedByCounterService usedByCounters;
     private final VulnerabilityRepository vulnerabilityRepository;
     private final ArtifactVulnerabilityRepository artifactVulnRepository;
     private final SecuritySummaryRepository summaryRepository;
@@ -64,7 +68,10 @@ public class ArtifactIndexingService {
             SecurityService securityService,
             ArtifactRepository artifactRepository,
             ArtifactVersionRepository versionRepository,
-            DependencyEdgeRepository edgeRepository,
+            DependencyClosureStore closureStore,
+            DependencyTreeStore treeStore,
+            IndexGraphService indexGraph,
+            UsedByCounterService usedByCounters,
             VulnerabilityRepository vulnerabilityRepository,
             ArtifactVulnerabilityRepository artifactVulnRepository,
             SecuritySummaryRepository summaryRepository,
@@ -76,7 +83,10 @@ public class ArtifactIndexingService {
         this.securityService = securityService;
         this.artifactRepository = artifactRepository;
         this.versionRepository = versionRepository;
-        this.edgeRepository = edgeRepository;
+        this.closureStore = closureStore;
+        this.treeStore = treeStore;
+        this.indexGraph = indexGraph;
+        this.usedByCounters = usedByCounters;
         this.vulnerabilityRepository = vulnerabilityRepository;
         this.artifactVulnRepository = artifactVulnRepository;
         this.summaryRepository = summaryRepository;
@@ -209,13 +219,18 @@ public class ArtifactIndexingService {
         meterRegistry.summary("dependency_graph.size").record(transitiveCount);
         meterRegistry.summary("direct_dependencies.count").record(directCount);
 
-        // Delete old edges
-        edgeRepository.deleteByRootVersionId(av.getId());
+        // Replace the stored closure; used-by counters move with it, the in-memory graph follows on commit
+        Map<String, Long> versionIds = new HashMap<>();
+        Function<DependencyNode, Long> shellId = n -> versionIds.computeIfAbsent(
+                n.groupId() + ":" + n.artifactId() + ":" + n.version(),
+                gav -> getOrCreateVersionShell(n.groupId(), n.artifactId(), n.version()).getId());
+        Set<Long> previousIds = closureStore.directDependencies(av.getId());
+        List<Long> directIds = closureStore.replace(av.getId(), root, shellId);
+        usedByCounters.onDirectDependenciesChanged(previousIds, directIds);
+        indexGraph.onIndexed(av.getId(), directIds);
 
-        // Save new edges
-        List<DependencyEdgeEntity> edges = new ArrayList<>();
-        traverseAndCollectEdges(av, root, 0, edges, new HashSet<>());
-        edgeRepository.saveAll(edges);
+        // Keep the tree itself so /resolve can be served without Aether
+        treeStore.save(av.getId(), root, shellId);
 
         // Save advisories
         for (Map.Entry<GAV, List<SecurityAdvisory>> entry : result.scanResults().entrySet()) {
@@ -239,6 +254,16 @@ public class ArtifactIndexingService {
         return versionRepository.save(av);
     }
 
+    /**
+     * Stores the tree of a version indexed before trees were kept, without
+     * touching its closure; used by {@link DependencyTreeBackfillJob}.
+     */
+    @Transactional
+    public void storeTree(Long versionId, DependencyNode root) {
+        treeStore.save(versionId, root,
+                n -> getOrCreateVersionShell(n.groupId(), n.artifactId(), n.version()).getId());
+    }
+
     @SuppressWarnings("null")
     private ArtifactVersionEntity getOrCreateVersionShell(String groupId, String artifactId, String version) {
         ArtifactEntity artifact = artifactRepository.findByGroupIdAndArtifactId(groupId, artifactId)
@@ -383,7 +408,8 @@ public class ArtifactIndexingService {
     @Transactional
     public void refreshStaleVersions() {
         Instant staleLimit = Instant.now().minus(STALENESS_HOURS, ChronoUnit.HOURS);
-        List<ArtifactVersionEntity> stale = versionRepository.findStaleVersions(staleLimit);
+        // Most depended-upon artifacts first, so a refresh cut short still covers them
+        List<ArtifactVersionEntity> stale = versionRepository.findStaleVersionsByPopularity(staleLimit);
 
         log.info("Found {} stale versions to re-index", stale.size());
         for (ArtifactVersionEntity av : stale) {
@@ -399,7 +425,7 @@ public class ArtifactIndexingService {
 
     public void buildAndSaveSecuritySummary(ArtifactVersionEntity av) {
         long directCount = artifactVulnRepository.countDirectVulnerabilities(av.getId());
-        long transitiveCount = artifactVulnRepository.countTransitiveVulnerabilities(av.getId());
+        long transitiveCount = closureStore.countTransitiveVulnerabilities(av.getId());
 
         SecuritySummaryRepository.SeverityCounts counts = summaryRepository.getSeverityCounts(av.getId());
 
@@ -464,38 +490,18 @@ public class ArtifactIndexingService {
     }
 
     /**
-     * Returns the number of distinct root artifacts that declare this artifact as a
-     * dependency.
-     * This is the DB-backed "Used By" count — powered by the crawler-populated
-     * dependency_edges table.
-     * Falls back to 0 if the version is not yet indexed.
+     * Returns the number of indexed versions that declare any version of this
+     * artifact as a direct dependency, from the counters maintained by
+     * {@link UsedByCounterService}. Falls back to 0 if nothing depending on it
+     * is indexed yet.
      */
     @Transactional(readOnly = true)
-    public int getReverseDependencyCountFromDb(String groupId, String artifactId, String version) {
-        return versionRepository.findByGav(groupId, artifactId, version)
-                .map(av -> (int) edgeRepository.countReverseDependencies(av.getId()))
-                .orElse(0);
+    public int getReverseDependencyCountFromDb(String groupId, String artifactId) {
+        return usedByCounters.directDependents(groupId, artifactId);
     }
 
     // ──────────────────────── Helpers ───────────────────────────────
 
-    private void traverseAndCollectEdges(ArtifactVersionEntity av, DependencyNode node, int depth,
-            List<DependencyEdgeEntity> edges, Set<String> seen) {
-        String key = node.groupId() + ":" + node.artifactId() + ":" + node.version();
-        if (seen.contains(key))
-            return;
-        seen.add(key);
-
-        for (DependencyNode child : node.children()) {
-            ArtifactVersionEntity depAv = getOrCreateVersionShell(child.groupId(), child.artifactId(), child.version());
-
-            edges.add(new DependencyEdgeEntity(av.getId(), depAv.getId(),
-                    depth + 1, depth == 0, child.scope()));
-
-            traverseAndCollectEdges(av, child, depth + 1, edges, seen);
-        }
-    }
-
     private void saveAdvisories(ArtifactVersionEntity av, List<SecurityAdvisory> advisories) {
         for (SecurityAdvisory adv : advisories) {
             VulnerabilityEntity v = vulnerabilityRepository.findByCveId(adv.id())
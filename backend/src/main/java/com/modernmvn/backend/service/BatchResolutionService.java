@@ -0,0 +1,228 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.dto.BatchResolutionResult;
+import com.modernmvn.backend.dto.DependencyNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves a batch of coordinates concurrently.
+ *
+ * Every coordinate is collected on its own session, but all sessions share
+ * one {@link RepositoryCache}, so parents, BOMs and descriptors common to
+ * several roots are read once per batch. Each raw graph is then mediated
+ * twice in memory: on its own for the per-root view, and together with the
+ * others for the merged view.
+ */
+@Service
+public class BatchResolutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchResolutionService.class);
+
+    private static final Pattern COORDINATE = Pattern.compile("[a-zA-Z0-9._-]+:[a-zA-Z0-9._-]+:[a-zA-Z0-9._-]+");
+
+    /**
+     * Group id of the merged graph's root, which stands for the batch rather
+     * than an artifact. Parentheses are not allowed in Maven coordinates, so
+     * it never collides with a real GAV.
+     */
+    public static final String SYNTHETIC_GROUP_ID = "(synthetic)";
+    static final String SYNTHETIC_MESSAGE = "Synthetic root: every coordinate of the batch as a direct dependency";
+
+    private final MavenResolutionService resolutionService;
+    private final MavenConfig mavenConfig;
+    private final RepositorySystem repositorySystem;
+    private final Executor resolutionExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int maxCoordinates;
+    private final long timeoutSeconds;
+    private final int workUnitsPerMinute;
+
+    public BatchResolutionService(MavenResolutionService resolutionService, MavenConfig mavenConfig,
+            RepositorySystem repositorySystem, @Qualifier("resolutionExecutor") Executor resolutionExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${modernmvn.batch.max-coordinates:50}") int maxCoordinates,
+            @Value("${modernmvn.batch.timeout-seconds:120}") long timeoutSeconds,
+            @Value("${modernmvn.batch.work-units-per-minute:2000}") int workUnitsPerMinute) {
+        this.resolutionService = resolutionService;
+        this.mavenConfig = mavenConfig;
+        this.repositorySystem = repositorySystem;
+        this.resolutionExecutor = resolutionExecutor;
+        this.meterRegistry = meterRegistry;
+        this.maxCoordinates = maxCoordinates;
+        this.timeoutSeconds = timeoutSeconds;
+        this.workUnitsPerMinute = workUnitsPerMinute;
+    }
+
+    /**
+     * Per-client rate limit for batches, in distinct artifacts collected per
+     * minute rather than in requests.
+     */
+    public int workUnitsPerMinute() {
+        return workUnitsPerMinute;
+    }
+
+    /**
+     * Distinct, validated coordinates of a request, in request order.
+     * Invalid input surfaces as {@link IllegalArgumentException}.
+     */
+    public List<String> validate(List<String> coordinates) {
+        if (coordinates == null || coordinates.isEmpty()) {
+            throw new IllegalArgumentException("At least one coordinate is required.");
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String c : coordinates) {
+            if (c == null || !COORDINATE.matcher(c.trim()).matches()) {
+                throw new IllegalArgumentException("Coordinate must be groupId:artifactId:version. Got: " + c);
+            }
+            distinct.add(c.trim());
+        }
+        if (distinct.size() > maxCoordinates) {
+            throw new IllegalArgumentException("Maximum " + maxCoordinates + " coordinates per batch.");
+        }
+        return List.copyOf(distinct);
+    }
+
+    public BatchResolutionResult resolve(List<String> coordinates, List<String> customRepoUrls) {
+        long start = System.nanoTime();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<RemoteRepository> repos = resolutionService.repositories(customRepoUrls);
+        RepositoryCache sharedCache = new DefaultRepositoryCache();
+
+        List<CompletableFuture<org.eclipse.aether.graph.DependencyNode>> futures = new ArrayList<>();
+        for (String coordinate : coordinates) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> collectRaw(coordinate, repos, mavenConfig.createSession(repositorySystem, sharedCache)),
+                    resolutionExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Batch resolution of {} coordinates timed out after {}s", coordinates.size(), timeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Individual failures are reported per root below
+        }
+
+        RepositorySystemSession session = mavenConfig.createSession(repositorySystem, sharedCache);
+        List<BatchResolutionResult.RootResult> roots = new ArrayList<>();
+        List<org.eclipse.aether.graph.DependencyNode> collected = new ArrayList<>();
+        int failed = 0;
+        for (int i = 0; i < coordinates.size(); i++) {
+            String coordinate = coordinates.get(i);
+            CompletableFuture<org.eclipse.aether.graph.DependencyNode> future = futures.get(i);
+            org.eclipse.aether.graph.DependencyNode raw = future.isDone() && !future.isCompletedExceptionally()
+                    ? future.join()
+                    : null;
+            DependencyNode tree = null;
+            if (raw != null) {
+                try {
+                    tree = resolutionService.toDto(
+                            IncrementalResolutionService.mediate(session, List.of(raw)).getChildren().get(0), 0);
+                    collected.add(raw);
+                } catch (Exception e) {
+                    log.warn("Mediation failed for {}: {}", coordinate, e.getMessage());
+                }
+            }
+            if (tree == null) {
+                failed++;
+                tree = errorNode(coordinate, "Resolution failed or timed out.");
+            }
+            roots.add(new BatchResolutionResult.RootResult(coordinate, tree));
+        }
+
+        List<DependencyNode> mergedChildren = new ArrayList<>();
+        try {
+            for (org.eclipse.aether.graph.DependencyNode child : IncrementalResolutionService
+                    .mediate(session, collected).getChildren()) {
+                mergedChildren.add(resolutionService.toDto(child, 1));
+            }
+        } catch (Exception e) {
+            log.warn("Merged mediation of batch failed: {}", e.getMessage());
+        }
+        DependencyNode merged = syntheticRoot(coordinates.size(), mergedChildren, !collected.isEmpty());
+
+        int uniqueArtifacts = countArtifacts(collected);
+        sample.stop(Timer.builder("batch_resolution.resolve_time")
+                .description("Wall time to resolve a batch of coordinates")
+                .register(meterRegistry));
+        meterRegistry.summary("batch_resolution.coordinates").record(coordinates.size());
+        meterRegistry.summary("batch_resolution.unique_artifacts").record(uniqueArtifacts);
+
+        return new BatchResolutionResult(coordinates.size(), failed, uniqueArtifacts,
+                (System.nanoTime() - start) / 1_000_000, roots, merged);
+    }
+
+    /** Root of the merged graph: {@link #SYNTHETIC_GROUP_ID}:batch, versioned by the number of coordinates. */
+    static DependencyNode syntheticRoot(int coordinates, List<DependencyNode> children, boolean resolved) {
+        return new DependencyNode(SYNTHETIC_GROUP_ID, "batch", Integer.toString(coordinates), "compile", "pom",
+                children, resolved ? "RESOLVED" : "ERROR", SYNTHETIC_MESSAGE);
+    }
+
+    /** Raw (unmediated) graph of one coordinate, or null if it could not be collected. */
+    private org.eclipse.aether.graph.DependencyNode collectRaw(String coordinate, List<RemoteRepository> repos,
+            RepositorySystemSession session) {
+        String[] gav = coordinate.split(":");
+        CollectRequest request = new CollectRequest();
+        request.setRoot(new Dependency(new DefaultArtifact(gav[0], gav[1], "jar", gav[2]), "compile"));
+        request.setRepositories(repos);
+
+        // Without a transformer the collector returns the raw graph, conflicts included
+        DefaultRepositorySystemSession dirtySession = new DefaultRepositorySystemSession(session);
+        dirtySession.setDependencyGraphTransformer(null);
+        try {
+            return repositorySystem.collectDependencies(dirtySession, request).getRoot();
+        } catch (Exception e) {
+            log.warn("Batch resolution failed for {}: {}", coordinate, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Distinct GAVs across raw graphs, each shared subgraph visited once. */
+    static int countArtifacts(List<org.eclipse.aether.graph.DependencyNode> roots) {
+        Set<String> gavs = new HashSet<>();
+        Set<org.eclipse.aether.graph.DependencyNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<org.eclipse.aether.graph.DependencyNode> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            org.eclipse.aether.graph.DependencyNode node = queue.poll();
+            if (!visited.add(node))
+                continue;
+            if (node.getArtifact() != null) {
+                gavs.add(node.getArtifact().getGroupId() + ":" + node.getArtifact().getArtifactId() + ":"
+                        + node.getArtifact().getVersion());
+            }
+            queue.addAll(node.getChildren());
+        }
+        return gavs.size();
+    }
+
+    private static DependencyNode errorNode(String coordinate, String message) {
+        String[] gav = coordinate.split(":");
+        return new DependencyNode(gav[0], gav[1], gav[2], "compile", "jar", Collections.emptyList(), "ERROR",
+                message);
+    }
+}
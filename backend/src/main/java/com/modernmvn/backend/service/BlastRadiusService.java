@@ -0,0 +1,143 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.BlastRadiusEvent;
+import com.modernmvn.backend.repository.ArtifactVulnerabilityRepository;
+import com.modernmvn.backend.repository.VulnerabilityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Every indexed version exposed to a vulnerability: the affected versions
+ * themselves, then every root whose stored closure contains one of them,
+ * level by level so nearer dependents come out first.
+ *
+ * Dependents come from the reverse indexes of the stored closures
+ * ({@link DependencyClosureStore#forEachDependent}), not from the direct edges
+ * of the index graph: a root is affected when its own resolved closure holds
+ * the vulnerable version, which mediation may have replaced below one
+ * dependent and introduced below another. A root's depth is where its
+ * closure holds the nearest vulnerable version. The binary closure layout has
+ * no reverse index, so the walk is refused under it.
+ *
+ * The reverse indexes are read once, shallowest first, through a cursor.
+ * Results are handed out in batches that start small and grow, so the first
+ * lines of a popular library's radius go out after one coordinate lookup
+ * instead of after the whole walk. The caller writes each batch before the
+ * cursor moves on, so a slow reader slows the read down rather than letting
+ * results pile up in memory.
+ */
+@Service
+public class BlastRadiusService {
+
+    static final int FIRST_BATCH = 32;
+    static final int MAX_BATCH = 1024;
+
+    private final IndexGraphService indexGraph;
+    private final DependencyClosureStore closureStore;
+    private final VulnerabilityRepository vulnerabilityRepository;
+    private final ArtifactVulnerabilityRepository artifactVulnerabilityRepository;
+    private final MeterRegistry meterRegistry;
+
+    public BlastRadiusService(IndexGraphService indexGraph, DependencyClosureStore closureStore,
+            VulnerabilityRepository vulnerabilityRepository,
+            ArtifactVulnerabilityRepository artifactVulnerabilityRepository, MeterRegistry meterRegistry) {
+        this.indexGraph = indexGraph;
+        this.closureStore = closureStore;
+        this.vulnerabilityRepository = vulnerabilityRepository;
+        this.artifactVulnerabilityRepository = artifactVulnerabilityRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Versions affected by a CVE or OSV id, or empty if the id is unknown. */
+    public Optional<List<Long>> vulnerableVersions(String vulnerabilityId) {
+        return vulnerabilityRepository.findByCveId(vulnerabilityId)
+                .map(v -> artifactVulnerabilityRepository.findVersionIdsByCveId(vulnerabilityId));
+    }
+
+    /** False under the binary closure layout, which has no reverse index to walk. */
+    public boolean isAvailable() {
+        return closureStore.hasReverseIndex();
+    }
+
+    /**
+     * Finds every root within {@code maxDepth} of {@code vulnerableVersionIds}
+     * and passes every affected version to {@code batches}, nearest first.
+     * Stops early if {@code batches} throws. Returns the number of affected
+     * versions.
+     */
+    public long walk(List<Long> vulnerableVersionIds, int maxDepth, Consumer<List<BlastRadiusEvent>> batches) {
+        if (!isAvailable())
+            throw new IllegalStateException("The binary closure layout has no reverse index");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<Long, Long> via = new HashMap<>(); // affected version -> nearest vulnerable version
+        Batches out = new Batches(via, batches);
+        List<Long> vulnerable = new ArrayList<>();
+        for (Long id : vulnerableVersionIds) {
+            if (via.putIfAbsent(id, id) == null) {
+                vulnerable.add(id);
+                out.add(id, 0);
+            }
+        }
+        closureStore.forEachDependent(vulnerable, maxDepth, e -> {
+            // Dependents come shallowest first, so a root keeps the depth it is first seen at
+            if (via.putIfAbsent(e.getRootId(), e.getDependencyId()) == null)
+                out.add(e.getRootId(), e.getDepth());
+        });
+        long affected = out.flush();
+        sample.stop(meterRegistry.timer("blast_radius.walk_time"));
+        meterRegistry.summary("blast_radius.affected").record(affected);
+        return affected;
+    }
+
+    /** Affected versions waiting for their coordinates, handed out in growing batches. */
+    private final class Batches {
+        private final Map<Long, Long> via;
+        private final Consumer<List<BlastRadiusEvent>> batches;
+        private final List<Long> batch = new ArrayList<>();
+        private final List<Integer> depths = new ArrayList<>();
+        private int batchSize = FIRST_BATCH;
+        private long emitted;
+
+        Batches(Map<Long, Long> via, Consumer<List<BlastRadiusEvent>> batches) {
+            this.via = via;
+            this.batches = batches;
+        }
+
+        void add(Long version, int depth) {
+            batch.add(version);
+            depths.add(depth);
+            if (batch.size() >= batchSize) {
+                emit();
+                batchSize = Math.min(batchSize * 2, MAX_BATCH);
+            }
+        }
+
+        long flush() {
+            emit();
+            return emitted;
+        }
+
+        private void emit() {
+            if (batch.isEmpty())
+                return;
+            Set<Long> ids = new HashSet<>(batch);
+            for (Long v : batch)
+                ids.add(via.get(v));
+            Map<Long, String> gavs = indexGraph.coordinates(ids);
+            List<BlastRadiusEvent> events = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                Long v = batch.get(i);
+                events.add(BlastRadiusEvent.affected(gavs.getOrDefault(v, String.valueOf(v)), depths.get(i),
+                        gavs.getOrDefault(via.get(v), String.valueOf(via.get(v)))));
+            }
+            batches.accept(events);
+            emitted += batch.size();
+            batch.clear();
+            depths.clear();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.modernmvn.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.function.LongConsumer;
+
+/**
+ * Binary format of a {@code dependency_closures} row.
+ *
+ * {@code version_ids} holds the dependency version ids in ascending order,
+ * the first one as is and every further one as the gap to its predecessor,
+ * each as an unsigned LEB128 varint. Ids are assigned sequentially, so the
+ * gaps in a closure of a few hundred versions mostly fit in two or three
+ * bytes instead of an eight-byte column plus a row header and three index
+ * entries. {@code depths} and {@code scopes} hold one byte per id, in the
+ * same order.
+ *
+ * Readers decode the ids in one pass into a single {@code long[]}, which is
+ * bound to queries as one array parameter; no id is boxed on the way.
+ */
+final class ClosureCodec {
+
+    private static final String[] SCOPES = { "compile", "runtime", "provided", "test", "system", "import" };
+    private static final byte UNKNOWN_SCOPE = (byte) 0xFF;
+
+    /** One dependency in the closure of a root; depth 1 is a direct dependency. */
+    record Entry(long versionId, int depth, String scope) {
+    }
+
+    record Encoded(int size, byte[] versionIds, byte[] depths, byte[] scopes) {
+    }
+
+    private ClosureCodec() {
+    }
+
+    /** Encodes {@code entries} in id order; of duplicate ids the shallowest wins. */
+    static Encoded encode(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::versionId).thenComparingInt(Entry::depth));
+
+        ByteArrayOutputStream ids = new ByteArrayOutputStream(sorted.size() * 3);
+        byte[] depths = new byte[sorted.size()];
+        byte[] scopes = new byte[sorted.size()];
+        int n = 0;
+        long previous = 0;
+        for (Entry e : sorted) {
+            if (n > 0 && e.versionId() == previous)
+                continue;
+            writeVarint(ids, e.versionId() - previous);
+            depths[n] = (byte) Math.min(e.depth(), 255);
+            scopes[n] = scopeCode(e.scope());
+            previous = e.versionId();
+            n++;
+        }
+        return new Encoded(n, ids.toByteArray(), Arrays.copyOf(depths, n), Arrays.copyOf(scopes, n));
+    }
+
+    /** Calls {@code action} with every id, in ascending order. */
+    static void forEachId(byte[] versionIds, LongConsumer action) {
+        long value = 0;
+        int i = 0;
+        while (i < versionIds.length) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = versionIds[i++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            action.accept(value);
+        }
+    }
+
+    static long[] ids(byte[] versionIds, int size) {
+        long[] ids = new long[size];
+        int[] n = new int[1];
+        forEachId(versionIds, id -> ids[n[0]++] = id);
+        return ids;
+    }
+
+    static int depth(byte[] depths, int index) {
+        return depths[index] & 0xFF;
+    }
+
+    static String scope(byte[] scopes, int index) {
+        int code = scopes[index] & 0xFF;
+        return code < SCOPES.length ? SCOPES[code] : null;
+    }
+
+    private static byte scopeCode(String scope) {
+        for (int i = 0; i < SCOPES.length; i++) {
+            if (SCOPES[i].equals(scope))
+                return (byte) i;
+        }
+        return UNKNOWN_SCOPE;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
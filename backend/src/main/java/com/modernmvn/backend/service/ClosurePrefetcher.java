@@ -0,0 +1,252 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.ArtifactVersionRepository.VersionRef;
+import com.modernmvn.backend.repository.DependencyEdgeRepository.ClosureMember;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Warms the local repository before a GAV is collected.
+ *
+ * If another version of the same artifact (or the same version) has been
+ * indexed, its stored closure is a good prediction of which POMs the
+ * collector is about to read. Those POMs are downloaded in parallel up front,
+ * so the collector's sequential walk mostly hits local disk. Downloads run
+ * in sessions of their own, and whatever is still running when the timeout
+ * expires is cancelled before the collector starts. How good the prediction
+ * was is recorded after collection as {@code prefetch.precision} and
+ * {@code prefetch.recall}, against the POMs the collector actually read.
+ */
+@Service
+public class ClosurePrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ClosurePrefetcher.class);
+    private static final GenericVersionScheme VERSIONS = new GenericVersionScheme();
+
+    private final RepositorySystem repositorySystem;
+    private final MavenConfig mavenConfig;
+    private final ArtifactVersionRepository versionRepository;
+    private final DependencyClosureStore closureStore;
+    private final Executor descriptorExecutor;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long timeoutMs;
+    private final int maxPoms;
+
+    public ClosurePrefetcher(RepositorySystem repositorySystem, MavenConfig mavenConfig,
+            ArtifactVersionRepository versionRepository,
+            DependencyClosureStore closureStore, @Qualifier("descriptorExecutor") Executor descriptorExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${modernmvn.prefetch.enabled:true}") boolean enabled,
+            @Value("${modernmvn.prefetch.timeout-ms:10000}") long timeoutMs,
+            @Value("${modernmvn.prefetch.max-poms:500}") int maxPoms) {
+        this.repositorySystem = repositorySystem;
+        this.mavenConfig = mavenConfig;
+        this.versionRepository = versionRepository;
+        this.closureStore = closureStore;
+        this.descriptorExecutor = descriptorExecutor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+        this.maxPoms = maxPoms;
+    }
+
+    /**
+     * Predicts the closure of {@code groupId:artifactId:version} and downloads
+     * the predicted POMs that are not in the local repository yet, waiting at
+     * most {@code modernmvn.prefetch.timeout-ms}. Downloads not finished by
+     * then are cancelled, so nothing is left running once this returns.
+     * {@code session} is only read from, on the calling thread. Returns the
+     * prediction as {@code groupId:artifactId:version} keys, empty if there
+     * was none.
+     */
+    public Set<String> prefetch(String groupId, String artifactId, String version, List<RemoteRepository> repos,
+            RepositorySystemSession session) {
+        if (!enabled)
+            return Set.of();
+        Set<String> predicted = predict(groupId, artifactId, version);
+        meterRegistry.counter("prefetch.predictions", "result", predicted.isEmpty() ? "none" : "predicted")
+                .increment();
+        if (predicted.isEmpty())
+            return predicted;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<FutureTask<Void>> downloads = new ArrayList<>();
+        for (String gav : predicted) {
+            if (downloads.size() >= maxPoms)
+                break;
+            String[] parts = gav.split(":", 3);
+            Artifact pom = new DefaultArtifact(parts[0], parts[1], "pom", parts[2]);
+            if (session.getLocalRepositoryManager().find(session, new LocalArtifactRequest(pom, repos, null))
+                    .isAvailable()) {
+                meterRegistry.counter("prefetch.poms", "result", "local").increment();
+                continue;
+            }
+            FutureTask<Void> download = new FutureTask<>(() -> download(pom, repos), null);
+            descriptorExecutor.execute(download);
+            downloads.add(download);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        try {
+            for (FutureTask<Void> download : downloads)
+                download.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.debug("POM prefetch for {}:{}:{} cut off after {}ms", groupId, artifactId, version, timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Individual download failures are counted in download()
+        } finally {
+            // The collector fetches whatever is left itself
+            for (FutureTask<Void> download : downloads) {
+                if (download.cancel(true))
+                    meterRegistry.counter("prefetch.poms", "result", "cancelled").increment();
+            }
+        }
+        sample.stop(meterRegistry.timer("prefetch.time"));
+        return predicted;
+    }
+
+    /**
+     * Records precision (share of predicted POMs the collector read) and
+     * recall (share of read POMs that were predicted) for a finished
+     * collection. Scoring against the reads rather than the collected graph
+     * keeps the figures comparable between standard and verbose collection,
+     * and counts conflict losers whose POMs were read all the same.
+     */
+    public void record(Set<String> predicted, Set<String> read) {
+        if (predicted.isEmpty() || read.isEmpty())
+            return;
+        long hits = predicted.stream().filter(read::contains).count();
+        meterRegistry.summary("prefetch.precision").record((double) hits / predicted.size());
+        meterRegistry.summary("prefetch.recall").record((double) hits / read.size());
+    }
+
+    /**
+     * Collects the POMs a collection reads. {@link #attach} returns a copy of
+     * a session that reports to it; collect with the copy.
+     */
+    public static final class PomReads extends AbstractRepositoryListener {
+        private final Set<String> gavs = ConcurrentHashMap.newKeySet();
+        private final String root;
+
+        /** {@code root} ({@code groupId:artifactId:version}) is read by every collection and is left out. */
+        public PomReads(String root) {
+            this.root = root;
+        }
+
+        public RepositorySystemSession attach(RepositorySystemSession session) {
+            DefaultRepositorySystemSession tracked = new DefaultRepositorySystemSession(session);
+            tracked.setRepositoryListener(session.getRepositoryListener() == null ? this
+                    : ChainedRepositoryListener.newInstance(session.getRepositoryListener(), this));
+            return tracked;
+        }
+
+        @Override
+        public void artifactResolved(RepositoryEvent event) {
+            Artifact a = event.getArtifact();
+            if (a == null || event.getFile() == null || !"pom".equals(a.getExtension()))
+                return;
+            String gav = a.getGroupId() + ":" + a.getArtifactId() + ":" + a.getVersion();
+            if (!gav.equals(root))
+                gavs.add(gav);
+        }
+
+        public Set<String> gavs() {
+            return gavs;
+        }
+    }
+
+    private void download(Artifact pom, List<RemoteRepository> repos) {
+        try {
+            // Never the caller's session, which the collector is about to use
+            repositorySystem.resolveArtifact(mavenConfig.createSession(repositorySystem),
+                    new ArtifactRequest(pom, repos, null));
+            meterRegistry.counter("prefetch.poms", "result", "downloaded").increment();
+        } catch (Exception e) {
+            meterRegistry.counter("prefetch.poms", "result", "failed").increment();
+            log.debug("Prefetch of {} failed: {}", pom, e.getMessage());
+        }
+    }
+
+    private Set<String> predict(String groupId, String artifactId, String version) {
+        try {
+            VersionRef sibling = nearestSibling(versionRepository.findIndexedVersions(groupId, artifactId), version);
+            if (sibling == null)
+                return Set.of();
+            Set<String> closure = new LinkedHashSet<>();
+            for (ClosureMember m : closureStore.closure(sibling.getId())) {
+                closure.add(m.getGroupId() + ":" + m.getArtifactId() + ":" + m.getVersion());
+            }
+            return closure;
+        } catch (RuntimeException e) {
+            log.debug("No closure prediction for {}:{}:{}: {}", groupId, artifactId, version, e.getMessage());
+            return Set.of();
+        }
+    }
+
+    /**
+     * The same version if indexed, else the closest lower version, else the
+     * closest higher one. Adjacent versions usually differ in a handful of
+     * dependency bumps.
+     */
+    static VersionRef nearestSibling(List<VersionRef> indexed, String version) {
+        Version target;
+        try {
+            target = VERSIONS.parseVersion(version);
+        } catch (InvalidVersionSpecificationException e) {
+            return null;
+        }
+        VersionRef below = null, above = null;
+        Version belowVersion = null, aboveVersion = null;
+        for (VersionRef ref : indexed) {
+            Version v;
+            try {
+                v = VERSIONS.parseVersion(ref.getVersion());
+            } catch (InvalidVersionSpecificationException e) {
+                continue;
+            }
+            int cmp = v.compareTo(target);
+            if (cmp == 0)
+                return ref;
+            if (cmp < 0 && (belowVersion == null || v.compareTo(belowVersion) > 0)) {
+                below = ref;
+                belowVersion = v;
+            } else if (cmp > 0 && (aboveVersion == null || v.compareTo(aboveVersion) < 0)) {
+                above = ref;
+                aboveVersion = v;
+            }
+        }
+        return below != null ? below : above;
+    }
+}
@@ -0,0 +1,234 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.ConflictCandidate;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+
+import java.util.*;
+
+/**
+ * Every candidate that lost conflict resolution in a verbose collection,
+ * with the full path from the root to it and to the version selected
+ * instead.
+ *
+ * Paths are stored as a parent-pointer trie over interned
+ * {@code groupId:artifactId:version} segments: candidates below the same
+ * subtree share their common prefix, and a coordinate that appears on many
+ * paths is stored once. Only trie nodes on a path to a candidate or to a
+ * winner are materialized; the rest of the graph is not retained.
+ */
+public final class ConflictPaths {
+
+    // Aether removes cycles, but a pathological graph can still be very wide
+    private static final int MAX_VISITED_NODES = 200_000;
+
+    private final String[] segments;
+    private final int[] trieSegment; // trie node -> index into segments
+    private final int[] trieParent; // trie node -> parent trie node, -1 for the root
+    private final int[] candidateNode; // omitted candidate -> trie node of the candidate itself
+    private final int[] winnerNode; // omitted candidate -> trie node of the selected version, -1 if not reached
+    private final String[] candidateScope;
+
+    private ConflictPaths(String[] segments, int[] trieSegment, int[] trieParent, int[] candidateNode,
+            int[] winnerNode, String[] candidateScope) {
+        this.segments = segments;
+        this.trieSegment = trieSegment;
+        this.trieParent = trieParent;
+        this.candidateNode = candidateNode;
+        this.winnerNode = winnerNode;
+        this.candidateScope = candidateScope;
+    }
+
+    /**
+     * Indexes a graph collected with {@link ConflictResolver.Verbosity#FULL},
+     * where losers stay in the graph as leaves carrying
+     * {@link ConflictResolver#NODE_DATA_WINNER}. {@code rootCoordinates}
+     * labels the root, which has no artifact when a POM was collected.
+     */
+    public static ConflictPaths build(String rootCoordinates, DependencyNode root) {
+        // A winner can be visited before its losers, so find them all first
+        Set<DependencyNode> winners = Collections.newSetFromMap(new IdentityHashMap<>());
+        walk(root, (node, depth) -> {
+            DependencyNode winner = winnerOf(node);
+            if (winner != null)
+                winners.add(winner);
+        });
+
+        Builder builder = new Builder(rootCoordinates, winners);
+        walk(root, builder);
+        return builder.finish();
+    }
+
+    // ─── Queries ─────────────────────────────────────────────────────
+
+    /** Number of omitted candidates. */
+    public int size() {
+        return candidateNode.length;
+    }
+
+    /**
+     * Omitted candidates of {@code groupId:artifactId}, or all of them when
+     * both are null, in graph order and at most {@code limit}.
+     */
+    public List<ConflictCandidate> candidates(String groupId, String artifactId, int limit) {
+        List<ConflictCandidate> result = new ArrayList<>();
+        for (int i = 0; i < candidateNode.length && result.size() < limit; i++) {
+            String[] coords = segments[trieSegment[candidateNode[i]]].split(":", 3);
+            if ((groupId != null && !groupId.equals(coords[0]))
+                    || (artifactId != null && !artifactId.equals(coords[1])))
+                continue;
+            List<String> path = path(candidateNode[i]);
+            List<String> selectedPath = winnerNode[i] >= 0 ? path(winnerNode[i]) : List.of();
+            String selectedVersion = selectedPath.isEmpty() ? null
+                    : selectedPath.get(selectedPath.size() - 1).split(":", 3)[2];
+            String reason = coords[2].equals(selectedVersion) ? "duplicate" : "conflict";
+            result.add(new ConflictCandidate(coords[0], coords[1], coords[2], candidateScope[i], selectedVersion,
+                    reason, path, selectedPath));
+        }
+        return result;
+    }
+
+    /** Rough retained size, for the graph cache's memory metrics. */
+    public long estimatedBytes() {
+        long bytes = 16L * 6 + 4L * (trieSegment.length + trieParent.length + candidateNode.length
+                + winnerNode.length) + 8L * candidateScope.length;
+        for (String s : segments) {
+            bytes += 40 + s.length();
+        }
+        return bytes;
+    }
+
+    private List<String> path(int trieNode) {
+        List<String> path = new ArrayList<>();
+        for (int n = trieNode; n >= 0; n = trieParent[n]) {
+            path.add(segments[trieSegment[n]]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // ─── Building ────────────────────────────────────────────────────
+
+    private static DependencyNode winnerOf(DependencyNode node) {
+        Object winner = node.getData().get(ConflictResolver.NODE_DATA_WINNER);
+        return winner instanceof DependencyNode w && w != node ? w : null;
+    }
+
+    private interface Visitor {
+        void visit(DependencyNode node, int depth);
+    }
+
+    /** Pre-order walk; {@code depth} is 0 for the root. */
+    private static void walk(DependencyNode root, Visitor visitor) {
+        Deque<DependencyNode> nodes = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root);
+        depths.push(0);
+        int visited = 0;
+        while (!nodes.isEmpty() && visited++ < MAX_VISITED_NODES) {
+            DependencyNode node = nodes.pop();
+            int depth = depths.pop();
+            visitor.visit(node, depth);
+            List<DependencyNode> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                nodes.push(children.get(i));
+                depths.push(depth + 1);
+            }
+        }
+    }
+
+    /**
+     * Keeps the current root path during the walk and turns a prefix of it
+     * into trie nodes only when a candidate or winner is reached below it.
+     */
+    private static final class Builder implements Visitor {
+        private final String rootCoordinates;
+        private final Set<DependencyNode> winners;
+
+        private final Map<String, Integer> segmentIds = new HashMap<>();
+        private final List<String> segments = new ArrayList<>();
+        private int[] trieSegment = new int[64];
+        private int[] trieParent = new int[64];
+        private int trieSize;
+
+        private final List<DependencyNode> path = new ArrayList<>();
+        private final List<Integer> pathTrieNodes = new ArrayList<>(); // -1 until materialized
+
+        private final List<DependencyNode> candidates = new ArrayList<>();
+        private final List<Integer> candidateNodes = new ArrayList<>();
+        private final Map<DependencyNode, Integer> winnerNodes = new IdentityHashMap<>();
+
+        Builder(String rootCoordinates, Set<DependencyNode> winners) {
+            this.rootCoordinates = rootCoordinates;
+            this.winners = winners;
+        }
+
+        @Override
+        public void visit(DependencyNode node, int depth) {
+            while (path.size() > depth) {
+                path.remove(path.size() - 1);
+                pathTrieNodes.remove(pathTrieNodes.size() - 1);
+            }
+            path.add(node);
+            pathTrieNodes.add(-1);
+
+            if (winnerOf(node) != null) {
+                candidates.add(node);
+                candidateNodes.add(materialize(depth));
+            } else if (winners.contains(node)) {
+                winnerNodes.putIfAbsent(node, materialize(depth));
+            }
+        }
+
+        private int materialize(int depth) {
+            int existing = pathTrieNodes.get(depth);
+            if (existing >= 0)
+                return existing;
+            int parent = depth == 0 ? -1 : materialize(depth - 1);
+            String segment = depth == 0 ? rootCoordinates : coordinates(path.get(depth).getArtifact());
+            int id = addTrieNode(intern(segment), parent);
+            pathTrieNodes.set(depth, id);
+            return id;
+        }
+
+        private int intern(String segment) {
+            Integer id = segmentIds.get(segment);
+            if (id == null) {
+                id = segments.size();
+                segments.add(segment);
+                segmentIds.put(segment, id);
+            }
+            return id;
+        }
+
+        private int addTrieNode(int segment, int parent) {
+            if (trieSize == trieSegment.length) {
+                trieSegment = Arrays.copyOf(trieSegment, trieSize * 2);
+                trieParent = Arrays.copyOf(trieParent, trieSize * 2);
+            }
+            trieSegment[trieSize] = segment;
+            trieParent[trieSize] = parent;
+            return trieSize++;
+        }
+
+        ConflictPaths finish() {
+            int n = candidates.size();
+            int[] candidateNode = new int[n];
+            int[] winnerNode = new int[n];
+            String[] scopes = new String[n];
+            for (int i = 0; i < n; i++) {
+                DependencyNode candidate = candidates.get(i);
+                candidateNode[i] = candidateNodes.get(i);
+                winnerNode[i] = winnerNodes.getOrDefault(winnerOf(candidate), -1);
+                scopes[i] = candidate.getDependency() != null ? candidate.getDependency().getScope() : "";
+            }
+            return new ConflictPaths(segments.toArray(new String[0]), Arrays.copyOf(trieSegment, trieSize),
+                    Arrays.copyOf(trieParent, trieSize), candidateNode, winnerNode, scopes);
+        }
+    }
+
+    private static String coordinates(Artifact a) {
+        return a.getGroupId() + ":" + a.getArtifactId() + ":" + a.getVersion();
+    }
+}
@@ -0,0 +1,491 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.ClosureStorageReport;
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.entity.*;
+import com.modernmvn.backend.repository.*;
+import com.modernmvn.backend.repository.DependencyEdgeRepository.ClosureMember;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Stores the flattened dependency closure of every indexed version, in one of
+ * three layouts chosen by {@code modernmvn.closure-store.layout}:
+ *
+ * <ul>
+ * <li>{@code rows}: one {@code dependency_edges} row per (root, transitive
+ * dependency) pair.</li>
+ * <li>{@code shared}: the subtree under each direct dependency is stored once
+ * as a subgraph addressed by the SHA-256 of its shape, and a root only keeps
+ * one {@code dependency_closure_refs} row per direct dependency. Popular
+ * subtrees (spring-core, jackson-databind, ...) are shared by thousands of
+ * roots.</li>
+ * <li>{@code binary}: one {@code dependency_closures} row per root holding the
+ * whole closure as {@link ClosureCodec} arrays. Forward reads cost one row;
+ * there is no reverse index, so reverse queries go through
+ * {@link IndexGraphService} and {@link UsedByCounterService}.</li>
+ * </ul>
+ *
+ * A root lives in exactly one layout: writing it deletes it from the others,
+ * and reads fall back to the other layouts, so switching the property
+ * migrates roots as they are re-indexed, or at once through {@link #migrate}.
+ */
+@Service
+public class DependencyClosureStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DependencyClosureStore.class);
+
+    enum Layout {
+        ROWS, SHARED, BINARY;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** A distinct version inside a subgraph, at its shallowest depth below the head. */
+    record Member(DependencyNode node, int depth) {
+    }
+
+    private final DependencyEdgeRepository edgeRepository;
+    private final DependencySubgraphRepository subgraphRepository;
+    private final DependencySubgraphMemberRepository memberRepository;
+    private final DependencyClosureRefRepository refRepository;
+    private final DependencyClosureRepository closureRepository;
+    private final DependencyTreeNodeRepository treeNodeRepository;
+    private final ArtifactVersionRepository versionRepository;
+    private final ArtifactVulnerabilityRepository artifactVulnRepository;
+    private final DependencyClosureStore self;
+    private final MeterRegistry meterRegistry;
+    private final Layout layout;
+    private final long sweepGraceSeconds;
+
+    public DependencyClosureStore(DependencyEdgeRepository edgeRepository,
+            DependencySubgraphRepository subgraphRepository, DependencySubgraphMemberRepository memberRepository,
+            DependencyClosureRefRepository refRepository, DependencyClosureRepository closureRepository,
+            DependencyTreeNodeRepository treeNodeRepository, ArtifactVersionRepository versionRepository,
+            ArtifactVulnerabilityRepository artifactVulnRepository, @Lazy DependencyClosureStore self,
+            MeterRegistry meterRegistry,
+            @Value("${modernmvn.closure-store.layout:shared}") String layout,
+            @Value("${modernmvn.closure-store.sweep-grace-minutes:60}") long sweepGraceMinutes) {
+        this.edgeRepository = edgeRepository;
+        this.subgraphRepository = subgraphRepository;
+        this.memberRepository = memberRepository;
+        this.refRepository = refRepository;
+        this.closureRepository = closureRepository;
+        this.treeNodeRepository = treeNodeRepository;
+        this.versionRepository = versionRepository;
+        this.artifactVulnRepository = artifactVulnRepository;
+        this.self = self;
+        this.meterRegistry = meterRegistry;
+        this.layout = Layout.valueOf(layout.trim().toUpperCase(Locale.ROOT));
+        this.sweepGraceSeconds = sweepGraceMinutes * 60;
+    }
+
+    // ─── Writes ──────────────────────────────────────────────────────
+
+    /**
+     * Replaces the closure of {@code rootVersionId} with the one of
+     * {@code root}. Must run inside the caller's transaction.
+     * {@code versionIds} maps a node to its artifact version id, creating the
+     * version if needed; it is called at most once per distinct GAV. Returns
+     * the version ids of the root's direct dependencies.
+     */
+    public List<Long> replace(Long rootVersionId, DependencyNode root, Function<DependencyNode, Long> versionIds) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<String, Long> ids = new HashMap<>();
+        Function<DependencyNode, Long> idOf = n -> {
+            Long id = ids.get(gav(n));
+            if (id == null) {
+                id = versionIds.apply(n);
+                ids.put(gav(n), id);
+            }
+            return id;
+        };
+
+        delete(rootVersionId);
+        if (layout == Layout.SHARED) {
+            writeShared(rootVersionId, root, idOf);
+        } else {
+            write(rootVersionId, entries(root, idOf));
+        }
+        sample.stop(meterRegistry.timer("closure_store.write_time", "layout", layout.tag()));
+        return root.children().stream().map(idOf).distinct().toList();
+    }
+
+    private void delete(Long rootVersionId) {
+        edgeRepository.deleteByRootVersionId(rootVersionId);
+        refRepository.deleteByRootVersionId(rootVersionId);
+        closureRepository.deleteByRootVersionId(rootVersionId);
+    }
+
+    /** Writes a flat closure in the rows or binary layout. */
+    private void write(Long rootVersionId, List<ClosureCodec.Entry> entries) {
+        if (layout == Layout.BINARY) {
+            ClosureCodec.Encoded encoded = ClosureCodec.encode(entries);
+            closureRepository.save(new DependencyClosureEntity(rootVersionId, encoded.size(), encoded.versionIds(),
+                    encoded.depths(), encoded.scopes()));
+            meterRegistry.summary("closure_store.binary_bytes").record(encoded.versionIds().length);
+        } else {
+            edgeRepository.saveAll(entries.stream()
+                    .map(e -> new DependencyEdgeEntity(rootVersionId, e.versionId(), e.depth(), e.depth() == 1,
+                            e.scope()))
+                    .toList());
+        }
+    }
+
+    /** Every distinct version below {@code root} at its shallowest depth, direct dependencies at 1. */
+    static List<ClosureCodec.Entry> entries(DependencyNode root, Function<DependencyNode, Long> idOf) {
+        List<Member> members = members(root);
+        List<ClosureCodec.Entry> entries = new ArrayList<>(members.size());
+        for (Member m : members.subList(1, members.size())) {
+            entries.add(new ClosureCodec.Entry(idOf.apply(m.node()), m.depth(), m.node().scope()));
+        }
+        return entries;
+    }
+
+    private void writeShared(Long rootVersionId, DependencyNode root, Function<DependencyNode, Long> idOf) {
+        Map<DependencyNode, String> hashes = new IdentityHashMap<>();
+        // Sorted, so concurrent indexers wait on each other's new subgraphs and refs in one order
+        Set<String> refs = new TreeSet<>();
+        for (DependencyNode child : root.children()) {
+            refs.add(hash(child, hashes));
+        }
+        if (refs.isEmpty())
+            return;
+
+        Set<String> stored = new HashSet<>(subgraphRepository.findExistingHashes(refs));
+        Map<String, DependencyNode> missing = new TreeMap<>();
+        for (DependencyNode child : root.children()) {
+            String hash = hashes.get(child);
+            if (!stored.contains(hash))
+                missing.putIfAbsent(hash, child);
+        }
+        List<DependencySubgraphMemberEntity> members = new ArrayList<>();
+        int created = 0;
+        for (Map.Entry<String, DependencyNode> e : missing.entrySet()) {
+            String hash = e.getKey();
+            DependencyNode child = e.getValue();
+            List<Member> flat = members(child);
+            if (subgraphRepository.insertIfAbsent(hash, idOf.apply(child), flat.size()) == 0)
+                continue; // stored by a concurrent indexer in the meantime
+            for (Member m : flat) {
+                members.add(new DependencySubgraphMemberEntity(hash, idOf.apply(m.node()), m.depth(),
+                        m.node().scope()));
+            }
+            created++;
+        }
+        memberRepository.saveAll(members);
+        refRepository.saveAll(refs.stream().map(h -> new DependencyClosureRefEntity(rootVersionId, h)).toList());
+
+        meterRegistry.counter("closure_store.subgraphs", "result", "created").increment(created);
+        meterRegistry.counter("closure_store.subgraphs", "result", "shared").increment(refs.size() - created);
+    }
+
+    /**
+     * Content address of the subtree under {@code node}: coordinates and scope
+     * of every node, children in order. Equal subtrees under different roots
+     * get the same hash. {@code memo} is keyed by identity.
+     */
+    static String hash(DependencyNode node, Map<DependencyNode, String> memo) {
+        String cached = memo.get(node);
+        if (cached != null)
+            return cached;
+        MessageDigest sha = sha256();
+        sha.update((gav(node) + ":" + Objects.toString(node.scope(), "")).getBytes(StandardCharsets.UTF_8));
+        for (DependencyNode child : node.children()) {
+            sha.update((byte) '(');
+            sha.update(hash(child, memo).getBytes(StandardCharsets.US_ASCII));
+            sha.update((byte) ')');
+        }
+        String hash = HexFormat.of().formatHex(sha.digest());
+        memo.put(node, hash);
+        return hash;
+    }
+
+    /** Distinct versions under {@code head}, head first at depth 0, breadth-first. */
+    static List<Member> members(DependencyNode head) {
+        Map<String, Member> members = new LinkedHashMap<>();
+        Deque<Member> queue = new ArrayDeque<>();
+        queue.add(new Member(head, 0));
+        while (!queue.isEmpty()) {
+            Member m = queue.poll();
+            if (members.putIfAbsent(gav(m.node()), m) != null)
+                continue;
+            for (DependencyNode child : m.node().children()) {
+                queue.add(new Member(child, m.depth() + 1));
+            }
+        }
+        return new ArrayList<>(members.values());
+    }
+
+    private static String gav(DependencyNode node) {
+        return node.groupId() + ":" + node.artifactId() + ":" + node.version();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ─── Reads ───────────────────────────────────────────────────────
+
+    /** Coordinates of every stored dependency of a root version, from whichever layout holds it. */
+    public List<ClosureMember> closure(Long rootVersionId) {
+        for (Layout l : readOrder()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            List<ClosureMember> members = switch (l) {
+                case ROWS -> edgeRepository.findClosure(rootVersionId);
+                case SHARED -> memberRepository.findClosure(rootVersionId);
+                case BINARY -> closureRepository.findById(rootVersionId)
+                        .map(c -> versionRepository.findCoordinatesByIdArray(ids(c)))
+                        .orElse(List.of());
+            };
+            if (!members.isEmpty()) {
+                sample.stop(meterRegistry.timer("closure_store.read_time", "layout", l.tag()));
+                return members;
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Feeds the direct edges of every root with an id in
+     * [{@code fromRootId}, {@code toRootId}] into {@code graph}, whichever
+     * layout the root is stored in.
+     */
+    void loadDirectEdges(long fromRootId, long toRootId, IndexGraph.Builder graph) {
+        forEachDirectEdge(fromRootId, toRootId, graph::add);
+    }
+
+    /** Stored direct dependencies of a root, from whichever layout holds it; empty if not stored. */
+    public Set<Long> directDependencies(Long rootVersionId) {
+        Set<Long> ids = new HashSet<>();
+        forEachDirectEdge(rootVersionId, rootVersionId, (root, dependency) -> ids.add(dependency));
+        return ids;
+    }
+
+    private interface EdgeSink {
+        void add(long rootId, long dependencyId);
+    }
+
+    private void forEachDirectEdge(long fromRootId, long toRootId, EdgeSink sink) {
+        for (DependencyEdgeRepository.DirectEdge e : edgeRepository.findDirectEdges(fromRootId, toRootId))
+            sink.add(e.getRootId(), e.getDependencyId());
+        for (DependencyEdgeRepository.DirectEdge e : refRepository.findDirectEdges(fromRootId, toRootId))
+            sink.add(e.getRootId(), e.getDependencyId());
+        for (DependencyClosureEntity c : closureRepository.findByRootVersionIdBetween(fromRootId, toRootId)) {
+            long[] ids = ids(c);
+            for (int i = 0; i < ids.length; i++) {
+                if (ClosureCodec.depth(c.getDepths(), i) == 1)
+                    sink.add(c.getRootVersionId(), ids[i]);
+            }
+        }
+    }
+
+    /** The configured layout first, then the others. */
+    private List<Layout> readOrder() {
+        List<Layout> order = new ArrayList<>(List.of(Layout.values()));
+        order.remove(layout);
+        order.add(0, layout);
+        return order;
+    }
+
+    private static long[] ids(DependencyClosureEntity closure) {
+        return ClosureCodec.ids(closure.getVersionIds(), closure.getMemberCount());
+    }
+
+    // ─── Reverse lookups ─────────────────────────────────────────────
+
+    /**
+     * Whether {@link #forEachDependent} sees the roots written from now on: the
+     * binary layout keeps no reverse index.
+     */
+    public boolean hasReverseIndex() {
+        return layout != Layout.BINARY;
+    }
+
+    /**
+     * Passes every (root, version) pair whose stored closure holds one of
+     * {@code versionIds} within {@code maxDepth} (1 for a direct dependency)
+     * to {@code sink}, shallowest first, with the depth it is held at. The
+     * reverse indexes of the rows and shared layouts are each read once,
+     * ordered by depth through a cursor, and merged; {@code sink} runs while
+     * the cursors are open, so a slow consumer holds the read back. A root
+     * may come more than once. Roots stored in the binary layout are not found
+     * until they are migrated.
+     */
+    @Transactional(readOnly = true)
+    public void forEachDependent(Collection<Long> versionIds, int maxDepth,
+            Consumer<DependencyEdgeRepository.DependentEdge> sink) {
+        if (versionIds.isEmpty() || maxDepth < 1)
+            return;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Stream<DependencyEdgeRepository.DependentEdge> rows = edgeRepository.streamDependents(versionIds,
+                maxDepth);
+                Stream<DependencyEdgeRepository.DependentEdge> shared = memberRepository.streamDependents(versionIds,
+                        maxDepth)) {
+            Iterator<DependencyEdgeRepository.DependentEdge> a = rows.iterator();
+            Iterator<DependencyEdgeRepository.DependentEdge> b = shared.iterator();
+            DependencyEdgeRepository.DependentEdge x = a.hasNext() ? a.next() : null;
+            DependencyEdgeRepository.DependentEdge y = b.hasNext() ? b.next() : null;
+            while (x != null || y != null) {
+                if (y == null || (x != null && x.getDepth() <= y.getDepth())) {
+                    sink.accept(x);
+                    x = a.hasNext() ? a.next() : null;
+                } else {
+                    sink.accept(y);
+                    y = b.hasNext() ? b.next() : null;
+                }
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("closure_store.reverse_lookup_time"));
+        }
+    }
+
+    /**
+     * Distinct vulnerabilities in the closure of a root that was just written
+     * with {@link #replace}, so it is in the configured layout.
+     */
+    public long countTransitiveVulnerabilities(Long rootVersionId) {
+        return switch (layout) {
+            case ROWS -> artifactVulnRepository.countTransitiveVulnerabilities(rootVersionId);
+            case SHARED -> artifactVulnRepository.countTransitiveVulnerabilitiesViaSubgraphs(rootVersionId);
+            case BINARY -> closureRepository.findById(rootVersionId)
+                    .filter(c -> c.getMemberCount() > 0)
+                    .map(c -> artifactVulnRepository.countDistinctVulnerabilities(ids(c)))
+                    .orElse(0L);
+        };
+    }
+
+    public ClosureStorageReport storageReport() {
+        DependencySubgraphRepository.StorageStats s = subgraphRepository.storageStats();
+        return new ClosureStorageReport(layout.tag(), s.getClosureEntries(), s.getEdgeRows(), s.getEdgeBytes(),
+                s.getSubgraphs(), s.getSubgraphMembers(), s.getClosureRefs(), s.getSharedBytes(), s.getBinaryRows(),
+                s.getBinaryBytes());
+    }
+
+    // ─── Migration ───────────────────────────────────────────────────
+
+    /**
+     * Moves up to {@code limit} roots stored in other layouts into the
+     * configured one, each in its own transaction, and returns how many were
+     * moved. Moving into {@code shared} needs the root's stored tree; roots
+     * without one stay where they are until they are re-indexed.
+     */
+    public int migrate(int limit) {
+        int moved = 0;
+        for (Layout source : Layout.values()) {
+            if (source == layout)
+                continue;
+            while (moved < limit) {
+                PageRequest page = PageRequest.of(0, Math.min(500, limit - moved));
+                List<Long> roots = switch (source) {
+                    case ROWS -> edgeRepository.findRootVersionIds(page);
+                    case SHARED -> refRepository.findRootVersionIds(page);
+                    case BINARY -> closureRepository.findRootVersionIds(page);
+                };
+                int before = moved;
+                for (Long rootVersionId : roots) {
+                    try {
+                        if (self.migrateRoot(rootVersionId, source))
+                            moved++;
+                    } catch (RuntimeException e) {
+                        log.warn("Could not migrate closure of version {}: {}", rootVersionId, e.getMessage());
+                    }
+                }
+                if (moved == before)
+                    break; // nothing left in this layout that can be moved
+            }
+        }
+        meterRegistry.counter("closure_store.migrated", "layout", layout.tag()).increment(moved);
+        log.info("Migrated {} closures to the {} layout", moved, layout.tag());
+        return moved;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean migrateRoot(Long rootVersionId, Layout source) {
+        if (layout == Layout.SHARED) {
+            List<DependencyTreeNodeRepository.TreeNode> rows = treeNodeRepository.findTree(rootVersionId);
+            if (!DependencyTreeStore.isComplete(rows))
+                return false;
+            Map<String, Long> ids = new HashMap<>();
+            for (DependencyTreeNodeRepository.TreeNode row : rows)
+                ids.put(row.getGroupId() + ":" + row.getArtifactId() + ":" + row.getVersion(), row.getVersionId());
+            replace(rootVersionId, DependencyTreeStore.rebuild(rows), n -> ids.get(gav(n)));
+            return true;
+        }
+        List<ClosureCodec.Entry> entries = entriesIn(source, rootVersionId);
+        if (entries.isEmpty())
+            return false;
+        delete(rootVersionId);
+        write(rootVersionId, entries);
+        return true;
+    }
+
+    private List<ClosureCodec.Entry> entriesIn(Layout source, Long rootVersionId) {
+        return switch (source) {
+            case ROWS -> edgeRepository.findByRootVersionId(rootVersionId).stream()
+                    .map(e -> new ClosureCodec.Entry(e.getDependencyVersionId(), e.getDepth(), e.getScope()))
+                    .toList();
+            case SHARED -> memberRepository.findEntries(rootVersionId).stream()
+                    .map(e -> new ClosureCodec.Entry(e.getVersionId(), e.getDepth(), e.getScope()))
+                    .toList();
+            case BINARY -> closureRepository.findById(rootVersionId)
+                    .map(DependencyClosureStore::decode)
+                    .orElse(List.of());
+        };
+    }
+
+    private static List<ClosureCodec.Entry> decode(DependencyClosureEntity closure) {
+        long[] ids = ClosureCodec.ids(closure.getVersionIds(), closure.getMemberCount());
+        List<ClosureCodec.Entry> entries = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            entries.add(new ClosureCodec.Entry(ids[i], ClosureCodec.depth(closure.getDepths(), i),
+                    ClosureCodec.scope(closure.getScopes(), i)));
+        }
+        return entries;
+    }
+
+    // ─── Cleanup ─────────────────────────────────────────────────────
+
+    /**
+     * Re-indexing leaves behind subgraphs of old trees; delete them once
+     * nothing refers to them and the grace period since they were stored has
+     * passed, so a subgraph whose first ref is not committed yet is never
+     * swept. Reused subgraphs are held by their refs' foreign key instead.
+     */
+    @Scheduled(initialDelayString = "${modernmvn.closure-store.sweep-initial-delay-ms:600000}",
+            fixedDelayString = "${modernmvn.closure-store.sweep-delay-ms:3600000}")
+    public void sweepUnreferenced() {
+        try {
+            int deleted = subgraphRepository.deleteUnreferenced(sweepGraceSeconds);
+            meterRegistry.counter("closure_store.subgraphs_swept").increment(deleted);
+            if (deleted > 0)
+                log.info("Deleted {} unreferenced dependency subgraphs", deleted);
+        } catch (DataAccessException e) {
+            log.warn("Subgraph sweep skipped, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyDiff;
+import com.modernmvn.backend.dto.DependencyDiff.Change;
+import com.modernmvn.backend.dto.DependencyDiff.VulnerabilityCounts;
+import com.modernmvn.backend.entity.ArtifactVersionEntity;
+import com.modernmvn.backend.entity.SecuritySummaryEntity;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.DependencyEdgeRepository.ClosureMember;
+import com.modernmvn.backend.repository.SecuritySummaryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Compares the stored closures of two indexed versions of an artifact, so an
+ * upgrade can be reviewed without resolving either version. Both closures are
+ * sorted by groupId and artifactId and walked side by side once, and the
+ * security summaries of the two versions give the vulnerability delta.
+ *
+ * Diffs are cached under both versions' {@code lastIndexedAt}, so re-indexing
+ * either side makes the next request compute a fresh one.
+ */
+@Service
+public class DependencyDiffService {
+
+    private static final GenericVersionScheme VERSIONS = new GenericVersionScheme();
+    private static final Comparator<ClosureMember> BY_COORDINATES = Comparator
+            .comparing(ClosureMember::getGroupId)
+            .thenComparing(ClosureMember::getArtifactId)
+            .thenComparing(ClosureMember::getVersion, DependencyDiffService::compareVersions);
+
+    private final DependencyClosureStore closureStore;
+    private final ArtifactVersionRepository versionRepository;
+    private final SecuritySummaryRepository summaryRepository;
+    private final MeterRegistry meterRegistry;
+    private final DependencyDiffService self;
+
+    public DependencyDiffService(DependencyClosureStore closureStore, ArtifactVersionRepository versionRepository,
+            SecuritySummaryRepository summaryRepository, MeterRegistry meterRegistry,
+            @Lazy DependencyDiffService self) {
+        this.closureStore = closureStore;
+        this.versionRepository = versionRepository;
+        this.summaryRepository = summaryRepository;
+        this.meterRegistry = meterRegistry;
+        this.self = self;
+    }
+
+    /**
+     * Diff of the closure of {@code toVersion} against that of
+     * {@code fromVersion}.
+     *
+     * @throws IllegalArgumentException if either version is not indexed
+     */
+    public DependencyDiff diff(String groupId, String artifactId, String fromVersion, String toVersion) {
+        return self.diff(groupId, artifactId, indexed(groupId, artifactId, fromVersion),
+                indexed(groupId, artifactId, toVersion));
+    }
+
+    /**
+     * Cached per version pair and indexing run, so popular upgrade paths are
+     * computed once per TTL and never outlive a re-index.
+     */
+    @Cacheable(value = "dependencyDiffs", key = "#from.id + '@' + #from.lastIndexedAt.toEpochMilli() + '..' "
+            + "+ #to.id + '@' + #to.lastIndexedAt.toEpochMilli()")
+    public DependencyDiff diff(String groupId, String artifactId, ArtifactVersionEntity from,
+            ArtifactVersionEntity to) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return diff(groupId, artifactId, from.getVersion(), to.getVersion(),
+                    closureStore.closure(from.getId()), closureStore.closure(to.getId()),
+                    summaryRepository.findByArtifactVersionId(from.getId()).map(DependencyDiffService::counts)
+                            .orElse(null),
+                    summaryRepository.findByArtifactVersionId(to.getId()).map(DependencyDiffService::counts)
+                            .orElse(null));
+        } finally {
+            sample.stop(meterRegistry.timer("dependency_diff.time"));
+        }
+    }
+
+    private ArtifactVersionEntity indexed(String groupId, String artifactId, String version) {
+        return versionRepository.findByGav(groupId, artifactId, version)
+                .filter(v -> v.getLastIndexedAt() != null)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Version not indexed: " + groupId + ":" + artifactId + ":" + version));
+    }
+
+    private static VulnerabilityCounts counts(SecuritySummaryEntity s) {
+        return new VulnerabilityCounts(s.getTotalVulns(), s.getCriticalCount(), s.getHighCount(),
+                s.getMediumCount(), s.getLowCount(), s.getMaxCvss(), s.getRiskScore());
+    }
+
+    // ─── Merge ───────────────────────────────────────────────────────
+
+    /**
+     * Sorts both closures by coordinates and merges them in one pass. An
+     * artifact present in several versions on one side (classifier variants)
+     * is compared by the lowest of its versions.
+     */
+    static DependencyDiff diff(String groupId, String artifactId, String fromVersion, String toVersion,
+            List<ClosureMember> fromClosure, List<ClosureMember> toClosure, VulnerabilityCounts fromVulns,
+            VulnerabilityCounts toVulns) {
+        List<ClosureMember> before = sorted(fromClosure);
+        List<ClosureMember> after = sorted(toClosure);
+        List<Change> added = new ArrayList<>();
+        List<Change> removed = new ArrayList<>();
+        List<Change> changed = new ArrayList<>();
+        int unchanged = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < before.size() || j < after.size()) {
+            ClosureMember b = i < before.size() ? before.get(i) : null;
+            ClosureMember a = j < after.size() ? after.get(j) : null;
+            int cmp = b == null ? 1 : a == null ? -1 : compareArtifacts(b, a);
+            if (cmp < 0) {
+                removed.add(new Change(b.getGroupId(), b.getArtifactId(), b.getVersion(), null));
+                i++;
+            } else if (cmp > 0) {
+                added.add(new Change(a.getGroupId(), a.getArtifactId(), null, a.getVersion()));
+                j++;
+            } else {
+                if (b.getVersion().equals(a.getVersion()))
+                    unchanged++;
+                else
+                    changed.add(new Change(a.getGroupId(), a.getArtifactId(), b.getVersion(), a.getVersion()));
+                i++;
+                j++;
+            }
+        }
+
+        VulnerabilityCounts delta = fromVulns != null && toVulns != null ? toVulns.minus(fromVulns) : null;
+        return new DependencyDiff(groupId, artifactId, fromVersion, toVersion, added, removed, changed, unchanged,
+                fromVulns, toVulns, delta);
+    }
+
+    /** Sorted by coordinates, one member per artifact. */
+    private static List<ClosureMember> sorted(List<ClosureMember> closure) {
+        List<ClosureMember> sorted = new ArrayList<>(closure);
+        sorted.sort(BY_COORDINATES);
+        List<ClosureMember> distinct = new ArrayList<>(sorted.size());
+        for (ClosureMember m : sorted) {
+            if (distinct.isEmpty() || compareArtifacts(distinct.get(distinct.size() - 1), m) != 0)
+                distinct.add(m);
+        }
+        return distinct;
+    }
+
+    /** Maven version order, so 10.0 sorts after 9.0. */
+    static int compareVersions(String x, String y) {
+        try {
+            Version vx = VERSIONS.parseVersion(x);
+            return vx.compareTo(VERSIONS.parseVersion(y));
+        } catch (InvalidVersionSpecificationException e) {
+            return x.compareTo(y);
+        }
+    }
+
+    private static int compareArtifacts(ClosureMember x, ClosureMember y) {
+        int cmp = x.getGroupId().compareTo(y.getGroupId());
+        return cmp != 0 ? cmp : x.getArtifactId().compareTo(y.getArtifactId());
+    }
+}
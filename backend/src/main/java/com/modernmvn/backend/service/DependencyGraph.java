@@ -0,0 +1,156 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.GraphNodeView;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable, index-addressable form of a resolved {@link DependencyNode} tree.
+ * Nodes are numbered in pre-order (root = 0) and their children are kept in
+ * compressed-sparse-row arrays, so any subtree can be sliced out by id without
+ * walking the whole tree.
+ */
+public final class DependencyGraph {
+
+    private final String graphId;
+    private final Instant createdAt;
+    private final DependencyNode[] nodes;
+    private final int[] childOffsets; // children of i: childIds[childOffsets[i] .. childOffsets[i + 1])
+    private final int[] childIds;
+    private final ConflictPaths conflicts; // null unless resolved verbosely
+    private final MediationBaseline baseline; // null unless resolved verbosely
+
+    private DependencyGraph(String graphId, DependencyNode[] nodes, int[] childOffsets, int[] childIds,
+            ConflictPaths conflicts, MediationBaseline baseline) {
+        this.graphId = graphId;
+        this.createdAt = Instant.now();
+        this.nodes = nodes;
+        this.childOffsets = childOffsets;
+        this.childIds = childIds;
+        this.conflicts = conflicts;
+        this.baseline = baseline;
+    }
+
+    public static DependencyGraph index(String graphId, DependencyNode root) {
+        return index(graphId, root, null, null);
+    }
+
+    /**
+     * Indexes {@code root} together with the omitted candidates and the
+     * mediation inputs of a verbose resolution.
+     */
+    public static DependencyGraph index(String graphId, DependencyNode root, ConflictPaths conflicts,
+            MediationBaseline baseline) {
+        List<DependencyNode> order = new ArrayList<>();
+        collectPreOrder(root, order);
+
+        DependencyNode[] nodes = order.toArray(new DependencyNode[0]);
+        int[] childOffsets = new int[nodes.length + 1];
+        int[] childIds = new int[Math.max(0, nodes.length - 1)];
+
+        // In pre-order the first child of node i is i + 1 and each next sibling
+        // starts right after the previous sibling's subtree.
+        int[] subtreeSize = new int[nodes.length];
+        for (int i = nodes.length - 1; i >= 0; i--) {
+            int size = 1;
+            int child = i + 1;
+            for (int c = 0; c < nodes[i].children().size(); c++) {
+                size += subtreeSize[child];
+                child += subtreeSize[child];
+            }
+            subtreeSize[i] = size;
+        }
+
+        int cursor = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            childOffsets[i] = cursor;
+            int child = i + 1;
+            for (int c = 0; c < nodes[i].children().size(); c++) {
+                childIds[cursor++] = child;
+                child += subtreeSize[child];
+            }
+        }
+        childOffsets[nodes.length] = cursor;
+
+        return new DependencyGraph(graphId, nodes, childOffsets, childIds, conflicts, baseline);
+    }
+
+    private static void collectPreOrder(DependencyNode node, List<DependencyNode> order) {
+        order.add(node);
+        for (DependencyNode child : node.children()) {
+            collectPreOrder(child, order);
+        }
+    }
+
+    // ─── Accessors ───────────────────────────────────────────────
+
+    public String getGraphId() {
+        return graphId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public DependencyNode root() {
+        return nodes[0];
+    }
+
+    public boolean contains(int nodeId) {
+        return nodeId >= 0 && nodeId < nodes.length;
+    }
+
+    public DependencyNode node(int nodeId) {
+        return nodes[nodeId];
+    }
+
+    /** Omitted conflict candidates, if the graph was resolved verbosely. */
+    public Optional<ConflictPaths> conflicts() {
+        return Optional.ofNullable(conflicts);
+    }
+
+    /** Inputs for re-mediating the graph in memory, if resolved verbosely. */
+    public Optional<MediationBaseline> baseline() {
+        return Optional.ofNullable(baseline);
+    }
+
+    public int childCount(int nodeId) {
+        return childOffsets[nodeId + 1] - childOffsets[nodeId];
+    }
+
+    // ─── Views ───────────────────────────────────────────────────
+
+    /**
+     * Renders {@code nodeId} with {@code depth} levels of descendants expanded.
+     * A depth of 0 returns the node itself, collapsed.
+     */
+    public GraphNodeView view(int nodeId, int depth) {
+        DependencyNode node = nodes[nodeId];
+        List<GraphNodeView> children = depth > 0 ? childViews(nodeId, depth - 1) : Collections.emptyList();
+        return new GraphNodeView(nodeId, node.groupId(), node.artifactId(), node.version(), node.scope(),
+                node.type(), node.resolutionStatus(), node.conflictMessage(), childCount(nodeId), children);
+    }
+
+    /**
+     * Returns the children of {@code nodeId}, each with {@code depth} further
+     * levels expanded.
+     */
+    public List<GraphNodeView> childViews(int nodeId, int depth) {
+        int from = childOffsets[nodeId];
+        int to = childOffsets[nodeId + 1];
+        List<GraphNodeView> children = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            children.add(view(childIds[i], depth));
+        }
+        return children;
+    }
+}
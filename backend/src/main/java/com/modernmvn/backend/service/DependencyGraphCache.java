@@ -0,0 +1,144 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyGraphPage;
+import com.modernmvn.backend.dto.DependencyNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory, size-bounded LRU cache of resolved dependency graphs.
+ * Lets the resolve endpoints ship only the first few levels of a large graph
+ * and serve the remaining subtrees on demand by node id.
+ *
+ * Graphs live on the node that resolved them; a handle that has expired or
+ * was issued by another instance simply yields a 404 and the client
+ * re-resolves. A graph put under a key (root coordinates and resolution
+ * options) is handed out again for that key while it lives, so paging
+ * through the same artifact does not cache a copy per request.
+ */
+@Service
+public class DependencyGraphCache {
+
+    private final Map<String, DependencyGraph> graphs;
+    private final Map<String, String> graphIdsByKey;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+
+    public DependencyGraphCache(
+            @Value("${modernmvn.graph-cache.max-entries:500}") int maxEntries,
+            @Value("${modernmvn.graph-cache.ttl-minutes:30}") long ttlMinutes,
+            MeterRegistry meterRegistry) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.meterRegistry = meterRegistry;
+        this.graphs = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DependencyGraph> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.graphIdsByKey = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        meterRegistry.gauge("graph_cache.size", graphs, Map::size);
+    }
+
+    /**
+     * Indexes and caches a resolved tree, returning its handle.
+     */
+    public DependencyGraph put(DependencyNode root) {
+        return put(root, null, null);
+    }
+
+    /**
+     * Indexes and caches a verbosely resolved tree together with its omitted
+     * conflict candidates and mediation inputs.
+     */
+    public DependencyGraph put(DependencyNode root, ConflictPaths conflicts, MediationBaseline baseline) {
+        DependencyGraph graph = DependencyGraph.index(UUID.randomUUID().toString(), root, conflicts, baseline);
+        synchronized (graphs) {
+            graphs.put(graph.getGraphId(), graph);
+        }
+        meterRegistry.summary("graph_cache.graph_nodes").record(graph.size());
+        if (conflicts != null) {
+            meterRegistry.summary("graph_cache.conflict_paths_bytes").record(conflicts.estimatedBytes());
+        }
+        return graph;
+    }
+
+    /**
+     * As {@link #put(DependencyNode, ConflictPaths, MediationBaseline)}, and
+     * remembered under {@code key} for {@link #find}.
+     */
+    public DependencyGraph put(String key, DependencyNode root, ConflictPaths conflicts,
+            MediationBaseline baseline) {
+        DependencyGraph graph = put(root, conflicts, baseline);
+        synchronized (graphs) {
+            graphIdsByKey.put(key, graph.getGraphId());
+        }
+        return graph;
+    }
+
+    /** The live graph last put under {@code key}, if it has not expired or been evicted. */
+    public Optional<DependencyGraph> find(String key) {
+        String graphId;
+        synchronized (graphs) {
+            graphId = graphIdsByKey.get(key);
+        }
+        Optional<DependencyGraph> graph = graphId != null ? get(graphId) : Optional.empty();
+        if (graph.isEmpty() && graphId != null) {
+            synchronized (graphs) {
+                graphIdsByKey.remove(key, graphId);
+            }
+        }
+        return graph;
+    }
+
+    public Optional<DependencyGraph> get(String graphId) {
+        DependencyGraph graph;
+        synchronized (graphs) {
+            graph = graphs.get(graphId);
+            if (graph != null && graph.getCreatedAt().plus(ttl).isBefore(Instant.now())) {
+                graphs.remove(graphId);
+                graph = null;
+            }
+        }
+        meterRegistry.counter("graph_cache.lookup", "result", graph != null ? "hit" : "miss").increment();
+        return Optional.ofNullable(graph);
+    }
+
+    /**
+     * Caches a resolved tree and returns only its first {@code depth} levels.
+     */
+    public DependencyGraphPage page(DependencyNode root, int depth) {
+        return page(root, null, null, depth);
+    }
+
+    /**
+     * As {@link #page(DependencyNode, int)}, keeping the omitted candidates and
+     * mediation inputs of a verbose resolution for
+     * {@code /graph/{graphId}/conflicts} and {@code /graph/{graphId}/what-if}.
+     */
+    public DependencyGraphPage page(DependencyNode root, ConflictPaths conflicts, MediationBaseline baseline,
+            int depth) {
+        return page(put(root, conflicts, baseline), depth);
+    }
+
+    /** The first {@code depth} levels of a graph already cached. */
+    public DependencyGraphPage page(DependencyGraph graph, int depth) {
+        return new DependencyGraphPage(graph.getGraphId(), graph.size(), depth, graph.view(0, depth),
+                graph.conflicts().map(ConflictPaths::size).orElse(null));
+    }
+}
@@ -0,0 +1,278 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+
+import java.util.*;
+
+/**
+ * Maven's dependency mediation, done in memory over direct-dependency edges
+ * supplied by a {@link DirectDependencySource}. It mirrors what Aether's
+ * default Maven session does:
+ * <ul>
+ * <li>nearest wins, first declaration breaks ties (breadth-first, winners only
+ * expanded)</li>
+ * <li>test/provided and optional dependencies are not transitive</li>
+ * <li>exclusions accumulate down each path</li>
+ * <li>the root's dependencyManagement applies from depth 2 on</li>
+ * <li>scopes are derived along the path and the widest candidate scope wins
+ * ({@code JavaScopeDeriver} / {@code JavaScopeSelector})</li>
+ * </ul>
+ * Hard version ranges spanning several candidates are not intersected; the
+ * nearest candidate's pinned version wins.
+ */
+final class DependencyMediator {
+
+    // Same recursion guard as MavenResolutionService
+    private static final int MAX_TREE_DEPTH = MavenResolutionService.MAX_RESOLUTION_DEPTH;
+    private static final int MAX_SCOPE_PASSES = 10;
+
+    private final DirectDependencySource source;
+    private final Map<String, Dependency> managed = new HashMap<>();
+    private final Map<String, String> versionOverrides;
+
+    DependencyMediator(DirectDependencySource source, List<Dependency> managedDependencies) {
+        this(source, managedDependencies, Map.of());
+    }
+
+    /**
+     * @param versionOverrides versions forced by {@code groupId:artifactId} on
+     *                         every transitive dependency of that artifact,
+     *                         whatever its type or classifier; they win over
+     *                         {@code managedDependencies}
+     */
+    DependencyMediator(DirectDependencySource source, List<Dependency> managedDependencies,
+            Map<String, String> versionOverrides) {
+        this.source = source;
+        for (Dependency d : managedDependencies) {
+            managed.putIfAbsent(conflictKey(d.getArtifact()), d);
+        }
+        this.versionOverrides = versionOverrides;
+    }
+
+    private static final class Item {
+        final Item parent;
+        final Dependency dependency;
+        final int depth;
+        final Set<String> exclusions; // accumulated along the path, as groupId:artifactId
+        final List<Item> children = new ArrayList<>();
+        String scope;
+        boolean missing;
+
+        Item(Item parent, Dependency dependency, int depth, Set<String> exclusions) {
+            this.parent = parent;
+            this.dependency = dependency;
+            this.depth = depth;
+            this.exclusions = exclusions;
+        }
+
+        String declaredScope() {
+            String scope = dependency.getScope();
+            return scope == null || scope.isEmpty() ? "compile" : scope;
+        }
+    }
+
+    /**
+     * Mediates the graph below {@code direct} and returns it as response
+     * nodes, one per direct dependency in declaration order.
+     */
+    List<DependencyNode> mediate(List<Dependency> direct) {
+        Map<String, Item> winners = new LinkedHashMap<>();
+        Map<String, List<Item>> candidates = new HashMap<>();
+        List<Item> roots = new ArrayList<>();
+
+        List<Item> level = new ArrayList<>();
+        for (Dependency d : direct) {
+            Dependency pinned = pinVersion(d);
+            level.add(new Item(null, pinned, 1, withExclusions(Set.of(), pinned)));
+        }
+
+        while (!level.isEmpty()) {
+            List<Item> expand = new ArrayList<>();
+            for (Item item : level) {
+                String key = conflictKey(item.dependency.getArtifact());
+                candidates.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+                if (winners.putIfAbsent(key, item) != null)
+                    continue; // a nearer (or earlier) candidate already won
+                (item.parent == null ? roots : item.parent.children).add(item);
+                expand.add(item);
+            }
+
+            Map<String, List<Dependency>> edges = source.directDependencies(
+                    expand.stream().map(i -> i.dependency.getArtifact()).toList());
+
+            List<Item> next = new ArrayList<>();
+            for (Item item : expand) {
+                List<Dependency> children = edges.get(gav(item.dependency.getArtifact()));
+                if (children == null) {
+                    item.missing = true;
+                    continue;
+                }
+                for (Dependency child : children) {
+                    // Selection looks at the declaration as written, before management
+                    if (!isTransitive(child) || isExcluded(item.exclusions, child.getArtifact()))
+                        continue;
+                    Dependency effective = pinVersion(manage(child));
+                    next.add(new Item(item, effective, item.depth + 1, withExclusions(item.exclusions, effective)));
+                }
+            }
+            level = next;
+        }
+
+        assignScopes(winners, candidates);
+
+        List<DependencyNode> nodes = new ArrayList<>(roots.size());
+        for (Item root : roots) {
+            nodes.add(toNode(root, 1));
+        }
+        return nodes;
+    }
+
+    // ─── Scopes ──────────────────────────────────────────────────────
+
+    /**
+     * Final scope of every winner. A direct declaration keeps its own scope;
+     * otherwise the widest scope derived over all candidate paths wins. A
+     * parent's scope can widen after its children were first visited, so
+     * passes repeat until nothing changes.
+     */
+    private static void assignScopes(Map<String, Item> winners, Map<String, List<Item>> candidates) {
+        for (int pass = 0; pass < MAX_SCOPE_PASSES; pass++) {
+            boolean changed = false;
+            for (Map.Entry<String, Item> e : winners.entrySet()) {
+                String scope = effectiveScope(candidates.get(e.getKey()));
+                if (!scope.equals(e.getValue().scope)) {
+                    e.getValue().scope = scope;
+                    changed = true;
+                }
+            }
+            if (!changed)
+                return;
+        }
+    }
+
+    private static String effectiveScope(List<Item> items) {
+        Set<String> scopes = new HashSet<>();
+        for (Item item : items) {
+            if (item.depth <= 1)
+                return item.declaredScope();
+            String parentScope = item.parent.scope != null ? item.parent.scope : item.parent.declaredScope();
+            scopes.add(deriveScope(parentScope, item.declaredScope()));
+        }
+        if (scopes.size() > 1)
+            scopes.remove("system");
+        if (scopes.size() == 1)
+            return scopes.iterator().next();
+        for (String scope : List.of("compile", "runtime", "provided", "test")) {
+            if (scopes.contains(scope))
+                return scope;
+        }
+        return "compile";
+    }
+
+    /** Aether's {@code JavaScopeDeriver}. */
+    static String deriveScope(String parentScope, String scope) {
+        if ("system".equals(scope) || "test".equals(scope))
+            return scope;
+        if (parentScope == null || parentScope.isEmpty() || "compile".equals(parentScope))
+            return scope;
+        if ("test".equals(parentScope) || "runtime".equals(parentScope))
+            return parentScope;
+        if ("system".equals(parentScope) || "provided".equals(parentScope))
+            return "provided";
+        return "runtime";
+    }
+
+    // ─── Selection & management ──────────────────────────────────────
+
+    private static boolean isTransitive(Dependency d) {
+        String scope = d.getScope();
+        return !d.isOptional() && !"test".equals(scope) && !"provided".equals(scope);
+    }
+
+    private static boolean isExcluded(Set<String> exclusions, Artifact a) {
+        return !exclusions.isEmpty() && (exclusions.contains(a.getGroupId() + ":" + a.getArtifactId())
+                || exclusions.contains(a.getGroupId() + ":*")
+                || exclusions.contains("*:" + a.getArtifactId())
+                || exclusions.contains("*:*"));
+    }
+
+    private static Set<String> withExclusions(Set<String> inherited, Dependency d) {
+        if (d.getExclusions().isEmpty())
+            return inherited;
+        Set<String> all = new HashSet<>(inherited);
+        for (Exclusion x : d.getExclusions()) {
+            all.add(x.getGroupId() + ":" + x.getArtifactId());
+        }
+        return all;
+    }
+
+    /** Applies the version overrides and the root's dependencyManagement (version, scope, exclusions). */
+    private Dependency manage(Dependency d) {
+        Artifact a = d.getArtifact();
+        String forced = versionOverrides.get(a.getGroupId() + ":" + a.getArtifactId());
+        if (forced != null)
+            d = d.setArtifact(a.setVersion(forced));
+        Dependency m = managed.get(conflictKey(a));
+        if (m == null)
+            return d;
+        Dependency result = d;
+        String version = m.getArtifact().getVersion();
+        if (forced == null && version != null && !version.isEmpty() && !"LATEST".equals(version)) {
+            result = result.setArtifact(result.getArtifact().setVersion(version));
+        }
+        if (m.getScope() != null && !m.getScope().isEmpty()) {
+            result = result.setScope(m.getScope());
+        }
+        if (!m.getExclusions().isEmpty()) {
+            List<Exclusion> exclusions = new ArrayList<>(result.getExclusions());
+            exclusions.addAll(m.getExclusions());
+            result = result.setExclusions(exclusions);
+        }
+        return result;
+    }
+
+    private Dependency pinVersion(Dependency d) {
+        String version = d.getArtifact().getVersion();
+        if (version == null || !(version.startsWith("[") || version.startsWith("(")))
+            return d;
+        return d.setArtifact(d.getArtifact().setVersion(source.selectVersion(d.getArtifact())));
+    }
+
+    // ─── Output ──────────────────────────────────────────────────────
+
+    private static DependencyNode toNode(Item item, int depth) {
+        List<DependencyNode> children = new ArrayList<>();
+        boolean cut = depth >= MAX_TREE_DEPTH && !item.children.isEmpty();
+        if (!cut) {
+            for (Item child : item.children) {
+                children.add(toNode(child, depth + 1));
+            }
+        }
+
+        Artifact a = item.dependency.getArtifact();
+        String status = "RESOLVED";
+        String message = null;
+        if (item.missing) {
+            status = "MISSING";
+            message = "Descriptor not available from the local store or remote repositories.";
+        } else if (("test".equals(item.scope) || "provided".equals(item.scope)) && item.dependency.isOptional()) {
+            status = "OPTIONAL";
+        }
+        if (cut && message == null)
+            message = MavenResolutionService.DEPTH_LIMIT_MESSAGE;
+        return new DependencyNode(a.getGroupId(), a.getArtifactId(), a.getVersion(), item.scope, a.getExtension(),
+                children, status, message);
+    }
+
+    static String conflictKey(Artifact a) {
+        return a.getGroupId() + ":" + a.getArtifactId() + ":" + a.getExtension() + ":" + a.getClassifier();
+    }
+
+    static String gav(Artifact a) {
+        return a.getGroupId() + ":" + a.getArtifactId() + ":" + a.getExtension() + ":" + a.getClassifier() + ":"
+                + a.getVersion();
+    }
+}
@@ -0,0 +1,137 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.DependencyEdgeRepository.ClosureMember;
+import com.modernmvn.backend.repository.DependencyTreeNodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Fills {@link DependencyTreeStore} for versions indexed before it could
+ * serve them.
+ *
+ * First the legacy {@code dependency_tree_nodes} table, which kept the
+ * coordinates of every node as strings, is copied into the id-keyed table a
+ * batch of roots at a time and dropped once empty. Trees that lose a node on
+ * the way are discarded. Then every indexed version that has no stored tree
+ * is resolved again and its tree stored, a batch per run, oldest first. The
+ * closure is left alone; only the tree is written.
+ *
+ * The cursor is kept in memory: after a restart the scan starts over, which
+ * only costs the query, since stored versions no longer match it. Once a scan
+ * finds nothing left, the job stops; versions indexed from then on store
+ * their tree themselves.
+ */
+@Service
+public class DependencyTreeBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DependencyTreeBackfillJob.class);
+
+    private final DependencyTreeNodeRepository nodeRepository;
+    private final ArtifactVersionRepository versionRepository;
+    private final MavenResolutionService resolutionService;
+    private final ArtifactIndexingService indexingService;
+    private final MeterRegistry meterRegistry;
+    private final DependencyTreeBackfillJob self;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxNodes;
+
+    private long cursor;
+    private boolean finished;
+
+    public DependencyTreeBackfillJob(DependencyTreeNodeRepository nodeRepository,
+            ArtifactVersionRepository versionRepository, MavenResolutionService resolutionService,
+            ArtifactIndexingService indexingService, MeterRegistry meterRegistry,
+            @Lazy DependencyTreeBackfillJob self,
+            @Value("${modernmvn.tree-store.backfill.enabled:true}") boolean enabled,
+            @Value("${modernmvn.tree-store.backfill.batch-size:20}") int batchSize,
+            @Value("${modernmvn.tree-store.max-nodes:20000}") int maxNodes) {
+        this.nodeRepository = nodeRepository;
+        this.versionRepository = versionRepository;
+        this.resolutionService = resolutionService;
+        this.indexingService = indexingService;
+        this.meterRegistry = meterRegistry;
+        this.self = self;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxNodes = maxNodes;
+    }
+
+    // ─── Job ─────────────────────────────────────────────────────────
+
+    @Scheduled(initialDelayString = "${modernmvn.tree-store.backfill.delay-ms:60000}",
+            fixedDelayString = "${modernmvn.tree-store.backfill.delay-ms:60000}")
+    public synchronized void run() {
+        if (!enabled || finished)
+            return;
+        try {
+            if (nodeRepository.legacyTableExists())
+                convertLegacy();
+            else
+                backfill();
+        } catch (RuntimeException e) {
+            log.warn("Tree backfill failed, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    private void convertLegacy() {
+        int converted = 0;
+        List<Long> roots;
+        while (!(roots = nodeRepository.findLegacyRoots(batchSize * 10)).isEmpty()) {
+            self.convert(roots);
+            converted += roots.size();
+        }
+        self.dropLegacy();
+        meterRegistry.counter("tree_store.backfilled", "source", "legacy").increment(converted);
+        log.info("Converted the stored trees of {} versions from dependency_tree_nodes", converted);
+    }
+
+    private void backfill() {
+        List<Long> ids = nodeRepository.findVersionsWithoutTree(cursor, maxNodes, batchSize);
+        if (ids.isEmpty()) {
+            finished = true;
+            log.info("Tree backfill complete");
+            return;
+        }
+        for (Long id : ids) {
+            cursor = id;
+            List<ClosureMember> coordinates = versionRepository.findCoordinatesByIds(List.of(id));
+            if (coordinates.isEmpty())
+                continue;
+            ClosureMember gav = coordinates.get(0);
+            DependencyNode root = resolutionService.resolveDependency(gav.getGroupId(), gav.getArtifactId(),
+                    gav.getVersion());
+            if ("ERROR".equals(root.resolutionStatus())) {
+                meterRegistry.counter("tree_store.backfill_failed").increment();
+                continue;
+            }
+            indexingService.storeTree(id, root);
+            meterRegistry.counter("tree_store.backfilled", "source", "resolved").increment();
+        }
+    }
+
+    // ─── Legacy table ────────────────────────────────────────────────
+
+    /** Moves the legacy rows of {@code roots}; trees missing a node are dropped. */
+    @Transactional
+    public void convert(List<Long> roots) {
+        nodeRepository.copyLegacy(roots);
+        nodeRepository.deleteIncomplete(roots);
+        nodeRepository.deleteLegacy(roots);
+    }
+
+    @Transactional
+    public void dropLegacy() {
+        nodeRepository.dropLegacyTable();
+    }
+}
@@ -0,0 +1,176 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.entity.DependencyTreeNodeEntity;
+import com.modernmvn.backend.entity.IndexingJobStatus;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.DependencyTreeNodeRepository;
+import com.modernmvn.backend.repository.DependencyTreeNodeRepository.TreeNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Keeps the resolved tree of every indexed version in Postgres, so
+ * {@code /resolve} can rebuild it without running Aether when the Redis entry
+ * has expired or Redis was flushed.
+ *
+ * Trees are written by {@link ArtifactIndexingService#persistIndexingResults}
+ * and read back in one query. Versions that are not indexed, or whose tree
+ * was too large to store, still go through {@link MavenResolutionService}.
+ * Trees of versions indexed before the store existed are filled in by
+ * {@link DependencyTreeBackfillJob}.
+ */
+@Service
+public class DependencyTreeStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DependencyTreeStore.class);
+
+    private final DependencyTreeNodeRepository nodeRepository;
+    private final ArtifactVersionRepository versionRepository;
+    private final MavenResolutionService resolutionService;
+    private final MeterRegistry meterRegistry;
+    private final int maxNodes;
+
+    public DependencyTreeStore(DependencyTreeNodeRepository nodeRepository,
+            ArtifactVersionRepository versionRepository, MavenResolutionService resolutionService,
+            MeterRegistry meterRegistry,
+            @Value("${modernmvn.tree-store.max-nodes:20000}") int maxNodes) {
+        this.nodeRepository = nodeRepository;
+        this.versionRepository = versionRepository;
+        this.resolutionService = resolutionService;
+        this.meterRegistry = meterRegistry;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Same contract as {@link MavenResolutionService#resolveDependency}: on a
+     * cache miss the stored tree is used if the version is indexed, and
+     * Aether only runs for versions that are not. Cached apart from
+     * {@code mavenDependencies_v3}, which the indexer resolves through, so
+     * re-indexing never reads back a stored tree. {@link #save} evicts the
+     * entry once the new tree is committed.
+     */
+    @Cacheable(value = "storedTrees", key = "#groupId + ':' + #artifactId + ':' + #version")
+    public DependencyNode resolve(String groupId, String artifactId, String version) {
+        Optional<DependencyNode> stored = load(groupId, artifactId, version);
+        meterRegistry.counter("tree_store.lookup", "result", stored.isPresent() ? "hit" : "miss").increment();
+        return stored.orElseGet(() -> resolutionService.resolveDependencyWithRepos(groupId, artifactId, version,
+                List.of()));
+    }
+
+    /** The stored tree of an indexed version, if there is one. */
+    public Optional<DependencyNode> load(String groupId, String artifactId, String version) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return versionRepository.findByGav(groupId, artifactId, version)
+                    .filter(av -> IndexingJobStatus.COMPLETE.equals(av.getIndexingStatus()))
+                    .map(av -> nodeRepository.findTree(av.getId()))
+                    .filter(DependencyTreeStore::isComplete)
+                    .map(DependencyTreeStore::rebuild);
+        } catch (RuntimeException e) {
+            log.warn("Could not load stored tree for {}:{}:{}: {}", groupId, artifactId, version, e.getMessage());
+            return Optional.empty();
+        } finally {
+            sample.stop(meterRegistry.timer("tree_store.load_time"));
+        }
+    }
+
+    /**
+     * Replaces the stored tree of {@code rootVersionId}. Must run inside the
+     * caller's transaction; {@code versionIds} gives the version id of a node
+     * and is called once per distinct GAV. Trees above
+     * {@code modernmvn.tree-store.max-nodes} are not stored and keep being
+     * resolved on demand. The cached {@link #resolve} entry of the tree's
+     * root is evicted after the transaction commits.
+     */
+    @CacheEvict(value = "storedTrees", key = "#tree.groupId() + ':' + #tree.artifactId() + ':' + #tree.version()")
+    public void save(Long rootVersionId, DependencyNode tree, Function<DependencyNode, Long> versionIds) {
+        nodeRepository.deleteByRootVersionId(rootVersionId);
+        Map<String, Long> ids = new HashMap<>();
+        List<DependencyTreeNodeEntity> rows = flatten(rootVersionId, tree, maxNodes,
+                n -> ids.computeIfAbsent(n.groupId() + ":" + n.artifactId() + ":" + n.version(),
+                        gav -> versionIds.apply(n)));
+        if (rows.isEmpty()) {
+            meterRegistry.counter("tree_store.skipped_oversized").increment();
+            return;
+        }
+        nodeRepository.saveAll(rows);
+        meterRegistry.summary("tree_store.nodes_saved").record(rows.size());
+    }
+
+    /**
+     * Pre-order rows of {@code root}, or an empty list if it has more than
+     * {@code maxNodes} nodes. Version ids are only looked up once the tree is
+     * known to fit.
+     */
+    static List<DependencyTreeNodeEntity> flatten(Long rootVersionId, DependencyNode root, int maxNodes,
+            Function<DependencyNode, Long> versionIds) {
+        List<DependencyNode> order = new ArrayList<>();
+        List<Integer> parentOf = new ArrayList<>();
+        Deque<DependencyNode> nodes = new ArrayDeque<>();
+        Deque<Integer> parents = new ArrayDeque<>();
+        nodes.push(root);
+        parents.push(-1);
+        while (!nodes.isEmpty()) {
+            if (order.size() >= maxNodes)
+                return List.of();
+            DependencyNode node = nodes.pop();
+            int index = order.size();
+            order.add(node);
+            parentOf.add(parents.pop());
+            List<DependencyNode> children = node.children();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                nodes.push(children.get(i));
+                parents.push(index);
+            }
+        }
+        List<DependencyTreeNodeEntity> rows = new ArrayList<>(order.size());
+        for (int i = 0; i < order.size(); i++) {
+            DependencyNode node = order.get(i);
+            rows.add(new DependencyTreeNodeEntity(rootVersionId, i, parentOf.get(i), versionIds.apply(node),
+                    node.scope(), node.type(), node.resolutionStatus(), node.conflictMessage()));
+        }
+        return rows;
+    }
+
+    /**
+     * Whether {@code rows} hold a whole tree: a node loses its row when its
+     * version is deleted, and a tree with a hole must not be served.
+     */
+    static boolean isComplete(List<TreeNode> rows) {
+        return !rows.isEmpty() && rows.get(rows.size() - 1).getNodeIndex() == rows.size() - 1;
+    }
+
+    /** Inverse of {@link #flatten}; {@code rows} must be in node index order. */
+    static DependencyNode rebuild(List<TreeNode> rows) {
+        int n = rows.size();
+        List<List<DependencyNode>> children = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+            children.add(new ArrayList<>());
+        DependencyNode root = null;
+        // Children always have higher indices than their parent, so walking
+        // backwards completes every child list before its owner is built
+        for (int i = n - 1; i >= 0; i--) {
+            TreeNode row = rows.get(i);
+            List<DependencyNode> own = children.get(i);
+            Collections.reverse(own);
+            DependencyNode node = new DependencyNode(row.getGroupId(), row.getArtifactId(), row.getVersion(),
+                    row.getScope(), row.getType(), own, row.getResolutionStatus(), row.getConflictMessage());
+            if (row.getParentIndex() < 0) {
+                root = node;
+            } else {
+                children.get(row.getParentIndex()).add(node);
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,28 @@
+package com.modernmvn.backend.service;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Supplies the outgoing edges walked by {@link DependencyMediator}.
+ */
+interface DirectDependencySource {
+
+    /**
+     * Declared dependencies of each artifact, keyed by
+     * {@link DependencyMediator#gav(Artifact)}. Artifacts that cannot be
+     * described are left out of the map. Called once per breadth-first level,
+     * so implementations can batch.
+     */
+    Map<String, List<Dependency>> directDependencies(List<Artifact> artifacts);
+
+    /**
+     * Concrete version for a declaration with a version range.
+     */
+    default String selectVersion(Artifact artifact) {
+        return artifact.getVersion();
+    }
+}
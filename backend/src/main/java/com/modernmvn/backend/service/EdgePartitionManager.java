@@ -0,0 +1,168 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.repository.EdgePartitionRepository;
+import com.modernmvn.backend.repository.EdgePartitionRepository.PartitionBound;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keeps {@code dependency_edges} hash-partitioned on {@code root_version_id}
+ * into {@code modernmvn.edges.partitions} partitions (0 keeps the plain
+ * table).
+ *
+ * Partitioning by root keeps every write of an indexing run, and its delete
+ * of the previous closure, inside one small partition, and lets vacuum work
+ * partition by partition. Reverse lookups scan each partition's local
+ * {@code idx_de_dep} index.
+ *
+ * At startup an empty plain table is converted and missing partitions are
+ * attached. Converting a populated table or growing the partition count
+ * moves data, so it only happens through {@link #apply}, which splits each
+ * existing partition into partitions of the new modulus one at a time. The
+ * count can only grow, to a multiple of the current one. Both lock the whole
+ * table while edges are copied, so reads and writes of every closure wait
+ * until each step commits.
+ *
+ * Only the {@code rows} closure layout writes {@code dependency_edges}; under
+ * any other layout the table is left alone.
+ */
+@Service
+public class EdgePartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(EdgePartitionManager.class);
+
+    private final EdgePartitionRepository partitionRepository;
+    private final MeterRegistry meterRegistry;
+    private final int partitions;
+    private final boolean edgesInUse;
+
+    public EdgePartitionManager(EdgePartitionRepository partitionRepository, MeterRegistry meterRegistry,
+            @Value("${modernmvn.edges.partitions:0}") int partitions,
+            @Value("${modernmvn.closure-store.layout:shared}") String closureLayout) {
+        this.partitionRepository = partitionRepository;
+        this.meterRegistry = meterRegistry;
+        this.partitions = partitions;
+        this.edgesInUse = DependencyClosureStore.Layout.valueOf(closureLayout.trim().toUpperCase(Locale.ROOT))
+                == DependencyClosureStore.Layout.ROWS;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (partitions <= 0)
+            return;
+        if (!edgesInUse) {
+            log.info("Not partitioning dependency_edges: the closure layout does not write it");
+            return;
+        }
+        try {
+            if (!partitionRepository.isPartitioned()) {
+                if (partitionRepository.isEmpty()) {
+                    apply(partitions);
+                } else {
+                    log.warn("dependency_edges holds data and is not partitioned; "
+                            + "POST /api/admin/storage/edges/partition to convert it into {} partitions", partitions);
+                }
+                return;
+            }
+            List<PartitionBound> bounds = partitionRepository.findPartitions();
+            int current = bounds.isEmpty() ? partitions : maxModulus(bounds);
+            for (int remainder : missingRemainders(bounds, current)) {
+                partitionRepository.attach(current, remainder);
+                log.info("Attached missing partition {} of {} to dependency_edges", remainder, current);
+            }
+            if (current < partitions)
+                log.warn("dependency_edges has {} partitions, {} configured; "
+                        + "POST /api/admin/storage/edges/partition to split them", current, partitions);
+        } catch (RuntimeException e) {
+            log.warn("Could not check dependency_edges partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Brings {@code dependency_edges} to {@code target} hash partitions:
+     * converts the plain table, splits partitions of a smaller modulus and
+     * attaches missing ones. Returns the resulting partitions. Fails with
+     * {@link IllegalStateException} unless the closure layout is {@code rows}.
+     */
+    public synchronized List<PartitionBound> apply(int target) {
+        if (!edgesInUse)
+            throw new IllegalStateException("dependency_edges is only written by the rows closure layout");
+        if (target <= 0)
+            throw new IllegalArgumentException("Partition count must be positive");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!partitionRepository.isPartitioned()) {
+            log.info("Converting dependency_edges into {} hash partitions", target);
+            partitionRepository.convertToPartitioned(target);
+        }
+        List<PartitionBound> bounds = partitionRepository.findPartitions();
+        for (PartitionBound partition : toSplit(bounds, target)) {
+            log.info("Splitting {} into modulus {}", partition.name(), target);
+            partitionRepository.split(partition, target);
+        }
+        bounds = partitionRepository.findPartitions();
+        for (int remainder : missingRemainders(bounds, target)) {
+            partitionRepository.attach(target, remainder);
+        }
+        sample.stop(meterRegistry.timer("edges.partition_time"));
+        return partitionRepository.findPartitions();
+    }
+
+    public boolean isPartitioned() {
+        return partitionRepository.isPartitioned();
+    }
+
+    public List<PartitionBound> partitions() {
+        return partitionRepository.findPartitions();
+    }
+
+    public int configuredPartitions() {
+        return partitions;
+    }
+
+    /** Partitions whose modulus is below {@code target}; fails if one cannot be split into it. */
+    static List<PartitionBound> toSplit(List<PartitionBound> bounds, int target) {
+        List<PartitionBound> split = new ArrayList<>();
+        for (PartitionBound b : bounds) {
+            if (b.modulus() > target || target % b.modulus() != 0)
+                throw new IllegalArgumentException("Cannot go from modulus " + b.modulus() + " to " + target
+                        + " partitions; the count can only grow to a multiple of the current one");
+            if (b.modulus() < target)
+                split.add(b);
+        }
+        return split;
+    }
+
+    /** Remainders of {@code modulus} that no existing partition covers; inserts into them would fail. */
+    static List<Integer> missingRemainders(List<PartitionBound> bounds, int modulus) {
+        List<Integer> missing = new ArrayList<>();
+        for (int x = 0; x < modulus; x++) {
+            boolean covered = false;
+            for (PartitionBound b : bounds) {
+                if (modulus % b.modulus() == 0 && x % b.modulus() == b.remainder()) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered)
+                missing.add(x);
+        }
+        return missing;
+    }
+
+    private static int maxModulus(List<PartitionBound> bounds) {
+        int max = 0;
+        for (PartitionBound b : bounds)
+            max = Math.max(max, b.modulus());
+        return max;
+    }
+}
@@ -0,0 +1,95 @@
+package com.modernmvn.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuilderFactory;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.StringModelSource;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Turns an uploaded POM into its effective model: parent inheritance,
+ * {@code <scope>import</scope>} BOMs, property interpolation and dependency
+ * management are applied by Maven's own model builder rather than guessed.
+ *
+ * Parents and BOMs come from the shared {@link SharedModelCache} after the first
+ * download from the same repositories, so building a typical Spring Boot child
+ * POM costs no network round trips once warm.
+ */
+@Service
+public class EffectiveModelService {
+
+    private final ModelBuilder modelBuilder = new DefaultModelBuilderFactory().newInstance();
+    private final RepositorySystem repositorySystem;
+    private final SharedModelCache modelCache;
+    private final MeterRegistry meterRegistry;
+
+    public EffectiveModelService(RepositorySystem repositorySystem, SharedModelCache modelCache,
+            MeterRegistry meterRegistry) {
+        this.repositorySystem = repositorySystem;
+        this.modelCache = modelCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Builds the effective model of {@code pomContent}, resolving parents and
+     * BOMs from {@code repositories} within {@code session}.
+     */
+    public Model build(String pomContent, RepositorySystemSession session, List<RemoteRepository> repositories)
+            throws ModelBuildingException {
+        return build(pomContent, session, repositories, Map.of());
+    }
+
+    /**
+     * Same as {@link #build(String, RepositorySystemSession, List)}, resolving
+     * parents and BOMs from {@code workspace} (POMs of the same uploaded project,
+     * keyed by {@code g:a:v}) before the repositories. Workspace models bypass
+     * the shared cache.
+     */
+    public Model build(String pomContent, RepositorySystemSession session, List<RemoteRepository> repositories,
+            Map<String, String> workspace) throws ModelBuildingException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            DefaultModelBuildingRequest request = new DefaultModelBuildingRequest();
+            request.setModelSource(new StringModelSource(pomContent));
+            request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
+            request.setProcessPlugins(false);
+            request.setTwoPhaseBuilding(false);
+            request.setSystemProperties(buildSystemProperties());
+            request.setModelCache(modelCache.scoped(repositories, workspace.keySet()));
+            request.setModelResolver(new RepositoryModelResolver(repositorySystem, session, repositories, workspace));
+
+            return modelBuilder.build(request).getEffectiveModel();
+        } finally {
+            sample.stop(Timer.builder("effective_model.build_time")
+                    .description("Time taken to build the effective model of an uploaded POM")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * A fixed, minimal property set for interpolation and profile activation.
+     * The server's own system properties are deliberately not exposed to
+     * uploaded POMs.
+     */
+    private static Properties buildSystemProperties() {
+        Properties props = new Properties();
+        props.setProperty("java.version", "17");
+        props.setProperty("java.home", "/opt/java");
+        props.setProperty("os.name", "linux");
+        props.setProperty("os.arch", "amd64");
+        props.setProperty("file.separator", "/");
+        return props;
+    }
+}
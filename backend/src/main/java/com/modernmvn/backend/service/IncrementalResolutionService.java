@@ -0,0 +1,318 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.PomDiffResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryException;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyGraphTransformationContext;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Re-resolves an edited POM against a previous analysis of the same project.
+ *
+ * For every analysis the <em>unmediated</em> subtree of each direct dependency
+ * is kept. Because such a subtree depends only on its own declaration, the
+ * root's dependencyManagement and the repositories, an edit that touches one
+ * declaration only needs that one subtree collected again. The unchanged
+ * subtrees are copied from the snapshot, and Maven's conflict mediation is
+ * re-run in memory over the combined graph. Network work therefore scales
+ * with the size of the edit, not the size of the project.
+ *
+ * A change to dependencyManagement or to the repository list invalidates
+ * every subtree and falls back to a full collection.
+ */
+@Service
+public class IncrementalResolutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalResolutionService.class);
+
+    private final MavenResolutionService resolutionService;
+    private final MavenConfig mavenConfig;
+    private final RepositorySystem repositorySystem;
+    private final DependencyGraphCache graphCache;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Map<String, Snapshot> snapshots;
+
+    public IncrementalResolutionService(MavenResolutionService resolutionService, MavenConfig mavenConfig,
+            RepositorySystem repositorySystem, DependencyGraphCache graphCache, MeterRegistry meterRegistry,
+            @Value("${modernmvn.incremental.max-snapshots:100}") int maxSnapshots,
+            @Value("${modernmvn.graph-cache.ttl-minutes:30}") long ttlMinutes) {
+        this.resolutionService = resolutionService;
+        this.mavenConfig = mavenConfig;
+        this.repositorySystem = repositorySystem;
+        this.graphCache = graphCache;
+        this.meterRegistry = meterRegistry;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > maxSnapshots;
+            }
+        };
+
+        meterRegistry.gauge("incremental_resolution.snapshots", snapshots, Map::size);
+    }
+
+    /**
+     * A direct dependency declaration and its unmediated collected subtree.
+     * Subtrees are never mutated; mediation always works on a copy.
+     */
+    private record Declared(String signature, org.eclipse.aether.graph.DependencyNode subtree) {
+    }
+
+    private record Snapshot(Instant createdAt, List<String> repositoryUrls, String managedSignature,
+            Map<String, Declared> declared, DependencyNode tree) {
+    }
+
+    /**
+     * Resolves {@code pomContent}, reusing the subtrees of {@code previousId}
+     * where the declarations are unchanged. An unknown or expired id yields a
+     * full resolution.
+     */
+    public PomDiffResult diff(String previousId, String pomContent, List<String> customRepoUrls) {
+        long start = System.nanoTime();
+        List<RemoteRepository> repos = resolutionService.repositories(customRepoUrls);
+        RepositorySystemSession session = mavenConfig.createSession(repositorySystem);
+        MavenResolutionService.PreparedPom pom = resolutionService.preparePom(pomContent, repos, session);
+
+        List<String> repositoryUrls = repos.stream().map(RemoteRepository::getUrl).toList();
+        String managedSignature = pom.managedDependencies().stream()
+                .map(d -> key(d) + "=" + signature(d))
+                .collect(Collectors.joining(";"));
+
+        Snapshot previous = previousId != null ? lookup(previousId) : null;
+        boolean incremental = previous != null && previous.repositoryUrls().equals(repositoryUrls)
+                && previous.managedSignature().equals(managedSignature);
+
+        Map<String, Declared> declared = new LinkedHashMap<>();
+        Map<String, String> pendingSignatures = new HashMap<>();
+        List<Dependency> toCollect = new ArrayList<>();
+        for (Dependency d : pom.dependencies()) {
+            String key = key(d);
+            String signature = signature(d);
+            Declared old = incremental ? previous.declared().get(key) : null;
+            if (old != null && old.signature().equals(signature)) {
+                declared.put(key, old);
+            } else {
+                declared.put(key, null); // keeps declaration order
+                pendingSignatures.put(key, signature);
+                toCollect.add(d);
+            }
+        }
+
+        DependencyNode tree;
+        try {
+            if (!toCollect.isEmpty()) {
+                CollectRequest request = new CollectRequest();
+                request.setDependencies(toCollect);
+                request.setManagedDependencies(pom.managedDependencies());
+                request.setRepositories(repos);
+
+                // Without a transformer the collector returns the raw graph, conflicts included
+                DefaultRepositorySystemSession dirtySession = new DefaultRepositorySystemSession(session);
+                dirtySession.setDependencyGraphTransformer(null);
+                for (org.eclipse.aether.graph.DependencyNode child : repositorySystem
+                        .collectDependencies(dirtySession, request).getRoot().getChildren()) {
+                    String key = key(child.getDependency());
+                    declared.put(key, new Declared(pendingSignatures.get(key), child));
+                }
+            }
+
+            List<org.eclipse.aether.graph.DependencyNode> subtrees = declared.values().stream()
+                    .filter(Objects::nonNull)
+                    .map(Declared::subtree)
+                    .toList();
+            tree = resolutionService.toTree(pom, mediate(session, subtrees).getChildren());
+        } catch (RepositoryException e) {
+            log.error("Incremental resolution failed for {}:{}:{}: {}", pom.groupId(), pom.artifactId(),
+                    pom.version(), e.getMessage());
+            DependencyNode errorTree = new DependencyNode(pom.groupId(), pom.artifactId(), pom.version(), "compile",
+                    "pom", Collections.emptyList(), "ERROR", e.getMessage());
+            return new PomDiffResult(null, previousId, incremental, toCollect.size(),
+                    declared.size() - toCollect.size(), elapsedMillis(start), errorTree, List.of(), List.of(),
+                    List.of());
+        }
+
+        String analysisId = graphCache.put(tree).getGraphId();
+        declared.values().removeIf(Objects::isNull);
+        synchronized (snapshots) {
+            snapshots.put(analysisId, new Snapshot(Instant.now(), repositoryUrls, managedSignature, declared, tree));
+        }
+
+        meterRegistry.counter("incremental_resolution.requests", "mode", incremental ? "incremental" : "full")
+                .increment();
+        meterRegistry.summary("incremental_resolution.recollected").record(toCollect.size());
+
+        DependencyNode previousTree = previous != null ? previous.tree() : null;
+        Map<String, DependencyNode> before = flatten(previousTree);
+        Map<String, DependencyNode> after = flatten(tree);
+        List<PomDiffResult.NodeChange> added = new ArrayList<>();
+        List<PomDiffResult.NodeChange> removed = new ArrayList<>();
+        List<PomDiffResult.NodeChange> changed = new ArrayList<>();
+        delta(before, after, added, removed, changed);
+
+        return new PomDiffResult(analysisId, previousId, incremental, toCollect.size(),
+                declared.size() - toCollect.size(), elapsedMillis(start), tree, added, removed, changed);
+    }
+
+    // ─── Mediation ───────────────────────────────────────────────────
+
+    /**
+     * Runs the session's conflict mediation (nearest wins, scope and optional
+     * handling) over copies of {@code subtrees} hung under a fresh root.
+     */
+    static org.eclipse.aether.graph.DependencyNode mediate(RepositorySystemSession session,
+            List<org.eclipse.aether.graph.DependencyNode> subtrees) throws RepositoryException {
+        Map<List<org.eclipse.aether.graph.DependencyNode>, List<org.eclipse.aether.graph.DependencyNode>> copies =
+                new IdentityHashMap<>();
+        List<org.eclipse.aether.graph.DependencyNode> children = new ArrayList<>(subtrees.size());
+        for (org.eclipse.aether.graph.DependencyNode subtree : subtrees) {
+            children.add(copy(subtree, copies));
+        }
+
+        DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+        root.setChildren(children);
+        return session.getDependencyGraphTransformer().transformGraph(root, new TransformationContext(session));
+    }
+
+    /**
+     * Copies a raw graph. The collector shares child lists between nodes with
+     * identical subgraphs; copies share them the same way, so the copy is as
+     * compact as the original and mediation sees the same structure.
+     */
+    private static org.eclipse.aether.graph.DependencyNode copy(org.eclipse.aether.graph.DependencyNode node,
+            Map<List<org.eclipse.aether.graph.DependencyNode>, List<org.eclipse.aether.graph.DependencyNode>> copies) {
+        DefaultDependencyNode copy = new DefaultDependencyNode(node);
+        copy.setData(new HashMap<>(node.getData()));
+
+        List<org.eclipse.aether.graph.DependencyNode> children = copies.get(node.getChildren());
+        if (children == null) {
+            children = new ArrayList<>(node.getChildren().size());
+            copies.put(node.getChildren(), children);
+            for (org.eclipse.aether.graph.DependencyNode child : node.getChildren()) {
+                children.add(copy(child, copies));
+            }
+        }
+        copy.setChildren(children);
+        return copy;
+    }
+
+    private static final class TransformationContext implements DependencyGraphTransformationContext {
+        private final RepositorySystemSession session;
+        private final Map<Object, Object> data = new HashMap<>();
+
+        TransformationContext(RepositorySystemSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public RepositorySystemSession getSession() {
+            return session;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return data.get(key);
+        }
+
+        @Override
+        public Object put(Object key, Object value) {
+            return data.put(key, value);
+        }
+    }
+
+    // ─── Delta ───────────────────────────────────────────────────────
+
+    /**
+     * Resolved nodes of a tree by {@code groupId:artifactId:type}, nearest
+     * occurrence first. The root itself is not included.
+     */
+    static Map<String, DependencyNode> flatten(DependencyNode root) {
+        Map<String, DependencyNode> nodes = new LinkedHashMap<>();
+        if (root == null)
+            return nodes;
+        Deque<DependencyNode> queue = new ArrayDeque<>(root.children());
+        while (!queue.isEmpty()) {
+            DependencyNode node = queue.poll();
+            if ("CONFLICT".equals(node.resolutionStatus()))
+                continue;
+            if (nodes.putIfAbsent(node.groupId() + ":" + node.artifactId() + ":" + node.type(), node) == null) {
+                queue.addAll(node.children());
+            }
+        }
+        return nodes;
+    }
+
+    static void delta(Map<String, DependencyNode> before, Map<String, DependencyNode> after,
+            List<PomDiffResult.NodeChange> added, List<PomDiffResult.NodeChange> removed,
+            List<PomDiffResult.NodeChange> changed) {
+        for (Map.Entry<String, DependencyNode> e : after.entrySet()) {
+            DependencyNode now = e.getValue();
+            DependencyNode was = before.get(e.getKey());
+            if (was == null) {
+                added.add(new PomDiffResult.NodeChange(now.groupId(), now.artifactId(), null, now.version(), null,
+                        now.scope()));
+            } else if (!Objects.equals(was.version(), now.version()) || !Objects.equals(was.scope(), now.scope())) {
+                changed.add(new PomDiffResult.NodeChange(now.groupId(), now.artifactId(), was.version(),
+                        now.version(), was.scope(), now.scope()));
+            }
+        }
+        for (Map.Entry<String, DependencyNode> e : before.entrySet()) {
+            if (!after.containsKey(e.getKey())) {
+                DependencyNode was = e.getValue();
+                removed.add(new PomDiffResult.NodeChange(was.groupId(), was.artifactId(), was.version(), null,
+                        was.scope(), null));
+            }
+        }
+    }
+
+    // ─── Helpers ─────────────────────────────────────────────────────
+
+    private Snapshot lookup(String analysisId) {
+        synchronized (snapshots) {
+            Snapshot snapshot = snapshots.get(analysisId);
+            if (snapshot != null && snapshot.createdAt().plus(ttl).isBefore(Instant.now())) {
+                snapshots.remove(analysisId);
+                return null;
+            }
+            return snapshot;
+        }
+    }
+
+    /** Identity of a declaration: everything except version, scope and flags. */
+    private static String key(Dependency d) {
+        Artifact a = d.getArtifact();
+        return a.getGroupId() + ":" + a.getArtifactId() + ":" + a.getExtension() + ":" + a.getClassifier();
+    }
+
+    /** Everything about a declaration that influences its subtree. */
+    private static String signature(Dependency d) {
+        String exclusions = d.getExclusions().stream()
+                .map(x -> x.getGroupId() + ":" + x.getArtifactId())
+                .sorted()
+                .collect(Collectors.joining(","));
+        return d.getArtifact().getVersion() + "|" + d.getScope() + "|" + d.isOptional() + "|" + exclusions;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
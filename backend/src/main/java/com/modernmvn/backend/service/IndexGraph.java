@@ -0,0 +1,200 @@
+package com.modernmvn.backend.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the direct-dependency graph of every indexed version,
+ * addressed by dense vertex indices. Vertices are the artifact version ids in
+ * ascending order; forward and reverse edges are kept in
+ * compressed-sparse-row arrays, so a vertex's dependencies or dependents are
+ * one contiguous slice, sorted by vertex index.
+ *
+ * The arrays are NIO buffers, either heap-backed or direct, so a large graph
+ * can live outside the Java heap.
+ */
+final class IndexGraph {
+
+    private final LongBuffer versionIds; // vertex index -> artifact version id, ascending
+    private final IntBuffer outOffsets; // dependencies of i: outTargets[outOffsets[i] .. outOffsets[i + 1])
+    private final IntBuffer outTargets;
+    private final IntBuffer inOffsets; // dependents of i: inSources[inOffsets[i] .. inOffsets[i + 1])
+    private final IntBuffer inSources;
+    private final int vertexCount;
+    private final int edgeCount;
+
+    private IndexGraph(LongBuffer versionIds, IntBuffer outOffsets, IntBuffer outTargets, IntBuffer inOffsets,
+            IntBuffer inSources, int vertexCount, int edgeCount) {
+        this.versionIds = versionIds;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+    }
+
+    static IndexGraph empty() {
+        return new Builder().build(false);
+    }
+
+    int vertexCount() {
+        return vertexCount;
+    }
+
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    /** Vertex index of a version id, or -1 if the version has no edges. */
+    int indexOf(long versionId) {
+        int lo = 0, hi = vertexCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long id = versionIds.get(mid);
+            if (id < versionId)
+                lo = mid + 1;
+            else if (id > versionId)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -1;
+    }
+
+    long versionId(int vertex) {
+        return versionIds.get(vertex);
+    }
+
+    int outDegree(int vertex) {
+        return outOffsets.get(vertex + 1) - outOffsets.get(vertex);
+    }
+
+    /** The {@code k}-th dependency of {@code vertex}. */
+    int out(int vertex, int k) {
+        return outTargets.get(outOffsets.get(vertex) + k);
+    }
+
+    int inDegree(int vertex) {
+        return inOffsets.get(vertex + 1) - inOffsets.get(vertex);
+    }
+
+    /** The {@code k}-th dependent of {@code vertex}. */
+    int in(int vertex, int k) {
+        return inSources.get(inOffsets.get(vertex) + k);
+    }
+
+    /** Dependencies of a version as version ids; empty if it has none. */
+    long[] dependencies(long versionId) {
+        int v = indexOf(versionId);
+        if (v < 0)
+            return new long[0];
+        long[] ids = new long[outDegree(v)];
+        for (int k = 0; k < ids.length; k++)
+            ids[k] = versionId(out(v, k));
+        return ids;
+    }
+
+    /** Dependents of a version as version ids; empty if it has none. */
+    long[] dependents(long versionId) {
+        int v = indexOf(versionId);
+        if (v < 0)
+            return new long[0];
+        long[] ids = new long[inDegree(v)];
+        for (int k = 0; k < ids.length; k++)
+            ids[k] = versionId(in(v, k));
+        return ids;
+    }
+
+    /** Bytes held by the graph's arrays. */
+    long bytes() {
+        return 8L * vertexCount + 2 * 4L * (vertexCount + 1) + 2 * 4L * edgeCount;
+    }
+
+    /**
+     * Collects (root, direct dependency) pairs of version ids in any order.
+     * Not thread-safe.
+     */
+    static final class Builder {
+        private long[] from = new long[1024];
+        private long[] to = new long[1024];
+        private int size;
+
+        void add(long fromVersionId, long toVersionId) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+            }
+            from[size] = fromVersionId;
+            to[size] = toVersionId;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        IndexGraph build(boolean offHeap) {
+            long[] ids = new long[size * 2];
+            System.arraycopy(from, 0, ids, 0, size);
+            System.arraycopy(to, 0, ids, size, size);
+            Arrays.sort(ids);
+            int n = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (i == 0 || ids[i] != ids[i - 1])
+                    ids[n++] = ids[i];
+            }
+
+            int[] src = new int[size];
+            int[] dst = new int[size];
+            int[] outOffsets = new int[n + 1];
+            int[] inOffsets = new int[n + 1];
+            for (int e = 0; e < size; e++) {
+                src[e] = Arrays.binarySearch(ids, 0, n, from[e]);
+                dst[e] = Arrays.binarySearch(ids, 0, n, to[e]);
+                outOffsets[src[e] + 1]++;
+                inOffsets[dst[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                outOffsets[v + 1] += outOffsets[v];
+                inOffsets[v + 1] += inOffsets[v];
+            }
+            int[] outTargets = new int[size];
+            int[] inSources = new int[size];
+            int[] outCursor = Arrays.copyOf(outOffsets, n);
+            int[] inCursor = Arrays.copyOf(inOffsets, n);
+            for (int e = 0; e < size; e++) {
+                outTargets[outCursor[src[e]]++] = dst[e];
+                inSources[inCursor[dst[e]]++] = src[e];
+            }
+            for (int v = 0; v < n; v++) {
+                Arrays.sort(outTargets, outOffsets[v], outOffsets[v + 1]);
+                Arrays.sort(inSources, inOffsets[v], inOffsets[v + 1]);
+            }
+
+            return new IndexGraph(longs(Arrays.copyOf(ids, n), offHeap), ints(outOffsets, offHeap),
+                    ints(outTargets, offHeap), ints(inOffsets, offHeap), ints(inSources, offHeap), n, size);
+        }
+
+        private static IntBuffer ints(int[] values, boolean offHeap) {
+            if (!offHeap)
+                return IntBuffer.wrap(values);
+            IntBuffer buffer = ByteBuffer.allocateDirect(values.length * 4).order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+            buffer.put(values).flip();
+            return buffer;
+        }
+
+        private static LongBuffer longs(long[] values, boolean offHeap) {
+            if (!offHeap)
+                return LongBuffer.wrap(values);
+            LongBuffer buffer = ByteBuffer.allocateDirect(values.length * 8).order(ByteOrder.nativeOrder())
+                    .asLongBuffer();
+            buffer.put(values).flip();
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.DependencyPathReport;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.ArtifactVersionRepository.VersionArtifact;
+import com.modernmvn.backend.repository.ArtifactVersionRepository.VersionCoordinates;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Whole-index dependency graph held in memory, for traversals that recursive
+ * SQL over the stored closures cannot answer quickly: shortest and bounded
+ * paths between two versions, and closure sizes.
+ *
+ * The graph has one edge per (version, direct dependency) of every indexed
+ * version. An {@link IndexGraph} snapshot is loaded from Postgres at startup
+ * and rebuilt every {@code modernmvn.graph.rebuild-delay-ms}. Versions
+ * re-indexed in between are kept in a small overlay, applied when their
+ * indexing transaction commits, that takes precedence over the snapshot
+ * until the next rebuild folds it in.
+ */
+@Service
+public class IndexGraphService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexGraphService.class);
+
+    /** Memory and size figures of the current graph. */
+    public record Stats(int vertices, long edges, long bytes, double bytesPerEdge, int overlayRoots,
+            boolean offHeap, long buildMillis) {
+    }
+
+    private record Update(long[] dependencies, long sequence) {
+    }
+
+    private final DependencyClosureStore closureStore;
+    private final ArtifactVersionRepository versionRepository;
+    private final DependencyTreeStore treeStore;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean offHeap;
+    private final int loadBatch;
+
+    private volatile IndexGraph graph = IndexGraph.empty();
+    private volatile long buildMillis;
+    private final Map<Long, Update> overlay = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> overlayDependents = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public IndexGraphService(DependencyClosureStore closureStore, ArtifactVersionRepository versionRepository,
+            DependencyTreeStore treeStore, MeterRegistry meterRegistry,
+            @Value("${modernmvn.graph.enabled:true}") boolean enabled,
+            @Value("${modernmvn.graph.off-heap:false}") boolean offHeap,
+            @Value("${modernmvn.graph.load-batch:50000}") int loadBatch) {
+        this.closureStore = closureStore;
+        this.versionRepository = versionRepository;
+        this.treeStore = treeStore;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.offHeap = offHeap;
+        this.loadBatch = loadBatch;
+
+        meterRegistry.gauge("index_graph.vertices", this, s -> s.graph.vertexCount());
+        meterRegistry.gauge("index_graph.edges", this, s -> s.graph.edgeCount());
+        meterRegistry.gauge("index_graph.bytes", this, s -> s.graph.bytes());
+        meterRegistry.gauge("index_graph.overlay_roots", overlay, Map::size);
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${modernmvn.graph.rebuild-delay-ms:21600000}",
+            fixedDelayString = "${modernmvn.graph.rebuild-delay-ms:21600000}")
+    public synchronized void rebuild() {
+        if (!enabled)
+            return;
+        long started = System.currentTimeMillis();
+        long startSequence = sequence.get();
+        try {
+            Long maxId = versionRepository.findMaxId();
+            IndexGraph.Builder builder = new IndexGraph.Builder();
+            for (long from = 1; maxId != null && from <= maxId; from += loadBatch) {
+                closureStore.loadDirectEdges(from, from + loadBatch - 1, builder);
+            }
+            IndexGraph built = builder.build(offHeap);
+            synchronized (overlay) {
+                graph = built;
+                // Updates committed before the load started are in the snapshot now
+                overlay.entrySet().removeIf(e -> e.getValue().sequence() <= startSequence);
+                rebuildOverlayDependents();
+            }
+            buildMillis = System.currentTimeMillis() - started;
+            meterRegistry.timer("index_graph.build_time").record(Duration.ofMillis(buildMillis));
+            log.info("Index graph built: {} versions, {} edges, {} MB in {} ms", built.vertexCount(),
+                    built.edgeCount(), built.bytes() / (1024 * 1024), buildMillis);
+        } catch (RuntimeException e) {
+            log.warn("Could not build index graph, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Records the new direct dependencies of {@code rootVersionId} once the
+     * current transaction commits, or right away outside a transaction.
+     */
+    public void onIndexed(Long rootVersionId, List<Long> directDependencies) {
+        if (!enabled)
+            return;
+        long[] deps = directDependencies.stream().mapToLong(Long::longValue).toArray();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update(rootVersionId, deps);
+                }
+            });
+        } else {
+            update(rootVersionId, deps);
+        }
+    }
+
+    void update(long rootVersionId, long[] dependencies) {
+        synchronized (overlay) {
+            Update previous = overlay.put(rootVersionId,
+                    new Update(dependencies, sequence.incrementAndGet()));
+            if (previous != null) {
+                for (long d : previous.dependencies())
+                    removeDependent(d, rootVersionId);
+            }
+            for (long d : dependencies)
+                overlayDependents.computeIfAbsent(d, k -> ConcurrentHashMap.newKeySet()).add(rootVersionId);
+        }
+    }
+
+    private void removeDependent(long dependency, long root) {
+        Set<Long> roots = overlayDependents.get(dependency);
+        if (roots != null) {
+            roots.remove(root);
+            if (roots.isEmpty())
+                overlayDependents.remove(dependency);
+        }
+    }
+
+    private void rebuildOverlayDependents() {
+        overlayDependents.clear();
+        overlay.forEach((root, u) -> {
+            for (long d : u.dependencies())
+                overlayDependents.computeIfAbsent(d, k -> ConcurrentHashMap.newKeySet()).add(root);
+        });
+    }
+
+    // ─── Adjacency ───────────────────────────────────────────────────
+
+    /** Direct dependencies of a version, overlay first. */
+    long[] dependencies(long versionId) {
+        Update u = overlay.get(versionId);
+        return u != null ? u.dependencies() : graph.dependencies(versionId);
+    }
+
+    /** Versions that directly depend on a version, overlay first. */
+    long[] dependents(long versionId) {
+        long[] fromGraph = graph.dependents(versionId);
+        if (overlay.isEmpty())
+            return fromGraph;
+        Set<Long> fromOverlay = overlayDependents.getOrDefault(versionId, Set.of());
+        LinkedHashSet<Long> result = new LinkedHashSet<>();
+        for (long s : fromGraph) {
+            if (!overlay.containsKey(s))
+                result.add(s); // re-indexed roots only count through their overlay entry
+        }
+        result.addAll(fromOverlay);
+        return result.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // ─── Queries ─────────────────────────────────────────────────────
+
+    /** Number of distinct versions reachable from {@code versionId}, itself excluded. */
+    public int closureSize(long versionId) {
+        Set<Long> seen = new HashSet<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        seen.add(versionId);
+        queue.add(versionId);
+        while (!queue.isEmpty()) {
+            for (long d : dependencies(queue.poll())) {
+                if (seen.add(d))
+                    queue.add(d);
+            }
+        }
+        return seen.size() - 1;
+    }
+
+    /** A shortest dependency path from {@code fromId} to {@code toId}, both included; empty if there is none. */
+    public List<Long> shortestPath(long fromId, long toId) {
+        Map<Long, Long> parent = new HashMap<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        parent.put(fromId, fromId);
+        queue.add(fromId);
+        while (!queue.isEmpty()) {
+            long v = queue.poll();
+            if (v == toId) {
+                LinkedList<Long> path = new LinkedList<>();
+                for (long x = toId; x != fromId; x = parent.get(x))
+                    path.addFirst(x);
+                path.addFirst(fromId);
+                return path;
+            }
+            for (long d : dependencies(v)) {
+                if (parent.putIfAbsent(d, v) == null)
+                    queue.add(d);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Up to {@code maxPaths} simple paths from {@code fromId} to {@code toId}
+     * with at most {@code maxDepth} edges, sorted shortest first.
+     */
+    public List<List<Long>> paths(long fromId, long toId, int maxDepth, int maxPaths) {
+        return paths(fromId, Set.of(toId), maxDepth, maxPaths);
+    }
+
+    /**
+     * Up to {@code maxPaths} simple paths from {@code fromId} to any of
+     * {@code targetIds} with at most {@code maxDepth} edges, sorted shortest
+     * first; a path ends at the first target it reaches.
+     *
+     * The search runs from both ends: a forward pass collects the part of the
+     * graph within {@code maxDepth} of the root, then a backward pass from the
+     * targets over that part alone marks how far each version is from a
+     * target. The enumeration only enters versions that can still reach a
+     * target within the remaining depth, and the cost stays bounded by the
+     * root's closure however many other versions depend on the target.
+     */
+    public List<List<Long>> paths(long fromId, Set<Long> targetIds, int maxDepth, int maxPaths) {
+        // Forward: adjacency of every version within maxDepth - 1 of the root
+        Map<Long, long[]> reachable = new HashMap<>();
+        Map<Long, Integer> distanceFromRoot = new HashMap<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        distanceFromRoot.put(fromId, 0);
+        queue.add(fromId);
+        while (!queue.isEmpty()) {
+            long v = queue.poll();
+            int d = distanceFromRoot.get(v);
+            if (d == maxDepth || (targetIds.contains(v) && v != fromId))
+                continue;
+            long[] deps = dependencies(v);
+            reachable.put(v, deps);
+            for (long dep : deps) {
+                if (distanceFromRoot.putIfAbsent(dep, d + 1) == null)
+                    queue.add(dep);
+            }
+        }
+
+        // Backward: from the reached targets over the reversed forward part
+        Map<Long, List<Long>> reverse = new HashMap<>();
+        reachable.forEach((v, deps) -> {
+            for (long dep : deps)
+                reverse.computeIfAbsent(dep, k -> new ArrayList<>()).add(v);
+        });
+        Map<Long, Integer> distanceToTarget = new HashMap<>();
+        for (long t : targetIds) {
+            if (distanceFromRoot.containsKey(t) && t != fromId) {
+                distanceToTarget.put(t, 0);
+                queue.add(t);
+            }
+        }
+        while (!queue.isEmpty()) {
+            long v = queue.poll();
+            int d = distanceToTarget.get(v);
+            for (long s : reverse.getOrDefault(v, List.of())) {
+                if (distanceFromRoot.get(s) + d + 1 <= maxDepth && distanceToTarget.putIfAbsent(s, d + 1) == null)
+                    queue.add(s);
+            }
+        }
+        if (!distanceToTarget.containsKey(fromId))
+            return List.of();
+
+        List<List<Long>> found = new ArrayList<>();
+        Deque<Long> path = new ArrayDeque<>();
+        path.addLast(fromId);
+        walk(fromId, targetIds, maxDepth, maxPaths, reachable, distanceToTarget, path,
+                new HashSet<>(Set.of(fromId)), found);
+        found.sort(Comparator.comparingInt(List::size));
+        return found;
+    }
+
+    private void walk(long v, Set<Long> targetIds, int remaining, int maxPaths, Map<Long, long[]> reachable,
+            Map<Long, Integer> distanceToTarget, Deque<Long> path, Set<Long> onPath, List<List<Long>> found) {
+        if (targetIds.contains(v) && path.size() > 1) {
+            found.add(new ArrayList<>(path));
+            return;
+        }
+        for (long d : reachable.getOrDefault(v, new long[0])) {
+            if (found.size() >= maxPaths)
+                return;
+            Integer distance = distanceToTarget.get(d);
+            if (distance == null || distance > remaining - 1 || !onPath.add(d))
+                continue;
+            path.addLast(d);
+            walk(d, targetIds, remaining - 1, maxPaths, reachable, distanceToTarget, path, onPath, found);
+            path.removeLast();
+            onPath.remove(d);
+        }
+    }
+
+    /**
+     * Why {@code groupId:artifactId} is in the closure of {@code rootVersionId}:
+     * up to {@code maxPaths} paths to any of its versions, or to
+     * {@code version} alone when given, and the edge through which mediation
+     * picked the version in the root's resolved closure. Empty if the root
+     * has no stored tree.
+     *
+     * Paths are read off the root's own resolved tree, as stored by
+     * {@link DependencyTreeStore}, not off the index graph: an intermediate's
+     * own dependencies are not what it brings into this root once mediation
+     * and the root's management have applied. Nothing is resolved here.
+     */
+    public Optional<DependencyPathReport> why(long rootVersionId, String groupId, String artifactId,
+            String version, int maxDepth, int maxPaths) {
+        String root = coordinates(List.of(rootVersionId)).get(rootVersionId);
+        if (root == null)
+            return Optional.empty();
+        String[] gav = root.split(":", 3);
+        return treeStore.load(gav[0], gav[1], gav[2])
+                .map(tree -> why(tree, groupId, artifactId, version, maxDepth, maxPaths));
+    }
+
+    /**
+     * {@link #why} over a resolved tree. Maven keeps the nearest declaration,
+     * so the mediating edge is the last edge of the shortest path to the
+     * node that won mediation.
+     *
+     * The tree is searched as a graph over its versions, so a version that
+     * appears in several places brings every dependency it has in any of
+     * them. A breadth-first search from the root and one back from the
+     * targets, each advancing whichever frontier is smaller, meet at the
+     * length of the shortest path; if they do not meet within
+     * {@code maxDepth} there is none. Paths are then listed one length at a
+     * time from there, only entering versions that can still reach a target
+     * in the edges left, and listing stops once {@code maxPaths} are found.
+     */
+    static DependencyPathReport why(DependencyNode tree, String groupId, String artifactId, String version,
+            int maxDepth, int maxPaths) {
+        TreeGraph g = TreeGraph.of(tree);
+        int n = g.gavs.size();
+        boolean[] target = new boolean[n];
+        List<Integer> targets = new ArrayList<>();
+        for (int v = 1; v < n; v++) {
+            String[] c = g.gavs.get(v).split(":", 3);
+            if (groupId.equals(c[0]) && artifactId.equals(c[1]) && (version == null || version.equals(c[2]))) {
+                target[v] = true;
+                targets.add(v);
+            }
+        }
+
+        // Meet in the middle: exact distances from the root and to a target within each radius
+        int[] fromRoot = new int[n];
+        int[] toTarget = new int[n];
+        Arrays.fill(fromRoot, -1);
+        Arrays.fill(toTarget, -1);
+        fromRoot[0] = 0;
+        List<Integer> forward = List.of(0);
+        List<Integer> backward = targets;
+        for (int t : targets)
+            toTarget[t] = 0;
+        int forwardRadius = 0;
+        int backwardRadius = 0;
+        int shortest = -1;
+        while (shortest < 0 && forwardRadius + backwardRadius < maxDepth && !forward.isEmpty()
+                && !backward.isEmpty()) {
+            List<Integer> next = new ArrayList<>();
+            if (forward.size() <= backward.size()) {
+                forwardRadius++;
+                for (int v : forward) {
+                    if (target[v])
+                        continue; // a path ends at the first target it reaches
+                    for (int w : g.out.get(v)) {
+                        if (fromRoot[w] >= 0)
+                            continue;
+                        fromRoot[w] = forwardRadius;
+                        next.add(w);
+                        if (toTarget[w] >= 0 && (shortest < 0 || forwardRadius + toTarget[w] < shortest))
+                            shortest = forwardRadius + toTarget[w];
+                    }
+                }
+                forward = next;
+            } else {
+                backwardRadius++;
+                for (int v : backward) {
+                    for (int u : g.in.get(v)) {
+                        if (toTarget[u] >= 0 || target[u])
+                            continue;
+                        toTarget[u] = backwardRadius;
+                        next.add(u);
+                        if (fromRoot[u] >= 0 && (shortest < 0 || fromRoot[u] + backwardRadius < shortest))
+                            shortest = fromRoot[u] + backwardRadius;
+                    }
+                }
+                backward = next;
+            }
+        }
+
+        List<List<Integer>> found = new ArrayList<>();
+        if (shortest >= 0) {
+            // Finish the backward labels the listing prunes with, within the depth budget
+            while (!backward.isEmpty() && backwardRadius < maxDepth) {
+                backwardRadius++;
+                List<Integer> next = new ArrayList<>();
+                for (int v : backward) {
+                    for (int u : g.in.get(v)) {
+                        if (toTarget[u] < 0 && !target[u]) {
+                            toTarget[u] = backwardRadius;
+                            next.add(u);
+                        }
+                    }
+                }
+                backward = next;
+            }
+            Deque<Integer> path = new ArrayDeque<>(List.of(0));
+            boolean[] onPath = new boolean[n];
+            onPath[0] = true;
+            for (int length = shortest; length <= maxDepth && found.size() <= maxPaths; length++)
+                extend(g, 0, length, target, toTarget, maxPaths + 1, path, onPath, found);
+        }
+        boolean truncated = found.size() > maxPaths;
+        if (truncated)
+            found = found.subList(0, maxPaths);
+
+        String selectedVersion = selectedVersion(tree, groupId, artifactId);
+        List<DependencyPathReport.DependencyPath> paths = new ArrayList<>();
+        List<String> mediatingEdge = List.of();
+        for (List<Integer> p : found) {
+            List<String> versions = p.stream().map(g.gavs::get).toList();
+            boolean selected = versions.get(versions.size() - 1).split(":", 3)[2].equals(selectedVersion);
+            if (selected && mediatingEdge.isEmpty())
+                mediatingEdge = versions.subList(versions.size() - 2, versions.size());
+            paths.add(new DependencyPathReport.DependencyPath(versions, selected));
+        }
+        return new DependencyPathReport(gav(tree), groupId, artifactId, selectedVersion, mediatingEdge, paths,
+                truncated);
+    }
+
+    /** Appends to {@code found} the paths of exactly {@code remaining} more edges from {@code v} to a target. */
+    private static void extend(TreeGraph g, int v, int remaining, boolean[] target, int[] toTarget, int limit,
+            Deque<Integer> path, boolean[] onPath, List<List<Integer>> found) {
+        if (target[v]) {
+            if (remaining == 0)
+                found.add(new ArrayList<>(path));
+            return;
+        }
+        for (int w : g.out.get(v)) {
+            if (found.size() >= limit)
+                return;
+            if (onPath[w] || toTarget[w] < 0 || toTarget[w] > remaining - 1)
+                continue;
+            path.addLast(w);
+            onPath[w] = true;
+            extend(g, w, remaining - 1, target, toTarget, limit, path, onPath, found);
+            onPath[w] = false;
+            path.removeLast();
+        }
+    }
+
+    /** A resolved tree as a graph over its distinct GAVs; vertex 0 is the root, edges keep tree order. */
+    private record TreeGraph(List<String> gavs, List<Set<Integer>> out, List<List<Integer>> in) {
+
+        static TreeGraph of(DependencyNode tree) {
+            TreeGraph g = new TreeGraph(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            Map<String, Integer> ids = new HashMap<>();
+            Deque<DependencyNode> stack = new ArrayDeque<>(List.of(tree));
+            g.vertex(tree, ids);
+            while (!stack.isEmpty()) {
+                DependencyNode node = stack.pop();
+                int v = ids.get(gav(node));
+                for (DependencyNode child : node.children()) {
+                    int w = g.vertex(child, ids);
+                    if (g.out.get(v).add(w))
+                        g.in.get(w).add(v);
+                    stack.push(child);
+                }
+            }
+            return g;
+        }
+
+        private int vertex(DependencyNode node, Map<String, Integer> ids) {
+            return ids.computeIfAbsent(gav(node), k -> {
+                gavs.add(k);
+                out.add(new LinkedHashSet<>());
+                in.add(new ArrayList<>());
+                return gavs.size() - 1;
+            });
+        }
+    }
+
+    /** Version of {@code groupId:artifactId} that won mediation in {@code tree}, null if it is not in it. */
+    private static String selectedVersion(DependencyNode tree, String groupId, String artifactId) {
+        Deque<DependencyNode> queue = new ArrayDeque<>(tree.children());
+        while (!queue.isEmpty()) {
+            DependencyNode node = queue.poll();
+            if (groupId.equals(node.groupId()) && artifactId.equals(node.artifactId())
+                    && !"CONFLICT".equals(node.resolutionStatus()))
+                return node.version();
+            queue.addAll(node.children());
+        }
+        return null;
+    }
+
+    private static String gav(DependencyNode node) {
+        return node.groupId() + ":" + node.artifactId() + ":" + node.version();
+    }
+
+    /** {@code groupId:artifactId:version} of each version id, in one query. */
+    public Map<Long, String> coordinates(Collection<Long> versionIds) {
+        Map<Long, String> gavs = new HashMap<>();
+        if (!versionIds.isEmpty()) {
+            for (VersionCoordinates c : versionRepository.findVersionCoordinates(versionIds))
+                gavs.put(c.getId(), c.getGroupId() + ":" + c.getArtifactId() + ":" + c.getVersion());
+        }
+        return gavs;
+    }
+
+    public Stats stats() {
+        IndexGraph g = graph;
+        return new Stats(g.vertexCount(), g.edgeCount(), g.bytes(),
+                g.edgeCount() == 0 ? 0 : (double) g.bytes() / g.edgeCount(), overlay.size(), offHeap, buildMillis);
+    }
+
+    /** The current snapshot, for whole-graph jobs; does not include the overlay. */
+    IndexGraph snapshot() {
+        return graph;
+    }
+
+    /**
+     * Artifact of every vertex of a snapshot, for jobs that aggregate
+     * versions per artifact: {@code artifactOf[vertex]} is a dense index into
+     * {@code artifactIds}, or -1 if the version no longer exists.
+     */
+    record VertexArtifacts(int[] artifactOf, List<Long> artifactIds) {
+    }
+
+    VertexArtifacts vertexArtifacts(IndexGraph snapshot) {
+        int[] artifactOf = new int[snapshot.vertexCount()];
+        Arrays.fill(artifactOf, -1);
+        Map<Long, Integer> dense = new HashMap<>();
+        List<Long> artifactIds = new ArrayList<>();
+        if (snapshot.vertexCount() == 0)
+            return new VertexArtifacts(artifactOf, artifactIds);
+        long maxId = snapshot.versionId(snapshot.vertexCount() - 1);
+        for (long from = snapshot.versionId(0); from <= maxId; from += loadBatch) {
+            for (VersionArtifact va : versionRepository.findArtifactIdsBetween(from, from + loadBatch - 1)) {
+                int v = snapshot.indexOf(va.getId());
+                if (v < 0)
+                    continue;
+                artifactOf[v] = dense.computeIfAbsent(va.getArtifactId(), k -> {
+                    artifactIds.add(k);
+                    return artifactIds.size() - 1;
+                });
+            }
+        }
+        return new VertexArtifacts(artifactOf, artifactIds);
+    }
+}
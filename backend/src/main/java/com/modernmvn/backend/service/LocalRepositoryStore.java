@@ -0,0 +1,304 @@
+package com.modernmvn.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps {@code maven.local-repo} under {@code modernmvn.local-repo.max-size-mb}.
+ *
+ * Sessions wrap their {@link LocalRepositoryManager} with {@link #track}, which
+ * records when each artifact version directory was last read. A scheduled
+ * pass measures the store and, when it is over the limit, deletes the least
+ * recently used version directories until it is back under the low watermark.
+ * A deleted artifact is simply downloaded again on its next use.
+ *
+ * Version directories holding only a POM (parents, BOMs, pom-packaged
+ * aggregators) that have been read at least {@code pin-min-hits} times are
+ * pinned: nearly every resolution reads them, so evicting them costs more
+ * than the disk they free.
+ */
+@Service
+public class LocalRepositoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalRepositoryStore.class);
+
+    /** Version directory in the store, as seen by one eviction pass. */
+    record Unit(String dir, long bytes, long lastAccess, boolean pinned) {
+    }
+
+    private static final class Access {
+        volatile long lastAccess;
+        final AtomicInteger reads = new AtomicInteger();
+
+        Access(long lastAccess) {
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final Path root;
+    private final long maxBytes;
+    private final double lowWatermark;
+    private final int pinMinHits;
+    private final long minIdleMs;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Access> access = new ConcurrentHashMap<>();
+    private final AtomicLong sizeBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicInteger pinned = new AtomicInteger();
+
+    public LocalRepositoryStore(@Value("${maven.local-repo:/var/modernmvn/local-repo}") String localRepoPath,
+            @Value("${modernmvn.local-repo.max-size-mb:20480}") long maxSizeMb,
+            @Value("${modernmvn.local-repo.low-watermark:0.9}") double lowWatermark,
+            @Value("${modernmvn.local-repo.pin-min-hits:3}") int pinMinHits,
+            @Value("${modernmvn.local-repo.min-idle-minutes:10}") long minIdleMinutes,
+            MeterRegistry meterRegistry) {
+        this.root = Paths.get(localRepoPath).toAbsolutePath().normalize();
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        this.lowWatermark = lowWatermark;
+        this.pinMinHits = pinMinHits;
+        this.minIdleMs = minIdleMinutes * 60_000;
+        this.meterRegistry = meterRegistry;
+
+        meterRegistry.gauge("local_repo.size_bytes", sizeBytes, AtomicLong::get);
+        meterRegistry.gauge("local_repo.pinned", pinned, AtomicInteger::get);
+        meterRegistry.gauge("local_repo.hit_rate", this, LocalRepositoryStore::hitRate);
+    }
+
+    /** Share of local lookups that found the artifact on disk since startup. */
+    public double hitRate() {
+        long h = hits.get(), total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /** {@code delegate} with every artifact lookup and install recorded. */
+    public LocalRepositoryManager track(LocalRepositoryManager delegate) {
+        return new TrackingLocalRepositoryManager(delegate);
+    }
+
+    // ─── Eviction ────────────────────────────────────────────────────
+
+    @Scheduled(initialDelayString = "${modernmvn.local-repo.evict-initial-delay-ms:60000}",
+            fixedDelayString = "${modernmvn.local-repo.evict-delay-ms:600000}")
+    public void evict() {
+        if (!Files.isDirectory(root))
+            return;
+        List<Unit> units;
+        try {
+            units = scan();
+        } catch (IOException e) {
+            log.warn("Could not scan local repository {}: {}", root, e.getMessage());
+            return;
+        }
+        long total = sizeBytes.get();
+        if (maxBytes <= 0 || total <= maxBytes)
+            return;
+
+        long target = (long) (maxBytes * lowWatermark);
+        List<Unit> victims = selectVictims(units, total, target, System.currentTimeMillis() - minIdleMs);
+        long freed = 0;
+        for (Unit unit : victims) {
+            try {
+                freed += delete(root.resolve(unit.dir()));
+                access.remove(unit.dir());
+                meterRegistry.counter("local_repo.evictions").increment();
+            } catch (IOException e) {
+                log.debug("Could not evict {}: {}", unit.dir(), e.getMessage());
+            }
+        }
+        sizeBytes.addAndGet(-freed);
+        meterRegistry.counter("local_repo.evicted_bytes").increment(freed);
+        log.info("Evicted {} version directories ({} MB) from local repository, {} MB left", victims.size(),
+                freed / (1024 * 1024), sizeBytes.get() / (1024 * 1024));
+    }
+
+    /**
+     * Least recently used, unpinned units to delete so the store shrinks from
+     * {@code total} to {@code target} bytes. Units read after
+     * {@code idleBefore} are skipped, since a resolution may be using them.
+     */
+    static List<Unit> selectVictims(List<Unit> units, long total, long target, long idleBefore) {
+        List<Unit> candidates = new ArrayList<>();
+        for (Unit unit : units) {
+            if (!unit.pinned() && unit.lastAccess() < idleBefore)
+                candidates.add(unit);
+        }
+        candidates.sort(Comparator.comparingLong(Unit::lastAccess));
+        List<Unit> victims = new ArrayList<>();
+        for (Unit unit : candidates) {
+            if (total <= target)
+                break;
+            victims.add(unit);
+            total -= unit.bytes();
+        }
+        return victims;
+    }
+
+    /**
+     * Measures every version directory (one holding a POM) and refreshes the
+     * size and pinned gauges. Directories not read since startup use their
+     * newest file's modification time as last access.
+     */
+    private List<Unit> scan() throws IOException {
+        Map<Path, long[]> dirs = new HashMap<>(); // bytes, newest mtime, has pom, has other artifact
+        long[] total = new long[1];
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                total[0] += attrs.size();
+                long[] d = dirs.computeIfAbsent(file.getParent(), k -> new long[4]);
+                d[0] += attrs.size();
+                d[1] = Math.max(d[1], attrs.lastModifiedTime().toMillis());
+                String name = file.getFileName().toString();
+                if (name.endsWith(".pom"))
+                    d[2] = 1;
+                else if (isArtifactFile(name))
+                    d[3] = 1;
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        List<Unit> units = new ArrayList<>();
+        int pinnedCount = 0;
+        for (Map.Entry<Path, long[]> e : dirs.entrySet()) {
+            long[] d = e.getValue();
+            if (d[2] == 0)
+                continue; // metadata-only directory
+            String dir = key(root.relativize(e.getKey()));
+            Access a = access.get(dir);
+            boolean pin = d[3] == 0 && a != null && a.reads.get() >= pinMinHits;
+            if (pin)
+                pinnedCount++;
+            units.add(new Unit(dir, d[0], a != null ? Math.max(a.lastAccess, d[1]) : d[1], pin));
+        }
+        sizeBytes.set(total[0]);
+        pinned.set(pinnedCount);
+        return units;
+    }
+
+    private static boolean isArtifactFile(String name) {
+        return !name.startsWith("maven-metadata") && !name.startsWith("_") && !name.endsWith(".lastUpdated")
+                && !name.endsWith(".sha1") && !name.endsWith(".md5") && !name.endsWith(".asc")
+                && !name.endsWith(".repositories");
+    }
+
+    private static long delete(Path dir) throws IOException {
+        long[] freed = new long[1];
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                freed[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path d, IOException e) throws IOException {
+                Files.delete(d);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return freed[0];
+    }
+
+    // ─── Access tracking ─────────────────────────────────────────────
+
+    private static String key(Path relativeDir) {
+        return relativeDir.toString().replace('\\', '/');
+    }
+
+    private void touch(LocalRepositoryManager lrm, Artifact artifact) {
+        Path dir = Paths.get(lrm.getPathForLocalArtifact(artifact)).getParent();
+        if (dir == null)
+            return;
+        long now = System.currentTimeMillis();
+        Access a = access.computeIfAbsent(key(dir), k -> new Access(now));
+        a.lastAccess = now;
+        a.reads.incrementAndGet();
+    }
+
+    private final class TrackingLocalRepositoryManager implements LocalRepositoryManager {
+        private final LocalRepositoryManager delegate;
+
+        TrackingLocalRepositoryManager(LocalRepositoryManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public LocalArtifactResult find(RepositorySystemSession session, LocalArtifactRequest request) {
+            LocalArtifactResult result = delegate.find(session, request);
+            if (result.isAvailable()) {
+                hits.incrementAndGet();
+                touch(delegate, request.getArtifact());
+            } else {
+                misses.incrementAndGet();
+            }
+            return result;
+        }
+
+        @Override
+        public void add(RepositorySystemSession session, LocalArtifactRegistration request) {
+            delegate.add(session, request);
+            touch(delegate, request.getArtifact());
+            if (request.getArtifact().getFile() != null)
+                sizeBytes.addAndGet(request.getArtifact().getFile().length());
+        }
+
+        @Override
+        public LocalRepository getRepository() {
+            return delegate.getRepository();
+        }
+
+        @Override
+        public String getPathForLocalArtifact(Artifact artifact) {
+            return delegate.getPathForLocalArtifact(artifact);
+        }
+
+        @Override
+        public String getPathForRemoteArtifact(Artifact artifact, RemoteRepository repository, String context) {
+            return delegate.getPathForRemoteArtifact(artifact, repository, context);
+        }
+
+        @Override
+        public String getPathForLocalMetadata(Metadata metadata) {
+            return delegate.getPathForLocalMetadata(metadata);
+        }
+
+        @Override
+        public String getPathForRemoteMetadata(Metadata metadata, RemoteRepository repository, String context) {
+            return delegate.getPathForRemoteMetadata(metadata, repository, context);
+        }
+
+        @Override
+        public LocalMetadataResult find(RepositorySystemSession session, LocalMetadataRequest request) {
+            return delegate.find(session, request);
+        }
+
+        @Override
+        public void add(RepositorySystemSession session, LocalMetadataRegistration request) {
+            delegate.add(session, request);
+        }
+    }
+}
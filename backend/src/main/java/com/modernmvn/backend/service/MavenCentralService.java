@@ -26,6 +26,8 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.regex.Pattern;
@@ -45,6 +47,9 @@ public class MavenCentralService {
     private ArtifactIndexingService indexingService; // setter-injected to avoid circular dependency
     private ArtifactVersionRepository artifactVersionRepository; // optional — for per-version vuln counts
     private SecuritySummaryRepository securitySummaryRepository; // optional — for per-version vuln counts
+    private TransitiveDependentsJob transitiveDependents; // optional — for dependent counts and ranking
+    private PopularityJob popularity; // optional — for trending and ranking
+    private Executor enrichmentExecutor; // optional — trending enrichment runs inline without it
 
     private static final String SEARCH_API = "https://search.maven.org/solrsearch/select";
 
@@ -57,6 +62,31 @@ public class MavenCentralService {
     // Hardcoded category mapping for popular artifacts
     private static final Map<String, List<String>> CATEGORY_MAP = createCategoryMap();
 
+    private static final int TRENDING_SIZE = 20;
+
+    // Trending fallback until popularity scores exist (ordered by ecosystem importance)
+    private static final List<String[]> CURATED_TRENDING = List.of(
+            new String[] { "org.springframework.boot", "spring-boot-starter-web" },
+            new String[] { "org.springframework.boot", "spring-boot-starter-data-jpa" },
+            new String[] { "com.google.guava", "guava" },
+            new String[] { "org.apache.commons", "commons-lang3" },
+            new String[] { "com.fasterxml.jackson.core", "jackson-databind" },
+            new String[] { "org.projectlombok", "lombok" },
+            new String[] { "org.slf4j", "slf4j-api" },
+            new String[] { "ch.qos.logback", "logback-classic" },
+            new String[] { "org.mockito", "mockito-core" },
+            new String[] { "com.google.code.gson", "gson" },
+            new String[] { "io.netty", "netty-all" },
+            new String[] { "org.apache.kafka", "kafka-clients" },
+            new String[] { "com.zaxxer", "HikariCP" },
+            new String[] { "org.postgresql", "postgresql" },
+            new String[] { "org.hibernate.orm", "hibernate-core" },
+            new String[] { "io.micrometer", "micrometer-core" },
+            new String[] { "com.squareup.okhttp3", "okhttp" },
+            new String[] { "org.apache.httpcomponents.client5", "httpclient5" },
+            new String[] { "io.projectreactor", "reactor-core" },
+            new String[] { "org.junit.jupiter", "junit-jupiter" });
+
     private static Map<String, List<String>> createCategoryMap() {
         Map<String, List<String>> map = new HashMap<>();
         map.put("org.springframework.boot", List.of("Framework", "Web"));
@@ -105,6 +135,22 @@ public class MavenCentralService {
         this.securitySummaryRepository = securitySummaryRepository;
     }
 
+    @org.springframework.beans.factory.annotation.Autowired(required = false)
+    public void setTransitiveDependents(TransitiveDependentsJob transitiveDependents) {
+        this.transitiveDependents = transitiveDependents;
+    }
+
+    @org.springframework.beans.factory.annotation.Autowired(required = false)
+    public void setPopularity(PopularityJob popularity) {
+        this.popularity = popularity;
+    }
+
+    @org.springframework.beans.factory.annotation.Autowired(required = false)
+    public void setEnrichmentExecutor(
+            @org.springframework.beans.factory.annotation.Qualifier("asyncExecutor") Executor enrichmentExecutor) {
+        this.enrichmentExecutor = enrichmentExecutor;
+    }
+
     // ──────────────────────── Public API ────────────────────────
 
     /**
@@ -155,7 +201,8 @@ public class MavenCentralService {
                     pomMeta.url(),
                     pomMeta.licenses(),
                     summaryDoc.has("timestamp") ? summaryDoc.get("timestamp").asLong() : 0,
-                    usedByCount);
+                    usedByCount,
+                    getTransitiveDependentCount(groupId, artifactId));
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch artifact info for "
                     + groupId + ":" + artifactId + " — " + e.getMessage(), e);
@@ -288,7 +335,7 @@ public class MavenCentralService {
                         0, "UNKNOWN", List.of()));
             }
 
-            return new SearchResult(query, totalResults, page, pageSize, items);
+            return new SearchResult(query, totalResults, page, pageSize, rankByPopularity(items));
         } catch (Exception e) {
             throw new RuntimeException("Search failed for query: " + query + " — " + e.getMessage(), e);
         }
@@ -328,59 +375,79 @@ public class MavenCentralService {
     }
 
     /**
-     * Get trending/popular artifacts – curated list of well-known Java libraries
-     * enriched with live metadata from Maven Central. Cached for 12 hours.
+     * Get trending/popular artifacts – the most popular artifacts of the index
+     * by {@link PopularityJob} score, or a curated list of well-known Java
+     * libraries until scores exist, enriched with live metadata from Maven
+     * Central in parallel. Cached for 12 hours.
      */
     @Cacheable(value = "trendingArtifacts")
     public List<SearchResultItem> getTrendingArtifacts() {
-        // Curated list of popular Java artifacts (ordered by ecosystem importance)
-        String[][] trending = {
-                { "org.springframework.boot", "spring-boot-starter-web" },
-                { "org.springframework.boot", "spring-boot-starter-data-jpa" },
-                { "com.google.guava", "guava" },
-                { "org.apache.commons", "commons-lang3" },
-                { "com.fasterxml.jackson.core", "jackson-databind" },
-                { "org.projectlombok", "lombok" },
-                { "org.slf4j", "slf4j-api" },
-                { "ch.qos.logback", "logback-classic" },
-                { "org.mockito", "mockito-core" },
-                { "com.google.code.gson", "gson" },
-                { "io.netty", "netty-all" },
-                { "org.apache.kafka", "kafka-clients" },
-                { "com.zaxxer", "HikariCP" },
-                { "org.postgresql", "postgresql" },
-                { "org.hibernate.orm", "hibernate-core" },
-                { "io.micrometer", "micrometer-core" },
-                { "com.squareup.okhttp3", "okhttp" },
-                { "org.apache.httpcomponents.client5", "httpclient5" },
-                { "io.projectreactor", "reactor-core" },
-                { "org.junit.jupiter", "junit-jupiter" },
-        };
-
-        List<SearchResultItem> items = new ArrayList<>();
-        for (String[] artifact : trending) {
-            try {
-                JsonNode doc = fetchSolrDoc(artifact[0], artifact[1]);
-                String latest = doc.path("latestVersion").asText("");
-                int usage = getReverseDependencyCount(artifact[0], artifact[1]);
-                boolean safe = isVersionSafe(artifact[0], artifact[1], latest);
-                List<String> categories = CATEGORY_MAP.getOrDefault(artifact[0], List.of());
+        return getTrendingArtifacts(List.of());
+    }
 
-                items.add(new SearchResultItem(
-                        artifact[0], artifact[1],
-                        latest,
-                        doc.path("p").asText("jar"),
-                        null,
-                        doc.path("timestamp").asLong(0),
-                        doc.path("versionCount").asLong(0),
-                        usage,
-                        safe ? "SAFE" : "VULNERABLE",
-                        categories));
-            } catch (Exception ignored) {
-                // Skip artifacts that fail to resolve
+    /**
+     * Trending artifacts led by {@code viewed} (most viewed first, as
+     * {@code {groupId, artifactId}}), topped up from the popularity or curated
+     * list when fewer than 20 were viewed. Not cached; see
+     * {@link TrafficTrendingService}.
+     */
+    public List<SearchResultItem> getTrendingArtifacts(List<String[]> viewed) {
+        List<String[]> trending = CURATED_TRENDING;
+        try {
+            List<String[]> top = viewed.size() < TRENDING_SIZE && popularity != null
+                    ? popularity.top(TRENDING_SIZE)
+                    : List.of();
+            if (!top.isEmpty())
+                trending = top;
+        } catch (Exception e) {
+            log.warn("Popularity scores unavailable for trending: {}", e.getMessage());
+        }
+        if (!viewed.isEmpty()) {
+            Map<String, String[]> merged = new LinkedHashMap<>();
+            for (String[] ga : viewed)
+                merged.putIfAbsent(ga[0] + ":" + ga[1], ga);
+            for (String[] ga : trending) {
+                if (merged.size() >= TRENDING_SIZE)
+                    break;
+                merged.putIfAbsent(ga[0] + ":" + ga[1], ga);
             }
+            trending = merged.values().stream().limit(TRENDING_SIZE).toList();
         }
-        return items;
+        Map<String, Integer> usage = Map.of();
+        try {
+            if (transitiveDependents != null)
+                usage = transitiveDependents.transitiveDependents(trending);
+        } catch (Exception e) {
+            log.warn("Stored dependent counts unavailable for trending: {}", e.getMessage());
+        }
+        Map<String, Integer> storedUsage = usage;
+
+        List<CompletableFuture<SearchResultItem>> futures = new ArrayList<>();
+        for (String[] artifact : trending) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    JsonNode doc = fetchSolrDoc(artifact[0], artifact[1]);
+                    String latest = doc.path("latestVersion").asText("");
+                    // Same meaning as in search results: transitive dependents, 0 until computed
+                    int count = storedUsage.getOrDefault(artifact[0] + ":" + artifact[1], 0);
+                    boolean safe = isVersionSafe(artifact[0], artifact[1], latest);
+                    return new SearchResultItem(
+                            artifact[0], artifact[1],
+                            latest,
+                            doc.path("p").asText("jar"),
+                            null,
+                            doc.path("timestamp").asLong(0),
+                            doc.path("versionCount").asLong(0),
+                            count,
+                            safe ? "SAFE" : "VULNERABLE",
+                            CATEGORY_MAP.getOrDefault(artifact[0], List.of()));
+                } catch (Exception e) {
+                    return null; // Skip artifacts that fail to resolve
+                }
+            }, enrichmentExecutor != null ? enrichmentExecutor : Runnable::run));
+        }
+        return futures.stream().map(CompletableFuture::join).filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     // ──────────────────── Reverse Dependencies ───────────────────
@@ -425,22 +492,63 @@ public class MavenCentralService {
     }
 
     /**
-     * Get the count of artifacts that declare this artifact as a dependency.
-     * DB-backed via dependency_edges — populated proactively by the Maven crawler.
-     * Falls back to 0 until the crawler has indexed dependent artifacts.
+     * Get the count of indexed versions that declare this artifact as a direct
+     * dependency. DB-backed via the used-by counters maintained on indexing —
+     * one row lookup, no Maven Central round trip. Falls back to 0 until the
+     * crawler has indexed dependent artifacts.
      */
     @Cacheable(value = "reverseDepsCount", key = "#groupId + ':' + #artifactId")
     public int getReverseDependencyCount(String groupId, String artifactId) {
         try {
-            String latestVersion = getLatestVersion(groupId, artifactId);
-            if (latestVersion == null || latestVersion.isBlank())
-                return 0;
-            return indexingService.getReverseDependencyCountFromDb(groupId, artifactId, latestVersion);
+            return indexingService.getReverseDependencyCountFromDb(groupId, artifactId);
         } catch (Exception e) {
             return 0;
         }
     }
 
+    /**
+     * Number of artifacts depending on any version of this one through any
+     * path, as last computed by {@link TransitiveDependentsJob}; 0 until then.
+     */
+    private int getTransitiveDependentCount(String groupId, String artifactId) {
+        if (transitiveDependents == null)
+            return 0;
+        try {
+            return transitiveDependents.transitiveDependents(groupId, artifactId);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Fills in the usage count of a page of search results from the stored
+     * transitive dependent counts and orders the page by popularity score,
+     * then usage count, keeping Solr's order between ties. Returns the items
+     * unchanged if neither is available.
+     */
+    private List<SearchResultItem> rankByPopularity(List<SearchResultItem> items) {
+        if ((transitiveDependents == null && popularity == null) || items.isEmpty())
+            return items;
+        List<String[]> coordinates = items.stream().map(i -> new String[] { i.groupId(), i.artifactId() }).toList();
+        Map<String, Integer> counts;
+        Map<String, Double> scores;
+        try {
+            counts = transitiveDependents != null ? transitiveDependents.transitiveDependents(coordinates) : Map.of();
+            scores = popularity != null ? popularity.scores(coordinates) : Map.of();
+        } catch (Exception e) {
+            return items;
+        }
+        Comparator<SearchResultItem> byScore = Comparator
+                .comparingDouble(i -> scores.getOrDefault(i.groupId() + ":" + i.artifactId(), 0.0));
+        return items.stream()
+                .map(i -> new SearchResultItem(i.groupId(), i.artifactId(), i.latestVersion(), i.packaging(),
+                        i.description(), i.timestamp(), i.versionCount(),
+                        counts.getOrDefault(i.groupId() + ":" + i.artifactId(), 0), i.safetyStatus(),
+                        i.categories()))
+                .sorted(byScore.thenComparingInt(SearchResultItem::usageCount).reversed())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Look up the vulnerability count for a specific version from the
      * security_summaries table.
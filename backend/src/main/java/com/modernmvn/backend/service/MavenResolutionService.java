@@ -13,9 +13,14 @@ import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.collection.CollectResult;
 import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.LocalArtifactRequest;
 import org.eclipse.aether.repository.RemoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -29,19 +34,39 @@ public class MavenResolutionService {
 
     private final RepositorySystem repositorySystem;
     private final MavenConfig mavenConfig;
+    private final EffectiveModelService effectiveModelService;
+    private final NativeDependencyResolver nativeResolver;
+    private final ClosurePrefetcher prefetcher;
+    private final MirrorRouter mirrorRouter;
+    private final MeterRegistry meterRegistry;
+    private final boolean nativeEngine;
 
     // Limits for security
     private static final int MAX_POM_SIZE_BYTES = 512 * 1024; // 512 KB
     private static final int MAX_CUSTOM_REPOS = 5;
-    private static final int MAX_RESOLUTION_DEPTH = 10;
+    // Only guards the recursion: the cached graph must keep every level so
+    // lazy expansion (DependencyGraph) can reach the bottom of real trees
+    public static final int MAX_RESOLUTION_DEPTH = 200;
+    static final String UNMANAGED_MESSAGE = "No version declared or managed; resolved as LATEST";
+    static final String DEPTH_LIMIT_MESSAGE = "Dependencies below depth " + MAX_RESOLUTION_DEPTH + " omitted";
     private static final Set<String> ALLOWED_REPO_SCHEMES = Set.of("https");
 
-    public MavenResolutionService(RepositorySystem repositorySystem, MavenConfig mavenConfig) {
+    public MavenResolutionService(RepositorySystem repositorySystem, MavenConfig mavenConfig,
+            EffectiveModelService effectiveModelService, NativeDependencyResolver nativeResolver,
+            ClosurePrefetcher prefetcher, MirrorRouter mirrorRouter, MeterRegistry meterRegistry,
+            @Value("${modernmvn.resolution.native-engine:false}") boolean nativeEngine) {
         this.repositorySystem = repositorySystem;
         this.mavenConfig = mavenConfig;
+        this.effectiveModelService = effectiveModelService;
+        this.nativeResolver = nativeResolver;
+        this.prefetcher = prefetcher;
+        this.mirrorRouter = mirrorRouter;
+        this.meterRegistry = meterRegistry;
+        this.nativeEngine = nativeEngine;
     }
 
-    @Cacheable(value = "mavenDependencies_v2", key = "#groupId + ':' + #artifactId + ':' + #version")
+    // v3: v2 entries were cut at depth 10 and would pass for complete trees
+    @Cacheable(value = "mavenDependencies_v3", key = "#groupId + ':' + #artifactId + ':' + #version")
     public DependencyNode resolveDependency(String groupId, String artifactId, String version) {
         return resolveDependencyWithRepos(groupId, artifactId, version, List.of());
     }
@@ -49,38 +74,84 @@ public class MavenResolutionService {
     public DependencyNode resolveDependencyWithRepos(String groupId, String artifactId, String version,
             List<String> customRepoUrls) {
         try {
-            Artifact artifact = new DefaultArtifact(groupId, artifactId, "jar", version);
-            Dependency dependency = new Dependency(artifact, "compile");
-
-            List<RemoteRepository> repos = buildRepositoryList(customRepoUrls);
-
-            CollectRequest collectRequest = new CollectRequest();
-            collectRequest.setRoot(dependency);
-            collectRequest.setRepositories(repos);
-
             // Create a fresh session for this resolution to ensure thread safety
             RepositorySystemSession session = mavenConfig.createSession(repositorySystem);
-            CollectResult collectResult = repositorySystem.collectDependencies(session, collectRequest);
+            CollectResult collectResult = collectArtifact(groupId, artifactId, version, customRepoUrls, session,
+                    "standard");
+            return convertToDto(collectResult.getRoot(), 0);
+        } catch (Exception e) {
+            return resolutionError(groupId, artifactId, version, e);
+        }
+    }
 
-            if (!collectResult.getExceptions().isEmpty()) {
-                log.warn("Resolution exceptions for {}:{}:{}", groupId, artifactId, version);
-                for (Exception e : collectResult.getExceptions()) {
-                    log.debug("Resolution detail: ", e);
-                }
-            }
+    /**
+     * A resolved tree together with every candidate that lost conflict
+     * resolution and the inputs needed to mediate it again. {@code conflicts}
+     * and {@code baseline} are null if resolution failed.
+     */
+    public record VerboseResolution(DependencyNode tree, ConflictPaths conflicts, MediationBaseline baseline) {
+    }
 
-            return convertToDto(collectResult.getRoot(), 0);
+    /**
+     * Like {@link #resolveDependencyWithRepos}, but also records every omitted
+     * candidate with its full path. Never cached; callers keep the result in
+     * the graph cache.
+     */
+    public VerboseResolution resolveDependencyVerbose(String groupId, String artifactId, String version,
+            List<String> customRepoUrls) {
+        try {
+            RepositorySystemSession session = mavenConfig.createVerboseSession(repositorySystem);
+            CollectResult collectResult = collectArtifact(groupId, artifactId, version, customRepoUrls, session,
+                    "verbose");
+            org.eclipse.aether.graph.DependencyNode root = collectResult.getRoot();
+            DependencyNode tree = convertToDto(root, 0);
+            return new VerboseResolution(tree,
+                    ConflictPaths.build(groupId + ":" + artifactId + ":" + version, root),
+                    new MediationBaseline(tree, true, List.of(root.getDependency()), List.of(), List.of(),
+                            customRepoUrls));
         } catch (Exception e) {
-            log.error("Failed to resolve {}:{}:{}: {}", groupId, artifactId, version, e.getMessage(), e);
-            String errorMsg = e.getClass().getSimpleName();
-            if (e.getMessage() != null)
-                errorMsg += ": " + e.getMessage();
-            if (e.getCause() != null)
-                errorMsg += " (Cause: " + e.getCause().getClass().getSimpleName() + ")";
-
-            return new DependencyNode(groupId, artifactId, version, "compile", "jar", Collections.emptyList(), "ERROR",
-                    errorMsg);
+            return new VerboseResolution(resolutionError(groupId, artifactId, version, e), null, null);
+        }
+    }
+
+    private CollectResult collectArtifact(String groupId, String artifactId, String version,
+            List<String> customRepoUrls, RepositorySystemSession session, String mode) throws Exception {
+        Artifact artifact = new DefaultArtifact(groupId, artifactId, "jar", version);
+        Dependency dependency = new Dependency(artifact, "compile");
+
+        List<RemoteRepository> repos = buildRepositoryList(customRepoUrls);
+
+        CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRoot(dependency);
+        collectRequest.setRepositories(repos);
+
+        Set<String> predicted = prefetcher.prefetch(groupId, artifactId, version, repos, session);
+        ClosurePrefetcher.PomReads reads = new ClosurePrefetcher.PomReads(groupId + ":" + artifactId + ":" + version);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CollectResult collectResult = repositorySystem.collectDependencies(reads.attach(session), collectRequest);
+        sample.stop(meterRegistry.timer("resolution.collect_time", "mode", mode));
+        prefetcher.record(predicted, reads.gavs());
+
+        if (!collectResult.getExceptions().isEmpty()) {
+            log.warn("Resolution exceptions for {}:{}:{}", groupId, artifactId, version);
+            for (Exception e : collectResult.getExceptions()) {
+                log.debug("Resolution detail: ", e);
+            }
         }
+        return collectResult;
+    }
+
+    private DependencyNode resolutionError(String groupId, String artifactId, String version, Exception e) {
+        log.error("Failed to resolve {}:{}:{}: {}", groupId, artifactId, version, e.getMessage(), e);
+        String errorMsg = e.getClass().getSimpleName();
+        if (e.getMessage() != null)
+            errorMsg += ": " + e.getMessage();
+        if (e.getCause() != null)
+            errorMsg += " (Cause: " + e.getCause().getClass().getSimpleName() + ")";
+
+        return new DependencyNode(groupId, artifactId, version, "compile", "jar", Collections.emptyList(), "ERROR",
+                errorMsg);
     }
 
     public DependencyNode resolveFromPom(String pomContent) {
@@ -92,7 +163,7 @@ public class MavenResolutionService {
         try {
             MavenXpp3Reader reader = new MavenXpp3Reader();
             Model model = reader.read(new StringReader(pomContent));
-            return resolveModelAsTree(model, customRepoUrls);
+            return resolveModelAsTree(pomContent, model, customRepoUrls);
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -102,6 +173,38 @@ public class MavenResolutionService {
         }
     }
 
+    /**
+     * Verbose variant of {@link #resolveFromPomWithRepos}. Always collected by
+     * Aether, since the native engine does not keep losing candidates.
+     */
+    public VerboseResolution resolveFromPomVerbose(String pomContent, List<String> customRepoUrls) {
+        List<RemoteRepository> repos = buildRepositoryList(customRepoUrls);
+        RepositorySystemSession session = mavenConfig.createVerboseSession(repositorySystem);
+        PreparedPom pom = preparePom(pomContent, repos, session);
+        try {
+            CollectRequest collectRequest = new CollectRequest();
+            collectRequest.setDependencies(pom.dependencies());
+            collectRequest.setManagedDependencies(pom.managedDependencies());
+            collectRequest.setRepositories(repos);
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            CollectResult collectResult = repositorySystem.collectDependencies(session, collectRequest);
+            sample.stop(meterRegistry.timer("resolution.collect_time", "mode", "verbose"));
+
+            org.eclipse.aether.graph.DependencyNode root = collectResult.getRoot();
+            DependencyNode tree = toTree(pom, root.getChildren());
+            return new VerboseResolution(tree,
+                    ConflictPaths.build(pom.groupId() + ":" + pom.artifactId() + ":" + pom.version(), root),
+                    new MediationBaseline(tree, false, pom.dependencies(), pom.managedDependencies(),
+                            pom.localModules(), customRepoUrls));
+        } catch (Exception e) {
+            log.error("Verbose resolution failed for {}:{}:{}: {}", pom.groupId(), pom.artifactId(),
+                    pom.version(), e.getMessage());
+            return new VerboseResolution(new DependencyNode(pom.groupId(), pom.artifactId(), pom.version(),
+                    "compile", "pom", Collections.emptyList(), "ERROR", e.getMessage()), null, null);
+        }
+    }
+
     public MultiModuleResult resolveMultiModule(String pomContent, List<String> customRepoUrls) {
         validatePomSize(pomContent);
         try {
@@ -116,7 +219,7 @@ public class MavenResolutionService {
             boolean isMultiModule = moduleNames != null && !moduleNames.isEmpty();
 
             if (!isMultiModule) {
-                DependencyNode tree = resolveModelAsTree(model, customRepoUrls);
+                DependencyNode tree = resolveModelAsTree(pomContent, model, customRepoUrls);
                 MultiModuleResult.ModuleInfo singleModule = new MultiModuleResult.ModuleInfo(
                         parentArtifactId, parentGroupId, parentArtifactId, parentVersion,
                         model.getPackaging() != null ? model.getPackaging() : "jar", tree);
@@ -128,7 +231,7 @@ public class MavenResolutionService {
             List<MultiModuleResult.ModuleInfo> modules = new ArrayList<>();
             List<DependencyNode> allModuleChildren = new ArrayList<>();
 
-            DependencyNode parentTree = resolveModelAsTree(model, customRepoUrls);
+            DependencyNode parentTree = resolveModelAsTree(pomContent, model, customRepoUrls);
 
             if (moduleNames == null)
                 return null; // Safe guard for linter
@@ -167,65 +270,257 @@ public class MavenResolutionService {
 
     // ─── Internal helpers ────────────────────────────────────────────
 
-    private DependencyNode resolveModelAsTree(Model model, List<String> customRepoUrls) {
-        String groupId = extractGroupId(model);
-        String artifactId = model.getArtifactId();
-        String version = extractVersion(model);
+    private DependencyNode resolveModelAsTree(String pomContent, Model rawModel, List<String> customRepoUrls) {
+        return resolveModelAsTree(pomContent, rawModel, buildRepositoryList(customRepoUrls),
+                mavenConfig.createSession(repositorySystem), Map.of(), Set.of());
+    }
 
-        Map<String, String> properties = buildProperties(model, groupId, artifactId, version);
+    /**
+     * Resolves one module of an uploaded project. Parents and BOMs are looked up
+     * in {@code workspace} first, and dependencies on other modules of the same
+     * project ({@code reactorArtifacts}, as {@code groupId:artifactId}) become
+     * {@code LOCAL} leaf nodes instead of being fetched remotely. Downloads
+     * still running at {@code deadlineNanos} ({@link System#nanoTime()}) are
+     * cancelled.
+     */
+    public DependencyNode resolveModule(String pomContent, List<String> customRepoUrls,
+            RepositorySystemSession session, Map<String, String> workspace, Set<String> reactorArtifacts,
+            long deadlineNanos) {
+        validatePomSize(pomContent);
+        try {
+            Model model = new MavenXpp3Reader().read(new StringReader(pomContent));
+            return resolveModelAsTree(pomContent, model, buildRepositoryList(customRepoUrls),
+                    MavenConfig.withDeadline(session, deadlineNanos), workspace, reactorArtifacts);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to resolve module POM: {}", e.getMessage());
+            return new DependencyNode("unknown", "unknown", "0.0.0", "compile", "pom", Collections.emptyList(),
+                    "ERROR", e.getMessage());
+        }
+    }
 
-        List<Dependency> dependencies = new ArrayList<>();
-        Set<String> localModuleArtifacts = new HashSet<>();
+    private DependencyNode resolveModelAsTree(String pomContent, Model rawModel, List<RemoteRepository> repos,
+            RepositorySystemSession session, Map<String, String> workspace, Set<String> reactorArtifacts) {
+        PreparedPom pom = preparePom(pomContent, rawModel, repos, session, workspace, reactorArtifacts);
+
+        if (nativeEngine) {
+            List<DependencyNode> children = markUnmanaged(nativeResolver.resolve(pom.dependencies(),
+                    pom.managedDependencies(), repos, session), pom.unmanaged());
+            children.addAll(pom.localModules());
+            return new DependencyNode(pom.groupId(), pom.artifactId(), pom.version(), "compile", "pom", children,
+                    "RESOLVED", null);
+        }
+
+        try {
+            CollectRequest collectRequest = new CollectRequest();
+            collectRequest.setDependencies(pom.dependencies());
+            collectRequest.setManagedDependencies(pom.managedDependencies());
+            collectRequest.setRepositories(repos);
+
+            CollectResult collectResult = repositorySystem.collectDependencies(session, collectRequest);
+            return toTree(pom, collectResult.getRoot().getChildren());
+        } catch (Exception e) {
+            log.error("Internal model resolution failed for {}:{}:{}: {}", pom.groupId(), pom.artifactId(),
+                    pom.version(), e.getMessage());
+            return new DependencyNode(pom.groupId(), pom.artifactId(), pom.version(), "compile", "pom",
+                    Collections.emptyList(), "ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Direct dependency declarations of an uploaded POM, ready to be collected.
+     * Dependencies on modules of the same project are split off as
+     * {@code LOCAL} nodes. {@code unmanaged} ({@code groupId:artifactId}) are
+     * the direct dependencies that neither declare nor inherit a version and
+     * are collected as LATEST.
+     */
+    record PreparedPom(String groupId, String artifactId, String version, List<Dependency> dependencies,
+            List<Dependency> managedDependencies, List<DependencyNode> localModules, Set<String> unmanaged) {
+    }
+
+    /**
+     * Parses and prepares {@code pomContent} for collection. Parse and size
+     * errors surface as {@link IllegalArgumentException}.
+     */
+    PreparedPom preparePom(String pomContent, List<RemoteRepository> repos, RepositorySystemSession session) {
+        validatePomSize(pomContent);
+        Model rawModel;
+        try {
+            rawModel = new MavenXpp3Reader().read(new StringReader(pomContent));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid POM: " + e.getMessage());
+        }
+        return preparePom(pomContent, rawModel, repos, session, Map.of(), Set.of());
+    }
+
+    private PreparedPom preparePom(String pomContent, Model rawModel, List<RemoteRepository> repos,
+            RepositorySystemSession session, Map<String, String> workspace, Set<String> reactorArtifacts) {
+        // Prefer Maven's own effective model (parents, BOM imports, interpolation).
+        // Fall back to the raw model with best-effort interpolation if a parent or
+        // BOM cannot be resolved.
+        Model model = rawModel;
+        Map<String, String> properties = Map.of();
+        try {
+            model = effectiveModelService.build(pomContent, session, repos, workspace);
+        } catch (Exception e) {
+            log.warn("Effective model build failed, falling back to raw POM: {}", e.getMessage());
+            meterRegistry.counter("effective_model.fallback").increment();
+            properties = buildProperties(rawModel, extractGroupId(rawModel), rawModel.getArtifactId(),
+                    extractVersion(rawModel));
+        }
+
+        String groupId = extractGroupId(model);
+
+        Set<String> localModuleArtifacts = new HashSet<>(reactorArtifacts);
         if (model.getModules() != null) {
             for (String mod : model.getModules()) {
                 localModuleArtifacts.add(groupId + ":" + mod);
             }
         }
 
-        for (org.apache.maven.model.Dependency d : model.getDependencies()) {
-            String dGroupId = interpolate(d.getGroupId(), properties);
-            String dArtifactId = interpolate(d.getArtifactId(), properties);
-            String dVersion = interpolate(d.getVersion(), properties);
-            String dScope = d.getScope() != null ? d.getScope() : "compile";
+        // The effective model has already applied management; this matters for the raw fallback
+        Map<String, String> managedVersions = new HashMap<>();
+        if (model.getDependencyManagement() != null) {
+            for (org.apache.maven.model.Dependency d : model.getDependencyManagement().getDependencies()) {
+                String version = interpolate(d.getVersion(), properties);
+                if (!"import".equals(d.getScope()) && version != null && !version.isEmpty())
+                    managedVersions.putIfAbsent(managementKey(d, properties), version);
+            }
+        }
 
-            if (localModuleArtifacts.contains(dGroupId + ":" + dArtifactId)) {
-                continue;
+        List<Dependency> dependencies = new ArrayList<>();
+        List<DependencyNode> localModules = new ArrayList<>();
+        Set<String> unmanaged = new HashSet<>();
+        for (org.apache.maven.model.Dependency d : model.getDependencies()) {
+            String version = interpolate(d.getVersion(), properties);
+            if (version == null || version.isEmpty()) {
+                version = managedVersions.get(managementKey(d, properties));
+                if (version == null) {
+                    // Neither declared nor managed: nothing better than LATEST, flagged in the tree
+                    version = "LATEST";
+                    unmanaged.add(interpolate(d.getGroupId(), properties) + ":"
+                            + interpolate(d.getArtifactId(), properties));
+                    meterRegistry.counter("resolution.unmanaged_versions").increment();
+                }
+            }
+            Dependency dependency = toAetherDependency(d, properties, "compile", version);
+            Artifact a = dependency.getArtifact();
+            if (localModuleArtifacts.contains(a.getGroupId() + ":" + a.getArtifactId())) {
+                localModules.add(new DependencyNode(a.getGroupId(), a.getArtifactId(), a.getVersion(),
+                        dependency.getScope(), a.getExtension(), Collections.emptyList(), "LOCAL",
+                        "Module of this project."));
+            } else {
+                dependencies.add(dependency);
             }
+        }
 
-            if (dVersion == null || dVersion.isEmpty()) {
-                if (model.getParent() != null && dGroupId.startsWith("org.springframework.boot")) {
-                    dVersion = model.getParent().getVersion();
-                } else {
-                    dVersion = "LATEST";
+        List<Dependency> managedDependencies = new ArrayList<>();
+        if (model.getDependencyManagement() != null) {
+            for (org.apache.maven.model.Dependency d : model.getDependencyManagement().getDependencies()) {
+                if (!"import".equals(d.getScope())) {
+                    // No scope means the management leaves transitive scopes alone, and no
+                    // version leaves transitive versions alone
+                    managedDependencies.add(toAetherDependency(d, properties, "",
+                            Objects.toString(interpolate(d.getVersion(), properties), "")));
                 }
             }
+        }
+
+        return new PreparedPom(groupId, model.getArtifactId(), extractVersion(model), dependencies,
+                managedDependencies, localModules, unmanaged);
+    }
 
-            Artifact artifact = new DefaultArtifact(dGroupId, dArtifactId, "jar", dVersion);
-            dependencies.add(new Dependency(artifact, dScope));
+    /**
+     * Builds the response tree for a prepared POM from the (mediated) Aether
+     * children of its collect root.
+     */
+    DependencyNode toTree(PreparedPom pom, List<org.eclipse.aether.graph.DependencyNode> collectedChildren) {
+        List<DependencyNode> children = new ArrayList<>();
+        for (org.eclipse.aether.graph.DependencyNode child : collectedChildren) {
+            children.add(convertToDto(child, 1));
         }
+        children = markUnmanaged(children, pom.unmanaged());
+        children.addAll(pom.localModules());
+        return new DependencyNode(pom.groupId(), pom.artifactId(), pom.version(), "compile", "pom", children,
+                "RESOLVED", null);
+    }
 
-        List<RemoteRepository> repos = buildRepositoryList(customRepoUrls);
+    /** Flags direct dependencies that were collected as LATEST for want of a declared or managed version. */
+    static List<DependencyNode> markUnmanaged(List<DependencyNode> children, Set<String> unmanaged) {
+        List<DependencyNode> marked = new ArrayList<>(children.size());
+        for (DependencyNode child : children) {
+            marked.add(unmanaged.contains(child.groupId() + ":" + child.artifactId())
+                    ? new DependencyNode(child.groupId(), child.artifactId(), child.version(), child.scope(),
+                            child.type(), child.children(), "UNMANAGED", UNMANAGED_MESSAGE)
+                    : child);
+        }
+        return marked;
+    }
 
-        try {
-            CollectRequest collectRequest = new CollectRequest();
-            collectRequest.setDependencies(dependencies);
-            collectRequest.setRepositories(repos);
+    /**
+     * Response node for a mediated Aether node; {@code depth} is the node's
+     * depth in the response tree and bounds how far children are converted.
+     */
+    DependencyNode toDto(org.eclipse.aether.graph.DependencyNode node, int depth) {
+        return convertToDto(node, depth);
+    }
 
-            RepositorySystemSession session = mavenConfig.createSession(repositorySystem);
-            CollectResult collectResult = repositorySystem.collectDependencies(session, collectRequest);
+    List<RemoteRepository> repositories(List<String> customRepoUrls) {
+        return buildRepositoryList(customRepoUrls);
+    }
 
-            List<DependencyNode> children = new ArrayList<>();
-            for (org.eclipse.aether.graph.DependencyNode child : collectResult.getRoot().getChildren()) {
-                children.add(convertToDto(child, 1));
-            }
+    /**
+     * Converts a POM dependency into an Aether dependency with {@code version},
+     * which the caller has taken from the declaration or its management.
+     * {@code defaultScope} applies when the POM declares none.
+     */
+    private Dependency toAetherDependency(org.apache.maven.model.Dependency d, Map<String, String> properties,
+            String defaultScope, String dVersion) {
+        String dGroupId = interpolate(d.getGroupId(), properties);
+        String dArtifactId = interpolate(d.getArtifactId(), properties);
+        String dScope = d.getScope() != null ? d.getScope() : defaultScope;
+        String extension = "pom".equals(d.getType()) ? "pom" : "jar";
+
+        List<Exclusion> exclusions = new ArrayList<>();
+        for (org.apache.maven.model.Exclusion e : d.getExclusions()) {
+            exclusions.add(new Exclusion(e.getGroupId(), e.getArtifactId(), "*", "*"));
+        }
 
-            return new DependencyNode(groupId, artifactId, version, "compile", "pom", children, "RESOLVED", null);
-        } catch (Exception e) {
-            log.error("Internal model resolution failed for {}:{}:{}: {}", groupId, artifactId, version,
-                    e.getMessage());
-            return new DependencyNode(groupId, artifactId, version, "compile", "pom", Collections.emptyList(), "ERROR",
-                    e.getMessage());
+        Artifact artifact = new DefaultArtifact(dGroupId, dArtifactId, d.getClassifier(), extension, dVersion);
+        return new Dependency(artifact, dScope, d.isOptional(), exclusions);
+    }
+
+    /** Management key of a dependency: groupId, artifactId, type and classifier, as Maven matches them. */
+    private String managementKey(org.apache.maven.model.Dependency d, Map<String, String> properties) {
+        return interpolate(d.getGroupId(), properties) + ":" + interpolate(d.getArtifactId(), properties) + ":"
+                + Objects.toString(d.getType(), "jar") + ":" + Objects.toString(d.getClassifier(), "");
+    }
+
+    /**
+     * Those of {@code gavs} ({@code groupId:artifactId:version}) whose POM the
+     * local repository recorded as downloaded from Central or one of its
+     * mirrors. Coordinates fetched from a custom repository only, or never
+     * fetched, are left out.
+     */
+    public Set<String> fetchedFromCentral(Collection<String> gavs) {
+        if (gavs.isEmpty())
+            return Set.of();
+        RepositorySystemSession session = mavenConfig.createSession(repositorySystem);
+        List<RemoteRepository> central = new ArrayList<>(mirrorRouter.route(List.of(mirrorRouter.central())));
+        if (!central.contains(mirrorRouter.central()))
+            central.add(mirrorRouter.central());
+        Set<String> fetched = new HashSet<>();
+        for (String gav : gavs) {
+            String[] c = gav.split(":", 3);
+            if (c.length < 3)
+                continue;
+            Artifact pom = new DefaultArtifact(c[0], c[1], "pom", c[2]);
+            if (session.getLocalRepositoryManager().find(session, new LocalArtifactRequest(pom, central, ""))
+                    .isAvailable())
+                fetched.add(gav);
         }
+        return fetched;
     }
 
     private void validatePomSize(String pomContent) {
@@ -240,8 +535,7 @@ public class MavenResolutionService {
 
     private List<RemoteRepository> buildRepositoryList(List<String> customRepoUrls) {
         List<RemoteRepository> repos = new ArrayList<>();
-        repos.add(new RemoteRepository.Builder("central", "default",
-                "https://repo.maven.apache.org/maven2/").build());
+        repos.add(mirrorRouter.central());
 
         if (customRepoUrls != null) {
             if (customRepoUrls.size() > MAX_CUSTOM_REPOS) {
@@ -255,7 +549,7 @@ public class MavenResolutionService {
                 }
             }
         }
-        return repos;
+        return mirrorRouter.route(repos);
     }
 
     private void validateRepoUrl(String url) {
@@ -300,26 +594,36 @@ public class MavenResolutionService {
     }
 
     private String interpolate(String value, Map<String, String> properties) {
-        if (value == null)
-            return null;
-        if (!value.contains("${"))
+        if (value == null || properties.isEmpty() || !value.contains("${"))
             return value;
 
-        for (Map.Entry<String, String> entry : properties.entrySet()) {
-            String placeholder = "${" + entry.getKey() + "}";
-            if (value.contains(placeholder)) {
-                value = value.replace(placeholder, entry.getValue());
+        StringBuilder out = new StringBuilder(value.length());
+        int pos = 0;
+        while (pos < value.length()) {
+            int start = value.indexOf("${", pos);
+            int end = start < 0 ? -1 : value.indexOf('}', start + 2);
+            if (end < 0) {
+                out.append(value, pos, value.length());
+                break;
             }
+            String replacement = properties.get(value.substring(start + 2, end));
+            out.append(value, pos, start).append(replacement != null ? replacement : value.substring(start, end + 1));
+            pos = end + 1;
         }
-        return value;
+        return out.toString();
     }
 
     private DependencyNode convertToDto(org.eclipse.aether.graph.DependencyNode aetherNode, int depth) {
         List<DependencyNode> children = new ArrayList<>();
 
-        if (depth < MAX_RESOLUTION_DEPTH) {
+        boolean cut = depth >= MAX_RESOLUTION_DEPTH && !aetherNode.getChildren().isEmpty();
+        if (!cut) {
             for (org.eclipse.aether.graph.DependencyNode child : aetherNode.getChildren()) {
-                children.add(convertToDto(child, depth + 1));
+                // Verbose graphs also keep losers that lost to the same version;
+                // those are reported through ConflictPaths, not as tree nodes
+                if (!isDuplicateLoser(child)) {
+                    children.add(convertToDto(child, depth + 1));
+                }
             }
         }
 
@@ -345,6 +649,9 @@ public class MavenResolutionService {
             }
         }
 
+        if (cut && conflictMessage == null)
+            conflictMessage = DEPTH_LIMIT_MESSAGE;
+
         return new DependencyNode(
                 artifact.getGroupId(),
                 artifact.getArtifactId(),
@@ -355,4 +662,10 @@ public class MavenResolutionService {
                 resolutionStatus,
                 conflictMessage);
     }
+
+    private static boolean isDuplicateLoser(org.eclipse.aether.graph.DependencyNode node) {
+        Object winner = node.getData().get(org.eclipse.aether.util.graph.transformer.ConflictResolver.NODE_DATA_WINNER);
+        return winner instanceof org.eclipse.aether.graph.DependencyNode w && w != node
+                && w.getArtifact().getVersion().equals(node.getArtifact().getVersion());
+    }
 }
@@ -0,0 +1,75 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.GraphSecurityOverlay;
+import org.eclipse.aether.graph.Dependency;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What a verbose resolution started from: the direct declarations, the root's
+ * dependencyManagement and the repositories. Kept with the cached graph so
+ * what-if edits can be mediated again in memory.
+ *
+ * Direct-dependency descriptors read by earlier what-if runs are memoized
+ * per graph, so later runs only read descriptors for versions they introduce.
+ */
+public final class MediationBaseline {
+
+    private final DependencyNode root; // coordinates of the tree root; its children are ignored
+    private final boolean artifactRoot; // true for /resolve?groupId..., whose root is the single direct dependency
+    private final List<Dependency> direct;
+    private final List<Dependency> managed;
+    private final List<DependencyNode> localModules;
+    private final List<String> customRepoUrls;
+    private final Map<String, List<Dependency>> descriptors = new ConcurrentHashMap<>();
+    private volatile GraphSecurityOverlay security;
+
+    MediationBaseline(DependencyNode root, boolean artifactRoot, List<Dependency> direct, List<Dependency> managed,
+            List<DependencyNode> localModules, List<String> customRepoUrls) {
+        this.root = root;
+        this.artifactRoot = artifactRoot;
+        this.direct = List.copyOf(direct);
+        this.managed = List.copyOf(managed);
+        this.localModules = List.copyOf(localModules);
+        this.customRepoUrls = customRepoUrls != null ? List.copyOf(customRepoUrls) : List.of();
+    }
+
+    DependencyNode root() {
+        return root;
+    }
+
+    boolean artifactRoot() {
+        return artifactRoot;
+    }
+
+    List<Dependency> direct() {
+        return direct;
+    }
+
+    List<Dependency> managed() {
+        return managed;
+    }
+
+    List<DependencyNode> localModules() {
+        return localModules;
+    }
+
+    List<String> customRepoUrls() {
+        return customRepoUrls;
+    }
+
+    Map<String, List<Dependency>> descriptors() {
+        return descriptors;
+    }
+
+    GraphSecurityOverlay security() {
+        return security;
+    }
+
+    void security(GraphSecurityOverlay security) {
+        this.security = security;
+    }
+}
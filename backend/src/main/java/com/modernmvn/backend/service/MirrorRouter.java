@@ -0,0 +1,198 @@
+package com.modernmvn.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.eclipse.aether.repository.MirrorSelector;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.util.repository.DefaultMirrorSelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes remote repository traffic through the mirrors configured under
+ * {@code modernmvn.mirror.*}, using Maven's {@code mirrorOf} rules
+ * ({@code *}, {@code external:*}, ids, {@code !id}).
+ *
+ * {@link #route} replaces the repositories of a request with every healthy
+ * mirror that matches them, in configured order, so the resolver fails over
+ * to the next mirror by itself. A mirror that fails
+ * {@code failure-threshold} transfers in a row (connection errors, 5xx; not
+ * 404s) is skipped for {@code cooldown-seconds}. If no matching mirror is
+ * healthy, the original repository is used directly.
+ *
+ * The router is also the session's {@link MirrorSelector}, for repositories
+ * declared inside POMs, and its {@link #transferListener()} times every
+ * transfer per repository.
+ */
+@Service
+public class MirrorRouter implements MirrorSelector {
+
+    private static final Logger log = LoggerFactory.getLogger(MirrorRouter.class);
+
+    private static final class Mirror {
+        final String id;
+        final String url;
+        final DefaultMirrorSelector selector;
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        volatile long downUntil;
+
+        Mirror(String id, String url, String mirrorOf) {
+            this.id = id;
+            this.url = url;
+            this.selector = new DefaultMirrorSelector().add(id, url, "default", false, false, mirrorOf, "*");
+        }
+    }
+
+    private final RemoteRepository central;
+    private final List<Mirror> mirrors = new ArrayList<>();
+    private final Map<String, Mirror> mirrorsById = new HashMap<>();
+    private final int failureThreshold;
+    private final long cooldownMs;
+    private final MeterRegistry meterRegistry;
+    private final TransferListener transferListener = new MetricsListener();
+
+    public MirrorRouter(Environment env,
+            @Value("${maven.remote-repo:https://repo.maven.apache.org/maven2/}") String centralUrl,
+            @Value("${modernmvn.mirror.ids:}") List<String> mirrorIds,
+            @Value("${modernmvn.mirror.failure-threshold:3}") int failureThreshold,
+            @Value("${modernmvn.mirror.cooldown-seconds:60}") long cooldownSeconds,
+            MeterRegistry meterRegistry) {
+        this.central = new RemoteRepository.Builder("central", "default", centralUrl).build();
+        this.failureThreshold = failureThreshold;
+        this.cooldownMs = cooldownSeconds * 1000;
+        this.meterRegistry = meterRegistry;
+
+        for (String id : mirrorIds) {
+            id = id.trim();
+            if (id.isEmpty())
+                continue;
+            String url = env.getProperty("modernmvn.mirror." + id + ".url");
+            if (url == null || url.isBlank()) {
+                log.warn("Mirror '{}' has no modernmvn.mirror.{}.url, ignoring it", id, id);
+                continue;
+            }
+            String mirrorOf = env.getProperty("modernmvn.mirror." + id + ".mirror-of", "*");
+            Mirror mirror = new Mirror(id, url.trim(), mirrorOf);
+            mirrors.add(mirror);
+            mirrorsById.put(id, mirror);
+            meterRegistry.gauge("mirror.available", Tags.of("mirror", id), mirror,
+                    m -> isHealthy(m, System.currentTimeMillis()) ? 1 : 0);
+            log.info("Mirror {} -> {} (mirrorOf {})", id, mirror.url, mirrorOf);
+        }
+    }
+
+    /** Maven Central, or whatever {@code maven.remote-repo} points at. */
+    public RemoteRepository central() {
+        return central;
+    }
+
+    public TransferListener transferListener() {
+        return transferListener;
+    }
+
+    /**
+     * {@code repositories} with every repository replaced by its healthy
+     * matching mirrors, in failover order. A mirror serving several
+     * repositories appears once, listing all of them as mirrored.
+     */
+    public List<RemoteRepository> route(List<RemoteRepository> repositories) {
+        if (mirrors.isEmpty())
+            return repositories;
+        long now = System.currentTimeMillis();
+        Map<String, RemoteRepository> routed = new LinkedHashMap<>();
+        for (RemoteRepository repo : repositories) {
+            boolean mirrored = false;
+            for (Mirror mirror : mirrors) {
+                RemoteRepository m = mirror.selector.getMirror(repo);
+                if (m == null || !isHealthy(mirror, now))
+                    continue;
+                mirrored = true;
+                routed.merge(m.getId(), m, MirrorRouter::mergeMirrored);
+            }
+            if (!mirrored)
+                routed.putIfAbsent(repo.getId(), repo);
+        }
+        return new ArrayList<>(routed.values());
+    }
+
+    /** First healthy mirror of {@code repository}, for repositories found in POMs. */
+    @Override
+    public RemoteRepository getMirror(RemoteRepository repository) {
+        long now = System.currentTimeMillis();
+        for (Mirror mirror : mirrors) {
+            RemoteRepository m = mirror.selector.getMirror(repository);
+            if (m != null && isHealthy(mirror, now))
+                return m;
+        }
+        return null;
+    }
+
+    private static RemoteRepository mergeMirrored(RemoteRepository a, RemoteRepository b) {
+        List<RemoteRepository> mirrored = new ArrayList<>(a.getMirroredRepositories());
+        mirrored.addAll(b.getMirroredRepositories());
+        return new RemoteRepository.Builder(a).setMirroredRepositories(mirrored).build();
+    }
+
+    private static boolean isHealthy(Mirror mirror, long now) {
+        return mirror.downUntil <= now;
+    }
+
+    // ─── Health & Metrics ────────────────────────────────────────────
+
+    private void recordSuccess(String repositoryId) {
+        Mirror mirror = mirrorsById.get(repositoryId);
+        if (mirror != null)
+            mirror.consecutiveFailures.set(0);
+    }
+
+    private void recordFailure(String repositoryId) {
+        Mirror mirror = mirrorsById.get(repositoryId);
+        if (mirror == null)
+            return;
+        if (mirror.consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            mirror.consecutiveFailures.set(0);
+            mirror.downUntil = System.currentTimeMillis() + cooldownMs;
+            meterRegistry.counter("mirror.failovers", "mirror", mirror.id).increment();
+            log.warn("Mirror {} failed {} transfers in a row, skipping it for {}s", mirror.id, failureThreshold,
+                    cooldownMs / 1000);
+        }
+    }
+
+    private final class MetricsListener extends AbstractTransferListener {
+        @Override
+        public void transferSucceeded(TransferEvent event) {
+            record(event, "ok");
+            recordSuccess(event.getResource().getRepositoryId());
+        }
+
+        @Override
+        public void transferFailed(TransferEvent event) {
+            Exception e = event.getException();
+            boolean notFound = e instanceof ArtifactNotFoundException || e instanceof MetadataNotFoundException;
+            record(event, notFound ? "not_found" : "error");
+            if (notFound) {
+                recordSuccess(event.getResource().getRepositoryId());
+            } else {
+                recordFailure(event.getResource().getRepositoryId());
+            }
+        }
+
+        private void record(TransferEvent event, String result) {
+            long start = event.getResource().getTransferStartTime();
+            meterRegistry.timer("remote_repo.transfer_time", "repository", event.getResource().getRepositoryId(),
+                    "result", result).record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - start)));
+        }
+    }
+}
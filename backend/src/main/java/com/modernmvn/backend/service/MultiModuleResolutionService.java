@@ -0,0 +1,194 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.MultiModuleResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Resolves every module of an uploaded {@link ProjectArchive} concurrently.
+ *
+ * Each module gets its own session (sessions are not thread-safe), but all
+ * sessions share one {@link RepositoryCache}, so a descriptor or version range
+ * read by one module is reused by the rest. Dependencies between modules are
+ * wired as {@code LOCAL} nodes rather than fetched, and module POMs serve as
+ * parents/BOMs for each other. Wall time is bounded by the slowest module
+ * rather than the sum of all modules. Modules still running at the timeout
+ * are cancelled, and their downloads stop at the same deadline.
+ */
+@Service
+public class MultiModuleResolutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiModuleResolutionService.class);
+
+    private final MavenResolutionService resolutionService;
+    private final MavenConfig mavenConfig;
+    private final RepositorySystem repositorySystem;
+    private final Executor resolutionExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutSeconds;
+
+    public MultiModuleResolutionService(MavenResolutionService resolutionService, MavenConfig mavenConfig,
+            RepositorySystem repositorySystem, @Qualifier("resolutionExecutor") Executor resolutionExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${modernmvn.multi-module.timeout-seconds:300}") long timeoutSeconds) {
+        this.resolutionService = resolutionService;
+        this.mavenConfig = mavenConfig;
+        this.repositorySystem = repositorySystem;
+        this.resolutionExecutor = resolutionExecutor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Resolves all modules of {@code archive}, calling {@code onModuleResolved}
+     * as each one finishes (serialized, in completion order, never after this
+     * method returns), and returns the merged result once every module is
+     * done or the timeout elapses.
+     */
+    public MultiModuleResult resolve(ProjectArchive archive, List<String> customRepoUrls,
+            Consumer<MultiModuleResult.ModuleInfo> onModuleResolved) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        RepositoryCache sharedCache = new DefaultRepositoryCache();
+        Map<String, String> workspace = archive.workspace();
+        Set<String> reactor = archive.reactorArtifacts();
+        Object callbackLock = new Object();
+        boolean[] closed = { false };
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+
+        List<ProjectArchive.Module> all = new ArrayList<>();
+        all.add(archive.root());
+        all.addAll(archive.modules());
+
+        List<FutureTask<MultiModuleResult.ModuleInfo>> tasks = new ArrayList<>();
+        for (ProjectArchive.Module module : all) {
+            FutureTask<MultiModuleResult.ModuleInfo> task = new FutureTask<>(() -> {
+                MultiModuleResult.ModuleInfo info = toModuleInfo(module, resolutionService.resolveModule(
+                        module.pomContent(), customRepoUrls, mavenConfig.createSession(repositorySystem, sharedCache),
+                        workspace, reactor, deadline));
+                synchronized (callbackLock) {
+                    if (!closed[0])
+                        onModuleResolved.accept(info);
+                }
+                return info;
+            });
+            resolutionExecutor.execute(task);
+            tasks.add(task);
+        }
+
+        try {
+            for (FutureTask<MultiModuleResult.ModuleInfo> task : tasks) {
+                try {
+                    task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException e) {
+                    // Reported per module below
+                }
+            }
+        } catch (TimeoutException e) {
+            log.warn("Multi-module resolution of {} timed out after {}s", archive.root().gav(), timeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (callbackLock) {
+                closed[0] = true;
+            }
+            // Stragglers would otherwise keep a resolution thread and keep downloading after the response
+            for (FutureTask<MultiModuleResult.ModuleInfo> task : tasks) {
+                if (task.cancel(true))
+                    meterRegistry.counter("multi_module.cancelled").increment();
+            }
+        }
+
+        List<MultiModuleResult.ModuleInfo> infos = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            infos.add(resultOf(tasks.get(i), all.get(i)));
+        }
+
+        sample.stop(Timer.builder("multi_module.resolve_time")
+                .description("Wall time to resolve all modules of an uploaded project archive")
+                .register(meterRegistry));
+        meterRegistry.summary("multi_module.modules").record(all.size());
+
+        ProjectArchive.Module root = archive.root();
+        MultiModuleResult.ModuleInfo rootInfo = infos.get(0);
+        List<MultiModuleResult.ModuleInfo> modules = archive.isMultiModule()
+                ? infos.subList(1, infos.size())
+                : List.of(rootInfo);
+        return new MultiModuleResult(root.groupId(), root.artifactId(), root.version(), archive.isMultiModule(),
+                modules, mergedTree(rootInfo.dependencyTree(), infos.subList(1, infos.size())));
+    }
+
+    /**
+     * One graph for the whole project: the root's own dependencies followed by
+     * one node per module. {@code LOCAL} references to sibling modules are
+     * expanded with that module's resolved children.
+     */
+    static DependencyNode mergedTree(DependencyNode rootTree, List<MultiModuleResult.ModuleInfo> modules) {
+        Map<String, DependencyNode> byGa = new HashMap<>();
+        for (MultiModuleResult.ModuleInfo m : modules) {
+            byGa.put(m.groupId() + ":" + m.artifactId(), m.dependencyTree());
+        }
+
+        List<DependencyNode> children = new ArrayList<>(linkLocal(rootTree.children(), byGa));
+        for (MultiModuleResult.ModuleInfo m : modules) {
+            DependencyNode tree = m.dependencyTree();
+            children.add(new DependencyNode(m.groupId(), m.artifactId(), m.version(), "compile", m.packaging(),
+                    linkLocal(tree.children(), byGa), tree.resolutionStatus(), tree.conflictMessage()));
+        }
+        return new DependencyNode(rootTree.groupId(), rootTree.artifactId(), rootTree.version(), rootTree.scope(),
+                rootTree.type(), children, rootTree.resolutionStatus(), rootTree.conflictMessage());
+    }
+
+    private static List<DependencyNode> linkLocal(List<DependencyNode> nodes, Map<String, DependencyNode> byGa) {
+        List<DependencyNode> linked = new ArrayList<>(nodes.size());
+        for (DependencyNode node : nodes) {
+            DependencyNode module = "LOCAL".equals(node.resolutionStatus())
+                    ? byGa.get(node.groupId() + ":" + node.artifactId())
+                    : null;
+            // Single level only: the module's own LOCAL leaves stay leaves, so cycles cannot recurse
+            linked.add(module == null ? node
+                    : new DependencyNode(node.groupId(), node.artifactId(), node.version(), node.scope(),
+                            node.type(), module.children(), "LOCAL", node.conflictMessage()));
+        }
+        return linked;
+    }
+
+    private static MultiModuleResult.ModuleInfo resultOf(FutureTask<MultiModuleResult.ModuleInfo> task,
+            ProjectArchive.Module module) {
+        if (task.isDone() && !task.isCancelled()) {
+            try {
+                return task.get();
+            } catch (InterruptedException | ExecutionException e) {
+                log.debug("Module {} failed: {}", module.gav(), e.getMessage());
+            }
+        }
+        return toModuleInfo(module, errorNode(module, "Module resolution failed or timed out."));
+    }
+
+    private static MultiModuleResult.ModuleInfo toModuleInfo(ProjectArchive.Module module, DependencyNode tree) {
+        return new MultiModuleResult.ModuleInfo(module.moduleName(), module.groupId(), module.artifactId(),
+                module.version(), module.packaging(), tree);
+    }
+
+    private static DependencyNode errorNode(ProjectArchive.Module module, String message) {
+        return new DependencyNode(module.groupId(), module.artifactId(), module.version(), "compile",
+                module.packaging(), Collections.emptyList(), "ERROR", message);
+    }
+}
@@ -0,0 +1,261 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.entity.ArtifactDescriptorEntity;
+import com.modernmvn.backend.repository.ArtifactDescriptorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves a set of direct dependencies in-process with
+ * {@link DependencyMediator}, reading direct-dependency edges from the
+ * {@code artifact_descriptors} store and asking Aether only for descriptors
+ * that are not stored yet.
+ *
+ * Descriptors fetched from Maven Central are written back, so the store
+ * fills up as a side effect of normal traffic. Descriptors from custom
+ * repositories are used for the current request only and never stored, so a
+ * private repository cannot shadow a public GAV for other users. SNAPSHOTs
+ * are never stored.
+ */
+@Service
+public class NativeDependencyResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(NativeDependencyResolver.class);
+
+    private final RepositorySystem repositorySystem;
+    private final MavenConfig mavenConfig;
+    private final ArtifactDescriptorRepository descriptorRepository;
+    private final Executor descriptorExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public NativeDependencyResolver(RepositorySystem repositorySystem, MavenConfig mavenConfig,
+            ArtifactDescriptorRepository descriptorRepository,
+            @Qualifier("descriptorExecutor") Executor descriptorExecutor, MeterRegistry meterRegistry) {
+        this.repositorySystem = repositorySystem;
+        this.mavenConfig = mavenConfig;
+        this.descriptorRepository = descriptorRepository;
+        this.descriptorExecutor = descriptorExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Mediated dependency tree below {@code direct}, one node per direct
+     * dependency.
+     */
+    public List<DependencyNode> resolve(List<Dependency> direct, List<Dependency> managed,
+            List<RemoteRepository> repositories, RepositorySystemSession session) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<DependencyNode> nodes = new DependencyMediator(source(repositories, session), managed)
+                .mediate(direct);
+        sample.stop(Timer.builder("native_resolver.resolve_time")
+                .description("Time taken to mediate a dependency graph in-process")
+                .register(meterRegistry));
+        return nodes;
+    }
+
+    /**
+     * Descriptor source backed by the store and, for misses, by Aether; for
+     * callers that run {@link DependencyMediator} themselves.
+     */
+    DirectDependencySource source(List<RemoteRepository> repositories, RepositorySystemSession session) {
+        return new StoredSource(session, repositories, isCentralOnly(repositories));
+    }
+
+    /**
+     * True if every repository is central or a mirror serving only central;
+     * {@link MirrorRouter#route} replaces central by its mirrors, so the id
+     * alone does not tell.
+     */
+    static boolean isCentralOnly(List<RemoteRepository> repositories) {
+        for (RemoteRepository r : repositories) {
+            List<RemoteRepository> origins = r.getMirroredRepositories();
+            if (origins.isEmpty() ? !"central".equals(r.getId())
+                    : !origins.stream().allMatch(o -> "central".equals(o.getId())))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Store first, then Aether's descriptor reader for the misses (fetched in
+     * parallel per level). Sessions are not thread-safe, so each parallel
+     * read gets a fresh one; they share the caller's repository cache, or one
+     * of their own, so a POM read by one is not fetched again by another.
+     */
+    private final class StoredSource implements DirectDependencySource {
+        private final RepositorySystemSession session;
+        private final RepositoryCache cache;
+        private final List<RemoteRepository> repositories;
+        private final boolean persist;
+
+        StoredSource(RepositorySystemSession session, List<RemoteRepository> repositories, boolean persist) {
+            this.session = session;
+            this.cache = session != null && session.getCache() != null ? session.getCache()
+                    : new DefaultRepositoryCache();
+            this.repositories = repositories;
+            this.persist = persist;
+        }
+
+        @Override
+        public Map<String, List<Dependency>> directDependencies(List<Artifact> artifacts) {
+            Map<String, List<Dependency>> result = new HashMap<>();
+            if (artifacts.isEmpty())
+                return result;
+
+            Set<String> keys = artifacts.stream().map(NativeDependencyResolver::storeKey).collect(Collectors.toSet());
+            Map<String, List<Dependency>> stored = new HashMap<>();
+            try {
+                for (ArtifactDescriptorEntity e : descriptorRepository.findAllById(keys)) {
+                    stored.put(e.getGav(), decode(e.getDependencies()));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Descriptor store unavailable, falling back to Aether: {}", e.getMessage());
+            }
+
+            Map<String, CompletableFuture<List<Dependency>>> fetches = new HashMap<>();
+            for (Artifact a : artifacts) {
+                String key = storeKey(a);
+                if (!stored.containsKey(key) && !fetches.containsKey(key)) {
+                    fetches.put(key, CompletableFuture.supplyAsync(() -> readDescriptor(a), descriptorExecutor));
+                }
+            }
+
+            List<ArtifactDescriptorEntity> toStore = new ArrayList<>();
+            for (Map.Entry<String, CompletableFuture<List<Dependency>>> f : fetches.entrySet()) {
+                List<Dependency> deps = f.getValue().join();
+                if (deps != null) {
+                    stored.put(f.getKey(), deps);
+                    if (persist && !f.getKey().endsWith("SNAPSHOT")) {
+                        toStore.add(new ArtifactDescriptorEntity(f.getKey(), encode(deps)));
+                    }
+                }
+            }
+            save(toStore);
+
+            meterRegistry.counter("native_resolver.descriptors", "source", "store")
+                    .increment(keys.size() - fetches.size());
+            meterRegistry.counter("native_resolver.descriptors", "source", "aether").increment(fetches.size());
+
+            for (Artifact a : artifacts) {
+                List<Dependency> deps = stored.get(storeKey(a));
+                if (deps != null)
+                    result.put(DependencyMediator.gav(a), deps);
+            }
+            return result;
+        }
+
+        @Override
+        public String selectVersion(Artifact artifact) {
+            try {
+                VersionRangeResult range = repositorySystem.resolveVersionRange(session,
+                        new VersionRangeRequest(artifact, repositories, null));
+                return range.getHighestVersion() != null ? range.getHighestVersion().toString()
+                        : artifact.getVersion();
+            } catch (Exception e) {
+                log.debug("Could not resolve range for {}: {}", artifact, e.getMessage());
+                return artifact.getVersion();
+            }
+        }
+
+        /** A fresh session that still reports to the caller's transfer listener, and so honours its deadline. */
+        private RepositorySystemSession descriptorSession() {
+            RepositorySystemSession fresh = mavenConfig.createSession(repositorySystem, cache);
+            if (session == null || session.getTransferListener() == null)
+                return fresh;
+            DefaultRepositorySystemSession tracked = new DefaultRepositorySystemSession(fresh);
+            tracked.setTransferListener(session.getTransferListener());
+            return tracked;
+        }
+
+        private List<Dependency> readDescriptor(Artifact artifact) {
+            try {
+                Artifact pom = new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), "pom",
+                        artifact.getVersion());
+                return repositorySystem.readArtifactDescriptor(descriptorSession(),
+                        new ArtifactDescriptorRequest(pom, repositories, null)).getDependencies();
+            } catch (Exception e) {
+                log.debug("Descriptor unavailable for {}: {}", artifact, e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private void save(List<ArtifactDescriptorEntity> descriptors) {
+        if (descriptors.isEmpty())
+            return;
+        try {
+            descriptorRepository.saveAll(descriptors);
+        } catch (RuntimeException e) {
+            // Concurrent requests may store the same GAV; the first write wins
+            log.debug("Skipped storing {} descriptors: {}", descriptors.size(), e.getMessage());
+        }
+    }
+
+    // ─── Encoding ────────────────────────────────────────────────────
+
+    /** Descriptors are per POM, so classifier and extension do not matter. */
+    private static String storeKey(Artifact a) {
+        return a.getGroupId() + ":" + a.getArtifactId() + ":" + a.getVersion();
+    }
+
+    static String encode(List<Dependency> dependencies) {
+        StringBuilder sb = new StringBuilder();
+        for (Dependency d : dependencies) {
+            Artifact a = d.getArtifact();
+            if (sb.length() > 0)
+                sb.append('\n');
+            sb.append(a.getGroupId()).append(':').append(a.getArtifactId()).append(':').append(a.getExtension())
+                    .append(':').append(a.getClassifier()).append(':').append(a.getVersion())
+                    .append('|').append(d.getScope())
+                    .append('|').append(d.isOptional() ? '1' : '0')
+                    .append('|').append(d.getExclusions().stream()
+                            .map(x -> x.getGroupId() + ":" + x.getArtifactId())
+                            .collect(Collectors.joining(",")));
+        }
+        return sb.toString();
+    }
+
+    static List<Dependency> decode(String encoded) {
+        List<Dependency> dependencies = new ArrayList<>();
+        if (encoded == null || encoded.isEmpty())
+            return dependencies;
+        for (String line : encoded.split("\n")) {
+            String[] fields = line.split("\\|", -1);
+            String[] coords = fields[0].split(":", -1);
+            List<Exclusion> exclusions = new ArrayList<>();
+            if (!fields[3].isEmpty()) {
+                for (String x : fields[3].split(",")) {
+                    int colon = x.indexOf(':');
+                    exclusions.add(new Exclusion(x.substring(0, colon), x.substring(colon + 1), "*", "*"));
+                }
+            }
+            Artifact artifact = new DefaultArtifact(coords[0], coords[1], coords[3], coords[2], coords[4]);
+            dependencies.add(new Dependency(artifact, fields[1], "1".equals(fields[2]), exclusions));
+        }
+        return dependencies;
+    }
+}
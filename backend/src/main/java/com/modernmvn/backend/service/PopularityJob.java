@@ -0,0 +1,254 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.entity.ArtifactPopularityEntity;
+import com.modernmvn.backend.repository.ArtifactPopularityRepository;
+import com.modernmvn.backend.repository.ArtifactPopularityRepository.ArtifactScore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Periodically scores every artifact by PageRank over the
+ * {@link IndexGraphService} snapshot and stores the scores in
+ * {@code artifact_popularity}, for trending, search ranking and the order in
+ * which stale versions are refreshed.
+ *
+ * Rank flows from each version to its direct dependencies, so a library
+ * used by widely used libraries scores above one used by as many leaf
+ * projects. Each iteration pulls from the reverse edges into a fresh
+ * {@code double[]}, one vertex range per fork/join task, and stops once the
+ * L1 change between iterations drops below the tolerance. An artifact's
+ * score is the sum of its versions' scores.
+ */
+@Service
+public class PopularityJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularityJob.class);
+
+    /** Figures of the last completed run; {@code residuals} is the L1 change after each iteration. */
+    public record Report(int versions, long edges, int artifacts, int iterations, boolean converged,
+            List<Double> residuals, long durationMillis, Instant finishedAt) {
+    }
+
+    /** Result of {@link #compute}: one score per vertex, summing to 1. */
+    record Result(double[] scores, int iterations, boolean converged, List<Double> residuals) {
+    }
+
+    private final IndexGraphService indexGraph;
+    private final ArtifactPopularityRepository popularityRepository;
+    private final MeterRegistry meterRegistry;
+    private final PopularityJob self;
+    private final boolean enabled;
+    private final double damping;
+    private final double tolerance;
+    private final int maxIterations;
+    private final int parallelism;
+
+    private volatile Report lastReport;
+
+    public PopularityJob(IndexGraphService indexGraph, ArtifactPopularityRepository popularityRepository,
+            MeterRegistry meterRegistry, @Lazy PopularityJob self,
+            @Value("${modernmvn.popularity.enabled:true}") boolean enabled,
+            @Value("${modernmvn.popularity.damping:0.85}") double damping,
+            @Value("${modernmvn.popularity.tolerance:1e-9}") double tolerance,
+            @Value("${modernmvn.popularity.max-iterations:100}") int maxIterations,
+            @Value("${modernmvn.popularity.parallelism:0}") int parallelism) {
+        this.indexGraph = indexGraph;
+        this.popularityRepository = popularityRepository;
+        this.meterRegistry = meterRegistry;
+        this.self = self;
+        this.enabled = enabled;
+        this.damping = damping;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        meterRegistry.gauge("popularity_job.iterations", this,
+                s -> s.lastReport != null ? s.lastReport.iterations() : 0);
+    }
+
+    // ─── Job ─────────────────────────────────────────────────────────
+
+    @Scheduled(initialDelayString = "${modernmvn.popularity.initial-delay-ms:3600000}",
+            fixedDelayString = "${modernmvn.popularity.job-delay-ms:86400000}")
+    public synchronized void run() {
+        IndexGraph graph = indexGraph.snapshot();
+        if (!enabled || graph.vertexCount() == 0)
+            return;
+        long started = System.currentTimeMillis();
+        try {
+            IndexGraphService.VertexArtifacts artifacts = indexGraph.vertexArtifacts(graph);
+            Result result;
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                result = compute(graph, damping, tolerance, maxIterations, pool);
+            } finally {
+                pool.shutdown();
+            }
+
+            List<Long> artifactIds = artifacts.artifactIds();
+            double[] byArtifact = new double[artifactIds.size()];
+            for (int v = 0; v < graph.vertexCount(); v++) {
+                int a = artifacts.artifactOf()[v];
+                if (a >= 0)
+                    byArtifact[a] += result.scores()[v];
+            }
+            Integer[] order = new Integer[byArtifact.length];
+            for (int a = 0; a < order.length; a++)
+                order[a] = a;
+            Arrays.sort(order, (x, y) -> Double.compare(byArtifact[y], byArtifact[x]));
+            Instant now = Instant.now();
+            List<ArtifactPopularityEntity> rows = new ArrayList<>(order.length);
+            for (int r = 0; r < order.length; r++)
+                rows.add(new ArtifactPopularityEntity(artifactIds.get(order[r]), byArtifact[order[r]], r + 1, now));
+            self.replace(rows);
+
+            long duration = System.currentTimeMillis() - started;
+            meterRegistry.timer("popularity_job.duration").record(Duration.ofMillis(duration));
+            lastReport = new Report(graph.vertexCount(), graph.edgeCount(), artifactIds.size(),
+                    result.iterations(), result.converged(), result.residuals(), duration, now);
+            log.info("Popularity computed for {} artifacts in {} iterations ({}) in {} ms", artifactIds.size(),
+                    result.iterations(), result.converged() ? "converged" : "not converged", duration);
+        } catch (RuntimeException e) {
+            log.warn("Popularity job failed, keeping the previous scores: {}", e.getMessage());
+        }
+    }
+
+    /** Swaps in the new scores; readers see the old ones until commit. */
+    @Transactional
+    public void replace(List<ArtifactPopularityEntity> rows) {
+        popularityRepository.deleteAllRows();
+        popularityRepository.saveAll(rows);
+    }
+
+    public Optional<Report> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    // ─── Reads ───────────────────────────────────────────────────────
+
+    /** The {@code limit} most popular artifacts as {@code {groupId, artifactId}}; empty before the first run. */
+    public List<String[]> top(int limit) {
+        return popularityRepository.findTop(PageRequest.of(0, limit)).stream()
+                .map(s -> new String[] { s.getGroupId(), s.getArtifactId() })
+                .toList();
+    }
+
+    /** Stored scores keyed by {@code groupId:artifactId}, in one query; missing keys have none. */
+    public Map<String, Double> scores(Collection<String[]> coordinates) {
+        if (coordinates.isEmpty())
+            return Map.of();
+        Set<String> groupIds = new HashSet<>();
+        Set<String> artifactIds = new HashSet<>();
+        Set<String> wanted = new HashSet<>();
+        for (String[] ga : coordinates) {
+            groupIds.add(ga[0]);
+            artifactIds.add(ga[1]);
+            wanted.add(ga[0] + ":" + ga[1]);
+        }
+        Map<String, Double> scores = new HashMap<>();
+        for (ArtifactScore s : popularityRepository.findScores(groupIds, artifactIds)) {
+            String key = s.getGroupId() + ":" + s.getArtifactId();
+            if (wanted.contains(key))
+                scores.put(key, s.getScore());
+        }
+        return scores;
+    }
+
+    // ─── Power Iteration ─────────────────────────────────────────────
+
+    /**
+     * PageRank of every vertex, rank flowing along dependency edges. Rank of
+     * versions without dependencies is spread evenly over all vertices.
+     */
+    static Result compute(IndexGraph graph, double damping, double tolerance, int maxIterations,
+            ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        double[] share = new double[n]; // rank[u] / outDegree(u), what u passes to each dependency
+        Arrays.fill(rank, 1.0 / n);
+        List<Double> residuals = new ArrayList<>();
+        boolean converged = false;
+        int iterations = 0;
+        while (iterations < maxIterations) {
+            double dangling = 0;
+            for (int u = 0; u < n; u++) {
+                int out = graph.outDegree(u);
+                if (out == 0)
+                    dangling += rank[u];
+                share[u] = out == 0 ? 0 : rank[u] / out;
+            }
+            double base = (1 - damping) / n + damping * dangling / n;
+            double residual = pool.invoke(new IterationTask(graph, share, rank, next, base, damping, 0, n));
+            double[] swap = rank;
+            rank = next;
+            next = swap;
+            iterations++;
+            residuals.add(residual);
+            if (residual < tolerance) {
+                converged = true;
+                break;
+            }
+        }
+        return new Result(rank, iterations, converged, residuals);
+    }
+
+    /** Computes {@code next} over a vertex range and returns its L1 change. */
+    private static final class IterationTask extends RecursiveTask<Double> {
+        private static final int THRESHOLD = 8192;
+
+        private final IndexGraph graph;
+        private final double[] share;
+        private final double[] rank;
+        private final double[] next;
+        private final double base;
+        private final double damping;
+        private final int from;
+        private final int to;
+
+        IterationTask(IndexGraph graph, double[] share, double[] rank, double[] next, double base, double damping,
+                int from, int to) {
+            this.graph = graph;
+            this.share = share;
+            this.rank = rank;
+            this.next = next;
+            this.base = base;
+            this.damping = damping;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from > THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                IterationTask left = new IterationTask(graph, share, rank, next, base, damping, from, mid);
+                left.fork();
+                double right = new IterationTask(graph, share, rank, next, base, damping, mid, to).compute();
+                return left.join() + right;
+            }
+            double residual = 0;
+            for (int v = from; v < to; v++) {
+                double sum = 0;
+                for (int k = 0, in = graph.inDegree(v); k < in; k++)
+                    sum += share[graph.in(v, k)];
+                next[v] = base + damping * sum;
+                residual += Math.abs(next[v] - rank[v]);
+            }
+            return residual;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.modernmvn.backend.service;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The reactor of an uploaded project archive (zip): the top-level POM plus
+ * every module reachable through {@code <modules>}, in declaration order.
+ *
+ * Only {@code pom.xml} entries are read into memory, plus module POMs that a
+ * {@code <module>} names by file; other XML in the archive is never buffered.
+ * Stray {@code pom.xml} files that are not part of the reactor (test
+ * fixtures, archetype resources) are ignored.
+ */
+public final class ProjectArchive {
+
+    private static final int MAX_MODULES = 200;
+    private static final int MAX_ENTRIES = 20_000;
+    private static final int MAX_POM_BYTES = 512 * 1024;
+    private static final long MAX_TOTAL_POM_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * A single POM of the reactor.
+     *
+     * @param moduleName path of the module relative to the root POM, or the
+     *                   artifactId for the root itself
+     */
+    public record Module(String moduleName, String pomContent, String groupId, String artifactId, String version,
+            String packaging) {
+
+        String ga() {
+            return groupId + ":" + artifactId;
+        }
+
+        String gav() {
+            return groupId + ":" + artifactId + ":" + version;
+        }
+    }
+
+    private final Module root;
+    private final List<Module> modules;
+
+    private ProjectArchive(Module root, List<Module> modules) {
+        this.root = root;
+        this.modules = modules;
+    }
+
+    public Module root() {
+        return root;
+    }
+
+    /** Reactor modules below the root, in {@code <modules>} declaration order. */
+    public List<Module> modules() {
+        return modules;
+    }
+
+    public boolean isMultiModule() {
+        return !modules.isEmpty();
+    }
+
+    /** All reactor POMs keyed by {@code g:a:v}, for parent/BOM lookups. */
+    Map<String, String> workspace() {
+        Map<String, String> workspace = new HashMap<>();
+        workspace.put(root.gav(), root.pomContent());
+        for (Module m : modules) {
+            workspace.put(m.gav(), m.pomContent());
+        }
+        return workspace;
+    }
+
+    /** {@code groupId:artifactId} of every reactor POM. */
+    Set<String> reactorArtifacts() {
+        Set<String> artifacts = new HashSet<>();
+        artifacts.add(root.ga());
+        for (Module m : modules) {
+            artifacts.add(m.ga());
+        }
+        return artifacts;
+    }
+
+    /**
+     * Reads the reactor from a zip archive.
+     *
+     * @throws IllegalArgumentException if the archive is malformed, exceeds the
+     *                                  size limits or contains no POM
+     */
+    public static ProjectArchive read(byte[] zip) {
+        Map<String, String> poms = readPomEntries(zip, ProjectArchive::isPomXml, MAX_TOTAL_POM_BYTES);
+
+        String rootPath = poms.keySet().stream()
+                .filter(p -> p.endsWith("pom.xml"))
+                .min(Comparator.comparingInt((String p) -> segments(p).size()).thenComparing(p -> p))
+                .orElseThrow(() -> new IllegalArgumentException("Archive contains no pom.xml."));
+        String rootDir = parentDir(rootPath);
+
+        Module root = null;
+        List<Module> modules = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(rootPath);
+
+        while (!pending.isEmpty()) {
+            String path = pending.poll();
+            if (!visited.add(path))
+                continue;
+            String content = poms.get(path);
+            if (content == null && !isPomXml(path)) {
+                // <module> naming its POM file explicitly; read on demand, as it is rare
+                String wanted = path;
+                long used = poms.values().stream().mapToLong(p -> p.getBytes(StandardCharsets.UTF_8).length).sum();
+                content = readPomEntries(zip, wanted::equals, MAX_TOTAL_POM_BYTES - used).get(path);
+                if (content != null)
+                    poms.put(path, content);
+            }
+            if (content == null)
+                continue; // <module> pointing outside the archive
+
+            Model model = parse(path, content);
+            String dir = parentDir(path);
+            String groupId = model.getGroupId() != null ? model.getGroupId()
+                    : (model.getParent() != null ? model.getParent().getGroupId() : "unknown");
+            String version = model.getVersion() != null ? model.getVersion()
+                    : (model.getParent() != null ? model.getParent().getVersion() : "0.0.1-SNAPSHOT");
+            String packaging = model.getPackaging() != null ? model.getPackaging() : "jar";
+
+            if (root == null) {
+                root = new Module(model.getArtifactId(), content, groupId, model.getArtifactId(), version, packaging);
+            } else {
+                if (modules.size() >= MAX_MODULES) {
+                    throw new IllegalArgumentException("Archive exceeds the limit of " + MAX_MODULES + " modules.");
+                }
+                String moduleName = relativize(rootDir, dir);
+                modules.add(new Module(moduleName.isEmpty() ? model.getArtifactId() : moduleName, content, groupId,
+                        model.getArtifactId(), version, packaging));
+            }
+
+            for (String module : model.getModules()) {
+                String target = normalize(dir.isEmpty() ? module : dir + "/" + module);
+                pending.add(target.endsWith(".xml") ? target : (target.isEmpty() ? "pom.xml" : target + "/pom.xml"));
+            }
+        }
+        return new ProjectArchive(root, List.copyOf(modules));
+    }
+
+    // ─── Helpers ─────────────────────────────────────────────────────
+
+    private static boolean isPomXml(String path) {
+        return path.equals("pom.xml") || path.endsWith("/pom.xml");
+    }
+
+    /**
+     * Reads the entries whose normalized path is {@code wanted}; everything
+     * else is skipped without being buffered, so only POMs count toward
+     * {@code maxTotalBytes}.
+     */
+    private static Map<String, String> readPomEntries(byte[] zip, Predicate<String> wanted, long maxTotalBytes) {
+        Map<String, String> poms = new HashMap<>();
+        long totalBytes = 0;
+        int entries = 0;
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (++entries > MAX_ENTRIES) {
+                    throw new IllegalArgumentException("Archive contains too many entries.");
+                }
+                String name = normalize(entry.getName());
+                if (entry.isDirectory() || !wanted.test(name))
+                    continue;
+
+                byte[] content = readBounded(in, name);
+                totalBytes += content.length;
+                if (totalBytes > maxTotalBytes) {
+                    throw new IllegalArgumentException("Archive POM files exceed the total size limit.");
+                }
+                poms.put(name, new String(content, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Uploaded file is not a valid zip archive.");
+        }
+        if (entries == 0) {
+            throw new IllegalArgumentException("Uploaded file is not a valid zip archive.");
+        }
+        return poms;
+    }
+
+    private static byte[] readBounded(InputStream in, String name) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (out.size() > MAX_POM_BYTES) {
+                throw new IllegalArgumentException(
+                        name + " exceeds maximum size of " + (MAX_POM_BYTES / 1024) + " KB.");
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static Model parse(String path, String content) {
+        try {
+            return new MavenXpp3Reader().read(new StringReader(content));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid POM at " + path + ": " + e.getMessage());
+        }
+    }
+
+    /** Resolves "." and ".." segments; entries escaping the archive root lose them. */
+    private static String normalize(String path) {
+        Deque<String> out = new ArrayDeque<>();
+        for (String segment : segments(path)) {
+            if (segment.equals("..")) {
+                out.pollLast();
+            } else if (!segment.equals(".")) {
+                out.addLast(segment);
+            }
+        }
+        return String.join("/", out);
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String s : path.replace('\\', '/').split("/")) {
+            if (!s.isEmpty())
+                segments.add(s);
+        }
+        return segments;
+    }
+
+    private static String parentDir(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    private static String relativize(String baseDir, String dir) {
+        if (baseDir.isEmpty())
+            return dir;
+        return dir.startsWith(baseDir + "/") ? dir.substring(baseDir.length() + 1) : dir;
+    }
+}
@@ -2,13 +2,36 @@ package com.modernmvn.backend.service;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
 
 @Service
 public class RateLimiterService {
 
+    private static final RedisScript<Long> INCREMENT_SCRIPT = RedisScript.of("""
+            local count = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if redis.call('TTL', KEYS[1]) < 0 then
+                redis.call('EXPIRE', KEYS[1], ARGV[2])
+            end
+            return count
+            """, Long.class);
+
+    // Rejected requests take nothing, so a refused batch does not drain the window
+    private static final RedisScript<Long> CONSUME_SCRIPT = RedisScript.of("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if current + tonumber(ARGV[1]) > tonumber(ARGV[3]) then
+                return -1
+            end
+            local count = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if redis.call('TTL', KEYS[1]) < 0 then
+                redis.call('EXPIRE', KEYS[1], ARGV[2])
+            end
+            return count
+            """, Long.class);
+
     private final StringRedisTemplate redisTemplate;
     private final MeterRegistry meterRegistry;
 
@@ -28,18 +51,19 @@ public class RateLimiterService {
      * @return true if the request is allowed, false otherwise
      */
     public boolean tryConsume(String key, int limit, int durationMinutes) {
-        String fullKey = "rate_limit:" + key;
-
-        // Use Redis INCR and EXPIRE for a simple fixed-window rate limiter
-        Long count = redisTemplate.opsForValue().increment(fullKey);
+        return tryConsume(key, limit, durationMinutes, 1);
+    }
 
-        if (count != null && count == 1) {
-            // First request in the window, set expiration
-            Duration expiry = Duration.ofMinutes(durationMinutes);
-            redisTemplate.expire(fullKey, expiry);
-        }
+    /**
+     * Like {@link #tryConsume(String, int, int)}, but the request costs
+     * {@code permits} units of the window's budget instead of one. Checked
+     * and consumed in one script: a refused request consumes nothing.
+     */
+    public boolean tryConsume(String key, int limit, int durationMinutes, long permits) {
+        Long count = redisTemplate.execute(CONSUME_SCRIPT, List.of("rate_limit:" + key), Long.toString(permits),
+                Long.toString(Duration.ofMinutes(durationMinutes).toSeconds()), Integer.toString(limit));
 
-        boolean allowed = count != null && count <= limit;
+        boolean allowed = count != null && count >= 0;
 
         if (!allowed) {
             meterRegistry.counter("rate_limit.blocked", "key", key).increment();
@@ -47,4 +71,25 @@ public class RateLimiterService {
 
         return allowed;
     }
+
+    /**
+     * Charges {@code permits} more units to the current window once the real
+     * cost of an admitted request is known. Never blocks the request itself;
+     * the caller's next request is refused if the window is now exhausted.
+     */
+    public void charge(String key, int durationMinutes, long permits) {
+        if (permits <= 0)
+            return;
+        increment(key, durationMinutes, permits);
+    }
+
+    /**
+     * INCRBY and EXPIRE in one script, so a window always ends: the expiry is
+     * set whenever the key has none, not only by the request that created it,
+     * which a failed EXPIRE or a concurrent charge could otherwise skip.
+     */
+    private Long increment(String key, int durationMinutes, long permits) {
+        return redisTemplate.execute(INCREMENT_SCRIPT, List.of("rate_limit:" + key), Long.toString(permits),
+                Long.toString(Duration.ofMinutes(durationMinutes).toSeconds()));
+    }
 }
@@ -0,0 +1,125 @@
+package com.modernmvn.backend.service;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelSource;
+import org.apache.maven.model.building.StringModelSource;
+import org.apache.maven.model.resolution.ModelResolver;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ModelResolver} that fetches parent POMs and imported BOMs through
+ * Aether, using the same session and repositories as the dependency collection
+ * that follows.
+ *
+ * Repositories declared inside uploaded POMs are ignored on purpose. Only the
+ * validated central and custom HTTPS repositories are ever contacted.
+ */
+class RepositoryModelResolver implements ModelResolver {
+
+    private final RepositorySystem repositorySystem;
+    private final RepositorySystemSession session;
+    private final List<RemoteRepository> repositories;
+    private final Map<String, String> workspace;
+
+    RepositoryModelResolver(RepositorySystem repositorySystem, RepositorySystemSession session,
+            List<RemoteRepository> repositories) {
+        this(repositorySystem, session, repositories, Map.of());
+    }
+
+    /**
+     * @param workspace POM contents of an uploaded project keyed by {@code g:a:v};
+     *                  these win over the remote repositories so that unpublished
+     *                  in-project parents and BOMs resolve.
+     */
+    RepositoryModelResolver(RepositorySystem repositorySystem, RepositorySystemSession session,
+            List<RemoteRepository> repositories, Map<String, String> workspace) {
+        this.repositorySystem = repositorySystem;
+        this.session = session;
+        this.repositories = repositories;
+        this.workspace = workspace;
+    }
+
+    @Override
+    public ModelSource resolveModel(String groupId, String artifactId, String version)
+            throws UnresolvableModelException {
+        String gav = groupId + ":" + artifactId + ":" + version;
+        String local = workspace.get(gav);
+        if (local != null) {
+            return new StringModelSource(local, gav);
+        }
+
+        Artifact pom = new DefaultArtifact(groupId, artifactId, "", "pom", version);
+        try {
+            ArtifactRequest request = new ArtifactRequest(pom, repositories, null);
+            Artifact resolved = repositorySystem.resolveArtifact(session, request).getArtifact();
+            return new FileModelSource(resolved.getFile());
+        } catch (ArtifactResolutionException e) {
+            throw new UnresolvableModelException(e.getMessage(), groupId, artifactId, version, e);
+        }
+    }
+
+    @Override
+    public ModelSource resolveModel(Parent parent) throws UnresolvableModelException {
+        String version = resolveHighestInRange(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+        parent.setVersion(version);
+        return resolveModel(parent.getGroupId(), parent.getArtifactId(), version);
+    }
+
+    @Override
+    public ModelSource resolveModel(Dependency dependency) throws UnresolvableModelException {
+        String version = resolveHighestInRange(dependency.getGroupId(), dependency.getArtifactId(),
+                dependency.getVersion());
+        dependency.setVersion(version);
+        return resolveModel(dependency.getGroupId(), dependency.getArtifactId(), version);
+    }
+
+    @Override
+    public void addRepository(Repository repository) {
+        // POM-declared repositories are not trusted — see class comment
+    }
+
+    @Override
+    public void addRepository(Repository repository, boolean replace) {
+        // POM-declared repositories are not trusted — see class comment
+    }
+
+    @Override
+    public ModelResolver newCopy() {
+        return new RepositoryModelResolver(repositorySystem, session, repositories, workspace);
+    }
+
+    private String resolveHighestInRange(String groupId, String artifactId, String version)
+            throws UnresolvableModelException {
+        if (version == null || !(version.startsWith("[") || version.startsWith("("))) {
+            return version;
+        }
+        try {
+            Artifact pom = new DefaultArtifact(groupId, artifactId, "", "pom", version);
+            VersionRangeResult result = repositorySystem.resolveVersionRange(session,
+                    new VersionRangeRequest(pom, repositories, null));
+            if (result.getHighestVersion() == null) {
+                throw new UnresolvableModelException("No versions matched range " + version, groupId, artifactId,
+                        version);
+            }
+            return result.getHighestVersion().toString();
+        } catch (VersionRangeResolutionException e) {
+            throw new UnresolvableModelException(e.getMessage(), groupId, artifactId, version, e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.GraphSecurityOverlay;
+import com.modernmvn.backend.dto.SecurityAdvisory.Severity;
+import com.modernmvn.backend.entity.IndexingJobEntity;
+import com.modernmvn.backend.repository.ArtifactVulnerabilityRepository;
+import com.modernmvn.backend.repository.ArtifactVulnerabilityRepository.GavVulnerability;
+import com.modernmvn.backend.repository.IndexingJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Annotates a whole resolved graph with the vulnerabilities already stored
+ * for its artifacts, using a single query for all nodes instead of one OSV
+ * or database lookup per node. The same query tells which nodes have never
+ * been indexed; those can be queued for the background indexing worker
+ * rather than indexed inline. Only Central coordinates are queued: the root
+ * of an uploaded POM and anything that came from a custom repository would
+ * never index, and must not reach the public index anyway.
+ */
+@Service
+public class SecurityOverlayService {
+
+    private static final Logger log = LoggerFactory.getLogger(SecurityOverlayService.class);
+
+    // Statuses of nodes that are not on the resolved classpath
+    private static final Set<String> SKIPPED_STATUSES = Set.of("CONFLICT", "LOCAL", "ERROR", "MISSING");
+
+    private final ArtifactVulnerabilityRepository artifactVulnRepository;
+    private final IndexingJobRepository jobRepository;
+    private final MavenResolutionService resolutionService;
+    private final MeterRegistry meterRegistry;
+    private final int maxEnqueue;
+
+    public SecurityOverlayService(ArtifactVulnerabilityRepository artifactVulnRepository,
+            IndexingJobRepository jobRepository, MavenResolutionService resolutionService,
+            MeterRegistry meterRegistry,
+            @Value("${modernmvn.security-overlay.max-enqueue:500}") int maxEnqueue) {
+        this.artifactVulnRepository = artifactVulnRepository;
+        this.jobRepository = jobRepository;
+        this.resolutionService = resolutionService;
+        this.meterRegistry = meterRegistry;
+        this.maxEnqueue = maxEnqueue;
+    }
+
+    /** Overlay for every resolved node below (and including) {@code root}. */
+    public GraphSecurityOverlay overlay(DependencyNode root) {
+        return overlay(resolvedGavs(root), null);
+    }
+
+    /**
+     * Like {@link #overlay(DependencyNode)}; with {@code enqueueUnindexed},
+     * nodes below the root that have never been indexed, were fetched from
+     * Central and have no indexing job yet also get a PENDING one.
+     */
+    public GraphSecurityOverlay overlay(DependencyNode root, boolean enqueueUnindexed) {
+        return overlay(resolvedGavs(root),
+                enqueueUnindexed ? root.groupId() + ":" + root.artifactId() + ":" + root.version() : null);
+    }
+
+    /**
+     * Overlay for a set of {@code groupId:artifactId:version} keys; unless
+     * {@code root} is null, unindexed keys other than {@code root} are queued.
+     */
+    private GraphSecurityOverlay overlay(Set<String> gavs, String root) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<String, List<GavVulnerability>> byGav = new TreeMap<>();
+        Set<String> artifactIds = new HashSet<>();
+        Set<String> versions = new HashSet<>();
+        for (String gav : gavs) {
+            String[] parts = gav.split(":", 3);
+            artifactIds.add(parts[1]);
+            versions.add(parts[2]);
+        }
+        boolean lookedUp = gavs.isEmpty();
+        if (!gavs.isEmpty()) {
+            try {
+                for (GavVulnerability row : artifactVulnRepository.findByArtifactIdsAndVersions(artifactIds,
+                        versions)) {
+                    String gav = row.getGroupId() + ":" + row.getArtifactId() + ":" + row.getVersion();
+                    if (gavs.contains(gav)) {
+                        byGav.computeIfAbsent(gav, k -> new ArrayList<>()).add(row);
+                    }
+                }
+                lookedUp = true;
+            } catch (RuntimeException e) {
+                log.warn("Security overlay unavailable: {}", e.getMessage());
+            }
+        }
+
+        List<String> unindexed = new ArrayList<>();
+        if (lookedUp) {
+            for (String gav : gavs) {
+                if (!byGav.containsKey(gav))
+                    unindexed.add(gav);
+            }
+            Collections.sort(unindexed);
+        }
+        int enqueued = 0;
+        if (root != null) {
+            List<String> candidates = new ArrayList<>(unindexed);
+            candidates.remove(root);
+            enqueued = enqueue(candidates, artifactIds, versions);
+        }
+
+        GraphSecurityOverlay overlay = aggregate(gavs.size(), byGav, unindexed, enqueued);
+        sample.stop(meterRegistry.timer("security_overlay.time"));
+        return overlay;
+    }
+
+    /**
+     * Queues each Central GAV that has no job at all, at most
+     * {@code max-enqueue} per call. A GAV that already has one, in whatever
+     * state, is left to the worker and its retry limit: a FAILED job is not
+     * revived by asking again.
+     */
+    private int enqueue(List<String> unindexed, Set<String> artifactIds, Set<String> versions) {
+        if (unindexed.isEmpty())
+            return 0;
+        try {
+            Set<String> existing = new HashSet<>();
+            for (IndexingJobEntity job : jobRepository.findByArtifactIdsAndVersions(artifactIds, versions))
+                existing.add(job.getGroupId() + ":" + job.getArtifactId() + ":" + job.getVersion());
+            List<String> candidates = new ArrayList<>();
+            for (String gav : unindexed) {
+                if (!existing.contains(gav))
+                    candidates.add(gav);
+            }
+            Set<String> central = resolutionService.fetchedFromCentral(candidates);
+            List<IndexingJobEntity> jobs = new ArrayList<>();
+            for (String gav : candidates) {
+                if (jobs.size() >= maxEnqueue)
+                    break;
+                if (central.contains(gav)) {
+                    String[] parts = gav.split(":", 3);
+                    jobs.add(new IndexingJobEntity(parts[0], parts[1], parts[2]));
+                }
+            }
+            jobRepository.saveAll(jobs);
+            meterRegistry.counter("security_overlay.enqueued").increment(jobs.size());
+            return jobs.size();
+        } catch (RuntimeException e) {
+            // Usually a concurrent request queued the same GAV; the next overlay retries the rest
+            log.debug("Could not enqueue unindexed artifacts: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    static GraphSecurityOverlay aggregate(int checked, Map<String, List<GavVulnerability>> byGav,
+            List<String> unindexed, int enqueued) {
+        int total = 0, critical = 0, high = 0, medium = 0, low = 0;
+        double maxCvss = -1;
+        List<GraphSecurityOverlay.VulnerableArtifact> artifacts = new ArrayList<>();
+        for (Map.Entry<String, List<GavVulnerability>> e : byGav.entrySet()) {
+            Severity highest = null;
+            double artifactMax = -1;
+            Set<String> ids = new TreeSet<>();
+            for (GavVulnerability v : e.getValue()) {
+                if (v.getVulnerabilityId() == null || !ids.add(v.getVulnerabilityId()))
+                    continue;
+                Severity severity = severity(v.getSeverity());
+                switch (severity) {
+                    case CRITICAL -> critical++;
+                    case HIGH -> high++;
+                    case MEDIUM -> medium++;
+                    case LOW -> low++;
+                    default -> {
+                    }
+                }
+                if (highest == null || severity.ordinal() < highest.ordinal())
+                    highest = severity;
+                if (v.getCvssScore() != null)
+                    artifactMax = Math.max(artifactMax, v.getCvssScore());
+            }
+            if (ids.isEmpty())
+                continue; // indexed, nothing known
+            total += ids.size();
+            maxCvss = Math.max(maxCvss, artifactMax);
+            String[] gav = e.getKey().split(":", 3);
+            artifacts.add(new GraphSecurityOverlay.VulnerableArtifact(gav[0], gav[1], gav[2], highest, artifactMax,
+                    List.copyOf(ids)));
+        }
+        return new GraphSecurityOverlay(checked, artifacts.size(), total, critical, high, medium, low, maxCvss,
+                artifacts, List.copyOf(unindexed), enqueued);
+    }
+
+    private static Severity severity(String value) {
+        try {
+            return value != null ? Severity.valueOf(value) : Severity.UNKNOWN;
+        } catch (IllegalArgumentException e) {
+            return Severity.UNKNOWN;
+        }
+    }
+
+    static Set<String> resolvedGavs(DependencyNode root) {
+        Set<String> gavs = new HashSet<>();
+        Deque<DependencyNode> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            DependencyNode node = queue.poll();
+            if (SKIPPED_STATUSES.contains(node.resolutionStatus()))
+                continue;
+            gavs.add(node.groupId() + ":" + node.artifactId() + ":" + node.version());
+            queue.addAll(node.children());
+        }
+        return gavs;
+    }
+}
@@ -0,0 +1,170 @@
+package com.modernmvn.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.maven.model.building.ModelCache;
+import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache for parsed parent POMs and imported BOMs, keyed by the
+ * repositories they were resolved from, GAV and model-builder tag.
+ *
+ * Maven's default cache lives in the session's RepositoryCache and dies with
+ * it, so every resolution used to re-read and re-parse the same
+ * spring-boot-dependencies BOM. This cache is shared by uploaded-POM model
+ * building and by Aether's descriptor reader. The model builder clones
+ * entries on the way in and out, so sharing across threads is safe.
+ *
+ * A model is only served to requests resolving from the same repositories
+ * (central, or central plus the same custom repositories in the same order).
+ * Otherwise a parent or BOM published under a well-known GAV in one user's
+ * custom repository would replace the real one in everybody else's
+ * resolutions. Mirrors count as the repositories they mirror.
+ *
+ * SNAPSHOT models are never cached because they can change under the same GAV.
+ */
+@Service
+public class SharedModelCache {
+
+    /** Scope of the descriptor read running on this thread; see {@link #decorate}. */
+    private static final ThreadLocal<String> READ_SCOPE = new ThreadLocal<>();
+
+    private final Map<String, Object> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final MeterRegistry meterRegistry;
+
+    public SharedModelCache(@Value("${modernmvn.model-cache.max-entries:5000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.meterRegistry = meterRegistry;
+
+        meterRegistry.gauge("model_cache.size", entries, Map::size);
+    }
+
+    /** View for models resolved from {@code repositories}. */
+    public ModelCache scoped(List<RemoteRepository> repositories) {
+        return scoped(repositories, Set.of());
+    }
+
+    /**
+     * View for models resolved from {@code repositories} that never reads or
+     * writes the given {@code g:a:v} coordinates. Used for uploaded project
+     * archives, whose module POMs may reuse GAVs of published artifacts and
+     * must not leak into other requests.
+     */
+    public ModelCache scoped(List<RemoteRepository> repositories, Set<String> excludedGavs) {
+        return new Scope(scopeOf(repositories), excludedGavs);
+    }
+
+    /**
+     * Wraps Aether's descriptor reader so that the models it builds are cached
+     * under the repositories of each descriptor request; {@link #forDescriptorRead()}
+     * hands that scope to the reader's model builder. Model building runs on
+     * the calling thread, so the scope is kept in a thread-local for the
+     * duration of the read.
+     */
+    public ArtifactDescriptorReader decorate(ArtifactDescriptorReader delegate) {
+        return (session, request) -> {
+            String previous = READ_SCOPE.get();
+            READ_SCOPE.set(scopeOf(request.getRepositories()));
+            try {
+                return delegate.readArtifactDescriptor(session, request);
+            } finally {
+                if (previous != null)
+                    READ_SCOPE.set(previous);
+                else
+                    READ_SCOPE.remove();
+            }
+        };
+    }
+
+    /**
+     * View for the descriptor read on this thread. Outside of a
+     * {@link #decorate decorated} read nothing is cached, since the
+     * repositories are unknown.
+     */
+    public ModelCache forDescriptorRead() {
+        String scope = READ_SCOPE.get();
+        return scope != null ? new Scope(scope, Set.of()) : Scope.NONE;
+    }
+
+    /**
+     * Cache scope of a repository list: the URLs of the repositories in
+     * order, with every mirror replaced by the repositories it mirrors, so
+     * failing over between mirrors keeps hitting the same entries.
+     */
+    static String scopeOf(List<RemoteRepository> repositories) {
+        Set<String> urls = new LinkedHashSet<>();
+        for (RemoteRepository repository : repositories) {
+            List<RemoteRepository> origins = repository.getMirroredRepositories();
+            if (origins.isEmpty())
+                urls.add(repository.getUrl());
+            else
+                origins.forEach(origin -> urls.add(origin.getUrl()));
+        }
+        return String.join(" ", urls);
+    }
+
+    private void put(String scope, String groupId, String artifactId, String version, String tag, Object data) {
+        if (version == null || version.endsWith("SNAPSHOT"))
+            return;
+        if (entries.size() >= maxEntries) {
+            // Parents and BOMs are a small, hot set; a rare full reset is cheaper than LRU bookkeeping
+            entries.clear();
+        }
+        entries.put(key(scope, groupId, artifactId, version, tag), data);
+    }
+
+    private Object get(String scope, String groupId, String artifactId, String version, String tag) {
+        Object data = entries.get(key(scope, groupId, artifactId, version, tag));
+        meterRegistry.counter("model_cache.lookup", "tag", tag, "result", data != null ? "hit" : "miss")
+                .increment();
+        return data;
+    }
+
+    private static String key(String scope, String groupId, String artifactId, String version, String tag) {
+        return scope + "|" + groupId + ":" + artifactId + ":" + version + ":" + tag;
+    }
+
+    private final class Scope implements ModelCache {
+
+        static final ModelCache NONE = new ModelCache() {
+            @Override
+            public void put(String groupId, String artifactId, String version, String tag, Object data) {
+            }
+
+            @Override
+            public Object get(String groupId, String artifactId, String version, String tag) {
+                return null;
+            }
+        };
+
+        private final String scope;
+        private final Set<String> excludedGavs;
+
+        Scope(String scope, Set<String> excludedGavs) {
+            this.scope = scope;
+            this.excludedGavs = excludedGavs;
+        }
+
+        @Override
+        public void put(String groupId, String artifactId, String version, String tag, Object data) {
+            if (!excludedGavs.contains(groupId + ":" + artifactId + ":" + version))
+                SharedModelCache.this.put(scope, groupId, artifactId, version, tag, data);
+        }
+
+        @Override
+        public Object get(String groupId, String artifactId, String version, String tag) {
+            return excludedGavs.contains(groupId + ":" + artifactId + ":" + version) ? null
+                    : SharedModelCache.this.get(scope, groupId, artifactId, version, tag);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.modernmvn.backend.service;
+
+import java.util.*;
+
+/**
+ * Space-Saving heavy-hitter sketch: at most {@code capacity} counters, and a
+ * key seen while all are taken replaces the smallest one and inherits its
+ * count. Counts are upper bounds, off by at most the count a key inherited,
+ * and every key seen more than {@code total / capacity} times is guaranteed
+ * to hold a counter. Count minus inherited count is a lower bound: weight
+ * offered for the key itself.
+ *
+ * Not thread-safe; the owner synchronizes.
+ */
+final class SpaceSavingSketch {
+
+    private static final class Counter {
+        final String key;
+        final double error; // count inherited from the evicted counter
+        double count;
+        double queued; // count when last put on the heap; lower than count once it went stale
+
+        Counter(String key, double count, double error) {
+            this.key = key;
+            this.error = error;
+            this.count = count;
+            this.queued = count;
+        }
+    }
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    // Smallest counter first; entries are refreshed lazily when they come up stale
+    private final PriorityQueue<Counter> heap = new PriorityQueue<>(Comparator.comparingDouble(c -> c.queued));
+    private double total;
+
+    SpaceSavingSketch(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+    }
+
+    void offer(String key) {
+        offer(key, 1);
+    }
+
+    void offer(String key, double weight) {
+        total += weight;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            return;
+        }
+        double inherited = 0;
+        if (counters.size() >= capacity) {
+            Counter min;
+            while ((min = heap.poll()).queued != min.count) {
+                min.queued = min.count;
+                heap.add(min);
+            }
+            counters.remove(min.key);
+            inherited = min.count;
+        }
+        counter = new Counter(key, inherited + weight, inherited);
+        counters.put(key, counter);
+        heap.add(counter);
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    /** Sum of all weights offered, counted or evicted. */
+    double total() {
+        return total;
+    }
+
+    /** Estimated count of {@code key}, 0 if it holds no counter. */
+    double count(String key) {
+        Counter counter = counters.get(key);
+        return counter != null ? counter.count : 0;
+    }
+
+    /** Copy of every counter. */
+    Map<String, Double> counts() {
+        Map<String, Double> counts = new HashMap<>(counters.size() * 2);
+        for (Counter c : counters.values())
+            counts.put(c.key, c.count);
+        return counts;
+    }
+
+    /**
+     * Lower bound of every counter, {@code count - error}: only the weight
+     * offered for the key itself, none inherited. Keys whose whole count is
+     * inherited are left out.
+     */
+    Map<String, Double> guaranteedCounts() {
+        Map<String, Double> counts = new HashMap<>(counters.size() * 2);
+        for (Counter c : counters.values()) {
+            if (c.count > c.error)
+                counts.put(c.key, c.count - c.error);
+        }
+        return counts;
+    }
+
+    /** The {@code k} largest of {@code counts}, largest first, ties by key. */
+    static List<Map.Entry<String, Double>> top(Map<String, Double> counts, int k) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(k)
+                .toList();
+    }
+}
@@ -0,0 +1,256 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.SearchResult.SearchResultItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * "Trending this week" from what users actually open: artifact page views
+ * are counted in memory, in one {@link SpaceSavingSketch} per UTC day, so a
+ * view costs a hash lookup and no I/O, and a node holds at most two bounded
+ * sketches (today's, and yesterday's until it has been shipped). A client
+ * counts at most once per artifact and day: a salted hash of its address and
+ * the artifact is remembered, in an LRU set of at most
+ * {@code modernmvn.trending.max-client-views} per day, so reloads and
+ * scripted requests from one address do not add up.
+ *
+ * Every sync each node overwrites its own hash per day in Redis with the
+ * guaranteed counts of its sketch (without what a counter inherited on
+ * eviction), so {@code min-views} applies to views that really happened, then
+ * merges the hashes of all nodes over the window, older days
+ * weighted down by the half-life, and keeps the top artifacts enriched for
+ * {@code /api/maven/trending}. If Redis is unreachable the node falls back to
+ * its own counts.
+ */
+@Service
+public class TrafficTrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficTrendingService.class);
+
+    private static final String KEY_PREFIX = "trending:";
+    private static final int TOP_K = 20;
+
+    private final StringRedisTemplate redisTemplate;
+    private final MavenCentralService mavenCentralService;
+    private final boolean enabled;
+    private final int capacity;
+    private final int windowDays;
+    private final double halfLifeDays;
+    private final double minViews;
+    private final String nodeId;
+    private final int maxClientViews;
+    private final int salt = new Random().nextInt();
+    private final Counter views;
+    private final Counter repeatViews;
+
+    private final Map<Long, SpaceSavingSketch> local = new TreeMap<>(); // epoch day -> sketch, guarded by this
+    private final Map<Long, Set<Long>> seen = new HashMap<>(); // epoch day -> client/artifact hashes, guarded by this
+    private volatile List<String> topKeys = List.of();
+    private volatile List<SearchResultItem> trending;
+
+    public TrafficTrendingService(StringRedisTemplate redisTemplate, MavenCentralService mavenCentralService,
+            MeterRegistry meterRegistry,
+            @Value("${modernmvn.trending.enabled:true}") boolean enabled,
+            @Value("${modernmvn.trending.capacity:1000}") int capacity,
+            @Value("${modernmvn.trending.window-days:7}") int windowDays,
+            @Value("${modernmvn.trending.half-life-days:2}") double halfLifeDays,
+            @Value("${modernmvn.trending.min-views:5}") double minViews,
+            @Value("${modernmvn.trending.node-id:}") String nodeId,
+            @Value("${modernmvn.trending.max-client-views:200000}") int maxClientViews) {
+        this.redisTemplate = redisTemplate;
+        this.mavenCentralService = mavenCentralService;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.windowDays = windowDays;
+        this.halfLifeDays = halfLifeDays;
+        this.minViews = minViews;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.maxClientViews = maxClientViews;
+        this.views = meterRegistry.counter("trending.views");
+        this.repeatViews = meterRegistry.counter("trending.repeat_views");
+
+        meterRegistry.gauge("trending.local_counters", this, s -> {
+            synchronized (s) {
+                return s.local.values().stream().mapToInt(SpaceSavingSketch::size).sum();
+            }
+        });
+    }
+
+    // ─── Recording ───────────────────────────────────────────────────
+
+    /** Counts one view of an artifact page by {@code client}, unless it already viewed it today. */
+    public void recordView(String groupId, String artifactId, String client) {
+        if (!enabled)
+            return;
+        long day = today();
+        String key = groupId + ":" + artifactId;
+        long viewer = ((long) key.hashCode() << 32) | ((Objects.hashCode(client) ^ salt) & 0xFFFFFFFFL);
+        synchronized (this) {
+            if (!seen.computeIfAbsent(day, d -> lruSet(maxClientViews)).add(viewer)) {
+                repeatViews.increment();
+                return;
+            }
+            local.computeIfAbsent(day, d -> new SpaceSavingSketch(capacity)).offer(key);
+        }
+        views.increment();
+    }
+
+    private static Set<Long> lruSet(int maxEntries) {
+        return Collections.newSetFromMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    // ─── Sync ────────────────────────────────────────────────────────
+
+    @Scheduled(initialDelayString = "${modernmvn.trending.sync-ms:60000}",
+            fixedDelayString = "${modernmvn.trending.sync-ms:60000}")
+    public void sync() {
+        if (!enabled)
+            return;
+        long today = today();
+        Map<Long, Map<String, Double>> snapshot = new TreeMap<>();
+        synchronized (this) {
+            // Lower bounds, so an artifact's count never includes views inherited from another
+            local.forEach((day, sketch) -> snapshot.put(day, sketch.guaranteedCounts()));
+        }
+
+        Map<Long, List<Map<String, Double>>> buckets;
+        try {
+            snapshot.forEach(this::publish);
+            synchronized (this) {
+                // Past days are final once shipped
+                local.keySet().removeIf(day -> day < today);
+                seen.keySet().removeIf(day -> day < today);
+            }
+            buckets = fetch(today);
+        } catch (RuntimeException e) {
+            log.warn("Trending sync through Redis failed, using local views: {}", e.getMessage());
+            Map<Long, List<Map<String, Double>>> own = new TreeMap<>();
+            snapshot.forEach((day, counts) -> own.put(day, List.of(counts)));
+            buckets = own;
+        }
+
+        List<String> keys = SpaceSavingSketch.top(merge(buckets, today, halfLifeDays), TOP_K).stream()
+                .filter(e -> e.getValue() >= minViews)
+                .map(Map.Entry::getKey)
+                .toList();
+        refresh(keys);
+    }
+
+    private void publish(long day, Map<String, Double> counts) {
+        if (counts.isEmpty())
+            return;
+        String key = bucketKey(day, nodeId);
+        String staging = key + ":staging";
+        Map<String, String> fields = new HashMap<>(counts.size() * 2);
+        counts.forEach((k, v) -> fields.put(k, Double.toString(v)));
+        Duration ttl = Duration.ofDays(windowDays + 1L);
+        // The sketch replaces the node's previous copy whole, so readers never see half of it
+        redisTemplate.delete(staging);
+        redisTemplate.opsForHash().putAll(staging, fields);
+        redisTemplate.rename(staging, key);
+        redisTemplate.expire(key, ttl);
+        redisTemplate.opsForSet().add(nodesKey(day), nodeId);
+        redisTemplate.expire(nodesKey(day), ttl);
+    }
+
+    private Map<Long, List<Map<String, Double>>> fetch(long today) {
+        Map<Long, List<Map<String, Double>>> buckets = new TreeMap<>();
+        for (long day = today - windowDays + 1; day <= today; day++) {
+            Set<String> nodes = redisTemplate.opsForSet().members(nodesKey(day));
+            if (nodes == null)
+                continue;
+            for (String node : nodes) {
+                Map<String, Double> counts = new HashMap<>();
+                redisTemplate.opsForHash().entries(bucketKey(day, node))
+                        .forEach((k, v) -> counts.put(k.toString(), Double.parseDouble(v.toString())));
+                if (!counts.isEmpty())
+                    buckets.computeIfAbsent(day, d -> new ArrayList<>()).add(counts);
+            }
+        }
+        return buckets;
+    }
+
+    /** Re-enriches only when the set of trending artifacts changed; a new order just reorders. */
+    private void refresh(List<String> keys) {
+        if (keys.isEmpty()) {
+            trending = null;
+            topKeys = keys;
+            return;
+        }
+        List<SearchResultItem> current = trending;
+        if (current != null && new HashSet<>(keys).equals(new HashSet<>(topKeys))) {
+            Map<String, SearchResultItem> byKey = new LinkedHashMap<>();
+            for (SearchResultItem item : current)
+                byKey.put(item.groupId() + ":" + item.artifactId(), item);
+            List<SearchResultItem> reordered = new ArrayList<>(current.size());
+            for (String key : keys) {
+                SearchResultItem item = byKey.remove(key);
+                if (item != null)
+                    reordered.add(item);
+            }
+            reordered.addAll(byKey.values()); // popularity top-up after the viewed ones
+            trending = reordered;
+            topKeys = keys;
+            return;
+        }
+        try {
+            List<String[]> viewed = keys.stream().map(k -> k.split(":", 2)).toList();
+            trending = mavenCentralService.getTrendingArtifacts(viewed);
+            topKeys = keys;
+        } catch (RuntimeException e) {
+            log.warn("Failed to enrich trending artifacts: {}", e.getMessage());
+        }
+    }
+
+    // ─── Reads ───────────────────────────────────────────────────────
+
+    /** Most viewed artifacts across all nodes, or empty until enough views were merged. */
+    public Optional<List<SearchResultItem>> trending() {
+        return Optional.ofNullable(trending);
+    }
+
+    // ─── Merging ─────────────────────────────────────────────────────
+
+    /**
+     * Sums the per-node day buckets into one count per artifact, a bucket
+     * {@code d} days old weighted by {@code 2^(-d / halfLifeDays)}.
+     */
+    static Map<String, Double> merge(Map<Long, List<Map<String, Double>>> buckets, long today,
+            double halfLifeDays) {
+        Map<String, Double> merged = new HashMap<>();
+        buckets.forEach((day, nodes) -> {
+            double weight = Math.pow(0.5, Math.max(0, today - day) / halfLifeDays);
+            for (Map<String, Double> counts : nodes)
+                counts.forEach((key, count) -> merged.merge(key, count * weight, Double::sum));
+        });
+        return merged;
+    }
+
+    static long today() {
+        return LocalDate.now(ZoneOffset.UTC).toEpochDay();
+    }
+
+    private static String bucketKey(long day, String node) {
+        return KEY_PREFIX + day + ":" + node;
+    }
+
+    private static String nodesKey(long day) {
+        return KEY_PREFIX + day + ":nodes";
+    }
+}
@@ -0,0 +1,431 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.entity.ArtifactDependentsEntity;
+import com.modernmvn.backend.repository.ArtifactDependentsRepository;
+import com.modernmvn.backend.repository.ArtifactDependentsRepository.DependentCount;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically counts, for every artifact, the distinct artifacts that
+ * depend on any of its versions through any path, and stores the counts in
+ * {@code artifact_dependents} for the artifact page and search ranking.
+ *
+ * The job works on the {@link IndexGraphService} snapshot. Versions are
+ * grouped into strongly connected components, so the rare dependency cycle
+ * becomes one node, and components are visited dependents first. Each
+ * component's set of dependent artifacts is the union of its dependents'
+ * sets plus their own artifacts, kept as an {@link ArtifactBitmap}, and is
+ * dropped once every component below it has used it. An artifact's sets are
+ * merged as its versions' components are handled, and counted and dropped
+ * as soon as the last of them is. Components on the same level of that
+ * order do not depend on each other and are handled in parallel on a
+ * fork/join pool.
+ */
+@Service
+public class TransitiveDependentsJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TransitiveDependentsJob.class);
+
+    /** Figures of the last completed run. */
+    public record Report(int versions, long edges, int artifacts, int components, int levels, long durationMillis,
+            long peakBitmapBytes, long peakHeapBytes, Instant finishedAt) {
+    }
+
+    /** Result of {@link #compute}: dependent artifact counts by dense artifact index. */
+    record Result(int[] counts, int components, int levels, long peakBitmapBytes, long peakHeapBytes) {
+    }
+
+    private final IndexGraphService indexGraph;
+    private final ArtifactDependentsRepository dependentsRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransitiveDependentsJob self;
+    private final boolean enabled;
+    private final int parallelism;
+
+    private volatile Report lastReport;
+
+    public TransitiveDependentsJob(IndexGraphService indexGraph, ArtifactDependentsRepository dependentsRepository,
+            MeterRegistry meterRegistry, @Lazy TransitiveDependentsJob self,
+            @Value("${modernmvn.dependents.enabled:true}") boolean enabled,
+            @Value("${modernmvn.dependents.parallelism:0}") int parallelism) {
+        this.indexGraph = indexGraph;
+        this.dependentsRepository = dependentsRepository;
+        this.meterRegistry = meterRegistry;
+        this.self = self;
+        this.enabled = enabled;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        meterRegistry.gauge("dependents_job.peak_bitmap_bytes", this,
+                s -> s.lastReport != null ? s.lastReport.peakBitmapBytes() : 0);
+        meterRegistry.gauge("dependents_job.peak_heap_bytes", this,
+                s -> s.lastReport != null ? s.lastReport.peakHeapBytes() : 0);
+    }
+
+    // ─── Job ─────────────────────────────────────────────────────────
+
+    @Scheduled(initialDelayString = "${modernmvn.dependents.initial-delay-ms:3600000}",
+            fixedDelayString = "${modernmvn.dependents.job-delay-ms:86400000}")
+    public synchronized void run() {
+        IndexGraph graph = indexGraph.snapshot();
+        if (!enabled || graph.vertexCount() == 0)
+            return;
+        long started = System.currentTimeMillis();
+        try {
+            IndexGraphService.VertexArtifacts artifacts = indexGraph.vertexArtifacts(graph);
+            int[] artifactOf = artifacts.artifactOf();
+            List<Long> artifactIds = artifacts.artifactIds();
+
+            Result result;
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                result = compute(graph, artifactOf, artifactIds.size(), pool);
+            } finally {
+                pool.shutdown();
+            }
+
+            Instant now = Instant.now();
+            List<ArtifactDependentsEntity> rows = new ArrayList<>();
+            for (int a = 0; a < artifactIds.size(); a++) {
+                if (result.counts()[a] > 0)
+                    rows.add(new ArtifactDependentsEntity(artifactIds.get(a), result.counts()[a], now));
+            }
+            self.replace(rows);
+
+            long duration = System.currentTimeMillis() - started;
+            meterRegistry.timer("dependents_job.duration").record(Duration.ofMillis(duration));
+            lastReport = new Report(graph.vertexCount(), graph.edgeCount(), artifactIds.size(),
+                    result.components(), result.levels(), duration, result.peakBitmapBytes(),
+                    result.peakHeapBytes(), now);
+            log.info("Transitive dependents computed for {} artifacts in {} ms (peak bitmaps {} MB, heap {} MB)",
+                    artifactIds.size(), duration, result.peakBitmapBytes() / (1024 * 1024),
+                    result.peakHeapBytes() / (1024 * 1024));
+        } catch (RuntimeException e) {
+            log.warn("Transitive dependents job failed, keeping the previous counts: {}", e.getMessage());
+        }
+    }
+
+    /** Swaps in the new counts; readers see the old ones until commit. */
+    @Transactional
+    public void replace(List<ArtifactDependentsEntity> rows) {
+        dependentsRepository.deleteAllRows();
+        dependentsRepository.saveAll(rows);
+    }
+
+    public Optional<Report> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    // ─── Reads ───────────────────────────────────────────────────────
+
+    /** Stored count for one artifact; 0 if it has no dependents or the job has not run. */
+    public int transitiveDependents(String groupId, String artifactId) {
+        return dependentsRepository.findTransitiveDependents(groupId, artifactId).orElse(0);
+    }
+
+    /** Stored counts keyed by {@code groupId:artifactId}, in one query; missing keys have none. */
+    public Map<String, Integer> transitiveDependents(Collection<String[]> coordinates) {
+        if (coordinates.isEmpty())
+            return Map.of();
+        Set<String> groupIds = new HashSet<>();
+        Set<String> artifactIds = new HashSet<>();
+        Set<String> wanted = new HashSet<>();
+        for (String[] ga : coordinates) {
+            groupIds.add(ga[0]);
+            artifactIds.add(ga[1]);
+            wanted.add(ga[0] + ":" + ga[1]);
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        for (DependentCount c : dependentsRepository.findCounts(groupIds, artifactIds)) {
+            String key = c.getGroupId() + ":" + c.getArtifactId();
+            if (wanted.contains(key))
+                counts.put(key, c.getTransitiveDependents());
+        }
+        return counts;
+    }
+
+    // ─── Propagation ─────────────────────────────────────────────────
+
+    /**
+     * Number of distinct other artifacts reaching each artifact, where
+     * {@code artifactOf} maps each vertex of {@code graph} to a dense
+     * artifact index below {@code artifactCount}, or -1 if unknown.
+     */
+    static Result compute(IndexGraph graph, int[] artifactOf, int artifactCount, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] comp = new int[n];
+        int componentCount = components(graph, comp);
+
+        // Members of each component, as one CSR slice per component
+        int[] memberStart = new int[componentCount + 1];
+        for (int v = 0; v < n; v++)
+            memberStart[comp[v] + 1]++;
+        for (int c = 0; c < componentCount; c++)
+            memberStart[c + 1] += memberStart[c];
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberStart, componentCount);
+        for (int v = 0; v < n; v++)
+            members[cursor[comp[v]]++] = v;
+
+        // A dependent always has a higher component id than its dependencies
+        // (Tarjan emits sinks first), so walking ids downwards sees dependents first
+        int[] level = new int[componentCount];
+        int[] remaining = new int[componentCount]; // dependency components still to use the set
+        int[] seen = new int[componentCount];
+        Arrays.fill(seen, -1);
+        int levels = 0;
+        for (int c = componentCount - 1; c >= 0; c--) {
+            for (int i = memberStart[c]; i < memberStart[c + 1]; i++) {
+                int v = members[i];
+                for (int k = 0; k < graph.inDegree(v); k++) {
+                    int d = comp[graph.in(v, k)];
+                    if (d != c)
+                        level[c] = Math.max(level[c], level[d] + 1);
+                }
+                for (int k = 0; k < graph.outDegree(v); k++) {
+                    int d = comp[graph.out(v, k)];
+                    if (d != c && seen[d] != c) {
+                        seen[d] = c;
+                        remaining[c]++;
+                    }
+                }
+            }
+            levels = Math.max(levels, level[c] + 1);
+        }
+        int[] levelStart = new int[levels + 1];
+        for (int c = 0; c < componentCount; c++)
+            levelStart[level[c] + 1]++;
+        for (int l = 0; l < levels; l++)
+            levelStart[l + 1] += levelStart[l];
+        int[] byLevel = new int[componentCount];
+        int[] levelCursor = Arrays.copyOf(levelStart, levels);
+        for (int c = 0; c < componentCount; c++)
+            byLevel[levelCursor[level[c]]++] = c;
+
+        Propagation p = new Propagation(graph, artifactOf, artifactCount, comp, members, memberStart, remaining);
+        long peakHeap = usedHeap();
+        for (int l = 0; l < levels; l++) {
+            pool.invoke(new LevelTask(p, byLevel, levelStart[l], levelStart[l + 1]));
+            peakHeap = Math.max(peakHeap, usedHeap());
+        }
+
+        return new Result(p.counts, componentCount, levels, p.peakBytes.get(), peakHeap);
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /** State shared by the tasks of one run. */
+    private static final class Propagation {
+        final IndexGraph graph;
+        final int[] artifactOf;
+        final int artifactCount;
+        final int[] comp;
+        final int[] members;
+        final int[] memberStart;
+        final AtomicInteger[] remaining;
+        final ArtifactBitmap[] byComponent;
+        final ArtifactBitmap[] byArtifact;
+        final int[] pendingVersions; // versions of each artifact whose component is still to be handled
+        final int[] counts;
+        final Object[] artifactLocks = new Object[64];
+        final AtomicLong liveBytes = new AtomicLong();
+        final AtomicLong peakBytes = new AtomicLong();
+
+        Propagation(IndexGraph graph, int[] artifactOf, int artifactCount, int[] comp, int[] members,
+                int[] memberStart, int[] remaining) {
+            this.graph = graph;
+            this.artifactOf = artifactOf;
+            this.artifactCount = artifactCount;
+            this.comp = comp;
+            this.members = members;
+            this.memberStart = memberStart;
+            this.remaining = new AtomicInteger[remaining.length];
+            for (int c = 0; c < remaining.length; c++)
+                this.remaining[c] = new AtomicInteger(remaining[c]);
+            this.byComponent = new ArtifactBitmap[remaining.length];
+            this.byArtifact = new ArtifactBitmap[artifactCount];
+            this.pendingVersions = new int[artifactCount];
+            for (int a : artifactOf) {
+                if (a >= 0)
+                    pendingVersions[a]++;
+            }
+            this.counts = new int[artifactCount];
+            for (int i = 0; i < artifactLocks.length; i++)
+                artifactLocks[i] = new Object();
+        }
+
+        void process(int c) {
+            // Distinct dependent components, and the artifacts of the versions pointing in
+            List<Integer> dependents = new ArrayList<>();
+            List<Integer> extra = new ArrayList<>();
+            int from = memberStart[c], to = memberStart[c + 1];
+            for (int i = from; i < to; i++) {
+                int v = members[i];
+                for (int k = 0; k < graph.inDegree(v); k++) {
+                    int u = graph.in(v, k);
+                    if (comp[u] == c)
+                        continue;
+                    dependents.add(comp[u]);
+                    if (artifactOf[u] >= 0)
+                        extra.add(artifactOf[u]);
+                }
+                // Every member of a cycle reaches every other member
+                if (to - from > 1 && artifactOf[v] >= 0)
+                    extra.add(artifactOf[v]);
+            }
+            int[] distinct = dependents.stream().mapToInt(Integer::intValue).distinct().toArray();
+            List<ArtifactBitmap> sets = new ArrayList<>(distinct.length);
+            for (int d : distinct)
+                sets.add(byComponent[d]);
+            ArtifactBitmap set = ArtifactBitmap.union(sets,
+                    extra.stream().mapToInt(Integer::intValue).toArray(), artifactCount);
+            track(set.bytes());
+            byComponent[c] = set;
+
+            for (int i = from; i < to; i++) {
+                int a = artifactOf[members[i]];
+                if (a < 0)
+                    continue;
+                synchronized (artifactLocks[a & 63]) {
+                    ArtifactBitmap previous = byArtifact[a];
+                    if (set.cardinality() > 0) {
+                        byArtifact[a] = previous == null ? set
+                                : ArtifactBitmap.union(List.of(previous, set), new int[0], artifactCount);
+                        track(byArtifact[a].bytes() - (previous == null ? 0 : previous.bytes()));
+                    }
+                    // Last version of the artifact: count it and let its set go
+                    if (--pendingVersions[a] == 0) {
+                        ArtifactBitmap all = byArtifact[a];
+                        byArtifact[a] = null;
+                        if (all != null) {
+                            counts[a] = all.cardinality() - (all.contains(a) ? 1 : 0);
+                            track(-all.bytes());
+                        }
+                    }
+                }
+            }
+
+            for (int d : distinct) {
+                if (remaining[d].decrementAndGet() == 0)
+                    free(d);
+            }
+            if (remaining[c].get() == 0)
+                free(c);
+        }
+
+        private void free(int c) {
+            ArtifactBitmap set = byComponent[c];
+            byComponent[c] = null;
+            if (set != null)
+                track(-set.bytes());
+        }
+
+        private void track(long delta) {
+            long live = liveBytes.addAndGet(delta);
+            peakBytes.accumulateAndGet(live, Math::max);
+        }
+    }
+
+    /** Handles a range of one level's components, splitting it across the pool. */
+    private static final class LevelTask extends RecursiveAction {
+        private static final int THRESHOLD = 64;
+
+        private final Propagation p;
+        private final int[] components;
+        private final int from;
+        private final int to;
+
+        LevelTask(Propagation p, int[] components, int from, int to) {
+            this.p = p;
+            this.components = components;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++)
+                    p.process(components[i]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new LevelTask(p, components, from, mid), new LevelTask(p, components, mid, to));
+        }
+    }
+
+    /**
+     * Strongly connected components of the forward graph, iterative Tarjan.
+     * Fills {@code comp} and returns the component count; components are
+     * numbered in the order Tarjan completes them, dependencies first.
+     */
+    static int components(IndexGraph graph, int[] comp) {
+        int n = graph.vertexCount();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callVertex = new int[n];
+        int[] callEdge = new int[n];
+        int sp = 0, counter = 0, count = 0;
+        for (int s = 0; s < n; s++) {
+            if (index[s] >= 0)
+                continue;
+            int cp = 0;
+            index[s] = low[s] = counter++;
+            stack[sp++] = s;
+            onStack[s] = true;
+            callVertex[cp] = s;
+            callEdge[cp++] = 0;
+            while (cp > 0) {
+                int v = callVertex[cp - 1];
+                int k = callEdge[cp - 1];
+                if (k < graph.outDegree(v)) {
+                    callEdge[cp - 1]++;
+                    int w = graph.out(v, k);
+                    if (index[w] < 0) {
+                        index[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        callVertex[cp] = w;
+                        callEdge[cp++] = 0;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                cp--;
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--sp];
+                        onStack[w] = false;
+                        comp[w] = count;
+                    } while (w != v);
+                    count++;
+                }
+                if (cp > 0)
+                    low[callVertex[cp - 1]] = Math.min(low[callVertex[cp - 1]], low[v]);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,82 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.repository.ArtifactUsedByRepository;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.ArtifactVersionRepository.VersionArtifact;
+import com.modernmvn.backend.repository.VersionUsedByRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Direct "Used By" counts per version and per artifact, kept as counters
+ * instead of counted over the closure tables on every read. Indexing a root
+ * applies the difference between its old and new direct dependencies in the
+ * same transaction as the closure write; {@link UsedByReconciliationJob}
+ * repairs any drift.
+ *
+ * Counters cover every closure layout, since the direct dependencies of a
+ * root are known whichever way its closure is stored.
+ */
+@Service
+public class UsedByCounterService {
+
+    private final VersionUsedByRepository versionUsedByRepository;
+    private final ArtifactUsedByRepository artifactUsedByRepository;
+    private final ArtifactVersionRepository versionRepository;
+
+    public UsedByCounterService(VersionUsedByRepository versionUsedByRepository,
+            ArtifactUsedByRepository artifactUsedByRepository, ArtifactVersionRepository versionRepository) {
+        this.versionUsedByRepository = versionUsedByRepository;
+        this.artifactUsedByRepository = artifactUsedByRepository;
+        this.versionRepository = versionRepository;
+    }
+
+    /**
+     * Moves the counters of a root from its {@code before} direct
+     * dependencies to its {@code after} ones. Must run inside the caller's
+     * transaction.
+     */
+    public void onDirectDependenciesChanged(Collection<Long> before, Collection<Long> after) {
+        SortedMap<Long, Integer> versionDelta = delta(before, after);
+        if (versionDelta.isEmpty())
+            return;
+        Map<Long, Long> artifactOf = new HashMap<>();
+        for (VersionArtifact va : versionRepository.findArtifactIds(versionDelta.keySet()))
+            artifactOf.put(va.getId(), va.getArtifactId());
+
+        // Rows are locked in id order, so concurrent indexers cannot deadlock on them
+        SortedMap<Long, Integer> artifactDelta = new TreeMap<>();
+        versionDelta.forEach((versionId, d) -> {
+            versionUsedByRepository.add(versionId, d);
+            Long artifactId = artifactOf.get(versionId);
+            if (artifactId != null)
+                artifactDelta.merge(artifactId, d, Integer::sum);
+        });
+        artifactDelta.forEach((artifactId, d) -> {
+            if (d != 0)
+                artifactUsedByRepository.add(artifactId, d);
+        });
+    }
+
+    /** -1 for every version only in {@code before}, +1 for every one only in {@code after}, by id. */
+    static SortedMap<Long, Integer> delta(Collection<Long> before, Collection<Long> after) {
+        Set<Long> old = new HashSet<>(before);
+        Set<Long> now = new HashSet<>(after);
+        SortedMap<Long, Integer> delta = new TreeMap<>();
+        for (Long id : old) {
+            if (!now.contains(id))
+                delta.put(id, -1);
+        }
+        for (Long id : now) {
+            if (!old.contains(id))
+                delta.put(id, 1);
+        }
+        return delta;
+    }
+
+    /** Indexed versions depending directly on any version of an artifact; 0 if none or not indexed. */
+    public int directDependents(String groupId, String artifactId) {
+        return artifactUsedByRepository.findDirectDependents(groupId, artifactId).orElse(0);
+    }
+}
@@ -0,0 +1,120 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.repository.ArtifactUsedByRepository;
+import com.modernmvn.backend.repository.VersionUsedByRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.LongFunction;
+
+/**
+ * Periodically checks the {@link UsedByCounterService} counters against the
+ * direct edges of the {@link IndexGraphService} graph, overlay included, and
+ * overwrites the versions that drifted, then re-derives the artifact counts
+ * from the version counts.
+ *
+ * A root indexed between the check and the fix can be counted from the older
+ * view of the graph; the next run corrects it.
+ */
+@Service
+public class UsedByReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(UsedByReconciliationJob.class);
+
+    /** Figures of the last completed run. */
+    public record Report(int versionsChecked, int versionsFixed, int artifactsFixed, long durationMillis,
+            Instant finishedAt) {
+    }
+
+    private final IndexGraphService indexGraph;
+    private final VersionUsedByRepository versionUsedByRepository;
+    private final ArtifactUsedByRepository artifactUsedByRepository;
+    private final MeterRegistry meterRegistry;
+    private final UsedByReconciliationJob self;
+    private final boolean enabled;
+
+    private volatile Report lastReport;
+
+    public UsedByReconciliationJob(IndexGraphService indexGraph, VersionUsedByRepository versionUsedByRepository,
+            ArtifactUsedByRepository artifactUsedByRepository, MeterRegistry meterRegistry,
+            @Lazy UsedByReconciliationJob self,
+            @Value("${modernmvn.used-by.reconcile-enabled:true}") boolean enabled) {
+        this.indexGraph = indexGraph;
+        this.versionUsedByRepository = versionUsedByRepository;
+        this.artifactUsedByRepository = artifactUsedByRepository;
+        this.meterRegistry = meterRegistry;
+        this.self = self;
+        this.enabled = enabled;
+    }
+
+    // ─── Job ─────────────────────────────────────────────────────────
+
+    @Scheduled(initialDelayString = "${modernmvn.used-by.initial-delay-ms:3600000}",
+            fixedDelayString = "${modernmvn.used-by.job-delay-ms:86400000}")
+    public synchronized void run() {
+        IndexGraph graph = indexGraph.snapshot();
+        if (!enabled || graph.vertexCount() == 0)
+            return;
+        long started = System.currentTimeMillis();
+        try {
+            Map<Long, Integer> stored = new HashMap<>();
+            for (VersionUsedByRepository.VersionCount c : versionUsedByRepository.findNonZero())
+                stored.put(c.getVersionId(), c.getDirectDependents());
+            SortedMap<Long, Integer> corrections = corrections(graph, indexGraph::dependents, stored);
+            int artifactsFixed = self.apply(corrections);
+
+            long duration = System.currentTimeMillis() - started;
+            meterRegistry.counter("used_by.reconciled", "level", "version").increment(corrections.size());
+            meterRegistry.counter("used_by.reconciled", "level", "artifact").increment(artifactsFixed);
+            lastReport = new Report(graph.vertexCount(), corrections.size(), artifactsFixed, duration,
+                    Instant.now());
+            if (!corrections.isEmpty() || artifactsFixed > 0)
+                log.info("Used-by counters reconciled: {} versions and {} artifacts fixed in {} ms",
+                        corrections.size(), artifactsFixed, duration);
+        } catch (RuntimeException e) {
+            log.warn("Used-by reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /** Overwrites the drifted version counts and re-derives the artifact counts; returns artifacts fixed. */
+    @Transactional
+    public int apply(SortedMap<Long, Integer> corrections) {
+        corrections.forEach(versionUsedByRepository::set);
+        return artifactUsedByRepository.rollUp() + artifactUsedByRepository.zeroOrphans();
+    }
+
+    public Optional<Report> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    /**
+     * True count of every version whose stored count differs from it, by id:
+     * the versions of the snapshot, and stored versions it no longer has.
+     */
+    static SortedMap<Long, Integer> corrections(IndexGraph graph, LongFunction<long[]> dependents,
+            Map<Long, Integer> stored) {
+        SortedMap<Long, Integer> corrections = new TreeMap<>();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            long id = graph.versionId(v);
+            int count = dependents.apply(id).length;
+            if (count != stored.getOrDefault(id, 0))
+                corrections.put(id, count);
+        }
+        stored.forEach((id, count) -> {
+            if (graph.indexOf(id) < 0) {
+                int actual = dependents.apply(id).length;
+                if (actual != count)
+                    corrections.put(id, actual);
+            }
+        });
+        return corrections;
+    }
+}
@@ -0,0 +1,246 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.impl.VersionRangeResolver;
+import org.eclipse.aether.impl.VersionResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.resolution.VersionRequest;
+import org.eclipse.aether.resolution.VersionResolutionException;
+import org.eclipse.aether.resolution.VersionResult;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionScheme;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Shared, TTL'd cache in front of Aether's {@link VersionRangeResolver} and
+ * {@link VersionResolver}.
+ *
+ * Every version range ({@code [1.0,2.0)}) and meta-version ({@code LATEST},
+ * {@code RELEASE}) forces a {@code maven-metadata.xml} fetch per session. Since
+ * each resolution gets a fresh session, those fetches used to repeat on every
+ * request. Results are now shared across sessions for the configured TTL.
+ *
+ * With {@code modernmvn.resolution.pin-latest=true}, meta-versions are pinned
+ * to the newest release already known in {@code artifact_versions}, skipping
+ * the metadata download entirely.
+ *
+ * Each map holds at most {@code modernmvn.version-cache.max-entries}; once
+ * full, the least recently used entry makes room for the new one.
+ */
+@Service
+public class VersionResolutionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionResolutionCache.class);
+
+    // A qualifier only counts as a whole token: after a separator or a digit
+    // and followed by digits, a separator or the end, so RELEASE is no "ea"
+    private static final Pattern PRE_RELEASE_PATTERN = Pattern.compile(
+            "(?i).*(?:^|[.\\-_]|(?<=\\d))(alpha|beta|rc|cr|m(?=\\d)|snapshot|preview|dev|incubating|ea)\\d*"
+                    + "(?:[.\\-_+].*)?");
+
+    private final Map<String, CachedValue<VersionRangeResult>> ranges;
+    private final Map<String, CachedValue<VersionResult>> metaVersions;
+    private final Map<String, CachedValue<Optional<String>>> pinnedReleases;
+
+    private final ArtifactVersionRepository versionRepository;
+    private final MeterRegistry meterRegistry;
+    private final VersionScheme versionScheme = new GenericVersionScheme();
+
+    private final Duration ttl;
+    private final boolean pinLatest;
+
+    public VersionResolutionCache(
+            @Lazy ArtifactVersionRepository versionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${modernmvn.version-cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${modernmvn.version-cache.max-entries:20000}") int maxEntries,
+            @Value("${modernmvn.resolution.pin-latest:false}") boolean pinLatest) {
+        this.versionRepository = versionRepository;
+        this.meterRegistry = meterRegistry;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.pinLatest = pinLatest;
+        this.ranges = lru(maxEntries);
+        this.metaVersions = lru(maxEntries);
+        this.pinnedReleases = lru(maxEntries);
+
+        meterRegistry.gauge("version_cache.size", this, c -> c.ranges.size() + c.metaVersions.size());
+    }
+
+    // ──────────────────────── Decorators ────────────────────────
+
+    public VersionRangeResolver decorate(VersionRangeResolver delegate) {
+        return (session, request) -> resolveVersionRange(delegate, session, request);
+    }
+
+    public VersionResolver decorate(VersionResolver delegate) {
+        return (session, request) -> resolveVersion(delegate, session, request);
+    }
+
+    // ──────────────────────── Range resolution ──────────────────
+
+    private VersionRangeResult resolveVersionRange(VersionRangeResolver delegate, RepositorySystemSession session,
+            VersionRangeRequest request) throws VersionRangeResolutionException {
+        String version = request.getArtifact().getVersion();
+        // Plain versions are parsed locally by Aether without touching the network
+        if (!isRange(version)) {
+            return delegate.resolveVersionRange(session, request);
+        }
+
+        String key = cacheKey(request.getArtifact(), request.getRepositories());
+        CachedValue<VersionRangeResult> cached = ranges.get(key);
+        if (cached != null && !cached.isExpired()) {
+            record("range", "hit");
+            return copyOf(cached.value(), request);
+        }
+
+        record("range", "miss");
+        VersionRangeResult result = delegate.resolveVersionRange(session, request);
+        if (result.getExceptions().isEmpty()) {
+            ranges.put(key, new CachedValue<>(result, ttl));
+        }
+        return result;
+    }
+
+    private static VersionRangeResult copyOf(VersionRangeResult source, VersionRangeRequest request) {
+        VersionRangeResult copy = new VersionRangeResult(request);
+        copy.setVersionConstraint(source.getVersionConstraint());
+        copy.setVersions(new ArrayList<>(source.getVersions()));
+        for (Version v : source.getVersions()) {
+            copy.setRepository(v, source.getRepository(v));
+        }
+        return copy;
+    }
+
+    // ──────────────────────── Meta-version resolution ───────────
+
+    private VersionResult resolveVersion(VersionResolver delegate, RepositorySystemSession session,
+            VersionRequest request) throws VersionResolutionException {
+        String version = request.getArtifact().getVersion();
+        if (!isMetaVersion(version)) {
+            return delegate.resolveVersion(session, request);
+        }
+
+        if (pinLatest) {
+            Optional<String> pinned = newestKnownRelease(request.getArtifact());
+            if (pinned.isPresent()) {
+                record("meta", "pinned");
+                return new VersionResult(request).setVersion(pinned.get());
+            }
+        }
+
+        String key = cacheKey(request.getArtifact(), request.getRepositories());
+        CachedValue<VersionResult> cached = metaVersions.get(key);
+        if (cached != null && !cached.isExpired()) {
+            record("meta", "hit");
+            return new VersionResult(request)
+                    .setVersion(cached.value().getVersion())
+                    .setRepository(cached.value().getRepository());
+        }
+
+        record("meta", "miss");
+        VersionResult result = delegate.resolveVersion(session, request);
+        if (result.getExceptions().isEmpty() && result.getVersion() != null) {
+            metaVersions.put(key, new CachedValue<>(result, ttl));
+        }
+        return result;
+    }
+
+    /**
+     * Newest non-pre-release version of the artifact already present in
+     * {@code artifact_versions}, or empty if none is known locally.
+     */
+    private Optional<String> newestKnownRelease(Artifact artifact) {
+        String ga = artifact.getGroupId() + ":" + artifact.getArtifactId();
+        CachedValue<Optional<String>> cached = pinnedReleases.get(ga);
+        if (cached != null && !cached.isExpired()) {
+            return cached.value();
+        }
+
+        Optional<String> newest = Optional.empty();
+        try {
+            Version best = null;
+            for (String candidate : versionRepository.findVersionStrings(artifact.getGroupId(),
+                    artifact.getArtifactId())) {
+                if (isPreRelease(candidate))
+                    continue;
+                Version parsed = versionScheme.parseVersion(candidate);
+                if (best == null || parsed.compareTo(best) > 0)
+                    best = parsed;
+            }
+            newest = Optional.ofNullable(best).map(Version::toString);
+        } catch (InvalidVersionSpecificationException | RuntimeException e) {
+            log.debug("Could not pin meta-version for {}: {}", ga, e.getMessage());
+        }
+
+        pinnedReleases.put(ga, new CachedValue<>(newest, ttl));
+        return newest;
+    }
+
+    // ──────────────────────── Helpers ───────────────────────────
+
+    static boolean isPreRelease(String version) {
+        return PRE_RELEASE_PATTERN.matcher(version).matches();
+    }
+
+    private static boolean isRange(String version) {
+        return version != null && (version.startsWith("[") || version.startsWith("("));
+    }
+
+    private static boolean isMetaVersion(String version) {
+        return "LATEST".equals(version) || "RELEASE".equals(version);
+    }
+
+    private static String cacheKey(Artifact artifact, List<RemoteRepository> repositories) {
+        String repos = repositories.stream()
+                .map(RemoteRepository::getUrl)
+                .collect(Collectors.joining(","));
+        return artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getExtension() + ":"
+                + artifact.getClassifier() + ":" + artifact.getVersion() + "@" + repos;
+    }
+
+    /** Access-ordered, so a hit keeps an entry alive and only the least recently used are evicted. */
+    private static <T> Map<String, CachedValue<T>> lru(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValue<T>> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private void record(String kind, String result) {
+        meterRegistry.counter("version_cache.lookup", "kind", kind, "result", result).increment();
+    }
+
+    private record CachedValue<T>(T value, long expiresAtMillis) {
+        CachedValue(T value, Duration ttl) {
+            this(value, System.currentTimeMillis() + ttl.toMillis());
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAtMillis;
+        }
+    }
+}
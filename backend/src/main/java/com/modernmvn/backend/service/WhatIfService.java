@@ -0,0 +1,192 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.GraphSecurityOverlay;
+import com.modernmvn.backend.dto.WhatIfRequest;
+import com.modernmvn.backend.dto.WhatIfResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Answers "what if I excluded X / forced Y to version Z?" for a cached verbose
+ * graph without running a new collection. The edits are applied to the
+ * graph's {@link MediationBaseline} and {@link DependencyMediator} mediates
+ * again in memory. Descriptors come from the baseline's memo first, so after
+ * the first run on a graph only versions introduced by an override are read.
+ *
+ * The security overlay of the unedited graph is computed from the baseline
+ * mediated the same way, not from the tree Aether returned, so both overlays
+ * come from one engine. Overrides force the version of every dependency on
+ * the artifact, whatever its type or classifier.
+ */
+@Service
+public class WhatIfService {
+
+    private static final int MAX_EDITS = 50;
+    private static final Pattern OVERRIDE = Pattern.compile("[a-zA-Z0-9._-]+:[a-zA-Z0-9._-]+:[a-zA-Z0-9._-]+");
+    private static final Pattern EXCLUSION = Pattern.compile("([a-zA-Z0-9._-]+|\\*):([a-zA-Z0-9._-]+|\\*)");
+
+    private final MavenResolutionService resolutionService;
+    private final NativeDependencyResolver nativeResolver;
+    private final SecurityOverlayService securityOverlayService;
+    private final MavenConfig mavenConfig;
+    private final RepositorySystem repositorySystem;
+    private final MeterRegistry meterRegistry;
+
+    public WhatIfService(MavenResolutionService resolutionService, NativeDependencyResolver nativeResolver,
+            SecurityOverlayService securityOverlayService, MavenConfig mavenConfig,
+            RepositorySystem repositorySystem, MeterRegistry meterRegistry) {
+        this.resolutionService = resolutionService;
+        this.nativeResolver = nativeResolver;
+        this.securityOverlayService = securityOverlayService;
+        this.mavenConfig = mavenConfig;
+        this.repositorySystem = repositorySystem;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Re-mediates {@code graph} with the requested edits. Malformed edits
+     * surface as {@link IllegalArgumentException}.
+     */
+    public WhatIfResult apply(DependencyGraph graph, WhatIfRequest request) {
+        MediationBaseline baseline = graph.baseline()
+                .orElseThrow(() -> new IllegalArgumentException("Graph was not resolved with verbose=true."));
+        long start = System.nanoTime();
+
+        Map<String, String> overrides = parseOverrides(request.overrides());
+        List<Exclusion> exclusions = parseExclusions(request.exclusions());
+
+        List<Dependency> direct = new ArrayList<>();
+        for (Dependency d : baseline.direct()) {
+            Artifact a = d.getArtifact();
+            if (!baseline.artifactRoot() && isExcluded(exclusions, a))
+                continue;
+            String version = overrides.get(a.getGroupId() + ":" + a.getArtifactId());
+            if (version != null)
+                d = d.setArtifact(a.setVersion(version));
+            if (!exclusions.isEmpty()) {
+                List<Exclusion> all = new ArrayList<>(d.getExclusions());
+                all.addAll(exclusions);
+                d = d.setExclusions(all);
+            }
+            direct.add(d);
+        }
+
+        MemoSource source = new MemoSource(baseline.descriptors(), nativeResolver.source(
+                resolutionService.repositories(baseline.customRepoUrls()),
+                mavenConfig.createSession(repositorySystem)));
+        DependencyNode tree = toTree(baseline,
+                new DependencyMediator(source, baseline.managed(), overrides).mediate(direct));
+
+        // The baseline is mediated by the same engine, so the two overlays differ only by the edits
+        GraphSecurityOverlay before = baseline.security();
+        if (before == null) {
+            before = securityOverlayService.overlay(toTree(baseline,
+                    new DependencyMediator(source, baseline.managed()).mediate(baseline.direct())));
+            baseline.security(before);
+        }
+        GraphSecurityOverlay after = securityOverlayService.overlay(tree);
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        meterRegistry.timer("what_if.time").record(Duration.ofMillis(durationMs));
+        meterRegistry.counter("what_if.descriptors_fetched").increment(source.fetched);
+        return new WhatIfResult(graph.getGraphId(), durationMs, source.fetched, tree, after, before);
+    }
+
+    private static DependencyNode toTree(MediationBaseline baseline, List<DependencyNode> nodes) {
+        DependencyNode root = baseline.root();
+        if (baseline.artifactRoot())
+            return nodes.isEmpty() ? root : nodes.get(0);
+        List<DependencyNode> children = new ArrayList<>(nodes);
+        children.addAll(baseline.localModules());
+        return new DependencyNode(root.groupId(), root.artifactId(), root.version(), root.scope(), root.type(),
+                children, root.resolutionStatus(), root.conflictMessage());
+    }
+
+    /** Memoizes descriptors on the baseline and counts what had to be read. */
+    private static final class MemoSource implements DirectDependencySource {
+        private final Map<String, List<Dependency>> memo;
+        private final DirectDependencySource delegate;
+        private int fetched;
+
+        MemoSource(Map<String, List<Dependency>> memo, DirectDependencySource delegate) {
+            this.memo = memo;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Map<String, List<Dependency>> directDependencies(List<Artifact> artifacts) {
+            List<Artifact> misses = new ArrayList<>();
+            for (Artifact a : artifacts) {
+                if (!memo.containsKey(DependencyMediator.gav(a)))
+                    misses.add(a);
+            }
+            if (!misses.isEmpty()) {
+                fetched += misses.size();
+                memo.putAll(delegate.directDependencies(misses));
+            }
+            Map<String, List<Dependency>> result = new HashMap<>();
+            for (Artifact a : artifacts) {
+                List<Dependency> deps = memo.get(DependencyMediator.gav(a));
+                if (deps != null)
+                    result.put(DependencyMediator.gav(a), deps);
+            }
+            return result;
+        }
+
+        @Override
+        public String selectVersion(Artifact artifact) {
+            return delegate.selectVersion(artifact);
+        }
+    }
+
+    // ─── Parsing ─────────────────────────────────────────────────────
+
+    static Map<String, String> parseOverrides(List<String> overrides) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (overrides == null)
+            return result;
+        if (overrides.size() > MAX_EDITS)
+            throw new IllegalArgumentException("Maximum " + MAX_EDITS + " overrides allowed.");
+        for (String o : overrides) {
+            if (o == null || !OVERRIDE.matcher(o.trim()).matches())
+                throw new IllegalArgumentException("Override must be groupId:artifactId:version. Got: " + o);
+            String[] parts = o.trim().split(":");
+            result.put(parts[0] + ":" + parts[1], parts[2]);
+        }
+        return result;
+    }
+
+    static List<Exclusion> parseExclusions(List<String> exclusions) {
+        List<Exclusion> result = new ArrayList<>();
+        if (exclusions == null)
+            return result;
+        if (exclusions.size() > MAX_EDITS)
+            throw new IllegalArgumentException("Maximum " + MAX_EDITS + " exclusions allowed.");
+        for (String x : exclusions) {
+            if (x == null || !EXCLUSION.matcher(x.trim()).matches())
+                throw new IllegalArgumentException("Exclusion must be groupId:artifactId. Got: " + x);
+            String[] parts = x.trim().split(":");
+            result.add(new Exclusion(parts[0], parts[1], "*", "*"));
+        }
+        return result;
+    }
+
+    private static boolean isExcluded(List<Exclusion> exclusions, Artifact a) {
+        for (Exclusion x : exclusions) {
+            if (("*".equals(x.getGroupId()) || x.getGroupId().equals(a.getGroupId()))
+                    && ("*".equals(x.getArtifactId()) || x.getArtifactId().equals(a.getArtifactId())))
+                return true;
+        }
+        return false;
+    }
+}
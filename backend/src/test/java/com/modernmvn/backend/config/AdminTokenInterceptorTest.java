@@ -0,0 +1,49 @@
+package com.modernmvn.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminTokenInterceptorTest {
+
+    private static MockHttpServletResponse call(AdminTokenInterceptor interceptor, String method, String token)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/admin/storage/closures/migrate");
+        if (token != null)
+            request.addHeader(AdminTokenInterceptor.HEADER, token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean passed = interceptor.preHandle(request, response, new Object());
+        assertEquals(passed, response.getStatus() == 200);
+        return response;
+    }
+
+    @Test
+    void testWritesNeedTheConfiguredToken() throws Exception {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("s3cret");
+
+        assertEquals(200, call(interceptor, "POST", "s3cret").getStatus());
+        assertEquals(401, call(interceptor, "POST", "wrong").getStatus());
+        assertEquals(401, call(interceptor, "POST", null).getStatus());
+        assertEquals(200, call(interceptor, "GET", null).getStatus());
+    }
+
+    @Test
+    void testGuardedReadsNeedTheTokenToo() throws Exception {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("s3cret", true);
+
+        assertEquals(401, call(interceptor, "GET", null).getStatus());
+        assertEquals(200, call(interceptor, "GET", "s3cret").getStatus());
+        assertEquals(403, call(new AdminTokenInterceptor("", true), "GET", null).getStatus());
+    }
+
+    @Test
+    void testWritesAreRefusedWithoutAToken() throws Exception {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("");
+
+        assertEquals(403, call(interceptor, "POST", "").getStatus());
+        assertEquals(403, call(interceptor, "DELETE", "anything").getStatus());
+        assertEquals(200, call(interceptor, "GET", null).getStatus());
+    }
+}
@@ -0,0 +1,54 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchResolutionServiceTest {
+
+    private static DefaultDependencyNode node(String gav, org.eclipse.aether.graph.DependencyNode... children) {
+        DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(new DefaultArtifact(gav), "compile"));
+        node.setChildren(new ArrayList<>(List.of(children)));
+        return node;
+    }
+
+    @Test
+    void testCoordinatesAreDedupedAndValidated() {
+        BatchResolutionService service = new BatchResolutionService(null, null, null, Runnable::run,
+                new SimpleMeterRegistry(), 2, 10, 100);
+
+        assertEquals(List.of("g:a:1", "g:b:1"), service.validate(List.of("g:a:1", " g:b:1", "g:a:1")));
+        assertThrows(IllegalArgumentException.class, () -> service.validate(List.of("g:a")));
+        assertThrows(IllegalArgumentException.class, () -> service.validate(List.of("g:a:1", "g:b:1", "g:c:1")));
+        assertThrows(IllegalArgumentException.class, () -> service.validate(List.of()));
+    }
+
+    @Test
+    void testWorkIsCountedInDistinctArtifactsAcrossRoots() {
+        DefaultDependencyNode shared = node("g:shared:1", node("g:leaf:1"));
+        DefaultDependencyNode a = node("g:a:1", shared, node("g:leaf:1"));
+        DefaultDependencyNode b = node("g:b:1", shared);
+
+        // a, b, shared, leaf — the common subgraph is charged once
+        assertEquals(4, BatchResolutionService.countArtifacts(List.of(a, b)));
+    }
+
+    @Test
+    void testMergedRootIsMarkedSynthetic() {
+        DependencyNode root = BatchResolutionService.syntheticRoot(2, List.of(), true);
+
+        assertEquals(BatchResolutionService.SYNTHETIC_GROUP_ID, root.groupId());
+        assertEquals("batch", root.artifactId());
+        assertEquals("2", root.version());
+        assertFalse(root.groupId().matches("[a-zA-Z0-9._-]+"), "never a valid Maven group id");
+        assertEquals("ERROR", BatchResolutionService.syntheticRoot(2, List.of(), false).resolutionStatus());
+    }
+}
@@ -0,0 +1,106 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.BlastRadiusEvent;
+import com.modernmvn.backend.repository.ArtifactVulnerabilityRepository;
+import com.modernmvn.backend.repository.DependencyEdgeRepository;
+import com.modernmvn.backend.repository.VulnerabilityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BlastRadiusServiceTest {
+
+    private static DependencyEdgeRepository.DependentEdge edge(long root, long dependency, int depth) {
+        return new DependencyEdgeRepository.DependentEdge() {
+            public Long getRootId() {
+                return root;
+            }
+
+            public Long getDependencyId() {
+                return dependency;
+            }
+
+            public Integer getDepth() {
+                return depth;
+            }
+        };
+    }
+
+    /** Stubs the merged reverse read with {@code edges}, cut at the requested depth as the store would. */
+    private static void dependents(DependencyClosureStore closures, List<DependencyEdgeRepository.DependentEdge> edges) {
+        doAnswer(inv -> {
+            int maxDepth = inv.getArgument(1);
+            Consumer<DependencyEdgeRepository.DependentEdge> sink = inv.getArgument(2);
+            edges.stream().filter(e -> e.getDepth() <= maxDepth).forEach(sink);
+            return null;
+        }).when(closures).forEachDependent(anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void testWalkClassifiesNearestFirst() {
+        IndexGraphService graph = mock(IndexGraphService.class);
+        DependencyClosureStore closures = mock(DependencyClosureStore.class);
+        // Closures holding core(4): web(2) and json(3) directly, app(1) at depth 2 and, via json, at 3
+        when(closures.hasReverseIndex()).thenReturn(true);
+        dependents(closures, List.of(edge(2, 4, 1), edge(3, 4, 1), edge(1, 4, 2), edge(1, 4, 3)));
+        when(graph.coordinates(any())).thenAnswer(inv -> {
+            Map<Long, String> gavs = new HashMap<>();
+            for (Long id : inv.<Collection<Long>>getArgument(0))
+                gavs.put(id, "org:a" + id + ":1");
+            return gavs;
+        });
+        BlastRadiusService service = service(graph, closures);
+
+        List<BlastRadiusEvent> events = new ArrayList<>();
+        assertEquals(4, service.walk(List.of(4L), 10, events::addAll));
+        assertEquals(List.of("org:a4:1", "org:a2:1", "org:a3:1", "org:a1:1"),
+                events.stream().map(BlastRadiusEvent::coordinates).toList());
+        assertEquals(List.of("vulnerable", "direct", "direct", "transitive"),
+                events.stream().map(BlastRadiusEvent::exposure).toList());
+        assertEquals(2, events.get(3).depth());
+        assertTrue(events.stream().allMatch(e -> "org:a4:1".equals(e.via())));
+
+        events.clear();
+        assertEquals(3, service.walk(List.of(4L), 1, events::addAll));
+        // One read per walk, not one per level
+        verify(closures, times(2)).forEachDependent(anyCollection(), anyInt(), any());
+        verify(closures).forEachDependent(eq(List.of(4L)), eq(1), any());
+    }
+
+    @Test
+    void testFirstBatchIsSmall() {
+        IndexGraphService graph = mock(IndexGraphService.class);
+        DependencyClosureStore closures = mock(DependencyClosureStore.class);
+        when(closures.hasReverseIndex()).thenReturn(true);
+        dependents(closures, LongStream.rangeClosed(1, 5000).mapToObj(id -> edge(id, 0, 1)).toList());
+        when(graph.coordinates(any())).thenReturn(Map.of());
+        BlastRadiusService service = service(graph, closures);
+
+        List<Integer> sizes = new ArrayList<>();
+        assertEquals(5001, service.walk(List.of(0L), 10, batch -> sizes.add(batch.size())));
+        assertEquals(BlastRadiusService.FIRST_BATCH, sizes.get(0));
+        assertTrue(sizes.stream().allMatch(s -> s <= BlastRadiusService.MAX_BATCH));
+    }
+
+    @Test
+    void testBinaryLayoutIsRefused() {
+        DependencyClosureStore closures = mock(DependencyClosureStore.class);
+        BlastRadiusService service = service(mock(IndexGraphService.class), closures);
+
+        assertFalse(service.isAvailable());
+        assertThrows(IllegalStateException.class, () -> service.walk(List.of(1L), 10, batch -> {
+        }));
+    }
+
+    private static BlastRadiusService service(IndexGraphService graph, DependencyClosureStore closures) {
+        return new BlastRadiusService(graph, closures, mock(VulnerabilityRepository.class),
+                mock(ArtifactVulnerabilityRepository.class), new SimpleMeterRegistry());
+    }
+}
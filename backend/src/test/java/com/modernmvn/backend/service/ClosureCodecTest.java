@@ -0,0 +1,77 @@
+package com.modernmvn.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClosureCodecTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ClosureCodecTest.class);
+
+    @Test
+    void testClosureSurvivesRoundTripSortedAndDeduplicated() {
+        List<ClosureCodec.Entry> entries = List.of(
+                new ClosureCodec.Entry(9_000_000_123L, 3, "runtime"),
+                new ClosureCodec.Entry(42, 1, "compile"),
+                new ClosureCodec.Entry(300, 2, "weird"),
+                new ClosureCodec.Entry(42, 4, "test"),
+                new ClosureCodec.Entry(301, 400, null));
+
+        ClosureCodec.Encoded encoded = ClosureCodec.encode(entries);
+
+        assertEquals(4, encoded.size());
+        assertArrayEquals(new long[] { 42, 300, 301, 9_000_000_123L },
+                ClosureCodec.ids(encoded.versionIds(), encoded.size()));
+        assertEquals(1, ClosureCodec.depth(encoded.depths(), 0));
+        assertEquals(255, ClosureCodec.depth(encoded.depths(), 2));
+        assertEquals("compile", ClosureCodec.scope(encoded.scopes(), 0));
+        assertNull(ClosureCodec.scope(encoded.scopes(), 1));
+        assertEquals("runtime", ClosureCodec.scope(encoded.scopes(), 3));
+        // 1 + 2 + 1 bytes for the small gaps, 5 for the 9e9 one
+        assertEquals(9, encoded.versionIds().length);
+    }
+
+    /**
+     * Size and decode cost of synthetic closures shaped like indexed ones
+     * (a few hundred ids spread over ten million versions). Run with
+     * {@code mvn test -Dtest=ClosureCodecTest -Dmodernmvn.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "modernmvn.benchmark", matches = "true")
+    void benchmarkEncodedSizeAndDecodeTime() {
+        Random random = new Random(7);
+        int closures = 10_000;
+        List<ClosureCodec.Encoded> encoded = new ArrayList<>(closures);
+        long entries = 0, bytes = 0;
+        for (int c = 0; c < closures; c++) {
+            int size = 50 + random.nextInt(600);
+            List<ClosureCodec.Entry> closure = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                closure.add(new ClosureCodec.Entry(random.nextInt(10_000_000), 1 + random.nextInt(8), "compile"));
+            }
+            ClosureCodec.Encoded e = ClosureCodec.encode(closure);
+            encoded.add(e);
+            entries += e.size();
+            bytes += e.versionIds().length + e.depths().length + e.scopes().length;
+        }
+
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < 20; round++) {
+            for (ClosureCodec.Encoded e : encoded) {
+                long[] ids = ClosureCodec.ids(e.versionIds(), e.size());
+                checksum += ids[ids.length - 1];
+            }
+        }
+        double nsPerEntry = (System.nanoTime() - start) / (20.0 * entries);
+
+        log.info("closures={} entries={} bytes/entry={} decode ns/entry={} (checksum {})", closures, entries,
+                String.format("%.2f", (double) bytes / entries), String.format("%.2f", nsPerEntry), checksum);
+        assertTrue(bytes < entries * 8);
+    }
+}
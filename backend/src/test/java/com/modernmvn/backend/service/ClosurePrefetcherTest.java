@@ -0,0 +1,120 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.ArtifactVersionRepository.VersionRef;
+import com.modernmvn.backend.repository.DependencyEdgeRepository.ClosureMember;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ClosurePrefetcherTest {
+
+    private static VersionRef ref(long id, String version) {
+        return new VersionRef() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private static RepositoryEvent resolved(RepositorySystemSession session, String coordinates, File file) {
+        return new RepositoryEvent.Builder(session, RepositoryEvent.EventType.ARTIFACT_RESOLVED)
+                .setArtifact(new DefaultArtifact(coordinates)).setFile(file).build();
+    }
+
+    @Test
+    void testNearestSiblingPrefersSameThenLowerThenHigherVersion() {
+        List<VersionRef> indexed = List.of(ref(1, "1.0"), ref(2, "1.9"), ref(3, "1.10"), ref(4, "2.0-RC1"));
+
+        assertEquals(2L, ClosurePrefetcher.nearestSibling(indexed, "1.9").getId());
+        assertEquals(3L, ClosurePrefetcher.nearestSibling(indexed, "1.11").getId());
+        assertEquals(4L, ClosurePrefetcher.nearestSibling(indexed, "2.0").getId());
+        assertEquals(1L, ClosurePrefetcher.nearestSibling(indexed, "0.9").getId());
+        assertNull(ClosurePrefetcher.nearestSibling(List.of(), "1.0"));
+    }
+
+    @Test
+    void testPrecisionAndRecallAreMeasuredAgainstPomsRead() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ClosurePrefetcher prefetcher = new ClosurePrefetcher(null, null, null, null, Runnable::run, registry, true,
+                0, 0);
+
+        // Read: the root, then the POMs of a, b and c; c only lost mediation, and g:a:1's jar is no POM
+        RepositorySystemSession session = new DefaultRepositorySystemSession();
+        ClosurePrefetcher.PomReads reads = new ClosurePrefetcher.PomReads("g:root:2");
+        RepositorySystemSession tracked = reads.attach(session);
+        File file = new File("x.pom");
+        for (String read : List.of("g:root:pom:2", "g:a:pom:1", "g:b:pom:1", "g:c:pom:1", "g:a:jar:1"))
+            tracked.getRepositoryListener().artifactResolved(resolved(tracked, read, file));
+        tracked.getRepositoryListener().artifactResolved(resolved(tracked, "g:missing:pom:1", null));
+        assertEquals(Set.of("g:a:1", "g:b:1", "g:c:1"), reads.gavs());
+
+        // Predicted: a, b and two stale GAVs
+        prefetcher.record(Set.of("g:a:1", "g:b:1", "g:stale:1", "g:c:0"), reads.gavs());
+
+        assertEquals(0.5, registry.summary("prefetch.precision").mean(), 1e-9);
+        assertEquals(2.0 / 3, registry.summary("prefetch.recall").mean(), 1e-9);
+    }
+
+    @Test
+    void testDownloadsStillPendingAtTheTimeoutAreCancelled() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RepositorySystem system = mock(RepositorySystem.class);
+        ArtifactVersionRepository versions = mock(ArtifactVersionRepository.class);
+        DependencyClosureStore closures = mock(DependencyClosureStore.class);
+        when(versions.findIndexedVersions("g", "root")).thenReturn(List.of(ref(1, "1.0")));
+        when(closures.closure(1L)).thenReturn(List.of(member("g:a:1"), member("g:b:1")));
+        RepositorySystemSession session = mock(RepositorySystemSession.class);
+        LocalRepositoryManager local = mock(LocalRepositoryManager.class);
+        when(session.getLocalRepositoryManager()).thenReturn(local);
+        when(local.find(any(), any(LocalArtifactRequest.class)))
+                .thenAnswer(inv -> new LocalArtifactResult(inv.getArgument(1)));
+        List<Runnable> queued = new ArrayList<>(); // an executor that never gets to them
+        ClosurePrefetcher prefetcher = new ClosurePrefetcher(system, mock(MavenConfig.class), versions, closures,
+                queued::add, registry, true, 0, 500);
+
+        assertEquals(Set.of("g:a:1", "g:b:1"), prefetcher.prefetch("g", "root", "1.1", List.of(), session));
+
+        assertEquals(2, registry.counter("prefetch.poms", "result", "cancelled").count());
+        queued.forEach(Runnable::run);
+        verifyNoInteractions(system);
+    }
+
+    private static ClosureMember member(String gav) {
+        String[] c = gav.split(":");
+        return new ClosureMember() {
+            public String getGroupId() {
+                return c[0];
+            }
+
+            public String getArtifactId() {
+                return c[1];
+            }
+
+            public String getVersion() {
+                return c[2];
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.ConflictCandidate;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictPathsTest {
+
+    private static final GenericVersionScheme VERSIONS = new GenericVersionScheme();
+
+    private static DefaultDependencyNode aether(String artifactId, String version,
+            org.eclipse.aether.graph.DependencyNode... children) throws Exception {
+        DefaultDependencyNode node = new DefaultDependencyNode(
+                new Dependency(new DefaultArtifact("org.test:" + artifactId + ":" + version), "compile"));
+        node.setVersion(VERSIONS.parseVersion(version));
+        node.setVersionConstraint(VERSIONS.parseVersionConstraint(version));
+        node.setChildren(new ArrayList<>(List.of(children)));
+        return node;
+    }
+
+    /** Runs the real Maven conflict resolver in verbose mode over the given direct subtrees. */
+    private static ConflictPaths verbose(org.eclipse.aether.graph.DependencyNode... subtrees) throws Exception {
+        DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, ConflictResolver.Verbosity.FULL);
+        return ConflictPaths.build("org.test:root:1",
+                IncrementalResolutionService.mediate(session, List.of(subtrees)));
+    }
+
+    @Test
+    void testOmittedCandidateKeepsFullPathAndSelectedPath() throws Exception {
+        // a -> x:1 (depth 2) beats b -> c -> x:2 (depth 3)
+        ConflictPaths paths = verbose(
+                aether("a", "1", aether("x", "1")),
+                aether("b", "1", aether("c", "1", aether("x", "2"))));
+
+        List<ConflictCandidate> candidates = paths.candidates("org.test", "x", 10);
+        assertEquals(1, candidates.size());
+        ConflictCandidate x = candidates.get(0);
+        assertEquals("2", x.version());
+        assertEquals("1", x.selectedVersion());
+        assertEquals("conflict", x.reason());
+        assertEquals(List.of("org.test:root:1", "org.test:b:1", "org.test:c:1", "org.test:x:2"), x.path());
+        assertEquals(List.of("org.test:root:1", "org.test:a:1", "org.test:x:1"), x.selectedPath());
+    }
+
+    @Test
+    void testSameVersionReachedTwiceIsReportedAsDuplicateAndFiltersApply() throws Exception {
+        ConflictPaths paths = verbose(
+                aether("a", "1", aether("y", "1")),
+                aether("b", "1", aether("y", "1"), aether("x", "1")),
+                aether("x", "2"));
+
+        assertEquals(2, paths.size());
+        assertEquals("duplicate", paths.candidates("org.test", "y", 10).get(0).reason());
+        assertEquals(1, paths.candidates(null, null, 1).size(), "Limit applies");
+        assertTrue(paths.candidates("org.other", null, 10).isEmpty());
+        assertTrue(paths.estimatedBytes() > 0);
+    }
+}
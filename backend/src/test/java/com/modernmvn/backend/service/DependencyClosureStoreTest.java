@@ -0,0 +1,81 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.entity.DependencyClosureRefEntity;
+import com.modernmvn.backend.entity.DependencySubgraphMemberEntity;
+import com.modernmvn.backend.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DependencyClosureStoreTest {
+
+    private static DependencyNode node(String artifactId, String scope, DependencyNode... children) {
+        return new DependencyNode("org.test", artifactId, "1.0", scope, "jar", List.of(children), "RESOLVED", null);
+    }
+
+    private static DependencyNode jackson() {
+        return node("databind", "compile", node("annotations", "compile"), node("core", "compile"));
+    }
+
+    @Test
+    void testEqualSubtreesShareAHashAndMembersAreDistinctAtShallowestDepth() {
+        DependencyNode a = node("app-a", "compile", jackson());
+        DependencyNode b = node("app-b", "compile", node("other", "compile"), jackson());
+
+        Map<DependencyNode, String> memo = new IdentityHashMap<>();
+        assertEquals(DependencyClosureStore.hash(a.children().get(0), memo),
+                DependencyClosureStore.hash(b.children().get(1), memo));
+        assertNotEquals(DependencyClosureStore.hash(jackson(), memo),
+                DependencyClosureStore.hash(node("databind", "test", node("annotations", "compile"),
+                        node("core", "compile")), memo));
+
+        DependencyNode head = node("x", "compile", node("y", "compile", node("z", "compile")), node("z", "compile"));
+        List<DependencyClosureStore.Member> members = DependencyClosureStore.members(head);
+        assertEquals(List.of("x", "y", "z"), members.stream().map(m -> m.node().artifactId()).toList());
+        assertEquals(List.of(0, 1, 1), members.stream().map(DependencyClosureStore.Member::depth).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSharedLayoutOnlyStoresSubgraphsThatDoNotExistYet() {
+        DependencySubgraphRepository subgraphs = mock(DependencySubgraphRepository.class);
+        DependencySubgraphMemberRepository members = mock(DependencySubgraphMemberRepository.class);
+        DependencyClosureRefRepository refs = mock(DependencyClosureRefRepository.class);
+        DependencyClosureStore store = new DependencyClosureStore(mock(DependencyEdgeRepository.class), subgraphs,
+                members, refs, mock(DependencyClosureRepository.class), mock(DependencyTreeNodeRepository.class),
+                mock(ArtifactVersionRepository.class), mock(ArtifactVulnerabilityRepository.class), null,
+                new SimpleMeterRegistry(), "shared", 60);
+
+        DependencyNode known = jackson();
+        DependencyNode fresh = node("guava", "compile", node("failureaccess", "compile"));
+        String knownHash = DependencyClosureStore.hash(known, new IdentityHashMap<>());
+        when(subgraphs.findExistingHashes(anyCollection())).thenReturn(List.of(knownHash));
+        when(subgraphs.insertIfAbsent(anyString(), anyLong(), anyInt())).thenReturn(1);
+
+        Map<String, Long> ids = new HashMap<>();
+        store.replace(9L, node("app", "compile", known, fresh),
+                n -> ids.computeIfAbsent(n.artifactId(), k -> (long) ids.size() + 1));
+
+        verify(subgraphs).insertIfAbsent(anyString(), eq(ids.get("guava")), eq(2));
+        ArgumentCaptor<List<DependencySubgraphMemberEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(members).saveAll(saved.capture());
+        assertEquals(Set.of(ids.get("guava"), ids.get("failureaccess")), saved.getValue().stream()
+                .map(DependencySubgraphMemberEntity::getDependencyVersionId).collect(Collectors.toSet()));
+        assertFalse(ids.containsKey("core"), "members of an existing subgraph are not looked up");
+
+        ArgumentCaptor<List<DependencyClosureRefEntity>> refRows = ArgumentCaptor.forClass(List.class);
+        verify(refs).saveAll(refRows.capture());
+        List<String> refHashes = refRows.getValue().stream().map(DependencyClosureRefEntity::getSubgraphHash).toList();
+        assertEquals(2, refHashes.size());
+        assertTrue(refHashes.contains(knownHash));
+        assertEquals(refHashes.stream().sorted().toList(), refHashes, "refs are inserted in hash order");
+    }
+}
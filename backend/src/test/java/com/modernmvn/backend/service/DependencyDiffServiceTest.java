@@ -0,0 +1,71 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyDiff;
+import com.modernmvn.backend.dto.DependencyDiff.Change;
+import com.modernmvn.backend.dto.DependencyDiff.VulnerabilityCounts;
+import com.modernmvn.backend.repository.DependencyEdgeRepository.ClosureMember;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyDiffServiceTest {
+
+    @Test
+    void testMergeSplitsAddedRemovedAndChanged() {
+        List<ClosureMember> from = List.of(member("org.yaml:snakeyaml:1.33"), member("ch.qos:logback:1.4.14"),
+                member("io.micrometer:micrometer-core:1.12.0"), member("org.slf4j:slf4j-api:2.0.9"));
+        List<ClosureMember> to = List.of(member("org.slf4j:slf4j-api:2.0.9"), member("org.yaml:snakeyaml:2.2"),
+                member("ch.qos:logback:1.5.6"), member("io.micrometer:micrometer-observation:1.13.0"));
+        VulnerabilityCounts before = new VulnerabilityCounts(3, 1, 2, 0, 0, 9.8, 70);
+        VulnerabilityCounts after = new VulnerabilityCounts(1, 0, 1, 0, 0, 7.5, 20);
+
+        DependencyDiff diff = DependencyDiffService.diff("org.springframework.boot", "spring-boot", "3.2.0",
+                "3.4.0", from, to, before, after);
+
+        assertEquals(List.of(new Change("io.micrometer", "micrometer-observation", null, "1.13.0")), diff.added());
+        assertEquals(List.of(new Change("io.micrometer", "micrometer-core", "1.12.0", null)), diff.removed());
+        assertEquals(List.of(new Change("ch.qos", "logback", "1.4.14", "1.5.6"),
+                new Change("org.yaml", "snakeyaml", "1.33", "2.2")), diff.changed());
+        assertEquals(1, diff.unchanged());
+        VulnerabilityCounts delta = diff.vulnerabilityDelta();
+        assertEquals(-2, delta.total());
+        assertEquals(-1, delta.critical());
+        assertEquals(-50, delta.riskScore());
+        assertEquals(-2.3, delta.maxCvss(), 1e-9);
+
+        assertNull(DependencyDiffService.diff("g", "a", "1", "2", from, to, null, after).vulnerabilityDelta());
+    }
+
+    @Test
+    void testArtifactInSeveralVersionsIsComparedByItsLowestVersion() {
+        List<ClosureMember> from = List.of(member("io.netty:netty-transport:10.0"),
+                member("io.netty:netty-transport:9.0"));
+        List<ClosureMember> to = List.of(member("io.netty:netty-transport:9.0"));
+
+        DependencyDiff diff = DependencyDiffService.diff("g", "a", "1", "2", from, to, null, null);
+
+        assertEquals(List.of(), diff.changed());
+        assertEquals(1, diff.unchanged());
+        assertTrue(DependencyDiffService.compareVersions("10.0", "9.0") > 0);
+        assertTrue(DependencyDiffService.compareVersions("1.0-SNAPSHOT", "1.0") < 0);
+    }
+
+    private static ClosureMember member(String gav) {
+        String[] c = gav.split(":");
+        return new ClosureMember() {
+            public String getGroupId() {
+                return c[0];
+            }
+
+            public String getArtifactId() {
+                return c[1];
+            }
+
+            public String getVersion() {
+                return c[2];
+            }
+        };
+    }
+}
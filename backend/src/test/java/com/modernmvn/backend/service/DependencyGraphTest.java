@@ -0,0 +1,68 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.GraphNodeView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    private static DependencyNode node(String artifactId, DependencyNode... children) {
+        return new DependencyNode("org.test", artifactId, "1.0", "compile", "jar", List.of(children), "RESOLVED",
+                null);
+    }
+
+    @Test
+    void testPreOrderIndexingAndChildSlices() {
+        // root -> (a -> (a1, a2), b -> (b1))
+        DependencyNode root = node("root",
+                node("a", node("a1"), node("a2")),
+                node("b", node("b1")));
+
+        DependencyGraph graph = DependencyGraph.index("g", root);
+
+        assertEquals(6, graph.size());
+        assertEquals("a", graph.node(1).artifactId());
+        assertEquals("b", graph.node(4).artifactId());
+        assertEquals(2, graph.childCount(0));
+        assertEquals(2, graph.childCount(1));
+        assertEquals(0, graph.childCount(2));
+
+        List<GraphNodeView> bChildren = graph.childViews(4, 0);
+        assertEquals(1, bChildren.size());
+        assertEquals("b1", bChildren.get(0).artifactId());
+        assertEquals(5, bChildren.get(0).nodeId());
+    }
+
+    @Test
+    void testViewCollapsesBelowDepth() {
+        DependencyNode root = node("root", node("a", node("a1", node("a11"))));
+
+        GraphNodeView view = DependencyGraph.index("g", root).view(0, 1);
+
+        assertEquals(1, view.children().size());
+        GraphNodeView a = view.children().get(0);
+        assertTrue(a.children().isEmpty(), "Second level must be collapsed");
+        assertEquals(1, a.childCount(), "Collapsed node still reports its child count");
+    }
+
+    @Test
+    void testCacheHandsOutOneGraphPerKeyWhileItLives() {
+        DependencyGraphCache cache = new DependencyGraphCache(2, 30, new SimpleMeterRegistry());
+        DependencyNode root = node("root", node("a", node("a1")));
+
+        DependencyGraph first = cache.put("org.test:root:1.0:[]", root, null, null);
+        assertSame(first, cache.find("org.test:root:1.0:[]").orElseThrow());
+        assertEquals(first.getGraphId(), cache.page(first, 1).graphId());
+        assertTrue(cache.find("org.test:root:1.0:verbose:[]").isEmpty());
+
+        // Evicted graphs drop their key as well
+        cache.put(root);
+        cache.put(root);
+        assertTrue(cache.find("org.test:root:1.0:[]").isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyMediatorTest {
+
+    /** In-memory edges keyed by g:a:v. */
+    private final Map<String, List<Dependency>> edges = new HashMap<>();
+
+    private final DirectDependencySource source = artifacts -> {
+        Map<String, List<Dependency>> result = new HashMap<>();
+        for (Artifact a : artifacts) {
+            List<Dependency> deps = edges.get(a.getGroupId() + ":" + a.getArtifactId() + ":" + a.getVersion());
+            if (deps != null)
+                result.put(DependencyMediator.gav(a), deps);
+        }
+        return result;
+    };
+
+    private static Dependency dep(String ga, String version, String scope, Exclusion... exclusions) {
+        return new Dependency(new DefaultArtifact(ga + ":" + version), scope, false, List.of(exclusions));
+    }
+
+    private void edges(String gav, Dependency... deps) {
+        edges.put(gav, List.of(deps));
+    }
+
+    private static Map<String, String> flatten(List<DependencyNode> nodes) {
+        Map<String, String> out = new LinkedHashMap<>();
+        Deque<DependencyNode> queue = new ArrayDeque<>(nodes);
+        while (!queue.isEmpty()) {
+            DependencyNode n = queue.poll();
+            out.put(n.artifactId(), n.version() + "/" + n.scope());
+            queue.addAll(n.children());
+        }
+        return out;
+    }
+
+    @Test
+    void testNearestWinsAndFirstDeclarationBreaksTies() {
+        edges("g:a:1", dep("g:x", "1", "compile"));
+        edges("g:b:1", dep("g:c", "1", "compile"));
+        edges("g:c:1", dep("g:x", "2", "compile"));
+        edges("g:x:1");
+        edges("g:x:2");
+
+        List<DependencyNode> tree = new DependencyMediator(source, List.of())
+                .mediate(List.of(dep("g:b", "1", "compile"), dep("g:a", "1", "compile")));
+
+        assertEquals("1/compile", flatten(tree).get("x"), "x:1 at depth 2 beats x:2 at depth 3");
+        assertTrue(tree.get(0).children().get(0).children().isEmpty(), "Loser is dropped from c");
+    }
+
+    @Test
+    void testTestOptionalAndExcludedDependenciesAreNotTransitive() {
+        Dependency optional = new Dependency(new DefaultArtifact("g:opt:1"), "compile", true);
+        edges("g:a:1", dep("g:junit", "1", "test"), optional, dep("g:skip", "1", "compile"),
+                dep("g:keep", "1", "compile"));
+        edges("g:keep:1");
+
+        List<DependencyNode> tree = new DependencyMediator(source, List.of())
+                .mediate(List.of(dep("g:a", "1", "compile", new Exclusion("g", "skip", "*", "*"))));
+
+        assertEquals(Set.of("a", "keep"), flatten(tree).keySet());
+    }
+
+    @Test
+    void testScopeIsDerivedAlongThePathAndWidestWins() {
+        edges("g:r:1", dep("g:x", "1", "compile"));
+        edges("g:c:1", dep("g:m", "1", "compile"));
+        edges("g:m:1", dep("g:x", "1", "compile"));
+        edges("g:x:1");
+
+        List<DependencyNode> tree = new DependencyMediator(source, List.of())
+                .mediate(List.of(dep("g:r", "1", "runtime"), dep("g:c", "1", "compile")));
+
+        // x is nearest under runtime r, but the compile path through c widens it
+        assertEquals("1/compile", flatten(tree).get("x"));
+        assertEquals("runtime", DependencyMediator.deriveScope("runtime", "compile"));
+        assertEquals("provided", DependencyMediator.deriveScope("provided", "runtime"));
+    }
+
+    @Test
+    void testManagementAppliesOnlyToTransitiveDependencies() {
+        edges("g:a:1", dep("g:x", "1", "compile"));
+        edges("g:x:2");
+        edges("g:y:1");
+
+        List<DependencyNode> tree = new DependencyMediator(source,
+                List.of(dep("g:x", "2", "compile"), dep("g:y", "9", "compile")))
+                .mediate(List.of(dep("g:a", "1", "compile"), dep("g:y", "1", "compile")));
+
+        Map<String, String> flat = flatten(tree);
+        assertEquals("2/compile", flat.get("x"));
+        assertEquals("1/compile", flat.get("y"), "Direct declarations are not managed");
+    }
+
+    @Test
+    void testMissingDescriptorIsReported() {
+        List<DependencyNode> tree = new DependencyMediator(source, List.of())
+                .mediate(List.of(dep("g:unknown", "1", "compile")));
+
+        assertEquals("MISSING", tree.get(0).resolutionStatus());
+    }
+
+    @Test
+    void testTreesDeeperThanTenLevelsAreKeptWhole() {
+        for (int i = 0; i < 15; i++)
+            edges("g:n" + i + ":1", dep("g:n" + (i + 1), "1", "compile"));
+        edges("g:n15:1");
+
+        List<DependencyNode> tree = new DependencyMediator(source, List.of())
+                .mediate(List.of(dep("g:n0", "1", "compile")));
+
+        assertEquals(16, flatten(tree).size());
+    }
+}
@@ -0,0 +1,78 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.entity.DependencyTreeNodeEntity;
+import com.modernmvn.backend.repository.DependencyTreeNodeRepository.TreeNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyTreeStoreTest {
+
+    private static DependencyNode node(String artifactId, String status, String message, DependencyNode... children) {
+        return new DependencyNode("org.test", artifactId, "1.0", "compile", "jar", List.of(children), status,
+                message);
+    }
+
+    private record Row(int getNodeIndex, int getParentIndex, Long getVersionId, String getGroupId,
+            String getArtifactId, String getVersion, String getScope, String getType, String getResolutionStatus,
+            String getConflictMessage) implements TreeNode {
+    }
+
+    /** Rows as read back, coordinates joined in from the version ids. */
+    private static List<TreeNode> read(List<DependencyTreeNodeEntity> rows, Map<Long, DependencyNode> versions) {
+        List<TreeNode> read = new ArrayList<>();
+        for (DependencyTreeNodeEntity e : rows) {
+            DependencyNode v = versions.get(e.getVersionId());
+            read.add(new Row(e.getNodeIndex(), e.getParentIndex(), e.getVersionId(), v.groupId(), v.artifactId(),
+                    v.version(), e.getScope(), e.getType(), e.getResolutionStatus(), e.getConflictMessage()));
+        }
+        return read;
+    }
+
+    @Test
+    void testTreeSurvivesRoundTripWithOrderAndConflictsIntact() {
+        DependencyNode root = node("root", "RESOLVED", null,
+                node("a", "RESOLVED", null, node("x", "RESOLVED", null), node("y", "CONFLICT", "2.0 wins")),
+                node("b", "RESOLVED", null, node("x", "RESOLVED", null)),
+                node("c", "MISSING", null));
+
+        Map<String, Long> ids = new HashMap<>();
+        Map<Long, DependencyNode> versions = new HashMap<>();
+        List<DependencyTreeNodeEntity> rows = DependencyTreeStore.flatten(7L, root, 100, n -> {
+            Long id = ids.computeIfAbsent(n.artifactId(), a -> (long) ids.size() + 1);
+            versions.put(id, n);
+            return id;
+        });
+
+        assertEquals(7, rows.size());
+        assertEquals(List.of(-1, 0, 1, 1, 0, 4, 0),
+                rows.stream().map(DependencyTreeNodeEntity::getParentIndex).toList());
+        // Both x nodes point at the same version row
+        assertEquals(rows.get(2).getVersionId(), rows.get(5).getVersionId());
+        List<TreeNode> read = read(rows, versions);
+        assertTrue(DependencyTreeStore.isComplete(read));
+        assertEquals(root, DependencyTreeStore.rebuild(read));
+
+        // A node whose version row was deleted leaves a hole; the tree is not served
+        List<TreeNode> holed = new ArrayList<>(read);
+        holed.remove(3);
+        assertFalse(DependencyTreeStore.isComplete(holed));
+    }
+
+    @Test
+    void testOversizedTreesAreNotStored() {
+        DependencyNode root = node("root", "RESOLVED", null, node("a", "RESOLVED", null), node("b", "RESOLVED", null));
+
+        List<DependencyNode> looked = new ArrayList<>();
+
+        assertTrue(DependencyTreeStore.flatten(1L, root, 2, n -> {
+            looked.add(n);
+            return 1L;
+        }).isEmpty());
+        assertTrue(looked.isEmpty(), "no version shells for a tree that is not stored");
+        assertEquals(3, DependencyTreeStore.flatten(1L, root, 3, n -> 1L).size());
+    }
+}
@@ -0,0 +1,52 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.repository.EdgePartitionRepository;
+import com.modernmvn.backend.repository.EdgePartitionRepository.PartitionBound;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EdgePartitionManagerTest {
+
+    private static PartitionBound bound(int modulus, int remainder) {
+        return new PartitionBound("dependency_edges_p" + modulus + "_" + remainder, modulus, remainder);
+    }
+
+    @Test
+    void testMissingRemaindersAccountForPartitionsOfSmallerModulus() {
+        // Half-way through a split from 4 to 8: remainder 1 of 4 already became 1 and 5 of 8
+        List<PartitionBound> bounds = List.of(bound(4, 0), bound(8, 1), bound(8, 5), bound(4, 3));
+
+        assertEquals(List.of(2, 6), EdgePartitionManager.missingRemainders(bounds, 8));
+        assertEquals(List.of(0, 1, 2, 3), EdgePartitionManager.missingRemainders(List.of(), 4));
+    }
+
+    @Test
+    void testPartitionCountCanOnlyGrowToAMultiple() {
+        List<PartitionBound> bounds = List.of(bound(4, 0), bound(8, 1), bound(8, 5));
+
+        assertEquals(List.of(bound(4, 0)), EdgePartitionManager.toSplit(bounds, 8));
+        assertEquals(3, EdgePartitionManager.toSplit(bounds, 16).size());
+        assertThrows(IllegalArgumentException.class, () -> EdgePartitionManager.toSplit(bounds, 12));
+        assertThrows(IllegalArgumentException.class, () -> EdgePartitionManager.toSplit(bounds, 4));
+    }
+
+    @Test
+    void testEdgesAreOnlyPartitionedForTheRowsLayout() {
+        EdgePartitionRepository repository = mock(EdgePartitionRepository.class);
+        EdgePartitionManager manager = new EdgePartitionManager(repository, new SimpleMeterRegistry(), 8, "shared");
+
+        manager.onStartup();
+        assertThrows(IllegalStateException.class, () -> manager.apply(8));
+        verifyNoInteractions(repository);
+
+        when(repository.isPartitioned()).thenReturn(false);
+        when(repository.isEmpty()).thenReturn(true);
+        new EdgePartitionManager(repository, new SimpleMeterRegistry(), 8, "rows").onStartup();
+        verify(repository).convertToPartitioned(8);
+    }
+}
@@ -0,0 +1,140 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.maven.model.Model;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EffectiveModelServiceTest {
+
+    private static final RemoteRepository CENTRAL = new RemoteRepository.Builder("central", "default",
+            "https://repo.maven.apache.org/maven2/").build();
+    private static final RemoteRepository CUSTOM = new RemoteRepository.Builder("custom-0", "default",
+            "https://evil.example/maven/").build();
+
+    private static final String CHILD = """
+            <project><modelVersion>4.0.0</modelVersion>
+              <parent><groupId>org</groupId><artifactId>parent</artifactId><version>1.0</version></parent>
+              <artifactId>app</artifactId>
+              <dependencyManagement><dependencies>
+                <dependency><groupId>org</groupId><artifactId>bom</artifactId><version>1.0</version>
+                  <type>pom</type><scope>import</scope></dependency>
+              </dependencies></dependencyManagement>
+              <dependencies>
+                <dependency><groupId>org</groupId><artifactId>lib</artifactId></dependency>
+              </dependencies>
+            </project>
+            """;
+
+    @TempDir
+    Path tmp;
+
+    private static String bom(String libVersion) {
+        return "<project><modelVersion>4.0.0</modelVersion><groupId>org</groupId><artifactId>bom</artifactId>"
+                + "<version>1.0</version><packaging>pom</packaging><dependencyManagement><dependencies>"
+                + "<dependency><groupId>org</groupId><artifactId>lib</artifactId><version>" + libVersion
+                + "</version></dependency></dependencies></dependencyManagement></project>";
+    }
+
+    @Test
+    void testParentsAndBomsAreAppliedAndOnlyReusedForTheSameRepositories() throws Exception {
+        File parent = Files.writeString(tmp.resolve("parent.pom"),
+                "<project><modelVersion>4.0.0</modelVersion><groupId>org</groupId><artifactId>parent</artifactId>"
+                        + "<version>1.0</version><packaging>pom</packaging></project>").toFile();
+        File realBom = Files.writeString(tmp.resolve("bom.pom"), bom("2.0")).toFile();
+        File poisonedBom = Files.writeString(tmp.resolve("evil-bom.pom"), bom("6.6.6")).toFile();
+
+        RepositorySystem system = mock(RepositorySystem.class);
+        when(system.resolveArtifact(any(), any())).thenAnswer(inv -> {
+            ArtifactRequest request = inv.getArgument(1);
+            File file = request.getArtifact().getArtifactId().equals("parent") ? parent
+                    : request.getRepositories().contains(CUSTOM) ? poisonedBom : realBom;
+            return new ArtifactResult(request).setArtifact(request.getArtifact().setFile(file));
+        });
+        EffectiveModelService service = new EffectiveModelService(system,
+                new SharedModelCache(100, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+
+        Model poisoned = service.build(CHILD, null, List.of(CENTRAL, CUSTOM));
+        Model first = service.build(CHILD, null, List.of(CENTRAL));
+        Model second = service.build(CHILD, null, List.of(CENTRAL));
+
+        assertEquals("6.6.6", poisoned.getDependencies().get(0).getVersion());
+        assertEquals("org", first.getGroupId());
+        assertEquals("2.0", first.getDependencies().get(0).getVersion());
+        assertEquals("2.0", second.getDependencies().get(0).getVersion());
+        // The BOM was fetched once per repository set
+        verify(system, times(2)).resolveArtifact(any(),
+                argThat(r -> r != null && r.getArtifact().getArtifactId().equals("bom")));
+    }
+
+    @Test
+    void testWorkspaceParentIsUsedInsteadOfRepositories() throws Exception {
+        RepositorySystem system = mock(RepositorySystem.class);
+        EffectiveModelService service = new EffectiveModelService(system,
+                new SharedModelCache(100, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        String parent = "<project><modelVersion>4.0.0</modelVersion><groupId>org</groupId>"
+                + "<artifactId>parent</artifactId><version>1.0</version><packaging>pom</packaging>"
+                + "<properties><lib.version>3.1</lib.version></properties></project>";
+        String child = "<project><modelVersion>4.0.0</modelVersion><parent><groupId>org</groupId>"
+                + "<artifactId>parent</artifactId><version>1.0</version></parent><artifactId>app</artifactId>"
+                + "<dependencies><dependency><groupId>org</groupId><artifactId>lib</artifactId>"
+                + "<version>${lib.version}</version></dependency></dependencies></project>";
+
+        Model model = service.build(child, null, List.of(CENTRAL), Map.of("org:parent:1.0", parent));
+
+        assertEquals("3.1", model.getDependencies().get(0).getVersion());
+        verifyNoInteractions(system);
+    }
+
+    @Test
+    void testRawFallbackTakesManagedVersionsAndFlagsUnmanagedOnes() throws Exception {
+        EffectiveModelService models = mock(EffectiveModelService.class);
+        when(models.build(anyString(), any(), any(), any())).thenThrow(new IllegalStateException("BOM unavailable"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MavenResolutionService service = new MavenResolutionService(mock(RepositorySystem.class), null, models, null,
+                null, null, registry, false);
+
+        MavenResolutionService.PreparedPom pom = service.preparePom("""
+                <project><modelVersion>4.0.0</modelVersion>
+                  <groupId>org</groupId><artifactId>app</artifactId><version>1</version>
+                  <properties><lib.version>2.0</lib.version></properties>
+                  <dependencyManagement><dependencies>
+                    <dependency><groupId>org</groupId><artifactId>lib</artifactId><version>${lib.version}</version></dependency>
+                    <dependency><groupId>org</groupId><artifactId>scoped</artifactId><scope>runtime</scope></dependency>
+                  </dependencies></dependencyManagement>
+                  <dependencies>
+                    <dependency><groupId>org</groupId><artifactId>lib</artifactId></dependency>
+                    <dependency><groupId>org</groupId><artifactId>stray</artifactId></dependency>
+                  </dependencies>
+                </project>
+                """, List.of(), null);
+
+        assertEquals(List.of("2.0", "LATEST"),
+                pom.dependencies().stream().map(d -> d.getArtifact().getVersion()).toList());
+        assertEquals(Set.of("org:stray"), pom.unmanaged());
+        assertEquals(1, registry.counter("resolution.unmanaged_versions").count());
+        // A management entry without a version leaves transitive versions alone
+        assertEquals("", pom.managedDependencies().get(1).getArtifact().getVersion());
+
+        DependencyNode stray = MavenResolutionService.markUnmanaged(List.of(
+                new DependencyNode("org", "stray", "9.9", "compile", "jar", List.of(), "RESOLVED", null)),
+                pom.unmanaged()).get(0);
+        assertEquals("UNMANAGED", stray.resolutionStatus());
+    }
+}
@@ -0,0 +1,76 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.PomDiffResult;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalResolutionServiceTest {
+
+    private static final GenericVersionScheme VERSIONS = new GenericVersionScheme();
+
+    private static DefaultDependencyNode aether(String artifactId, String version,
+            org.eclipse.aether.graph.DependencyNode... children) throws Exception {
+        DefaultDependencyNode node = new DefaultDependencyNode(
+                new Dependency(new DefaultArtifact("org.test:" + artifactId + ":" + version), "compile"));
+        node.setVersion(VERSIONS.parseVersion(version));
+        node.setVersionConstraint(VERSIONS.parseVersionConstraint(version));
+        node.setChildren(new ArrayList<>(List.of(children)));
+        return node;
+    }
+
+    private static DependencyNode dto(String artifactId, String version, String scope, DependencyNode... children) {
+        return new DependencyNode("org.test", artifactId, version, scope, "jar", List.of(children), "RESOLVED", null);
+    }
+
+    @Test
+    void testMediationOverReusedSubtreesPicksNearestAndLeavesSnapshotIntact() throws Exception {
+        // a -> x:1 (depth 2) beats b -> c -> x:2 (depth 3)
+        DefaultDependencyNode a = aether("a", "1", aether("x", "1"));
+        DefaultDependencyNode c = aether("c", "1", aether("x", "2"));
+        DefaultDependencyNode b = aether("b", "1", c);
+
+        org.eclipse.aether.graph.DependencyNode root = IncrementalResolutionService
+                .mediate(MavenRepositorySystemUtils.newSession(), List.of(a, b));
+
+        assertEquals(2, root.getChildren().size());
+        assertEquals("1", root.getChildren().get(0).getChildren().get(0).getArtifact().getVersion());
+        org.eclipse.aether.graph.DependencyNode mediatedC = root.getChildren().get(1).getChildren().get(0);
+        assertTrue(mediatedC.getChildren().isEmpty(), "x:2 loses to the nearer x:1");
+
+        assertEquals(1, c.getChildren().size(), "Cached raw subtree must not be mutated by mediation");
+    }
+
+    @Test
+    void testDeltaReportsAddedRemovedAndChanged() {
+        DependencyNode before = dto("root", "1", "compile",
+                dto("a", "1", "compile", dto("x", "1", "compile")),
+                dto("gone", "1", "compile"));
+        DependencyNode after = dto("root", "1", "compile",
+                dto("a", "1", "compile", dto("x", "2", "compile")),
+                dto("new", "1", "test"));
+
+        List<PomDiffResult.NodeChange> added = new ArrayList<>();
+        List<PomDiffResult.NodeChange> removed = new ArrayList<>();
+        List<PomDiffResult.NodeChange> changed = new ArrayList<>();
+        Map<String, DependencyNode> beforeNodes = IncrementalResolutionService.flatten(before);
+        IncrementalResolutionService.delta(beforeNodes, IncrementalResolutionService.flatten(after), added, removed,
+                changed);
+
+        assertEquals(List.of("new"), added.stream().map(PomDiffResult.NodeChange::artifactId).toList());
+        assertEquals(List.of("gone"), removed.stream().map(PomDiffResult.NodeChange::artifactId).toList());
+        assertEquals(1, changed.size());
+        assertEquals("1", changed.get(0).previousVersion());
+        assertEquals("2", changed.get(0).version());
+    }
+}
@@ -0,0 +1,185 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.DependencyPathReport;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.DependencyEdgeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IndexGraphServiceTest {
+
+    @Test
+    void testCsrSnapshotHoldsForwardAndReverseEdges() {
+        IndexGraph.Builder builder = new IndexGraph.Builder();
+        builder.add(30, 10);
+        builder.add(30, 20);
+        builder.add(20, 10);
+        builder.add(40, 20);
+
+        for (boolean offHeap : new boolean[] { false, true }) {
+            IndexGraph graph = builder.build(offHeap);
+            assertEquals(4, graph.vertexCount());
+            assertEquals(4, graph.edgeCount());
+            assertArrayEquals(new long[] { 10, 20 }, graph.dependencies(30));
+            assertArrayEquals(new long[] { 20, 30 }, graph.dependents(10));
+            assertArrayEquals(new long[] { 30, 40 }, graph.dependents(20));
+            assertEquals(-1, graph.indexOf(99));
+            assertEquals(0, graph.dependencies(99).length);
+        }
+    }
+
+    @Test
+    void testPathsFollowOverlayOverSnapshot() {
+        DependencyClosureStore store = mock(DependencyClosureStore.class);
+        ArtifactVersionRepository versions = mock(ArtifactVersionRepository.class);
+        when(versions.findMaxId()).thenReturn(10L);
+        // app(1) -> web(2) -> core(4); app -> json(3) -> core; web -> json
+        doAnswer(inv -> {
+            IndexGraph.Builder b = inv.getArgument(2);
+            b.add(1, 2);
+            b.add(1, 3);
+            b.add(2, 4);
+            b.add(2, 3);
+            b.add(3, 4);
+            return null;
+        }).when(store).loadDirectEdges(anyLong(), anyLong(), any());
+        IndexGraphService service = new IndexGraphService(store, versions, mock(DependencyTreeStore.class),
+                new SimpleMeterRegistry(), true, false, 100);
+        service.rebuild();
+
+        assertEquals(3, service.closureSize(1));
+        assertEquals(List.of(1L, 2L, 4L), service.shortestPath(1, 4));
+        assertEquals(List.of(List.of(1L, 2L, 4L), List.of(1L, 3L, 4L), List.of(1L, 2L, 3L, 4L)),
+                service.paths(1, 4, 5, 10));
+        assertEquals(2, service.paths(1, 4, 2, 10).size());
+
+        // json re-indexed without core: only the path through web is left
+        service.update(3, new long[0]);
+        assertEquals(List.of(List.of(1L, 2L, 4L)), service.paths(1, 4, 5, 10));
+        assertArrayEquals(new long[] { 2 }, service.dependents(4));
+        assertEquals(1, service.stats().overlayRoots());
+    }
+
+    private static DependencyNode node(String gav, String status, DependencyNode... children) {
+        String[] c = gav.split(":");
+        return new DependencyNode(c[0], c[1], c[2], "compile", "jar", List.of(children), status, null);
+    }
+
+    @Test
+    void testWhyFollowsTheRootsResolvedTreeAndMarksNearestPath() {
+        DependencyClosureStore store = mock(DependencyClosureStore.class);
+        ArtifactVersionRepository versions = mock(ArtifactVersionRepository.class);
+        DependencyTreeStore trees = mock(DependencyTreeStore.class);
+        when(versions.findMaxId()).thenReturn(10L);
+        // The graph also has web -> json, but the root's tree only has json where app declares it
+        doAnswer(inv -> {
+            IndexGraph.Builder b = inv.getArgument(2);
+            b.add(1, 2);
+            b.add(1, 3);
+            b.add(2, 4);
+            b.add(2, 3);
+            b.add(3, 6);
+            b.add(6, 5);
+            return null;
+        }).when(store).loadDirectEdges(anyLong(), anyLong(), any());
+        when(versions.findVersionCoordinates(any())).thenReturn(List.of(coordinates(1L, "org:app:1")));
+        // app -> web -> core 1.0; app -> json -> yaml -> core 2.0, which lost to 1.0
+        when(trees.load("org", "app", "1")).thenReturn(Optional.of(node("org:app:1", "RESOLVED",
+                node("org:web:1", "RESOLVED", node("org:core:1.0", "RESOLVED")),
+                node("org:json:1", "RESOLVED", node("org:yaml:1", "RESOLVED", node("org:core:2.0", "CONFLICT"))))));
+        IndexGraphService service = new IndexGraphService(store, versions, trees, new SimpleMeterRegistry(), true,
+                false, 100);
+        service.rebuild();
+
+        DependencyPathReport report = service.why(1, "org", "core", null, 10, 10).orElseThrow();
+        assertEquals("org:app:1", report.root());
+        assertEquals("1.0", report.selectedVersion());
+        assertEquals(List.of("org:web:1", "org:core:1.0"), report.mediatingEdge());
+        assertEquals(List.of(
+                List.of("org:app:1", "org:web:1", "org:core:1.0"),
+                List.of("org:app:1", "org:json:1", "org:yaml:1", "org:core:2.0")),
+                report.paths().stream().map(DependencyPathReport.DependencyPath::versions).toList());
+        assertEquals(List.of(true, false),
+                report.paths().stream().map(DependencyPathReport.DependencyPath::selected).toList());
+        assertFalse(report.truncated());
+
+        assertTrue(service.why(1, "org", "core", null, 10, 1).orElseThrow().truncated());
+        assertEquals(1, service.why(1, "org", "core", null, 2, 10).orElseThrow().paths().size());
+        assertEquals(List.of(List.of("org:app:1", "org:json:1", "org:yaml:1", "org:core:2.0")),
+                service.why(1, "org", "core", "2.0", 10, 10).orElseThrow().paths().stream()
+                        .map(DependencyPathReport.DependencyPath::versions).toList());
+
+        // Never resolved on demand: a root without a stored tree has no answer
+        when(trees.load("org", "app", "1")).thenReturn(Optional.empty());
+        assertTrue(service.why(1, "org", "core", null, 10, 10).isEmpty());
+        verify(trees, never()).resolve(any(), any(), any());
+    }
+
+    @Test
+    void testWhyListsPathsThroughRepeatedVersionsShortestFirst() {
+        // lib appears twice; its dependencies are only listed under the first occurrence
+        DependencyNode tree = node("org:app:1", "RESOLVED",
+                node("org:lib:1", "RESOLVED", node("org:mid:1", "RESOLVED", node("org:core:1", "RESOLVED"))),
+                node("org:web:1", "RESOLVED", node("org:lib:1", "RESOLVED")),
+                node("org:core:1", "RESOLVED"));
+
+        DependencyPathReport report = IndexGraphService.why(tree, "org", "core", null, 200, 10);
+
+        assertEquals(List.of(
+                List.of("org:app:1", "org:core:1"),
+                List.of("org:app:1", "org:lib:1", "org:mid:1", "org:core:1"),
+                List.of("org:app:1", "org:web:1", "org:lib:1", "org:mid:1", "org:core:1")),
+                report.paths().stream().map(DependencyPathReport.DependencyPath::versions).toList());
+        assertEquals(List.of("org:app:1", "org:core:1"), report.mediatingEdge());
+        assertEquals(2, IndexGraphService.why(tree, "org", "core", null, 3, 10).paths().size());
+        assertTrue(IndexGraphService.why(tree, "org", "missing", null, 200, 10).paths().isEmpty());
+    }
+
+    private static DependencyEdgeRepository.ClosureMember member(String gav) {
+        String[] c = gav.split(":");
+        return new DependencyEdgeRepository.ClosureMember() {
+            public String getGroupId() {
+                return c[0];
+            }
+
+            public String getArtifactId() {
+                return c[1];
+            }
+
+            public String getVersion() {
+                return c[2];
+            }
+        };
+    }
+
+    private static ArtifactVersionRepository.VersionCoordinates coordinates(Long id, String gav) {
+        DependencyEdgeRepository.ClosureMember m = member(gav);
+        return new ArtifactVersionRepository.VersionCoordinates() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getGroupId() {
+                return m.getGroupId();
+            }
+
+            public String getArtifactId() {
+                return m.getArtifactId();
+            }
+
+            public String getVersion() {
+                return m.getVersion();
+            }
+        };
+    }
+}
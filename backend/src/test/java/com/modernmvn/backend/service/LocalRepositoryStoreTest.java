@@ -0,0 +1,56 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.service.LocalRepositoryStore.Unit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRepositoryStoreTest {
+
+    @TempDir
+    Path repo;
+
+    @Test
+    void testLeastRecentlyUsedUnpinnedIdleUnitsAreEvictedFirst() {
+        List<Unit> units = List.of(
+                new Unit("g/a/1", 40, 100, false),
+                new Unit("g/parent/1", 40, 50, true), // oldest, but pinned
+                new Unit("g/b/1", 40, 200, false),
+                new Unit("g/c/1", 40, 900, false), // read too recently to delete
+                new Unit("g/d/1", 40, 300, false));
+
+        List<Unit> victims = LocalRepositoryStore.selectVictims(units, 200, 110, 500);
+
+        assertEquals(List.of("g/a/1", "g/b/1", "g/d/1"), victims.stream().map(Unit::dir).toList());
+    }
+
+    @Test
+    void testEvictionDeletesWholeVersionDirectoriesUntilUnderWatermark() throws Exception {
+        Path old = write("org/test/old/1.0", "old-1.0.jar", 600_000, 1_000);
+        Path recent = write("org/test/recent/1.0", "recent-1.0.jar", 600_000, System.currentTimeMillis() - 3_600_000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // 1 MB limit, 1.2 MB stored: dropping the oldest directory is enough
+        new LocalRepositoryStore(repo.toString(), 1, 0.9, 3, 10, registry).evict();
+
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(recent));
+        assertEquals(1.0, registry.counter("local_repo.evictions").count());
+    }
+
+    private Path write(String dir, String jar, int bytes, long mtime) throws Exception {
+        Path d = Files.createDirectories(repo.resolve(dir));
+        Path pom = Files.writeString(d.resolve(jar.replace(".jar", ".pom")), "<project/>");
+        Path file = Files.write(d.resolve(jar), new byte[bytes]);
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(mtime));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(mtime));
+        return d;
+    }
+}
@@ -0,0 +1,113 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.repository.ArtifactDescriptorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.supplier.RepositorySystemSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MirrorRouterTest {
+
+    @TempDir
+    Path tmp;
+
+    private static RemoteRepository repo(String id, String url) {
+        return new RemoteRepository.Builder(id, "default", url).build();
+    }
+
+    @Test
+    void testRepositoriesAreReplacedByMatchingMirrorsInFailoverOrder() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("modernmvn.mirror.lan.url", "http://nexus.lan/maven/")
+                .withProperty("modernmvn.mirror.lan.mirror-of", "*,!custom-0")
+                .withProperty("modernmvn.mirror.backup.url", "https://backup.example/maven/")
+                .withProperty("modernmvn.mirror.backup.mirror-of", "central");
+        MirrorRouter router = new MirrorRouter(env, "https://repo.maven.apache.org/maven2/",
+                List.of("lan", "backup"), 3, 60, new SimpleMeterRegistry());
+
+        List<RemoteRepository> routed = router.route(List.of(router.central(),
+                repo("custom-0", "https://a.example/"), repo("custom-1", "https://b.example/")));
+
+        assertEquals(List.of("lan", "backup", "custom-0"), routed.stream().map(RemoteRepository::getId).toList());
+        assertEquals(List.of("central", "custom-1"),
+                routed.get(0).getMirroredRepositories().stream().map(RemoteRepository::getId).toList());
+    }
+
+    @Test
+    void testUnreachableMirrorFailsOverToFileStandInAndIsThenSkipped() throws Exception {
+        Path mirrorDir = Files.createDirectories(tmp.resolve("mirror/org/test/lib/1.0"));
+        Files.writeString(mirrorDir.resolve("lib-1.0.pom"),
+                "<project><modelVersion>4.0.0</modelVersion><groupId>org.test</groupId>"
+                        + "<artifactId>lib</artifactId><version>1.0</version></project>");
+
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("modernmvn.mirror.down.url", "http://127.0.0.1:1/maven/")
+                .withProperty("modernmvn.mirror.local.url", tmp.resolve("mirror").toUri().toString());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MirrorRouter router = new MirrorRouter(env, "https://repo.maven.apache.org/maven2/",
+                List.of("down", "local"), 1, 60, registry);
+
+        RepositorySystem system = new RepositorySystemSupplier().get();
+        DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setLocalRepositoryManager(
+                system.newLocalRepositoryManager(session, new LocalRepository(tmp.resolve("local").toFile())));
+        session.setTransferListener(router.transferListener());
+
+        List<RemoteRepository> repos = router.route(List.of(router.central()));
+        assertEquals(List.of("down", "local"), repos.stream().map(RemoteRepository::getId).toList());
+
+        ArtifactResult result = system.resolveArtifact(session,
+                new ArtifactRequest(new DefaultArtifact("org.test", "lib", "pom", "1.0"), repos, null));
+
+        assertEquals("local", result.getRepository().getId());
+        assertEquals(1, registry.timer("remote_repo.transfer_time", "repository", "down", "result", "error").count());
+        assertEquals(1, registry.timer("remote_repo.transfer_time", "repository", "local", "result", "ok").count());
+        assertEquals(List.of("local"),
+                router.route(List.of(router.central())).stream().map(RemoteRepository::getId).toList());
+    }
+
+    @Test
+    void testDescriptorsFetchedThroughCentralMirrorAreStored() throws Exception {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("modernmvn.mirror.lan.url", "http://nexus.lan/maven/");
+        MirrorRouter router = new MirrorRouter(env, "https://repo.maven.apache.org/maven2/", List.of("lan"), 3, 60,
+                new SimpleMeterRegistry());
+        RepositorySystem system = mock(RepositorySystem.class);
+        when(system.readArtifactDescriptor(any(), any()))
+                .thenAnswer(inv -> new ArtifactDescriptorResult(inv.getArgument(1)));
+        ArtifactDescriptorRepository store = mock(ArtifactDescriptorRepository.class);
+        NativeDependencyResolver resolver = new NativeDependencyResolver(system, mock(MavenConfig.class), store,
+                Runnable::run, new SimpleMeterRegistry());
+
+        List<RemoteRepository> centralOnly = router.route(List.of(router.central()));
+        List<RemoteRepository> withCustom = router.route(List.of(router.central(),
+                repo("custom-0", "https://a.example/")));
+        assertEquals(List.of("lan"), centralOnly.stream().map(RemoteRepository::getId).toList());
+        assertTrue(NativeDependencyResolver.isCentralOnly(centralOnly));
+        assertFalse(NativeDependencyResolver.isCentralOnly(withCustom));
+
+        resolver.source(withCustom, null).directDependencies(List.of(new DefaultArtifact("org.test:lib:1.0")));
+        verify(store, never()).saveAll(any());
+        resolver.source(centralOnly, null).directDependencies(List.of(new DefaultArtifact("org.test:lib:1.0")));
+        verify(store).saveAll(argThat(saved -> saved.iterator().next().getGav().equals("org.test:lib:1.0")));
+    }
+}
@@ -0,0 +1,81 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.MultiModuleResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.aether.RepositorySystem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MultiModuleResolutionServiceTest {
+
+    private static byte[] zip(String... pathsAndContents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < pathsAndContents.length; i += 2) {
+                out.putNextEntry(new ZipEntry(pathsAndContents[i]));
+                out.write(pathsAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testModulesStillRunningAtTheTimeoutAreCancelled() throws Exception {
+        ProjectArchive archive = ProjectArchive.read(zip(
+                "pom.xml", "<project><modelVersion>4.0.0</modelVersion><groupId>com.acme</groupId>"
+                        + "<artifactId>parent</artifactId><version>1.0</version><packaging>pom</packaging>"
+                        + "<modules><module>slow</module></modules></project>",
+                "slow/pom.xml", "<project><modelVersion>4.0.0</modelVersion><groupId>com.acme</groupId>"
+                        + "<artifactId>slow</artifactId><version>1.0</version></project>"));
+        MavenResolutionService resolution = mock(MavenResolutionService.class);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        long[] deadlines = new long[1];
+        when(resolution.resolveModule(anyString(), any(), any(), any(), any(), anyLong())).thenAnswer(inv -> {
+            String pom = inv.getArgument(0);
+            if (pom.contains("<artifactId>slow</artifactId>")) {
+                deadlines[0] = inv.getArgument(5);
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }
+            return new DependencyNode("com.acme", "x", "1.0", "compile", "pom", List.of(), "RESOLVED", null);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MultiModuleResolutionService service = new MultiModuleResolutionService(resolution, mock(MavenConfig.class),
+                mock(RepositorySystem.class), executor, registry, 1);
+        List<String> reported = new CopyOnWriteArrayList<>();
+
+        long started = System.nanoTime();
+        MultiModuleResult result = service.resolve(archive, List.of(), info -> reported.add(info.artifactId()));
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the straggler is interrupted");
+        long deadlineIn = deadlines[0] - started;
+        assertTrue(deadlineIn >= TimeUnit.SECONDS.toNanos(1) && deadlineIn < TimeUnit.SECONDS.toNanos(2),
+                "the timeout reaches the resolution as its deadline");
+        assertEquals("ERROR", result.modules().get(0).dependencyTree().resolutionStatus());
+        assertEquals(List.of("parent"), reported);
+        assertEquals(1, registry.counter("multi_module.cancelled").count());
+        executor.shutdownNow();
+    }
+}
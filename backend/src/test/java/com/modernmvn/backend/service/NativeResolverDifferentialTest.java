@@ -0,0 +1,114 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.repository.ArtifactDescriptorRepository;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.aether.RepositorySystem;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Differential harness: resolves every POM in {@code differential-corpus}
+ * with Aether's collector and with the native mediator, and fails on any
+ * node whose version or scope differs.
+ *
+ * Needs network access to Maven Central, so it only runs on request:
+ * {@code mvn test -Dtest=NativeResolverDifferentialTest -Dmodernmvn.differential=true}.
+ * Add a POM to the corpus whenever a divergence is reported in production.
+ */
+@EnabledIfSystemProperty(named = "modernmvn.differential", matches = "true")
+class NativeResolverDifferentialTest {
+
+    @TempDir
+    static Path localRepo;
+
+    private static MavenResolutionService aether;
+    private static MavenResolutionService nativeEngine;
+
+    @BeforeAll
+    static void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MavenConfig config = new MavenConfig();
+        ReflectionTestUtils.setField(config, "localRepoPath", localRepo.toString());
+
+        SharedModelCache modelCache = new SharedModelCache(5000, registry);
+        RepositorySystem system = config.repositorySystem(
+                new VersionResolutionCache(mock(ArtifactVersionRepository.class), registry, 60, 20000, false),
+                modelCache);
+        EffectiveModelService models = new EffectiveModelService(system, modelCache, registry);
+        // Empty store: every descriptor comes through Aether, isolating the mediation logic
+        NativeDependencyResolver resolver = new NativeDependencyResolver(system, config,
+                mock(ArtifactDescriptorRepository.class), Runnable::run, registry);
+
+        ClosurePrefetcher prefetcher = new ClosurePrefetcher(system, config, null, null, Runnable::run, registry, false,
+                0, 0);
+        MirrorRouter mirrors = new MirrorRouter(new MockEnvironment(), "https://repo.maven.apache.org/maven2/",
+                List.of(), 3, 60, registry);
+        aether = new MavenResolutionService(system, config, models, resolver, prefetcher, mirrors, registry, false);
+        nativeEngine = new MavenResolutionService(system, config, models, resolver, prefetcher, mirrors, registry,
+                true);
+    }
+
+    static Stream<Path> corpus() throws IOException {
+        Path dir = Paths.get("src/test/resources/differential-corpus");
+        return Files.list(dir).filter(p -> p.toString().endsWith(".xml")).sorted();
+    }
+
+    @ParameterizedTest
+    @MethodSource("corpus")
+    void nativeMatchesAether(Path pom) throws IOException {
+        String content = Files.readString(pom, StandardCharsets.UTF_8);
+
+        DependencyNode expected = aether.resolveFromPom(content);
+        DependencyNode actual = nativeEngine.resolveFromPom(content);
+        assertEquals("RESOLVED", expected.resolutionStatus(), "Aether failed: " + expected.conflictMessage());
+
+        Map<String, String> want = flatten(expected);
+        Map<String, String> got = flatten(actual);
+        List<String> diffs = new ArrayList<>();
+        for (String key : union(want.keySet(), got.keySet())) {
+            if (!Objects.equals(want.get(key), got.get(key))) {
+                diffs.add(key + ": aether=" + want.get(key) + " native=" + got.get(key));
+            }
+        }
+        assertTrue(diffs.isEmpty(), pom.getFileName() + " diverges on " + diffs.size() + " of " + want.size()
+                + " nodes:\n  " + String.join("\n  ", diffs));
+    }
+
+    /** groupId:artifactId:type → version/scope for every node below the root. */
+    private static Map<String, String> flatten(DependencyNode root) {
+        Map<String, String> out = new TreeMap<>();
+        Deque<DependencyNode> queue = new ArrayDeque<>(root.children());
+        while (!queue.isEmpty()) {
+            DependencyNode n = queue.poll();
+            String scope = n.scope() == null || n.scope().isEmpty() ? "compile" : n.scope();
+            out.put(n.groupId() + ":" + n.artifactId() + ":" + n.type(), n.version() + "/" + scope);
+            queue.addAll(n.children());
+        }
+        return out;
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> all = new TreeSet<>(a);
+        all.addAll(b);
+        return all;
+    }
+}
@@ -0,0 +1,51 @@
+package com.modernmvn.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopularityJobTest {
+
+    @Test
+    void testTwoVersionRankMatchesClosedForm() {
+        IndexGraph.Builder builder = new IndexGraph.Builder();
+        builder.add(1, 2);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            PopularityJob.Result result = PopularityJob.compute(builder.build(false), 0.85, 1e-12, 200, pool);
+            // r1 = 0.15/2 + 0.85 * r2/2 (r2 dangles), r2 = r1 + 0.85 * r1
+            assertTrue(result.converged());
+            assertEquals(1 / 2.85, result.scores()[0], 1e-9);
+            assertEquals(1.85 / 2.85, result.scores()[1], 1e-9);
+            assertEquals(result.iterations(), result.residuals().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testLibraryOfLibrariesOutranksLeafLibrary() {
+        // 20,000 apps (split across tasks): half use web(1), the other half use util(2);
+        // web and util both use core(3), which collects the rank of both
+        IndexGraph.Builder builder = new IndexGraph.Builder();
+        for (long app = 10; app < 20_010; app++)
+            builder.add(app, app % 2 == 0 ? 1 : 2);
+        builder.add(1, 3);
+        builder.add(2, 3);
+        IndexGraph graph = builder.build(false);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PopularityJob.Result result = PopularityJob.compute(graph, 0.85, 1e-9, 200, pool);
+            double[] scores = result.scores();
+            assertTrue(result.converged());
+            assertEquals(1.0, Arrays.stream(scores).sum(), 1e-9);
+            assertTrue(scores[graph.indexOf(3)] > scores[graph.indexOf(2)]);
+            assertTrue(scores[graph.indexOf(2)] > scores[graph.indexOf(10)]);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
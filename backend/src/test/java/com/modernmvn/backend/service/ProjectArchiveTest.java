@@ -0,0 +1,110 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.MultiModuleResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectArchiveTest {
+
+    private static String pom(String artifactId, String parent, String... modules) {
+        StringBuilder sb = new StringBuilder("<project><modelVersion>4.0.0</modelVersion>");
+        if (parent != null) {
+            sb.append("<parent><groupId>com.acme</groupId><artifactId>").append(parent)
+                    .append("</artifactId><version>1.0</version></parent>");
+        } else {
+            sb.append("<groupId>com.acme</groupId><version>1.0</version><packaging>pom</packaging>");
+        }
+        sb.append("<artifactId>").append(artifactId).append("</artifactId><modules>");
+        for (String m : modules) {
+            sb.append("<module>").append(m).append("</module>");
+        }
+        return sb.append("</modules></project>").toString();
+    }
+
+    private static byte[] zip(String... pathsAndContents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < pathsAndContents.length; i += 2) {
+                out.putNextEntry(new ZipEntry(pathsAndContents[i]));
+                out.write(pathsAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testReadsReactorFollowingModules() throws IOException {
+        byte[] archive = zip(
+                "acme/pom.xml", pom("acme-parent", null, "core", "services"),
+                "acme/core/pom.xml", pom("acme-core", "acme-parent"),
+                "acme/services/pom.xml", pom("acme-services", "acme-parent", "api"),
+                "acme/services/api/pom.xml", pom("acme-api", "acme-services"),
+                // Not part of the reactor
+                "acme/core/src/test/resources/pom.xml", pom("fixture", null));
+
+        ProjectArchive project = ProjectArchive.read(archive);
+
+        assertEquals("acme-parent", project.root().artifactId());
+        assertEquals(List.of("core", "services", "services/api"),
+                project.modules().stream().map(ProjectArchive.Module::moduleName).toList());
+        assertEquals("com.acme", project.modules().get(0).groupId(), "groupId is inherited from the parent");
+        assertTrue(project.workspace().containsKey("com.acme:acme-parent:1.0"));
+        assertFalse(project.reactorArtifacts().contains("com.acme:fixture"));
+    }
+
+    @Test
+    void testRejectsArchiveWithoutPom() throws IOException {
+        byte[] archive = zip("README.md", "hello");
+
+        assertThrows(IllegalArgumentException.class, () -> ProjectArchive.read(archive));
+        assertThrows(IllegalArgumentException.class, () -> ProjectArchive.read("not a zip".getBytes()));
+    }
+
+    @Test
+    void testOnlyPomsAreReadAndExplicitModuleFilesResolve() throws IOException {
+        String bigResource = "<data>" + "x".repeat(1024 * 1024) + "</data>";
+        byte[] archive = zip(
+                "pom.xml", pom("acme-parent", null, "core", "legacy/legacy-pom.xml"),
+                "core/pom.xml", pom("acme-core", "acme-parent"),
+                "core/src/main/resources/big.xml", bigResource,
+                "legacy/legacy-pom.xml", pom("acme-legacy", "acme-parent"));
+
+        ProjectArchive reactor = ProjectArchive.read(archive);
+
+        assertEquals(List.of("acme-core", "acme-legacy"),
+                reactor.modules().stream().map(ProjectArchive.Module::artifactId).toList());
+    }
+
+    @Test
+    void testMergedTreeLinksLocalModules() {
+        DependencyNode guava = new DependencyNode("com.google.guava", "guava", "33.0", "compile", "jar", List.of(),
+                "RESOLVED", null);
+        DependencyNode coreTree = new DependencyNode("com.acme", "acme-core", "1.0", "compile", "pom",
+                List.of(guava), "RESOLVED", null);
+        DependencyNode apiTree = new DependencyNode("com.acme", "acme-api", "1.0", "compile", "pom",
+                List.of(new DependencyNode("com.acme", "acme-core", "1.0", "compile", "jar", List.of(), "LOCAL",
+                        "Module of this project.")),
+                "RESOLVED", null);
+        DependencyNode rootTree = new DependencyNode("com.acme", "acme-parent", "1.0", "compile", "pom", List.of(),
+                "RESOLVED", null);
+
+        DependencyNode merged = MultiModuleResolutionService.mergedTree(rootTree, List.of(
+                new MultiModuleResult.ModuleInfo("core", "com.acme", "acme-core", "1.0", "jar", coreTree),
+                new MultiModuleResult.ModuleInfo("api", "com.acme", "acme-api", "1.0", "jar", apiTree)));
+
+        assertEquals(2, merged.children().size());
+        DependencyNode apiCore = merged.children().get(1).children().get(0);
+        assertEquals("LOCAL", apiCore.resolutionStatus());
+        assertEquals("guava", apiCore.children().get(0).artifactId(), "LOCAL module is expanded with its tree");
+    }
+}
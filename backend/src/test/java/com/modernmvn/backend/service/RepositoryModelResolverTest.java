@@ -0,0 +1,96 @@
+package com.modernmvn.backend.service;
+
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelSource;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RepositoryModelResolverTest {
+
+    private static final List<RemoteRepository> REPOS = List.of(
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build());
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void testWorkspacePomsWinOverRepositories() throws Exception {
+        RepositorySystem system = mock(RepositorySystem.class);
+        RepositoryModelResolver resolver = new RepositoryModelResolver(system, null, REPOS,
+                Map.of("org:parent:1.0", "<project/>"));
+
+        ModelSource source = resolver.resolveModel("org", "parent", "1.0");
+
+        assertEquals("org:parent:1.0", source.getLocation());
+        verifyNoInteractions(system);
+    }
+
+    @Test
+    void testParentRangeResolvesHighestVersionFromConfiguredRepositoriesOnly() throws Exception {
+        File pom = Files.writeString(tmp.resolve("parent-1.4.pom"), "<project/>").toFile();
+        RepositorySystem system = mock(RepositorySystem.class);
+        when(system.resolveVersionRange(any(), any())).thenAnswer(inv -> {
+            VersionRangeResult result = new VersionRangeResult(inv.getArgument(1));
+            result.addVersion(new GenericVersionScheme().parseVersion("1.2"));
+            result.addVersion(new GenericVersionScheme().parseVersion("1.4"));
+            return result;
+        });
+        when(system.resolveArtifact(any(), any())).thenAnswer(inv -> {
+            ArtifactRequest request = inv.getArgument(1);
+            return new ArtifactResult(request).setArtifact(request.getArtifact().setFile(pom));
+        });
+        RepositoryModelResolver resolver = new RepositoryModelResolver(system, null, REPOS);
+        Repository declared = new Repository();
+        declared.setId("evil");
+        declared.setUrl("https://evil.example/maven/");
+        resolver.addRepository(declared);
+
+        Parent parent = new Parent();
+        parent.setGroupId("org");
+        parent.setArtifactId("parent");
+        parent.setVersion("[1.0,2.0)");
+        ModelSource source = resolver.newCopy().resolveModel(parent);
+
+        assertEquals("1.4", parent.getVersion());
+        assertEquals(pom, ((FileModelSource) source).getFile());
+        ArgumentCaptor<ArtifactRequest> requests = ArgumentCaptor.forClass(ArtifactRequest.class);
+        verify(system).resolveArtifact(any(), requests.capture());
+        assertEquals(REPOS, requests.getValue().getRepositories());
+        assertEquals("pom", requests.getValue().getArtifact().getExtension());
+        ArgumentCaptor<VersionRangeRequest> ranges = ArgumentCaptor.forClass(VersionRangeRequest.class);
+        verify(system).resolveVersionRange(any(), ranges.capture());
+        assertEquals(REPOS, ranges.getValue().getRepositories());
+    }
+
+    @Test
+    void testMissingPomIsUnresolvable() throws Exception {
+        RepositorySystem system = mock(RepositorySystem.class);
+        when(system.resolveArtifact(any(), any())).thenThrow(new ArtifactResolutionException(List.of()));
+
+        UnresolvableModelException e = assertThrows(UnresolvableModelException.class,
+                () -> new RepositoryModelResolver(system, null, REPOS).resolveModel("org", "gone", "1.0"));
+        assertEquals("gone", e.getArtifactId());
+    }
+}
@@ -0,0 +1,116 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.GraphSecurityOverlay;
+import com.modernmvn.backend.dto.SecurityAdvisory;
+import com.modernmvn.backend.entity.IndexingJobEntity;
+import com.modernmvn.backend.entity.IndexingJobStatus;
+import com.modernmvn.backend.repository.ArtifactVulnerabilityRepository;
+import com.modernmvn.backend.repository.ArtifactVulnerabilityRepository.GavVulnerability;
+import com.modernmvn.backend.repository.IndexingJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class SecurityOverlayServiceTest {
+
+    private static GavVulnerability row(String artifactId, String version, String id, String severity, Double cvss) {
+        return new GavVulnerability() {
+            public String getGroupId() {
+                return "org.test";
+            }
+
+            public String getArtifactId() {
+                return artifactId;
+            }
+
+            public String getVersion() {
+                return version;
+            }
+
+            public String getVulnerabilityId() {
+                return id;
+            }
+
+            public String getSeverity() {
+                return severity;
+            }
+
+            public Double getCvssScore() {
+                return cvss;
+            }
+        };
+    }
+
+    private static DependencyNode node(String artifactId, String version, String status, DependencyNode... children) {
+        return new DependencyNode("org.test", artifactId, version, "compile", "jar", List.of(children), status, null);
+    }
+
+    @Test
+    void testWholeGraphIsLookedUpOnceAndOnlyExactResolvedGavsCount() {
+        ArtifactVulnerabilityRepository repository = mock(ArtifactVulnerabilityRepository.class);
+        when(repository.findByArtifactIdsAndVersions(any(), any())).thenReturn(List.of(
+                row("a", "1", "CVE-1", "HIGH", 7.5),
+                row("a", "1", "CVE-2", "CRITICAL", 9.8),
+                row("x", "2", "CVE-3", "LOW", 2.0), // x:2 is only a conflict loser
+                row("b", "1", "CVE-4", "MEDIUM", 5.0))); // b:1 is not in the graph, only b:2
+
+        DependencyNode root = node("root", "1", "RESOLVED",
+                node("a", "1", "RESOLVED", node("x", "1", "RESOLVED"), node("x", "2", "CONFLICT")),
+                node("b", "2", "RESOLVED"));
+
+        GraphSecurityOverlay overlay = new SecurityOverlayService(repository, mock(IndexingJobRepository.class),
+                mock(MavenResolutionService.class), new SimpleMeterRegistry(), 500).overlay(root);
+
+        verify(repository, times(1)).findByArtifactIdsAndVersions(any(), any());
+        assertEquals(4, overlay.checkedArtifacts());
+        assertEquals(1, overlay.vulnerableArtifacts());
+        assertEquals(2, overlay.totalVulnerabilities());
+        assertEquals(1, overlay.criticalCount());
+        assertEquals(1, overlay.highCount());
+        assertEquals(9.8, overlay.maxCvssScore());
+        assertEquals(SecurityAdvisory.Severity.CRITICAL, overlay.artifacts().get(0).highestSeverity());
+    }
+
+    @Test
+    void testOnlyCentralNodesWithoutAnyJobAreQueued() {
+        ArtifactVulnerabilityRepository repository = mock(ArtifactVulnerabilityRepository.class);
+        when(repository.findByArtifactIdsAndVersions(any(), any())).thenReturn(List.of(
+                row("root", "1", null, null, null), // indexed, clean
+                row("a", "1", "CVE-1", "HIGH", 7.5)));
+        IndexingJobRepository jobs = mock(IndexingJobRepository.class);
+        IndexingJobEntity failed = new IndexingJobEntity("org.test", "d", "1");
+        failed.setStatus(IndexingJobStatus.FAILED);
+        failed.setRetryCount(3);
+        when(jobs.findByArtifactIdsAndVersions(any(), any()))
+                .thenReturn(List.of(new IndexingJobEntity("org.test", "b", "1"), failed)); // b already queued
+        MavenResolutionService resolution = mock(MavenResolutionService.class);
+        when(resolution.fetchedFromCentral(any())).thenReturn(Set.of("org.test:c:1")); // e is private
+
+        DependencyNode root = node("project", "1", "RESOLVED", node("a", "1", "RESOLVED"),
+                node("b", "1", "RESOLVED"), node("c", "1", "RESOLVED"), node("d", "1", "RESOLVED"),
+                node("e", "1", "RESOLVED"));
+
+        GraphSecurityOverlay overlay = new SecurityOverlayService(repository, jobs, resolution,
+                new SimpleMeterRegistry(), 500).overlay(root, true);
+
+        assertEquals(List.of("org.test:b:1", "org.test:c:1", "org.test:d:1", "org.test:e:1",
+                "org.test:project:1"), overlay.unindexed());
+        assertEquals(1, overlay.vulnerableArtifacts());
+        assertEquals(1, overlay.enqueuedForIndexing());
+        // Neither the project itself nor GAVs that already have a job are asked about
+        verify(resolution).fetchedFromCentral(List.of("org.test:c:1", "org.test:e:1"));
+        verify(jobs).saveAll(argThat((List<IndexingJobEntity> saved) -> saved.size() == 1
+                && saved.get(0).getArtifactId().equals("c")));
+        // The failed job stays failed; the worker's retry limit stands
+        assertEquals(IndexingJobStatus.FAILED, failed.getStatus());
+        assertEquals(3, failed.getRetryCount());
+    }
+}
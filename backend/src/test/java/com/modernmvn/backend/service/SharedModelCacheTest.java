@@ -0,0 +1,74 @@
+package com.modernmvn.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.maven.model.building.ModelCache;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedModelCacheTest {
+
+    private static final RemoteRepository CENTRAL = new RemoteRepository.Builder("central", "default",
+            "https://repo.maven.apache.org/maven2/").build();
+    private static final RemoteRepository CUSTOM = new RemoteRepository.Builder("custom-0", "default",
+            "https://evil.example/maven/").build();
+
+    @Test
+    void testModelsAreOnlySharedBetweenRequestsOnTheSameRepositories() {
+        SharedModelCache cache = new SharedModelCache(100, new SimpleMeterRegistry());
+        ModelCache custom = cache.scoped(List.of(CENTRAL, CUSTOM));
+        custom.put("org.springframework.boot", "spring-boot-dependencies", "3.4.0", "import", "poisoned");
+
+        assertNull(cache.scoped(List.of(CENTRAL)).get("org.springframework.boot", "spring-boot-dependencies",
+                "3.4.0", "import"));
+        assertEquals("poisoned", cache.scoped(List.of(CENTRAL, CUSTOM)).get("org.springframework.boot",
+                "spring-boot-dependencies", "3.4.0", "import"));
+
+        // A mirror of central reads central's entries
+        RemoteRepository mirror = new RemoteRepository.Builder("lan", "default", "http://nexus.lan/maven/")
+                .setMirroredRepositories(List.of(CENTRAL)).build();
+        cache.scoped(List.of(CENTRAL)).put("org", "parent", "1.0", "raw", "real");
+        assertEquals("real", cache.scoped(List.of(mirror)).get("org", "parent", "1.0", "raw"));
+        assertEquals(SharedModelCache.scopeOf(List.of(CENTRAL)), SharedModelCache.scopeOf(List.of(mirror)));
+    }
+
+    @Test
+    void testSnapshotsAndExcludedGavsAreNeverCached() {
+        SharedModelCache cache = new SharedModelCache(100, new SimpleMeterRegistry());
+        ModelCache view = cache.scoped(List.of(CENTRAL), Set.of("org:module:1.0"));
+
+        view.put("org", "parent", "1.0-SNAPSHOT", "raw", "snapshot");
+        view.put("org", "module", "1.0", "raw", "module");
+        cache.scoped(List.of(CENTRAL)).put("org", "module", "1.0", "raw", "published");
+
+        assertNull(view.get("org", "parent", "1.0-SNAPSHOT", "raw"));
+        assertNull(view.get("org", "module", "1.0", "raw"));
+        assertEquals("published", cache.scoped(List.of(CENTRAL)).get("org", "module", "1.0", "raw"));
+    }
+
+    @Test
+    void testDescriptorReadsAreScopedToTheirRequestRepositories() throws Exception {
+        SharedModelCache cache = new SharedModelCache(100, new SimpleMeterRegistry());
+        ArtifactDescriptorReader reader = cache.decorate((session, request) -> {
+            cache.forDescriptorRead().put("org", "bom", "1.0", "import", request.getRepositories().size());
+            return new ArtifactDescriptorResult(request);
+        });
+
+        reader.readArtifactDescriptor(null,
+                new ArtifactDescriptorRequest(new DefaultArtifact("org:lib:1.0"), List.of(CENTRAL, CUSTOM), null));
+
+        assertEquals(2, cache.scoped(List.of(CENTRAL, CUSTOM)).get("org", "bom", "1.0", "import"));
+        assertNull(cache.scoped(List.of(CENTRAL)).get("org", "bom", "1.0", "import"));
+        // Outside a read the repositories are unknown, so nothing is shared
+        cache.forDescriptorRead().put("org", "bom", "1.0", "import", "unscoped");
+        assertNull(cache.forDescriptorRead().get("org", "bom", "1.0", "import"));
+    }
+}
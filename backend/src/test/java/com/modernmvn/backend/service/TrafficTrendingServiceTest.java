@@ -0,0 +1,82 @@
+package com.modernmvn.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TrafficTrendingServiceTest {
+
+    @Test
+    void testSketchKeepsHeavyHittersUnderLongTail() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(50);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.offer("tail:" + i); // each seen once
+            if (i % 10 == 0)
+                sketch.offer("org:hot");
+            if (i % 20 == 0)
+                sketch.offer("org:warm");
+        }
+
+        assertEquals(50, sketch.size());
+        assertEquals(11_500, sketch.total());
+        // Overestimates by at most total / capacity
+        assertTrue(sketch.count("org:hot") >= 1_000 && sketch.count("org:hot") <= 1_000 + 11_500 / 50);
+        assertTrue(sketch.count("org:warm") >= 500 && sketch.count("org:warm") <= 500 + 11_500 / 50);
+        assertEquals(List.of("org:hot", "org:warm"),
+                SpaceSavingSketch.top(sketch.counts(), 2).stream().map(Map.Entry::getKey).toList());
+    }
+
+    @Test
+    void testMergeSumsNodesAndDecaysOlderDays() {
+        long today = 20_000;
+        Map<Long, List<Map<String, Double>>> buckets = Map.of(
+                today, List.of(Map.of("org:new", 30.0), Map.of("org:new", 30.0, "org:old", 10.0)),
+                today - 4, List.of(Map.of("org:old", 240.0)));
+
+        Map<String, Double> merged = TrafficTrendingService.merge(buckets, today, 2);
+
+        assertEquals(60.0, merged.get("org:new"), 1e-9);
+        assertEquals(10.0 + 240.0 / 4, merged.get("org:old"), 1e-9);
+        assertEquals("org:old", SpaceSavingSketch.top(merged, 1).get(0).getKey());
+        // One half-life later every count weighs half
+        assertEquals(30.0, TrafficTrendingService.merge(buckets, today + 2, 2).get("org:new"), 1e-9);
+    }
+
+    @Test
+    void testGuaranteedCountsLeaveOutInheritedViews() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(1);
+        for (int i = 0; i < 10; i++)
+            sketch.offer("org:busy");
+        sketch.offer("org:once"); // takes over busy's counter
+
+        assertEquals(11, sketch.count("org:once"));
+        assertEquals(Map.of("org:once", 1.0), sketch.guaranteedCounts());
+    }
+
+    @Test
+    void testEachClientCountsOncePerArtifactAndDay() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        when(redis.delete(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        MavenCentralService central = mock(MavenCentralService.class);
+        when(central.getTrendingArtifacts(any())).thenReturn(List.of());
+        TrafficTrendingService service = new TrafficTrendingService(redis, central, new SimpleMeterRegistry(), true,
+                100, 7, 2, 2, "node", 1000);
+
+        for (int i = 0; i < 50; i++)
+            service.recordView("org", "reloaded", "10.0.0.1");
+        service.recordView("org", "shared", "10.0.0.1");
+        service.recordView("org", "shared", "10.0.0.2");
+        service.sync();
+
+        verify(central).getTrendingArtifacts(argThat((List<String[]> viewed) -> viewed.size() == 1
+                && viewed.get(0)[1].equals("shared")));
+    }
+}
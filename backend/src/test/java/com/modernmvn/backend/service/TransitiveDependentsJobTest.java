@@ -0,0 +1,59 @@
+package com.modernmvn.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransitiveDependentsJobTest {
+
+    @Test
+    void testCountsDependentArtifactsThroughAnyVersionAndCycle() {
+        // Artifacts: A=0, L=1, C=2, T=3, M=4, X=5; version v has vertex index v - 1
+        // app(1,A) -> lib(2,L) -> core(3,C); tool(4,T) -> core(5,C);
+        // x(8,X) -> lib(6,L) <-> m(7,M) -> core(3,C)
+        IndexGraph.Builder builder = new IndexGraph.Builder();
+        builder.add(1, 2);
+        builder.add(2, 3);
+        builder.add(4, 5);
+        builder.add(8, 6);
+        builder.add(6, 7);
+        builder.add(7, 6);
+        builder.add(7, 3);
+        IndexGraph graph = builder.build(false);
+        int[] artifactOf = { 0, 1, 2, 3, 2, 1, 4, 5 };
+
+        int[] comp = new int[graph.vertexCount()];
+        assertEquals(7, TransitiveDependentsJob.components(graph, comp));
+        assertEquals(comp[graph.indexOf(6)], comp[graph.indexOf(7)]);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TransitiveDependentsJob.Result result = TransitiveDependentsJob.compute(graph, artifactOf, 6, pool);
+            assertArrayEquals(new int[] { 0, 3, 5, 0, 2, 0 }, result.counts());
+            assertTrue(result.peakBitmapBytes() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBitmapSwitchesBetweenSparseAndDense() {
+        ArtifactBitmap small = ArtifactBitmap.union(List.of(), new int[] { 5, 3, 5 }, 1024);
+        assertEquals(2, small.cardinality());
+        assertTrue(small.contains(3) && !small.contains(4));
+
+        ArtifactBitmap large = ArtifactBitmap.union(List.of(small),
+                IntStream.range(100, 600).toArray(), 1024);
+        assertEquals(502, large.cardinality());
+        assertTrue(large.contains(5) && large.contains(599) && !large.contains(600));
+        assertEquals(16 + 8 * 16, large.bytes());
+
+        ArtifactBitmap merged = ArtifactBitmap.union(List.of(large, large), new int[0], 1024);
+        assertEquals(502, merged.cardinality());
+        assertEquals(16 + 4 * 2, small.bytes());
+    }
+}
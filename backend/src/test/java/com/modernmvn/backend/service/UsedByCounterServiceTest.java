@@ -0,0 +1,71 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.repository.ArtifactUsedByRepository;
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import com.modernmvn.backend.repository.ArtifactVersionRepository.VersionArtifact;
+import com.modernmvn.backend.repository.VersionUsedByRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UsedByCounterServiceTest {
+
+    @Test
+    void testReindexMovesCountersToNewDirectDependencies() {
+        VersionUsedByRepository versions = mock(VersionUsedByRepository.class);
+        ArtifactUsedByRepository artifacts = mock(ArtifactUsedByRepository.class);
+        ArtifactVersionRepository versionRepository = mock(ArtifactVersionRepository.class);
+        // core 1.0 (10) and core 2.0 (11) belong to artifact 100, json (12) to 200
+        Map<Long, Long> artifactOf = Map.of(10L, 100L, 11L, 100L, 12L, 200L, 13L, 300L);
+        when(versionRepository.findArtifactIds(anyCollection())).thenAnswer(inv -> {
+            List<Long> ids = List.copyOf(inv.getArgument(0));
+            return ids.stream().map(id -> versionArtifact(id, artifactOf.get(id))).toList();
+        });
+        UsedByCounterService service = new UsedByCounterService(versions, artifacts, versionRepository);
+
+        // Upgraded core 1.0 -> 2.0, dropped json, kept yaml (13)
+        service.onDirectDependenciesChanged(List.of(10L, 12L, 13L), List.of(11L, 13L));
+
+        InOrder order = inOrder(versions);
+        order.verify(versions).add(10L, -1);
+        order.verify(versions).add(11L, 1);
+        order.verify(versions).add(12L, -1);
+        verify(versions, never()).add(eq(13L), anyInt());
+        verify(artifacts).add(200L, -1);
+        verify(artifacts, never()).add(eq(100L), anyInt()); // still one direct dependency on core
+        verify(artifacts, never()).add(eq(300L), anyInt());
+    }
+
+    @Test
+    void testReconciliationFixesOnlyDriftedVersions() {
+        IndexGraph.Builder builder = new IndexGraph.Builder();
+        builder.add(1, 10);
+        builder.add(2, 10);
+        builder.add(2, 11);
+        IndexGraph graph = builder.build(false);
+
+        // 10 is right, 11 lost an increment, 99 kept a count after its dependents vanished
+        Map<Long, Integer> stored = Map.of(10L, 2, 99L, 3);
+
+        assertEquals(Map.of(11L, 1, 99L, 0),
+                UsedByReconciliationJob.corrections(graph, graph::dependents, stored));
+    }
+
+    private static VersionArtifact versionArtifact(Long id, Long artifactId) {
+        return new VersionArtifact() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getArtifactId() {
+                return artifactId;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.repository.ArtifactVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.impl.VersionRangeResolver;
+import org.eclipse.aether.impl.VersionResolver;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.resolution.VersionRequest;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VersionResolutionCacheTest {
+
+    @Test
+    void testPreReleaseQualifiersOnlyMatchWholeTokens() {
+        for (String v : List.of("1.0-alpha1", "2.0.0-M1", "3.0.0-RC1", "1.0rc2", "6.0.0.Beta2", "1.0-SNAPSHOT",
+                "21-ea+35", "2.5.0.CR1", "1.0.0-dev.3", "4.0.0-preview", "0.9-incubating"))
+            assertTrue(VersionResolutionCache.isPreRelease(v), v);
+        for (String v : List.of("5.3.0.RELEASE", "2.0.0.Final", "1.2.3", "1.0-sources", "3.1.0-jre", "1.0-redhat-1",
+                "2.0.GA"))
+            assertFalse(VersionResolutionCache.isPreRelease(v), v);
+    }
+
+    @Test
+    void testRangesAreSharedAcrossSessionsAndLatestIsPinnedToKnownRelease() throws Exception {
+        ArtifactVersionRepository versions = mock(ArtifactVersionRepository.class);
+        when(versions.findVersionStrings("org", "lib"))
+                .thenReturn(List.of("5.2.9.RELEASE", "5.3.0.RELEASE", "6.0.0-M1"));
+        VersionResolutionCache cache = new VersionResolutionCache(versions, new SimpleMeterRegistry(), 60, 100,
+                true);
+
+        VersionRangeResolver rangeDelegate = mock(VersionRangeResolver.class);
+        when(rangeDelegate.resolveVersionRange(any(), any())).thenAnswer(inv -> {
+            VersionRangeResult result = new VersionRangeResult(inv.getArgument(1));
+            result.addVersion(new GenericVersionScheme().parseVersion("1.5"));
+            return result;
+        });
+        VersionRangeResolver ranges = cache.decorate(rangeDelegate);
+        VersionRangeRequest request = new VersionRangeRequest(new DefaultArtifact("org:lib:[1.0,2.0)"), List.of(),
+                null);
+        ranges.resolveVersionRange(null, request);
+        VersionRangeResult second = ranges.resolveVersionRange(null, request);
+
+        assertEquals("1.5", second.getHighestVersion().toString());
+        verify(rangeDelegate, times(1)).resolveVersionRange(any(), any());
+
+        VersionResolver metaDelegate = mock(VersionResolver.class);
+        String latest = cache.decorate(metaDelegate)
+                .resolveVersion(null, new VersionRequest(new DefaultArtifact("org:lib:LATEST"), List.of(), null))
+                .getVersion();
+
+        assertEquals("5.3.0.RELEASE", latest);
+        verifyNoInteractions(metaDelegate);
+    }
+
+    @Test
+    void testFullCacheEvictsOnlyTheLeastRecentlyUsedRange() throws Exception {
+        VersionResolutionCache cache = new VersionResolutionCache(mock(ArtifactVersionRepository.class),
+                new SimpleMeterRegistry(), 60, 2, false);
+        VersionRangeResolver delegate = mock(VersionRangeResolver.class);
+        when(delegate.resolveVersionRange(any(), any()))
+                .thenAnswer(inv -> new VersionRangeResult(inv.getArgument(1)));
+        VersionRangeResolver ranges = cache.decorate(delegate);
+
+        VersionRangeRequest a = new VersionRangeRequest(new DefaultArtifact("org:a:[1,2)"), List.of(), null);
+        VersionRangeRequest b = new VersionRangeRequest(new DefaultArtifact("org:b:[1,2)"), List.of(), null);
+        VersionRangeRequest c = new VersionRangeRequest(new DefaultArtifact("org:c:[1,2)"), List.of(), null);
+        ranges.resolveVersionRange(null, a);
+        ranges.resolveVersionRange(null, b);
+        ranges.resolveVersionRange(null, a); // a is now the most recently used
+        ranges.resolveVersionRange(null, c); // evicts b only
+        ranges.resolveVersionRange(null, a);
+        ranges.resolveVersionRange(null, c);
+
+        verify(delegate, times(1)).resolveVersionRange(any(), eq(a));
+        verify(delegate, times(1)).resolveVersionRange(any(), eq(c));
+        ranges.resolveVersionRange(null, b);
+        verify(delegate, times(2)).resolveVersionRange(any(), eq(b));
+    }
+}
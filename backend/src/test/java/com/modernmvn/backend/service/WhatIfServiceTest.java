@@ -0,0 +1,114 @@
+package com.modernmvn.backend.service;
+
+import com.modernmvn.backend.config.MavenConfig;
+import com.modernmvn.backend.dto.DependencyNode;
+import com.modernmvn.backend.dto.GraphSecurityOverlay;
+import com.modernmvn.backend.dto.WhatIfRequest;
+import com.modernmvn.backend.dto.WhatIfResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WhatIfServiceTest {
+
+    private static Dependency dep(String gav) {
+        return new Dependency(new DefaultArtifact("org.test:" + gav), "compile");
+    }
+
+    @Test
+    void testOverrideAndExclusionAreMediatedInMemoryFetchingOnlyNewVersions() {
+        // Remote side: only the overridden x:2 has to be read
+        Map<String, List<Dependency>> remote = Map.of("org.test:x:jar::2", List.of());
+        List<Artifact> requested = new ArrayList<>();
+        DirectDependencySource remoteSource = artifacts -> {
+            requested.addAll(artifacts);
+            Map<String, List<Dependency>> result = new HashMap<>();
+            for (Artifact a : artifacts) {
+                if (remote.containsKey(DependencyMediator.gav(a)))
+                    result.put(DependencyMediator.gav(a), remote.get(DependencyMediator.gav(a)));
+            }
+            return result;
+        };
+        NativeDependencyResolver nativeResolver = mock(NativeDependencyResolver.class);
+        when(nativeResolver.source(any(), any())).thenReturn(remoteSource);
+        SecurityOverlayService overlays = mock(SecurityOverlayService.class);
+        when(overlays.overlay(any(DependencyNode.class)))
+                .thenReturn(new GraphSecurityOverlay(0, 0, 0, 0, 0, 0, 0, -1, List.of(), List.of(), 0));
+
+        DependencyNode root = new DependencyNode("org.test", "app", "1", "compile", "pom", List.of(), "RESOLVED",
+                null);
+        MediationBaseline baseline = new MediationBaseline(root, false, List.of(dep("a:1")), List.of(), List.of(),
+                List.of());
+        // Descriptors memoized by an earlier run on this graph
+        baseline.descriptors().put("org.test:a:jar::1", List.of(dep("x:1"), dep("commons-logging:1")));
+        baseline.descriptors().put("org.test:x:jar::1", List.of());
+        baseline.descriptors().put("org.test:commons-logging:jar::1", List.of());
+        DependencyGraph graph = DependencyGraph.index("g", root, null, baseline);
+
+        WhatIfService service = new WhatIfService(mock(MavenResolutionService.class), nativeResolver, overlays,
+                mock(MavenConfig.class), mock(RepositorySystem.class), new SimpleMeterRegistry());
+        WhatIfResult result = service.apply(graph,
+                new WhatIfRequest(List.of("org.test:x:2"), List.of("org.test:commons-logging")));
+
+        DependencyNode a = result.tree().children().get(0);
+        assertEquals(1, a.children().size(), "commons-logging is excluded");
+        assertEquals("2", a.children().get(0).version(), "x is forced to 2");
+        assertEquals(1, result.descriptorsFetched());
+        assertEquals(List.of("org.test:x:jar:2"), requested.stream().map(Artifact::toString).toList());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.apply(graph, new WhatIfRequest(List.of("no-version"), null)));
+    }
+
+    @Test
+    void testBothOverlaysComeFromMediationAndOverridesReachEveryType() {
+        Map<String, List<Dependency>> descriptors = Map.of(
+                "org.test:a:jar::1", List.of(dep("x:1"), new Dependency(
+                        new DefaultArtifact("org.test", "x", "tests", "jar", "1"), "compile")),
+                "org.test:x:jar::1", List.of(), "org.test:x:jar:tests:1", List.of(),
+                "org.test:x:jar::2", List.of(), "org.test:x:jar:tests:2", List.of());
+        NativeDependencyResolver nativeResolver = mock(NativeDependencyResolver.class);
+        when(nativeResolver.source(any(), any())).thenReturn(artifacts -> {
+            Map<String, List<Dependency>> result = new HashMap<>();
+            for (Artifact a : artifacts)
+                result.put(DependencyMediator.gav(a), descriptors.get(DependencyMediator.gav(a)));
+            return result;
+        });
+        List<DependencyNode> overlaid = new ArrayList<>();
+        SecurityOverlayService overlays = mock(SecurityOverlayService.class);
+        when(overlays.overlay(any(DependencyNode.class))).thenAnswer(inv -> {
+            overlaid.add(inv.getArgument(0));
+            return new GraphSecurityOverlay(0, 0, 0, 0, 0, 0, 0, -1, List.of(), List.of(), 0);
+        });
+
+        DependencyNode root = new DependencyNode("org.test", "app", "1", "compile", "pom", List.of(), "RESOLVED",
+                null);
+        MediationBaseline baseline = new MediationBaseline(root, false, List.of(dep("a:1")), List.of(), List.of(),
+                List.of());
+        // The cached tree (as Aether returned it) is not what the baseline overlay is computed from
+        DependencyGraph graph = DependencyGraph.index("g", root, null, baseline);
+
+        WhatIfService service = new WhatIfService(mock(MavenResolutionService.class), nativeResolver, overlays,
+                mock(MavenConfig.class), mock(RepositorySystem.class), new SimpleMeterRegistry());
+        WhatIfResult result = service.apply(graph, new WhatIfRequest(List.of("org.test:x:2"), null));
+
+        assertEquals(List.of("2", "2"),
+                result.tree().children().get(0).children().stream().map(DependencyNode::version).toList());
+        assertEquals(2, overlaid.size());
+        DependencyNode before = overlaid.stream().filter(t -> t != result.tree()).findFirst().orElseThrow();
+        assertEquals(List.of("1", "1"),
+                before.children().get(0).children().stream().map(DependencyNode::version).toList());
+    }
+}
@@ -89,6 +89,8 @@ export const fetchDependencyGraph = async (params: FetchGraphParams): Promise<De
             groupId: params.groupId,
             artifactId: params.artifactId,
             version: params.version,
+            // The graph view renders the whole tree at once; /resolve pages it otherwise
+            full: 'true',
         });
         if (params.customRepositories) {
             params.customRepositories.forEach(url => qs.append('repos', url));
@@ -28,6 +28,7 @@ export interface ArtifactInfo {
     licenses: LicenseInfo[];
     lastUpdated: number;
     usedByCount: number;
+    transitiveDependentCount: number;
 }
 
 export interface ArtifactDetail {